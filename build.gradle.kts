@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "dsn"
@@ -23,6 +24,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator") // Micrometer 메트릭
 
     // --- DB ---
 //    runtimeOnly("com.h2database:h2") // dev/test
@@ -48,6 +50,7 @@ dependencies {
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     implementation("org.jsoup:jsoup:1.17.2")  // HTML 파싱 및 텍스트 추출
+    implementation("com.github.ben-manes.caffeine:caffeine") // 사용자별 응답 캐시
 
     // JWT 라이브러리
     implementation("io.jsonwebtoken:jjwt-api:0.12.3")
@@ -59,6 +62,32 @@ dependencies {
     implementation("dev.langchain4j:langchain4j-open-ai:0.34.0")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+// 마이크로 벤치마크 (src/jmh) - ./gradlew jmh
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+}
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// 메일 분석 파이프라인 벤치마크 (fake-llm 프로파일, DB 필요)
+// 예: ./gradlew benchmark -Dbenchmark.mails=5000 -Dfake-llm.latency-ms=300
+tasks.register<Test>("benchmark") {
+    description = "Runs pipeline benchmarks tagged with 'benchmark'."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    systemProperties(System.getProperties().filterKeys {
+        it.toString().startsWith("benchmark.") || it.toString().startsWith("fake-llm.")
+    }.mapKeys { it.key.toString() })
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
 }
@@ -0,0 +1,71 @@
+package dsn.webmail.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 키워드 매칭 비교: 키워드별 정규식 (기존 KeywordExtractorService) vs Aho-Corasick
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeywordMatchBenchmark {
+
+    private static final List<String> REAL_KEYWORDS = List.of(
+            "Spring Boot", "JPA", "Java", "Kotlin", "React", "Vue.js", "Node.js", "TypeScript",
+            "Docker", "Kubernetes", "MySQL", "Redis", "Kafka", "C++", "JWT", "AWS", "Git");
+
+    @Param({"100", "1000", "10000"})
+    private int keywordCount;
+
+    private List<String> keywords;
+    private AhoCorasickMatcher<String> matcher;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        keywords = new ArrayList<>(REAL_KEYWORDS);
+        for (int i = keywords.size(); i < keywordCount; i++) {
+            keywords.add("tech-term-" + i);
+        }
+        matcher = new AhoCorasickMatcher.Builder<String>().addAll(keywords, k -> k).build();
+
+        text = """
+                안녕하세요, 이번 스프린트에서 Spring Boot 3.5와 JPA 마이그레이션을 진행합니다.
+                Docker 이미지 빌드 후 Kubernetes에 배포하고, Redis 캐시 설정도 함께 변경됩니다.
+                프론트엔드는 React + TypeScript 조합을 유지하며 Node.js 버전을 올립니다.
+                관련 문서는 위키를 참고해주세요. 문의사항은 회신 부탁드립니다.
+                """.repeat(8);
+    }
+
+    @Benchmark
+    public List<String> regexPerKeyword() {
+        String lowerText = text.toLowerCase();
+        List<String> found = new ArrayList<>();
+        for (String keyword : keywords) {
+            String pattern = "(?i)\\b" + Pattern.quote(keyword.toLowerCase()) + "\\b";
+            if (Pattern.compile(pattern).matcher(lowerText).find()) {
+                found.add(keyword);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<String> ahoCorasick() {
+        return matcher.findAll(text);
+    }
+}
@@ -3,6 +3,7 @@ package dsn.webmail.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -62,6 +63,74 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 메일 분석 작업 워커 전용 스레드 풀
+     *
+     * LLM 호출 동시성을 제한하기 위해 고정 크기로 운영합니다.
+     * 워커는 큐 여유분만큼만 작업을 선점하므로 거부가 거의 발생하지 않습니다.
+     */
+    @Bean(name = "mailAnalysisExecutor")
+    public ThreadPoolTaskExecutor mailAnalysisExecutor(
+            @Value("${mail.analysis-job.workers:4}") int workers,
+            @Value("${mail.analysis-job.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        logger.info("Mail analysis thread pool initialized: workers={}, queue={}", workers, queueCapacity);
+
+        return executor;
+    }
+
+    /**
+     * 학습 자료 URL 확인 전용 스레드 풀
+     *
+     * 요청 스레드가 URL 확인을 기다리는 동안 병렬 HTTP 요청을 처리합니다.
+     * 가득 차면 거부되고 해당 URL은 판정 보류로 처리됩니다.
+     */
+    @Bean(name = "urlCheckExecutor")
+    public ThreadPoolTaskExecutor urlCheckExecutor(
+            @Value("${learning.url-check.threads:8}") int threads,
+            @Value("${learning.url-check.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("url-check-");
+        executor.initialize();
+
+        logger.info("URL check thread pool initialized: threads={}, queue={}", threads, queueCapacity);
+
+        return executor;
+    }
+
+    /**
+     * 학습 자료 사전 생성 전용 스레드 풀
+     *
+     * LLM 호출 + URL 확인이 요청 경로를 막지 않도록 백그라운드에서 처리합니다.
+     */
+    @Bean(name = "resourceGenerationExecutor")
+    public ThreadPoolTaskExecutor resourceGenerationExecutor(
+            @Value("${learning.pregenerate.workers:2}") int workers,
+            @Value("${learning.pregenerate.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("resource-gen-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        logger.info("Resource generation thread pool initialized: workers={}, queue={}", workers, queueCapacity);
+
+        return executor;
+    }
+
     /**
      * 비동기 예외 핸들러
      *
@@ -1,28 +1,79 @@
 package dsn.webmail.config;
 
+import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiEmbeddingModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
 import dev.langchain4j.service.AiServices;
+import dsn.webmail.llm.LlmUsageMetrics;
+import dsn.webmail.llm.MeteredChatLanguageModel;
+import dsn.webmail.llm.MeteredEmbeddingModel;
+import dsn.webmail.llm.MeteredStreamingChatLanguageModel;
 import dsn.webmail.service.MailAnalysisAiService;
 import dsn.webmail.service.MusicMoodAnalyzer;
 import dsn.webmail.service.ReplyGenerationAiService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
 public class Langchain4jConfig {
 
-    @Value("${openai.api.key}")
+    @Value("${openai.api.key:}")
     private String apiKey;
 
+    @Value("${embedding.dimensions:256}")
+    private int embeddingDimensions;
+
+    /**
+     * fake-llm 프로파일에서는 FakeLlmConfig의 가짜 모델로 대체
+     * 모든 호출은 MeteredChatLanguageModel을 거쳐 사용량이 기록됨
+     */
     @Bean
-    public ChatLanguageModel chatLanguageModel() {
-        return OpenAiChatModel.builder()
+    @Profile("!fake-llm")
+    public ChatLanguageModel chatLanguageModel(LlmUsageMetrics llmUsageMetrics) {
+        return new MeteredChatLanguageModel(OpenAiChatModel.builder()
                 .apiKey(apiKey)
                 .modelName("gpt-4o-mini")
                 .temperature(0.3)
-                .build();
+                .build(), llmUsageMetrics);
+    }
+
+    @Bean
+    @Profile("!fake-llm")
+    public StreamingChatLanguageModel streamingChatLanguageModel(LlmUsageMetrics llmUsageMetrics) {
+        return new MeteredStreamingChatLanguageModel(OpenAiStreamingChatModel.builder()
+                .apiKey(apiKey)
+                .modelName("gpt-4o-mini")
+                .temperature(0.3)
+                .build(), llmUsageMetrics);
+    }
+
+    /**
+     * 메일/키워드 유사도 검색용 임베딩 모델 (차원을 줄여 저장/검색 비용 절감)
+     */
+    @Bean
+    @Profile("!fake-llm")
+    public EmbeddingModel embeddingModel(LlmUsageMetrics llmUsageMetrics) {
+        return new MeteredEmbeddingModel(OpenAiEmbeddingModel.builder()
+                .apiKey(apiKey)
+                .modelName("text-embedding-3-small")
+                .dimensions(embeddingDimensions)
+                .build(), llmUsageMetrics);
+    }
+
+    /**
+     * 프롬프트 토큰 예산 계산용 로컬 토크나이저
+     * (cl100k 기준 - gpt-4o 계열 o200k와 토큰 수 차이가 작아 예산 계산에는 충분)
+     */
+    @Bean
+    public Tokenizer tokenizer() {
+        return new OpenAiTokenizer("gpt-3.5-turbo");
     }
 
     @Bean
@@ -33,9 +84,11 @@ public class Langchain4jConfig {
     }
 
     @Bean
-    public ReplyGenerationAiService replyGenerationAiService(ChatLanguageModel chatLanguageModel) {
+    public ReplyGenerationAiService replyGenerationAiService(ChatLanguageModel chatLanguageModel,
+                                                             StreamingChatLanguageModel streamingChatLanguageModel) {
         return AiServices.builder(ReplyGenerationAiService.class)
                 .chatLanguageModel(chatLanguageModel)
+                .streamingChatLanguageModel(streamingChatLanguageModel)
                 .build();
     }
 
@@ -4,6 +4,7 @@ package dsn.webmail.config;
 
 import dsn.webmail.security.JwtAuthenticationFilter;
 import dsn.webmail.security.JwtAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -56,6 +57,9 @@ public class SecurityConfig {
 
                 // 경로별 인가 설정
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 등 비동기 응답 완료 시의 재디스패치 (최초 요청에서 이미 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 공개 API
                         .requestMatchers(
                                 "/api/auth/login",
@@ -66,7 +70,8 @@ public class SecurityConfig {
                                 "/api/test/create-test-user",
                                 "/map/api/sync",              // 관리자용 수동 동기화 (TODO: 추후 ADMIN 권한으로 변경)
                                 "/map/api/migrate-categories", // 마이그레이션용 (일회성)
-                                "/map/api/categories"          // 카테고리 목록 (공개)
+                                "/map/api/categories",         // 카테고리 목록 (공개)
+                                "/schedule/ical/**"            // 일정 ICS 구독 (URL의 토큰으로 사용자 식별)
                         ).permitAll()
 
                         // Swagger UI
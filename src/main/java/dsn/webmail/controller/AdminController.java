@@ -0,0 +1,35 @@
+package dsn.webmail.controller;
+
+import dsn.webmail.dto.LlmUsageDtos.LlmUsageResponse;
+import dsn.webmail.llm.LlmUsageMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin", description = "관리자 API")
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final LlmUsageMetrics llmUsageMetrics;
+
+    @Operation(
+        summary = "LLM 사용량 요약",
+        description = "기능별 / 사용자별 LLM 호출 수, 평균 지연, 토큰, 예상 비용 (서버 기동 이후 누적)",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @GetMapping("/llm-usage")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LlmUsageResponse> getLlmUsage(
+            @RequestParam(defaultValue = "20") int topUsers) {
+        return ResponseEntity.ok(llmUsageMetrics.summarize(topUsers));
+    }
+}
@@ -4,6 +4,7 @@ import dsn.webmail.dto.MailDtos.MailDetailResponse;
 import dsn.webmail.dto.MailDtos.MailListResponse;
 import dsn.webmail.dto.MailDtos.MailReplyRequest;
 import dsn.webmail.dto.MailDtos.MailReplyResponse;
+import dsn.webmail.dto.MailDtos.SimilarMailResponse;
 import dsn.webmail.dto.ReplyDtos.ReplyDraftResponse;
 import dsn.webmail.dto.ReplyDtos.ReplyGenerationRequest;
 import dsn.webmail.entity.MailCategory;
@@ -11,10 +12,14 @@ import dsn.webmail.service.MailListService;
 import dsn.webmail.service.MailSendService;
 import dsn.webmail.service.ReplyGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 /**
  * 메일 Controller
@@ -56,6 +61,19 @@ public class MailController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 메일 의미 검색 API
+     */
+    @GetMapping("/api/search")
+    @ResponseBody
+    public ResponseEntity<List<SimilarMailResponse>> searchMails(
+            @AuthenticationPrincipal String email,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size) {
+        List<SimilarMailResponse> response = mailListService.searchMails(email, q, Math.min(size, 50));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 메일 상세 조회 API
      */
@@ -68,6 +86,19 @@ public class MailController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 비슷한 메일 조회 API
+     */
+    @GetMapping("/api/{id}/similar")
+    @ResponseBody
+    public ResponseEntity<List<SimilarMailResponse>> getSimilarMails(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int size) {
+        List<SimilarMailResponse> response = mailListService.getSimilarMails(email, id, Math.min(size, 50));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 메일 재분석 API
      */
@@ -93,6 +124,19 @@ public class MailController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 답장 초안 스트리밍 생성 API (SSE)
+     * - token: 생성된 토큰 조각, done: 완성된 초안, error: 생성 실패
+     */
+    @PostMapping(value = "/api/{id}/generate-reply/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamReply(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long id,
+            @RequestBody ReplyGenerationRequest request) {
+        return replyGenerationService.streamReply(email, id, request);
+    }
+
     /**
      * 메일 답장 발송 API
      */
@@ -1,6 +1,8 @@
 package dsn.webmail.controller;
 
 import dsn.webmail.dto.HolidayDtos.HolidayListResponse;
+import dsn.webmail.dto.ScheduleDtos.CalendarFeed;
+import dsn.webmail.dto.ScheduleDtos.CalendarSubscriptionResponse;
 import dsn.webmail.dto.ScheduleDtos.CreateEventRequest;
 import dsn.webmail.dto.ScheduleDtos.ScheduleEventResponse;
 import dsn.webmail.dto.ScheduleDtos.ScheduleListResponse;
@@ -9,11 +11,22 @@ import dsn.webmail.service.HolidayService;
 import dsn.webmail.service.ScheduleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
 
 /**
  * 일정 Controller
@@ -54,6 +67,18 @@ public class ScheduleController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * 주간 일정 목록 조회 API (date가 속한 주, 월요일 시작)
+     */
+    @GetMapping("/api/events/week")
+    @ResponseBody
+    public ResponseEntity<ScheduleListResponse> getWeekEvents(
+            @AuthenticationPrincipal String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        ScheduleListResponse events = scheduleService.getScheduleByWeek(email, date);
+        return ResponseEntity.ok(events);
+    }
+
     /**
      * 일정 상세 조회 API
      */
@@ -103,6 +128,65 @@ public class ScheduleController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * 일정 ICS 구독 URL 조회 API (토큰이 없으면 발급)
+     */
+    @GetMapping("/api/ical/subscription")
+    @ResponseBody
+    public ResponseEntity<CalendarSubscriptionResponse> getCalendarSubscription(
+            @AuthenticationPrincipal String email) {
+        String token = scheduleService.getOrCreateCalendarToken(email);
+        return ResponseEntity.ok(new CalendarSubscriptionResponse(calendarUrl(token)));
+    }
+
+    /**
+     * 일정 ICS 구독 URL 재발급 API (기존 URL은 더 이상 동작하지 않음)
+     */
+    @PostMapping("/api/ical/subscription/reset")
+    @ResponseBody
+    public ResponseEntity<CalendarSubscriptionResponse> resetCalendarSubscription(
+            @AuthenticationPrincipal String email) {
+        String token = scheduleService.resetCalendarToken(email);
+        return ResponseEntity.ok(new CalendarSubscriptionResponse(calendarUrl(token)));
+    }
+
+    /**
+     * 일정 ICS 피드 (캘린더 앱 구독용)
+     * 인증 불필요 - URL의 토큰으로 사용자 식별
+     * 일정 변경이 없으면 304 (ETag/Last-Modified), 변경 시 일정을 스트리밍 출력
+     */
+    @GetMapping("/ical/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @PathVariable String token,
+            WebRequest webRequest) {
+        Optional<CalendarFeed> found = scheduleService.findCalendarFeed(token);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CalendarFeed feed = found.get();
+        long lastModified = feed.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "\"" + feed.userId() + "-" + lastModified + "\"";
+
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        StreamingResponseBody body = out -> scheduleService.writeCalendar(feed.userId(), feed.name(), out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(body);
+    }
+
+    private String calendarUrl(String token) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/schedule/ical/{token}.ics")
+                .buildAndExpand(token)
+                .toUriString();
+    }
+
     /**
      * 월별 공휴일 조회 API
      * 인증 불필요 (공개 API)
@@ -3,6 +3,7 @@ package dsn.webmail.controller;
 import dsn.webmail.dto.StudyDtos.*;
 import dsn.webmail.entity.LearningResource;
 import dsn.webmail.service.StudyService;
+import dsn.webmail.service.TrendingKeywordService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class StudyController {
 
     private final StudyService studyService;
+    private final TrendingKeywordService trendingKeywordService;
 
     // ========== View 엔드포인트 ==========
 
@@ -72,17 +74,34 @@ public class StudyController {
     }
 
     /**
-     * 키워드 관련 메일 조회
+     * 키워드 관련 메일 조회 (cursor 기반 페이지)
      */
     @GetMapping("/api/keywords/{keywordId}/mails")
     @ResponseBody
     public ResponseEntity<KeywordMailsResponse> getKeywordMails(
             @AuthenticationPrincipal String email,
-            @PathVariable Long keywordId) {
-        KeywordMailsResponse mails = studyService.getKeywordMails(email, keywordId);
+            @PathVariable Long keywordId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        KeywordMailsResponse mails = studyService.getKeywordMails(email, keywordId, cursor,
+                Math.max(1, Math.min(size, 100)));
         return ResponseEntity.ok(mails);
     }
 
+    /**
+     * 관련 키워드 조회 (동시 출현 기반)
+     */
+    @GetMapping("/api/keywords/{keywordId}/related")
+    @ResponseBody
+    public ResponseEntity<RelatedKeywordsResponse> getRelatedKeywords(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long keywordId,
+            @RequestParam(defaultValue = "8") int size) {
+        RelatedKeywordsResponse related = studyService.getRelatedKeywords(email, keywordId,
+                Math.max(1, Math.min(size, 30)));
+        return ResponseEntity.ok(related);
+    }
+
     /**
      * 학습 이력 조회
      */
@@ -94,6 +113,19 @@ public class StudyController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * 전사 트렌드 키워드 조회 (window: 1h, 24h, 7d)
+     */
+    @GetMapping("/api/trending")
+    @ResponseBody
+    public ResponseEntity<TrendingKeywordsResponse> getTrending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int size) {
+        TrendingKeywordsResponse trending = trendingKeywordService.getTrending(window,
+                Math.max(1, Math.min(size, 50)));
+        return ResponseEntity.ok(trending);
+    }
+
     /**
      * 북마크 추가
      */
@@ -0,0 +1,25 @@
+package dsn.webmail.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class LlmUsageDtos {
+
+    public record LlmUsageResponse(
+            LocalDateTime since,
+            double totalEstimatedCostUsd,
+            List<UsageSummary> features,
+            List<UsageSummary> topUsers
+    ) {}
+
+    // key: 기능명 또는 사용자 ID
+    public record UsageSummary(
+            String key,
+            long calls,
+            long errors,
+            long avgLatencyMs,
+            long promptTokens,
+            long completionTokens,
+            double estimatedCostUsd
+    ) {}
+}
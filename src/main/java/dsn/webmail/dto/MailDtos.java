@@ -40,6 +40,12 @@ public class MailDtos {
             LocalDateTime analyzedAt
     ) {}
 
+    // 비슷한 메일 / 의미 검색 결과 (score: 코사인 유사도)
+    public record SimilarMailResponse(
+            MailListItemResponse mail,
+            float score
+    ) {}
+
     // 메일 답장 요청
     public record MailReplyRequest(
             String to,
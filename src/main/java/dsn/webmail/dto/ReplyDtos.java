@@ -20,4 +20,14 @@ public class ReplyDtos {
             ReplyType replyType,
             LocalDateTime generatedAt
     ) {}
+
+    // 스트리밍 답장 생성 시 SSE "token" 이벤트 페이로드
+    public record ReplyTokenChunk(
+            String token
+    ) {}
+
+    // 스트리밍 답장 생성 실패 시 SSE "error" 이벤트 페이로드
+    public record ReplyStreamError(
+            String message
+    ) {}
 }
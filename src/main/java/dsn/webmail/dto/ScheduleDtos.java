@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class ScheduleDtos {
@@ -73,4 +74,16 @@ public class ScheduleDtos {
 
             String color
     ) {}
+
+    // 일정 ICS 구독 URL
+    public record CalendarSubscriptionResponse(
+            String url
+    ) {}
+
+    // ICS 피드 대상 (lastModified: 일정 마지막 변경 시각)
+    public record CalendarFeed(
+            Long userId,
+            String name,
+            LocalDateTime lastModified
+    ) {}
 }
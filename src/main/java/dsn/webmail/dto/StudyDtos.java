@@ -12,7 +12,8 @@ public class StudyDtos {
     public record DashboardResponse(
             SummaryStats summary,
             List<KeywordUsageResponse> recentKeywords,
-            List<ResourceResponse> recommendedResources
+            List<ResourceResponse> recommendedResources,
+            Boolean resourcesPending // 자료 생성 중인 키워드가 있음
     ) {}
 
     public record SummaryStats(
@@ -33,7 +34,8 @@ public class StudyDtos {
 
     public record KeywordMailsResponse(
             KeywordResponse keyword,
-            List<MailSummaryResponse> mails
+            List<MailSummaryResponse> mails,
+            Long nextCursor // 다음 페이지 cursor (마지막 페이지면 null)
     ) {}
 
     // 키워드 관련
@@ -75,7 +77,22 @@ public class StudyDtos {
 
     public record KeywordResourcesResponse(
             KeywordResponse keyword,
-            List<ResourceResponse> resources
+            List<ResourceResponse> resources,
+            Boolean pending, // 자료 생성 중
+            List<ResourceResponse> relatedResources // 자료가 없을 때 관련 키워드의 자료
+    ) {}
+
+    public record RelatedKeywordResponse(
+            Long id,
+            String keyword,
+            String category,
+            Float score, // 동시 출현 관련도 (0~1)
+            Long resourceCount
+    ) {}
+
+    public record RelatedKeywordsResponse(
+            Long keywordId,
+            List<RelatedKeywordResponse> keywords
     ) {}
 
     // 학습 이력 관련
@@ -86,7 +103,8 @@ public class StudyDtos {
 
     public record HistoryStatistics(
             Map<String, Long> byCategory,
-            List<MonthlyCount> monthlyTrend
+            List<MonthlyCount> monthlyTrend, // 최근 12개월
+            List<WeeklyCount> weeklyTrend // 최근 12주
     ) {}
 
     public record MonthlyCount(
@@ -94,6 +112,11 @@ public class StudyDtos {
             Long count
     ) {}
 
+    public record WeeklyCount(
+            String weekStart, // 주 시작일 (월요일, yyyy-MM-dd)
+            Long count
+    ) {}
+
     // 북마크 관련
     public record BookmarkResponse(
             Long id,
@@ -108,4 +131,17 @@ public class StudyDtos {
     public record BookmarkRequest(
             Long resourceId
     ) {}
+
+    // 트렌드 키워드 관련
+    public record TrendingKeywordResponse(
+            Long id,
+            String keyword,
+            String category,
+            Long count // 구간 내 추출 횟수 (추정치)
+    ) {}
+
+    public record TrendingKeywordsResponse(
+            String window, // 1h, 24h, 7d
+            List<TrendingKeywordResponse> keywords
+    ) {}
 }
@@ -78,6 +78,15 @@ public class AppUser {
     @Column
     private LocalDateTime lastLoginAt;
 
+    // 일정 ICS 구독 토큰 (구독 URL에 포함, 재발급 시 기존 URL 무효)
+    // 아래 두 컬럼은 폴링 등의 엔티티 저장(merge)으로 덮어쓰지 않도록 AppUserRepository의 UPDATE 쿼리로만 변경
+    @Column(length = 64, unique = true, insertable = false, updatable = false)
+    private String calendarToken;
+
+    // 일정 마지막 변경 시각 (ICS 피드 ETag/Last-Modified)
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime eventsChangedAt;
+
     public enum Status {
         PENDING, ACTIVE, LOCKED
     }
@@ -0,0 +1,32 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기동 시 1회성 데이터 이관 기록
+ *
+ * 테이블이 비었는지로는 기존 설치의 이관 여부를 알 수 없으므로, 이관을 마치면 이름으로 한 행을 남깁니다.
+ */
+@Entity
+@Table(name = "data_migration")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataMigration {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,40 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 공휴일 (공공데이터포털 특일 정보)
+ *
+ * 월 단위로 통째로 교체합니다. 조회 완료 여부는 HolidayMonth로 관리합니다.
+ */
+@Entity
+@Table(name = "holiday", indexes = {
+        @Index(name = "idx_holiday_date", columnList = "holiday_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private Boolean isHoliday;
+}
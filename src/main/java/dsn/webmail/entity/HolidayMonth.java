@@ -0,0 +1,40 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공휴일 월별 조회 이력
+ *
+ * 공휴일이 없는 달도 조회를 마쳤다는 사실을 남겨, 재시작 후 다시 호출하지 않도록 합니다.
+ */
+@Entity
+@Table(name = "holiday_month", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_holiday_month", columnNames = {"holiday_year", "holiday_month"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HolidayMonth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "holiday_month", nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+}
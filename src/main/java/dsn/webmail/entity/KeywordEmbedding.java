@@ -0,0 +1,43 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기술 키워드 임베딩 (키워드 + 카테고리, float32 little-endian 바이트)
+ */
+@Entity
+@Table(name = "keyword_embedding")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeywordEmbedding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "keyword_id", nullable = false, unique = true)
+    private Long keywordId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] vector;
+
+    @Column(nullable = false)
+    private Integer dimensions;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -10,7 +10,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "learning_resource")
+@Table(name = "learning_resource", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_learning_resource_keyword_url", columnNames = { "keyword_id", "url" })
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,59 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 메일 분석 작업 (재시도 큐)
+ *
+ * 메일 1건당 1행. 분석 실패 시 지수 백오프로 nextAttemptAt을 미루고,
+ * 최대 시도 횟수를 넘기면 DEAD로 전환합니다.
+ */
+@Entity
+@Table(name = "mail_analysis_job", uniqueConstraints = @UniqueConstraint(columnNames = { "mail_id" }), indexes = {
+        @Index(name = "idx_mail_analysis_job_status_next", columnList = "status, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailAnalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "mail_id", nullable = false)
+    private Long mailId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    // RUNNING 전환 시각 (워커 비정상 종료 감지용)
+    private LocalDateTime lockedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, DEAD
+    }
+}
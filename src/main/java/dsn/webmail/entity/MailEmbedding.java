@@ -0,0 +1,48 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 임베딩 (제목 + 요약, float32 little-endian 바이트)
+ */
+@Entity
+@Table(name = "mail_embedding", indexes = {
+        @Index(name = "idx_mail_embedding_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailEmbedding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "mail_id", nullable = false, unique = true)
+    private Long mailId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] vector;
+
+    @Column(nullable = false)
+    private Integer dimensions;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
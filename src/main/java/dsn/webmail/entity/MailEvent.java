@@ -1,5 +1,6 @@
 package dsn.webmail.entity;
 
+import dsn.webmail.util.EventDateTimeParser;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,9 +9,12 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Entity
-@Table(name = "mail_event")
+@Table(name = "mail_event", indexes = {
+        @Index(name = "idx_mail_event_user_start", columnList = "user_id, start_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,6 +36,12 @@ public class MailEvent {
 
     private String title; // 회의 제목
     private String dateTime; // "2025-11-26 14:00" 형태로 저장
+
+    @Column(name = "start_at")
+    private LocalDateTime startAt; // dateTime을 파싱한 시작 시각 (기간 조회용, 파싱 실패 시 null)
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt; // 종료 시각 (없으면 null)
     private String location; // 장소
 
     private Float confidence; // AI 신뢰도(0.0 ~ 1.0)
@@ -62,4 +72,23 @@ public class MailEvent {
     private LocalDateTime updatedAt; // 수정 일시
 
     private String color; // 일정 색상 (HEX 코드, 예: #3182F6)
+
+    /**
+     * 날짜/시간 문자열 반영 (파싱되면 표준 형식으로 정규화하고 start_at/end_at 설정)
+     *
+     * @return 파싱 성공 여부
+     */
+    public boolean applyDateTime(String text) {
+        Optional<EventDateTimeParser.Range> range = EventDateTimeParser.parse(text);
+        if (range.isEmpty()) {
+            this.dateTime = text;
+            this.startAt = null;
+            this.endAt = null;
+            return false;
+        }
+        this.dateTime = EventDateTimeParser.format(range.get().start());
+        this.startAt = range.get().start();
+        this.endAt = range.get().end();
+        return true;
+    }
 }
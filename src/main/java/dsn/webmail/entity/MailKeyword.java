@@ -10,7 +10,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "mail_keyword")
+@Table(name = "mail_keyword", indexes = {
+        // 사용자 메일 → 키워드 조회 (메일별 키워드 매핑 확인)
+        @Index(name = "idx_mail_keyword_mail_keyword", columnList = "processed_mail_id, keyword_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
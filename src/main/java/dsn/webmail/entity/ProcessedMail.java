@@ -54,4 +54,15 @@ public class ProcessedMail {
 
         private Float categoryConfidence;
 
+        // 분류 주체 (NULL: 로컬 분류기 도입 전 LLM 분석)
+        @Enumerated(EnumType.STRING)
+        @Column(length = 10)
+        private AnalysisSource analysisSource;
+
+        public enum AnalysisSource {
+                LLM,    // OpenAI 분석
+                RULE,   // 로컬 규칙
+                MODEL   // 로컬 나이브 베이즈 모델
+        }
+
 }
\ No newline at end of file
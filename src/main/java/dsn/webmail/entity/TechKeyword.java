@@ -25,6 +25,10 @@ public class TechKeyword {
     @Column(unique = true, nullable = false)
     private String keyword; // "Spring Boot", "JWT", "Docker"
 
+    // 대소문자/공백/구두점 정규화 값 ("springboot") - 중복 키워드 방지용
+    @Column(unique = true)
+    private String normalizedKeyword;
+
     private String category; // Backend, Frontend, DevOps, Database
 
     @Column(columnDefinition = "TEXT")
@@ -32,8 +36,14 @@ public class TechKeyword {
 
     private String iconClass; // Font Awesome 아이콘 (예: "fab fa-java")
 
+    // 전체 사용자 사용 횟수 (인기도) - KeywordUsageCounter가 배치로 반영, 엔티티 저장 시에는 갱신하지 않음
     @Builder.Default
-    private Integer globalUsageCount = 0; // 전체 사용자 사용 횟수 (인기도)
+    @Column(updatable = false)
+    private Integer globalUsageCount = 0;
+
+    // 학습 자료 생성 선점 만료 시각 - 노드 간 중복 생성 방지용, 조건부 UPDATE로만 갱신
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime resourceGenerationUntil;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -47,9 +57,4 @@ public class TechKeyword {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-
-    public void incrementUsage() {
-        this.globalUsageCount++;
-        this.updatedAt = LocalDateTime.now();
-    }
 }
@@ -0,0 +1,46 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기술 키워드 별칭 ("k8s" → Kubernetes, "스프링부트" → Spring Boot)
+ */
+@Entity
+@Table(name = "tech_keyword_alias", indexes = {
+        @Index(name = "idx_tech_keyword_alias_keyword_id", columnList = "keyword_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TechKeywordAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String alias;
+
+    @Column(nullable = false, unique = true)
+    private String normalizedAlias;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "keyword_id", nullable = false)
+    private TechKeyword keyword;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,79 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 전사 트렌드 키워드 버킷 스냅샷
+ *
+ * 메모리의 시간 버킷별 Space-Saving 요약을 주기적으로 저장해 재시작 후에도 구간을 이어갑니다.
+ * 노드마다 자기 이벤트만 집계하므로 (node_id, granularity, bucket_start) 단위로 통째로 교체하고,
+ * 복원할 때 노드별 요약을 합칩니다.
+ */
+@Entity
+@Table(name = "trending_keyword_snapshot", indexes = {
+        @Index(name = "idx_trending_snapshot_node_bucket", columnList = "node_id, granularity, bucket_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingKeywordSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "keyword_id", nullable = false)
+    private Long keywordId;
+
+    @Column(name = "estimated_count", nullable = false)
+    private Long count;
+
+    @Column(name = "estimated_error", nullable = false)
+    private Long error;
+
+    public enum Granularity {
+        FIVE_MINUTES(Duration.ofMinutes(5)),
+        HOUR(Duration.ofHours(1));
+
+        private final Duration length;
+
+        Granularity(Duration length) {
+            this.length = length;
+        }
+
+        public Duration length() {
+            return length;
+        }
+
+        public LocalDateTime bucketStart(LocalDateTime time) {
+            return switch (this) {
+                case FIVE_MINUTES -> {
+                    LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+                    yield minute.minusMinutes(minute.getMinute() % 5);
+                }
+                case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            };
+        }
+    }
+}
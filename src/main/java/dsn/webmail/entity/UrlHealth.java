@@ -0,0 +1,43 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * URL 접속 확인 결과 캐시 (만료 시각까지 재확인하지 않음)
+ */
+@Entity
+@Table(name = "url_health")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UrlHealth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // URL SHA-256 (긴 URL도 유니크 인덱스로 조회)
+    @Column(nullable = false, unique = true, length = 64)
+    private String urlHash;
+
+    @Column(nullable = false, length = 2000)
+    private String url;
+
+    @Column(nullable = false)
+    private Boolean healthy;
+
+    private Integer statusCode; // 연결 실패 시 0
+
+    private LocalDateTime checkedAt;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,67 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 사용자 × 키워드 × 기간(일/주/월) 추출 횟수 롤업
+ *
+ * 매핑 저장 시 증분 반영하고, 추이 조회는 (user_id, bucket_type, bucket_start) 범위 스캔으로 처리합니다.
+ * 주는 월요일, 월은 1일이 bucket_start 입니다.
+ */
+@Entity
+@Table(name = "user_keyword_trend", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_keyword_trend_bucket",
+                columnNames = { "user_id", "bucket_type", "bucket_start", "keyword_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserKeywordTrend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "keyword_id", nullable = false)
+    private Long keywordId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_type", nullable = false, length = 10)
+    private BucketType bucketType;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer mailCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer eventCount = 0;
+
+    public enum BucketType {
+        DAY, WEEK, MONTH;
+
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(DayOfWeek.MONDAY);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+}
@@ -9,8 +9,13 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * 사용자별 키워드 통계 (메일/일정 매핑 저장 시 증분 갱신)
+ */
 @Entity
-@Table(name = "user_learning_history")
+@Table(name = "user_learning_history", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_learning_history_user_keyword", columnNames = { "user_id", "keyword_id" })
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,8 +35,18 @@ public class UserLearningHistory {
     @JoinColumn(name = "keyword_id", nullable = false)
     private TechKeyword keyword;
 
+    private String category; // 키워드 카테고리 (집계용 비정규화)
+
+    @Builder.Default
+    private Integer usageCount = 1; // 사용 횟수 (메일 + 일정)
+
     @Builder.Default
-    private Integer usageCount = 1; // 사용 횟수
+    @Column(nullable = false)
+    private Integer mailCount = 0; // 키워드가 추출된 메일 수
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer eventCount = 0; // 키워드가 추출된 일정 수
 
     private LocalDateTime firstUsedAt;
     private LocalDateTime lastUsedAt;
@@ -42,9 +57,4 @@ public class UserLearningHistory {
         firstUsedAt = now;
         lastUsedAt = now;
     }
-
-    public void incrementUsage() {
-        this.usageCount++;
-        this.lastUsedAt = LocalDateTime.now();
-    }
 }
@@ -0,0 +1,36 @@
+package dsn.webmail.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자별 학습 소스 수 (키워드가 추출된 메일/일정 수)
+ *
+ * 대시보드 요약이 메일 이력 전체를 세지 않도록 매핑 저장·삭제 시 증분 반영하고,
+ * 통계 재구성 때 매핑 기준으로 다시 계산합니다.
+ */
+@Entity
+@Table(name = "user_learning_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserLearningSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long mailCount = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long eventCount = 0L;
+}
@@ -0,0 +1,11 @@
+package dsn.webmail.event;
+
+/**
+ * 메일 분석(요약) 완료 이벤트
+ * @param mailId 분석된 메일 ID
+ * @param userId 메일 소유자 ID
+ */
+public record MailAnalyzedEvent(
+    Long mailId,
+    Long userId
+) { }
@@ -0,0 +1,11 @@
+package dsn.webmail.event;
+
+/**
+ * 새 기술 키워드 생성 이벤트
+ * @param keywordId 생성된 키워드 ID
+ * @param keyword 키워드 이름
+ */
+public record TechKeywordCreatedEvent(
+    Long keywordId,
+    String keyword
+) { }
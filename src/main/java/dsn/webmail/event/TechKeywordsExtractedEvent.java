@@ -0,0 +1,13 @@
+package dsn.webmail.event;
+
+import java.util.List;
+
+/**
+ * 메일/일정에서 키워드가 새로 추출됨
+ * @param mailId 키워드가 추출된 메일 ID (일정에서 추출된 경우 null)
+ * @param keywordIds 새로 매핑된 키워드 ID
+ */
+public record TechKeywordsExtractedEvent(
+    Long mailId,
+    List<Long> keywordIds
+) { }
@@ -0,0 +1,11 @@
+package dsn.webmail.event;
+
+import java.util.Map;
+
+/**
+ * 중복 키워드 병합 완료 이벤트
+ * @param canonicalIds 삭제된 중복 키워드 ID → 대표 키워드 ID
+ */
+public record TechKeywordsMergedEvent(
+    Map<Long, Long> canonicalIds
+) { }
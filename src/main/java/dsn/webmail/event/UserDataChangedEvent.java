@@ -0,0 +1,9 @@
+package dsn.webmail.event;
+
+/**
+ * 사용자 화면 데이터 변경 이벤트 (메일 수신, 키워드 매핑 변경, 북마크 변경 등)
+ * @param userId 변경된 사용자 ID
+ */
+public record UserDataChangedEvent(
+    Long userId
+) { }
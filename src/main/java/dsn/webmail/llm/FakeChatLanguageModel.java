@@ -0,0 +1,210 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * OpenAI 없이 AI 파이프라인을 돌리기 위한 결정적(deterministic) 가짜 모델
+ *
+ * - 프롬프트 종류(메일 분석, 키워드 추출, 일정 추출, 학습 자료, 답장 등)를 판별해 형식에 맞는 응답 반환
+ * - 같은 프롬프트에는 항상 같은 응답
+ * - 지연 시간과 오류 주입은 설정값 + 고정 시드로 재현 가능
+ */
+public class FakeChatLanguageModel implements ChatLanguageModel {
+
+    private static final Pattern TOMORROW_DATE = Pattern.compile("내일 날짜: (\\d{4}-\\d{2}-\\d{2})");
+
+    // 키워드 추출 응답에 사용할 기술 용어 (본문에 등장하는 것만 반환)
+    private static final Map<String, String> TECH_TERMS = new LinkedHashMap<>();
+
+    static {
+        TECH_TERMS.put("Spring Boot", "Backend");
+        TECH_TERMS.put("Spring Security", "Backend");
+        TECH_TERMS.put("JPA", "Backend");
+        TECH_TERMS.put("Java", "Backend");
+        TECH_TERMS.put("Kotlin", "Backend");
+        TECH_TERMS.put("Kafka", "Backend");
+        TECH_TERMS.put("REST API", "Backend");
+        TECH_TERMS.put("React", "Frontend");
+        TECH_TERMS.put("Vue.js", "Frontend");
+        TECH_TERMS.put("TypeScript", "Frontend");
+        TECH_TERMS.put("Node.js", "Frontend");
+        TECH_TERMS.put("MySQL", "Database");
+        TECH_TERMS.put("MariaDB", "Database");
+        TECH_TERMS.put("Redis", "Database");
+        TECH_TERMS.put("MongoDB", "Database");
+        TECH_TERMS.put("Docker", "DevOps");
+        TECH_TERMS.put("Kubernetes", "DevOps");
+        TECH_TERMS.put("Jenkins", "DevOps");
+        TECH_TERMS.put("AWS", "DevOps");
+        TECH_TERMS.put("Git", "DevOps");
+        TECH_TERMS.put("C++", "CS기초");
+        TECH_TERMS.put("멀티스레드", "CS기초");
+        TECH_TERMS.put("알고리즘", "CS기초");
+    }
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double errorRate;
+    private final Random errorRandom;
+
+    public FakeChatLanguageModel(long latencyMs, long latencyJitterMs, double errorRate, long seed) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.errorRate = errorRate;
+        this.errorRandom = new Random(seed);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        String prompt = messages.stream()
+                .filter(UserMessage.class::isInstance)
+                .map(m -> ((UserMessage) m).singleText())
+                .collect(Collectors.joining("\n"));
+
+        Random promptRandom = new Random(prompt.hashCode());
+        simulateLatency(promptRandom);
+
+        if (errorRate > 0 && errorRandom.nextDouble() < errorRate) {
+            throw new IllegalStateException("Fake LLM injected failure");
+        }
+
+        String text = respond(prompt, promptRandom);
+        return Response.from(
+                AiMessage.from(text),
+                new TokenUsage(estimateTokens(prompt), estimateTokens(text)),
+                FinishReason.STOP);
+    }
+
+    private void simulateLatency(Random random) {
+        long delay = latencyMs + (latencyJitterMs > 0 ? (long) (random.nextDouble() * latencyJitterMs) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    String respond(String prompt, Random random) {
+        if (prompt.contains("카테고리를 분류")) {
+            return mailAnalysis(prompt);
+        }
+        if (prompt.contains("기술/프로그래밍 관련 키워드를 추출")) {
+            return keywords(prompt);
+        }
+        if (prompt.contains("일정 정보를 추출")) {
+            return event(prompt);
+        }
+        if (prompt.contains("학습 자료를 추천")) {
+            return resources(prompt);
+        }
+        if (prompt.contains("한 문장으로 간단히 설명")) {
+            int end = prompt.indexOf(" 기술을");
+            String keyword = end >= 0 ? prompt.substring(0, end).trim() : "이 기술";
+            return keyword + "은(는) 소프트웨어 개발에 널리 쓰이는 기술입니다.";
+        }
+        if (prompt.contains("답장 초안을 작성")) {
+            return """
+                    안녕하세요.
+
+                    보내주신 메일 잘 받았습니다. 말씀하신 내용 확인 후 회신드리겠습니다.
+
+                    감사합니다.
+                    [사용자 이름] 드림""";
+        }
+        if (prompt.contains("음악")) {
+            return moodProfile(random);
+        }
+        return "OK";
+    }
+
+    private String mailAnalysis(String prompt) {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        String body = lower.substring(0, Math.max(0, lower.indexOf("카테고리 옵션")));
+
+        String category;
+        if (body.contains("notion")) {
+            category = "NOTION_ALERT";
+        } else if (body.contains("공지") || body.contains("안내")) {
+            category = "ANNOUNCEMENT";
+        } else if (body.contains("요청") || body.contains("검토")) {
+            category = "WORK_REQUEST";
+        } else if (body.contains("문의") || body.contains("?")) {
+            category = "INQUIRY";
+        } else {
+            category = "INFORMATION";
+        }
+
+        return """
+                {"category": "%s", "confidence": 0.85, "summary": "1. 테스트 요약 첫째 줄\\n2. 테스트 요약 둘째 줄\\n3. 테스트 요약 셋째 줄\\n4. 테스트 요약 넷째 줄\\n5. 테스트 요약 다섯째 줄"}
+                """.formatted(category).trim();
+    }
+
+    private String keywords(String prompt) {
+        int end = prompt.indexOf("응답은 반드시");
+        String content = end > 0 ? prompt.substring(0, end) : prompt;
+
+        return TECH_TERMS.entrySet().stream()
+                .filter(e -> content.contains(e.getKey()))
+                .map(e -> """
+                        {"keyword": "%s", "category": "%s", "confidence": 0.9}""".formatted(e.getKey(), e.getValue()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private String event(String prompt) {
+        int start = prompt.indexOf("# 이메일 내용:");
+        int end = prompt.indexOf("# 출력 형식");
+        String content = start >= 0 && end > start ? prompt.substring(start, end) : "";
+        boolean hasMeeting = content.contains("회의") || content.contains("미팅");
+
+        Matcher matcher = TOMORROW_DATE.matcher(prompt);
+        String date = matcher.find() ? matcher.group(1) : "2025-01-01";
+
+        return """
+                {"title": "%s", "dateTime": "%s 14:00", "location": "3층 회의실A", "confidence": %s}
+                """.formatted(hasMeeting ? "테스트 회의" : "일정 없음", date, hasMeeting ? "0.9" : "0.0").trim();
+    }
+
+    private String resources(String prompt) {
+        int start = prompt.indexOf('\'');
+        int end = prompt.indexOf('\'', start + 1);
+        String keyword = start >= 0 && end > start ? prompt.substring(start + 1, end) : "tech";
+        String slug = keyword.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+
+        return """
+                [
+                  {"title": "%1$s Documentation", "url": "https://example.com/docs/%2$s", "type": "OFFICIAL_DOC", "source": "Example", "language": "en", "summary": "%1$s 공식 문서"},
+                  {"title": "%1$s Tutorial", "url": "https://example.com/tutorials/%2$s", "type": "TUTORIAL", "source": "Example", "language": "en", "summary": "%1$s 튜토리얼"}
+                ]""".formatted(keyword, slug);
+    }
+
+    private String moodProfile(Random random) {
+        return """
+                {"energy": %.2f, "valence": %.2f, "targetTempo": %d, "acousticness": %.2f, "genres": ["k-pop", "pop"], "artists": ["IU"], "reasoning": "테스트용 추천입니다."}
+                """.formatted(random.nextFloat(), random.nextFloat(), 80 + random.nextInt(60), random.nextFloat()).trim();
+    }
+
+    /**
+     * 대략적인 토큰 수 (영문 4자, 한글 1~2자 = 1토큰 수준)
+     */
+    static int estimateTokens(String text) {
+        return Math.max(1, text.length() / 3);
+    }
+}
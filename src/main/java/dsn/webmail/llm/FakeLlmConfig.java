@@ -0,0 +1,61 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * fake-llm 프로파일: OpenAI 대신 가짜 모델 사용
+ *
+ * 실행 예: --spring.profiles.active=fake-llm --fake-llm.latency-ms=800 --fake-llm.error-rate=0.05
+ */
+@Configuration
+@Profile("fake-llm")
+@Slf4j
+public class FakeLlmConfig {
+
+    @Value("${fake-llm.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${fake-llm.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Value("${fake-llm.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${fake-llm.seed:42}")
+    private long seed;
+
+    @Value("${fake-llm.stream-chunk-delay-ms:20}")
+    private long streamChunkDelayMs;
+
+    @Value("${embedding.dimensions:256}")
+    private int embeddingDimensions;
+
+    @Bean
+    public ChatLanguageModel chatLanguageModel(LlmUsageMetrics llmUsageMetrics) {
+        log.warn("fake-llm 프로파일 활성화: latency={}ms (+{}ms), errorRate={}, seed={}",
+                latencyMs, latencyJitterMs, errorRate, seed);
+        return new MeteredChatLanguageModel(fakeModel(), llmUsageMetrics);
+    }
+
+    @Bean
+    public StreamingChatLanguageModel streamingChatLanguageModel(LlmUsageMetrics llmUsageMetrics) {
+        return new MeteredStreamingChatLanguageModel(
+                new FakeStreamingChatLanguageModel(fakeModel(), streamChunkDelayMs), llmUsageMetrics);
+    }
+
+    @Bean
+    public EmbeddingModel embeddingModel(LlmUsageMetrics llmUsageMetrics) {
+        return new MeteredEmbeddingModel(new HashingEmbeddingModel(embeddingDimensions), llmUsageMetrics);
+    }
+
+    private FakeChatLanguageModel fakeModel() {
+        return new FakeChatLanguageModel(latencyMs, latencyJitterMs, errorRate, seed);
+    }
+}
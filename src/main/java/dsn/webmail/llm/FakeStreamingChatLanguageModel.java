@@ -0,0 +1,51 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 가짜 스트리밍 모델
+ *
+ * FakeChatLanguageModel의 응답을 몇 글자씩 나눠 별도 스레드에서 흘려보냅니다.
+ * 실제 OpenAI 스트리밍 클라이언트처럼 취소 수단이 없으므로 끝까지 보낸 뒤 완료(토큰 사용량 포함)를 알립니다.
+ */
+public class FakeStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private static final int CHUNK_SIZE = 4;
+
+    private final FakeChatLanguageModel delegate;
+    private final long chunkDelayMs;
+
+    public FakeStreamingChatLanguageModel(FakeChatLanguageModel delegate, long chunkDelayMs) {
+        this.delegate = delegate;
+        this.chunkDelayMs = chunkDelayMs;
+    }
+
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                Response<AiMessage> response = delegate.generate(messages);
+                String text = response.content().text();
+                for (int i = 0; i < text.length(); i += CHUNK_SIZE) {
+                    handler.onNext(text.substring(i, Math.min(text.length(), i + CHUNK_SIZE)));
+                    if (chunkDelayMs > 0) {
+                        Thread.sleep(chunkDelayMs);
+                    }
+                }
+                handler.onComplete(response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handler.onError(e);
+            } catch (Exception e) {
+                handler.onError(e);
+            }
+        });
+    }
+}
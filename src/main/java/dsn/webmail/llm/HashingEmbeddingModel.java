@@ -0,0 +1,72 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dsn.webmail.util.FloatVectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 결정적(deterministic) 로컬 임베딩 모델 (fake-llm 프로파일 / 테스트용)
+ *
+ * 단어와 문자 3-gram을 feature hashing으로 고정 차원 벡터에 누적한 뒤 L2 정규화합니다.
+ * 의미 유사도는 흉내만 내지만 단어가 많이 겹치는 텍스트끼리는 가깝게 나옵니다.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        List<Embedding> embeddings = new ArrayList<>(textSegments.size());
+        for (TextSegment segment : textSegments) {
+            embeddings.add(Embedding.from(embed(segment.text())));
+        }
+        return Response.from(embeddings);
+    }
+
+    private float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null) {
+            return vector;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            accumulate(vector, word, WORD_WEIGHT);
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                accumulate(vector, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+            }
+        }
+        return FloatVectors.normalize(vector);
+    }
+
+    // 해시 하위 비트로 차원, 상위 비트로 부호 결정 (충돌 상쇄)
+    private void accumulate(float[] vector, String feature, float weight) {
+        int hash = mix(feature.hashCode());
+        int index = Math.floorMod(hash, dimensions);
+        vector[index] += (hash >>> 31) == 0 ? weight : -weight;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
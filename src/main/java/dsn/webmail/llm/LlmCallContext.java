@@ -0,0 +1,62 @@
+package dsn.webmail.llm;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * LLM 호출 컨텍스트 (기능명, 사용자 ID)
+ *
+ * 호출하는 쪽에서 try-with-resources로 열어두면
+ * MeteredChatLanguageModel이 현재 스레드의 값을 읽어 메트릭 태그로 사용합니다.
+ *
+ * <pre>
+ * try (var ignored = LlmCallContext.open("mail-analysis", userId)) {
+ *     mailAnalysisAiService.analyze(...);
+ * }
+ * </pre>
+ */
+public final class LlmCallContext {
+
+    public static final String UNKNOWN_FEATURE = "unknown";
+
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
+    private LlmCallContext() {
+    }
+
+    /**
+     * 컨텍스트 설정 - 닫으면 이전 값으로 복원 (중첩 호출 지원)
+     */
+    public static Scope open(String feature, Long userId) {
+        return open(feature, userId, NOT_CANCELLED);
+    }
+
+    /**
+     * 스트리밍 호출용 - cancelled가 true가 되면 MeteredStreamingChatLanguageModel이 이후 토큰을 전달하지 않음
+     */
+    public static Scope open(String feature, Long userId, BooleanSupplier cancelled) {
+        Call previous = CURRENT.get();
+        CURRENT.set(new Call(feature, userId, cancelled));
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static Call current() {
+        Call call = CURRENT.get();
+        return call != null ? call : new Call(UNKNOWN_FEATURE, null, NOT_CANCELLED);
+    }
+
+    record Call(String feature, Long userId, BooleanSupplier cancelled) {
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,160 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.model.output.TokenUsage;
+import dsn.webmail.dto.LlmUsageDtos.LlmUsageResponse;
+import dsn.webmail.dto.LlmUsageDtos.UsageSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LLM 호출 메트릭 수집
+ *
+ * - Micrometer: 기능(feature)별 지연 히스토그램, 토큰 수, 예상 비용 (사용자 태그는 카디널리티 문제로 제외)
+ * - 메모리 집계: 기능별 / 사용자별 누적 (관리자 요약 API용, 재시작 시 초기화)
+ */
+@Component
+public class LlmUsageMetrics {
+
+    private static final double MICRO = 1_000_000.0;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Usage> byFeature = new ConcurrentHashMap<>();
+    private final Map<Long, Usage> byUser = new ConcurrentHashMap<>();
+    private final LocalDateTime since = LocalDateTime.now();
+
+    // 100만 토큰당 USD (gpt-4o-mini 기준)
+    @Value("${llm.pricing.input-per-million:0.15}")
+    private double inputPricePerMillion;
+
+    @Value("${llm.pricing.output-per-million:0.60}")
+    private double outputPricePerMillion;
+
+    // 100만 토큰당 USD (text-embedding-3-small 기준, 입력 토큰만 과금)
+    @Value("${llm.pricing.embedding-per-million:0.02}")
+    private double embeddingPricePerMillion;
+
+    public LlmUsageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String feature, Long userId, Duration latency, TokenUsage tokenUsage, Throwable error) {
+        record(feature, userId, latency, tokenUsage, error, inputPricePerMillion);
+    }
+
+    /**
+     * 임베딩 호출 기록 - 채팅 모델과 단가만 다름
+     */
+    public void recordEmbedding(String feature, Long userId, Duration latency, TokenUsage tokenUsage, Throwable error) {
+        record(feature, userId, latency, tokenUsage, error, embeddingPricePerMillion);
+    }
+
+    private void record(String feature, Long userId, Duration latency, TokenUsage tokenUsage, Throwable error,
+                        double inputPrice) {
+        String outcome = error == null ? "success"
+                : error instanceof CancellationException ? "cancelled" : "error";
+        Timer.builder("llm.calls")
+                .description("LLM 호출 지연 시간")
+                .tag("feature", feature)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+
+        long inputTokens = tokenUsage != null && tokenUsage.inputTokenCount() != null ? tokenUsage.inputTokenCount() : 0;
+        long outputTokens = tokenUsage != null && tokenUsage.outputTokenCount() != null ? tokenUsage.outputTokenCount() : 0;
+        double cost = (inputTokens * inputPrice + outputTokens * outputPricePerMillion) / MICRO;
+
+        if (inputTokens > 0) {
+            tokenCounter(feature, "prompt").increment(inputTokens);
+        }
+        if (outputTokens > 0) {
+            tokenCounter(feature, "completion").increment(outputTokens);
+        }
+        if (cost > 0) {
+            Counter.builder("llm.cost")
+                    .description("LLM 예상 비용 (USD)")
+                    .baseUnit("usd")
+                    .tag("feature", feature)
+                    .register(meterRegistry)
+                    .increment(cost);
+        }
+
+        byFeature.computeIfAbsent(feature, k -> new Usage())
+                .add(latency, inputTokens, outputTokens, cost, "error".equals(outcome));
+        if (userId != null) {
+            byUser.computeIfAbsent(userId, k -> new Usage())
+                    .add(latency, inputTokens, outputTokens, cost, "error".equals(outcome));
+        }
+    }
+
+    private Counter tokenCounter(String feature, String type) {
+        return Counter.builder("llm.tokens")
+                .description("LLM 토큰 사용량")
+                .tag("feature", feature)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 관리자용 사용량 요약
+     */
+    public LlmUsageResponse summarize(int topUsers) {
+        List<UsageSummary> features = byFeature.entrySet().stream()
+                .map(e -> e.getValue().toSummary(e.getKey()))
+                .sorted(Comparator.comparingDouble(UsageSummary::estimatedCostUsd).reversed())
+                .toList();
+
+        List<UsageSummary> users = byUser.entrySet().stream()
+                .map(e -> e.getValue().toSummary(String.valueOf(e.getKey())))
+                .sorted(Comparator.comparingDouble(UsageSummary::estimatedCostUsd).reversed())
+                .limit(topUsers)
+                .toList();
+
+        double totalCost = features.stream().mapToDouble(UsageSummary::estimatedCostUsd).sum();
+        return new LlmUsageResponse(since, totalCost, features, users);
+    }
+
+    private static final class Usage {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder latencyMillis = new LongAdder();
+        private final LongAdder inputTokens = new LongAdder();
+        private final LongAdder outputTokens = new LongAdder();
+        private final LongAdder costMicroUsd = new LongAdder();
+
+        void add(Duration latency, long input, long output, double cost, boolean error) {
+            calls.increment();
+            if (error) {
+                errors.increment();
+            }
+            latencyMillis.add(latency.toMillis());
+            inputTokens.add(input);
+            outputTokens.add(output);
+            costMicroUsd.add(Math.round(cost * MICRO));
+        }
+
+        UsageSummary toSummary(String key) {
+            long callCount = calls.sum();
+            return new UsageSummary(
+                    key,
+                    callCount,
+                    errors.sum(),
+                    callCount > 0 ? latencyMillis.sum() / callCount : 0,
+                    inputTokens.sum(),
+                    outputTokens.sum(),
+                    costMicroUsd.sum() / MICRO);
+        }
+    }
+}
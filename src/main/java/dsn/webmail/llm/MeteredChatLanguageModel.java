@@ -0,0 +1,58 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ChatLanguageModel 계측 데코레이터
+ *
+ * AiServices 프록시와 chatModel.generate 직접 호출 모두 이 빈을 거치므로
+ * 한 곳에서 지연 시간, 토큰, 오류, 비용을 기록합니다.
+ */
+public class MeteredChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final LlmUsageMetrics metrics;
+
+    public MeteredChatLanguageModel(ChatLanguageModel delegate, LlmUsageMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return measure(() -> delegate.generate(messages));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return measure(() -> delegate.generate(messages, toolSpecifications));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, ToolSpecification toolSpecification) {
+        return measure(() -> delegate.generate(messages, toolSpecification));
+    }
+
+    private Response<AiMessage> measure(Supplier<Response<AiMessage>> call) {
+        LlmCallContext.Call context = LlmCallContext.current();
+        long start = System.nanoTime();
+        try {
+            Response<AiMessage> response = call.get();
+            metrics.record(context.feature(), context.userId(),
+                    Duration.ofNanos(System.nanoTime() - start), response.tokenUsage(), null);
+            return response;
+        } catch (RuntimeException e) {
+            metrics.record(context.feature(), context.userId(),
+                    Duration.ofNanos(System.nanoTime() - start), null, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * EmbeddingModel 계측 데코레이터
+ *
+ * embed(String/TextSegment) 기본 구현도 embedAll을 거치므로 embedAll 한 곳에서 기록합니다.
+ * 비용은 임베딩 단가로 계산합니다 (LlmUsageMetrics.recordEmbedding).
+ */
+public class MeteredEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final LlmUsageMetrics metrics;
+
+    public MeteredEmbeddingModel(EmbeddingModel delegate, LlmUsageMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        LlmCallContext.Call context = LlmCallContext.current();
+        long start = System.nanoTime();
+        try {
+            Response<List<Embedding>> response = delegate.embedAll(textSegments);
+            metrics.recordEmbedding(context.feature(), context.userId(),
+                    Duration.ofNanos(System.nanoTime() - start), response.tokenUsage(), null);
+            return response;
+        } catch (RuntimeException e) {
+            metrics.recordEmbedding(context.feature(), context.userId(),
+                    Duration.ofNanos(System.nanoTime() - start), null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+}
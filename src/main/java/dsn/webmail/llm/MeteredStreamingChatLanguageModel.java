@@ -0,0 +1,83 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * StreamingChatLanguageModel 계측 데코레이터
+ *
+ * 컨텍스트는 호출 스레드에서 캡처하고, 완료/오류 콜백 시점에 기록합니다.
+ * 지연 시간은 요청 시작부터 마지막 토큰까지입니다.
+ *
+ * 컨텍스트의 취소 플래그가 켜지면(클라이언트 연결 종료 등) 이후 토큰/완료/오류 콜백을 호출자에게 전달하지 않습니다.
+ * - langchain4j 0.34 스트리밍 클라이언트는 취소 수단이 없어 업스트림 생성은 끝까지 진행되고 과금도 그대로 발생
+ * - 따라서 완료 시 받은 토큰 사용량은 버리지 않고 cancelled 결과로 기록
+ */
+public class MeteredStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final StreamingChatLanguageModel delegate;
+    private final LlmUsageMetrics metrics;
+
+    public MeteredStreamingChatLanguageModel(StreamingChatLanguageModel delegate, LlmUsageMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        LlmCallContext.Call context = LlmCallContext.current();
+        long start = System.nanoTime();
+        AtomicBoolean finished = new AtomicBoolean(false);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        delegate.generate(messages, new StreamingResponseHandler<>() {
+            @Override
+            public void onNext(String token) {
+                if (isCancelled()) {
+                    return;
+                }
+                handler.onNext(token);
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                if (!finished.compareAndSet(false, true)) {
+                    return;
+                }
+                boolean wasCancelled = isCancelled();
+                metrics.record(context.feature(), context.userId(), Duration.ofNanos(System.nanoTime() - start),
+                        response.tokenUsage(), wasCancelled ? new CancellationException("스트리밍 생성 취소") : null);
+                if (!wasCancelled) {
+                    handler.onComplete(response);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!finished.compareAndSet(false, true)) {
+                    return;
+                }
+                metrics.record(context.feature(), context.userId(),
+                        Duration.ofNanos(System.nanoTime() - start), null, error);
+                if (!isCancelled()) {
+                    handler.onError(error);
+                }
+            }
+
+            private boolean isCancelled() {
+                if (!cancelled.get() && context.cancelled().getAsBoolean()) {
+                    cancelled.set(true);
+                }
+                return cancelled.get();
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package dsn.webmail.repository;
 
 import dsn.webmail.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,4 +18,23 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     
     @Query("SELECT u FROM AppUser u WHERE u.status = 'ACTIVE' AND u.mailPollingEnabled = true AND u.encryptedPop3Password IS NOT NULL AND (u.nextRetryAt IS NULL OR u.nextRetryAt <= :now)")
     List<AppUser> findActiveForPolling(@Param("now") LocalDateTime now);
+
+    Optional<AppUser> findByCalendarToken(String calendarToken);
+
+    @Query("SELECT u.calendarToken FROM AppUser u WHERE u.id = :userId")
+    String findCalendarTokenById(@Param("userId") Long userId);
+
+    // 토큰이 없을 때만 발급 (동시 발급 시 먼저 반영된 토큰 유지)
+    @Modifying
+    @Query("UPDATE AppUser u SET u.calendarToken = :token WHERE u.id = :userId AND u.calendarToken IS NULL")
+    int assignCalendarTokenIfAbsent(@Param("userId") Long userId, @Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE AppUser u SET u.calendarToken = :token WHERE u.id = :userId")
+    int updateCalendarToken(@Param("userId") Long userId, @Param("token") String token);
+
+    // 일정 변경 표시 (ICS 피드 조건부 요청용)
+    @Modifying
+    @Query("UPDATE AppUser u SET u.eventsChangedAt = :changedAt WHERE u.id = :userId")
+    int markEventsChanged(@Param("userId") Long userId, @Param("changedAt") LocalDateTime changedAt);
 }
\ No newline at end of file
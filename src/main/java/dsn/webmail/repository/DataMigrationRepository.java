@@ -0,0 +1,9 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.DataMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +21,9 @@ public interface EventKeywordRepository extends JpaRepository<EventKeyword, Long
 
     List<EventKeyword> findByKeyword(TechKeyword keyword);
 
+    @Query("SELECT ek.keyword.id FROM EventKeyword ek WHERE ek.event.id = :eventId")
+    List<Long> findKeywordIdsByEventId(@Param("eventId") Long eventId);
+
     @Query("SELECT ek.keyword FROM EventKeyword ek WHERE ek.event.id = :eventId")
     List<TechKeyword> findKeywordsByEventId(@Param("eventId") Long eventId);
 
@@ -33,4 +37,18 @@ public interface EventKeywordRepository extends JpaRepository<EventKeyword, Long
 
     @Query("SELECT COUNT(ek) FROM EventKeyword ek WHERE ek.keyword.id = :keywordId")
     Long countByKeywordId(@Param("keywordId") Long keywordId);
+
+    // 키워드 병합: 중복 키워드 매핑을 대표 키워드로 이동
+    @Modifying
+    @Query(value = "UPDATE event_keyword SET keyword_id = :canonicalId WHERE keyword_id IN (:duplicateIds)", nativeQuery = true)
+    int reassignKeywords(@Param("duplicateIds") Collection<Long> duplicateIds, @Param("canonicalId") Long canonicalId);
+
+    // 키워드 병합 후 같은 대상에 중복된 매핑은 가장 먼저 생긴 것만 남김
+    @Modifying
+    @Query(value = """
+            DELETE m FROM event_keyword m
+            JOIN event_keyword keep ON keep.event_id = m.event_id AND keep.keyword_id = m.keyword_id AND keep.id < m.id
+            WHERE m.keyword_id = :keywordId
+            """, nativeQuery = true)
+    int deleteDuplicateMappings(@Param("keywordId") Long keywordId);
 }
@@ -0,0 +1,13 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.HolidayMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface HolidayMonthRepository extends JpaRepository<HolidayMonth, Long> {
+
+    Optional<HolidayMonth> findByYearAndMonth(Integer year, Integer month);
+}
@@ -0,0 +1,19 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    // 월 단위 교체용 (구간은 [from, to])
+    @Modifying
+    @Query("DELETE FROM Holiday h WHERE h.date BETWEEN :from AND :to")
+    int deleteByDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,27 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.KeywordEmbedding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KeywordEmbeddingRepository extends JpaRepository<KeywordEmbedding, Long> {
+
+    List<KeywordEmbedding> findByKeywordIdIn(Collection<Long> keywordIds);
+
+    // 임베딩이 없는 키워드 (오래된 순)
+    @Query("SELECT k.id FROM TechKeyword k WHERE NOT EXISTS " +
+           "(SELECT 1 FROM KeywordEmbedding e WHERE e.keywordId = k.id) ORDER BY k.id")
+    List<Long> findKeywordIdsWithoutEmbedding(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM KeywordEmbedding e WHERE e.keywordId IN :keywordIds")
+    int deleteByKeywordIds(@Param("keywordIds") Collection<Long> keywordIds);
+}
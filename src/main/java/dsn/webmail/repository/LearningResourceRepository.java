@@ -3,10 +3,12 @@ package dsn.webmail.repository;
 import dsn.webmail.entity.LearningResource;
 import dsn.webmail.entity.TechKeyword;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,6 +27,26 @@ public interface LearningResourceRepository extends JpaRepository<LearningResour
     @Query("SELECT r FROM LearningResource r WHERE r.keyword.id = :keywordId ORDER BY r.type, r.difficulty")
     List<LearningResource> findByKeywordIdOrderByTypeAndDifficulty(@Param("keywordId") Long keywordId);
 
+    @Query("SELECT r FROM LearningResource r JOIN FETCH r.keyword WHERE r.keyword.id IN :keywordIds ORDER BY r.id")
+    List<LearningResource> findWithKeywordByKeywordIdIn(@Param("keywordIds") Collection<Long> keywordIds);
+
     @Query("SELECT COUNT(r) FROM LearningResource r WHERE r.keyword.id = :keywordId")
     Long countByKeywordId(@Param("keywordId") Long keywordId);
+
+    // (키워드 ID, 자료 수) - 자료가 없는 키워드는 결과에 없음
+    @Query("SELECT r.keyword.id, COUNT(r) FROM LearningResource r WHERE r.keyword.id IN :keywordIds GROUP BY r.keyword.id")
+    List<Object[]> countByKeywordIds(@Param("keywordIds") Collection<Long> keywordIds);
+
+    // 키워드 병합: 대표 키워드에 없는 URL의 자료만 이동 (같은 URL은 중복이므로 남겨 둠)
+    @Modifying
+    @Query(value = """
+            UPDATE learning_resource SET keyword_id = :canonicalId
+            WHERE keyword_id = :duplicateId
+              AND url NOT IN (SELECT url FROM (SELECT url FROM learning_resource WHERE keyword_id = :canonicalId) existing)
+            """, nativeQuery = true)
+    int reassignKeyword(@Param("duplicateId") Long duplicateId, @Param("canonicalId") Long canonicalId);
+
+    @Modifying
+    @Query("DELETE FROM LearningResource r WHERE r.keyword.id = :keywordId")
+    int deleteAllByKeywordId(@Param("keywordId") Long keywordId);
 }
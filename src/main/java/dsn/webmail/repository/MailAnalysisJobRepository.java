@@ -0,0 +1,40 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.MailAnalysisJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MailAnalysisJobRepository extends JpaRepository<MailAnalysisJob, Long> {
+
+    Optional<MailAnalysisJob> findByMailId(Long mailId);
+
+    long countByStatus(MailAnalysisJob.Status status);
+
+    @Query("SELECT j.id FROM MailAnalysisJob j " +
+            "WHERE j.status = dsn.webmail.entity.MailAnalysisJob.Status.PENDING AND j.nextAttemptAt <= :now " +
+            "ORDER BY j.nextAttemptAt")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // PENDING인 경우에만 선점 (여러 인스턴스가 같은 작업을 가져가지 않도록 조건부 UPDATE)
+    @Modifying
+    @Query("UPDATE MailAnalysisJob j SET j.status = dsn.webmail.entity.MailAnalysisJob.Status.RUNNING, " +
+            "j.lockedAt = :now, j.attempts = j.attempts + 1, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = dsn.webmail.entity.MailAnalysisJob.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 오래 RUNNING 상태인 작업을 다시 대기열로 (워커 비정상 종료 대비)
+    @Modifying
+    @Query("UPDATE MailAnalysisJob j SET j.status = dsn.webmail.entity.MailAnalysisJob.Status.PENDING, " +
+            "j.lockedAt = null, j.nextAttemptAt = :now, j.updatedAt = :now " +
+            "WHERE j.status = dsn.webmail.entity.MailAnalysisJob.Status.RUNNING AND j.lockedAt < :staleBefore")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,23 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.MailEmbedding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailEmbeddingRepository extends JpaRepository<MailEmbedding, Long> {
+
+    List<MailEmbedding> findByUserId(Long userId);
+
+    List<MailEmbedding> findByMailIdIn(Collection<Long> mailIds);
+
+    // 요약은 있지만 임베딩이 없는 메일 (오래된 순)
+    @Query("SELECT p.id FROM ProcessedMail p WHERE p.summary IS NOT NULL AND NOT EXISTS " +
+           "(SELECT 1 FROM MailEmbedding e WHERE e.mailId = p.id) ORDER BY p.id")
+    List<Long> findMailIdsWithoutEmbedding(Pageable pageable);
+}
@@ -1,26 +1,32 @@
 package dsn.webmail.repository;
 
 import dsn.webmail.entity.MailEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MailEventRepository extends JpaRepository<MailEvent, Long> {
 
-    // 사용자의 특정 월 일정 조회
-    @Query("SELECT e FROM MailEvent e WHERE e.user.id = :userId AND e.dateTime LIKE :yearMonth%")
-    List<MailEvent> findByUserIdAndYearMonth(@Param("userId") Long userId, @Param("yearMonth") String yearMonth);
-
-    // 사용자의 특정 월 일정 조회 (ProcessedMail JOIN - 메일 제목, 발신자 포함)
+    // 사용자의 기간 내 일정 조회 (ProcessedMail JOIN - 메일 제목, 발신자 포함, 시작 시각 순)
+    // (user_id, start_at) 인덱스 범위 스캔, 구간은 [from, to)
     @Query("SELECT e, p.subject, p.fromAddress FROM MailEvent e " +
            "LEFT JOIN ProcessedMail p ON e.user.id = p.user.id AND e.sourceMessageId = p.messageId " +
-           "WHERE e.user.id = :userId AND e.dateTime LIKE :yearMonth%")
-    List<Object[]> findByUserIdAndYearMonthWithMailInfo(@Param("userId") Long userId, @Param("yearMonth") String yearMonth);
+           "WHERE e.user.id = :userId AND e.startAt >= :from AND e.startAt < :to " +
+           "ORDER BY e.startAt, e.id")
+    List<Object[]> findByUserIdAndStartAtRangeWithMailInfo(@Param("userId") Long userId,
+                                                           @Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to);
 
     // 사용자의 모든 일정 조회
     List<MailEvent> findByUserId(Long userId);
@@ -33,4 +39,15 @@ public interface MailEventRepository extends JpaRepository<MailEvent, Long> {
            "LEFT JOIN ProcessedMail p ON e.user.id = p.user.id AND e.sourceMessageId = p.messageId " +
            "WHERE e.id = :id AND e.user.id = :userId")
     List<Object[]> findByIdAndUserIdWithMailInfo(@Param("id") Long id, @Param("userId") Long userId);
+
+    // start_at 이관 대상 (ID 순 keyset 페이지)
+    @Query("SELECT e FROM MailEvent e WHERE e.startAt IS NULL AND e.dateTime IS NOT NULL AND e.id > :afterId ORDER BY e.id")
+    List<MailEvent> findWithoutStartAt(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ICS 피드용 스트리밍 조회 (엔티티 대신 필요한 컬럼만, 트랜잭션 안에서 사용 후 close)
+    // [id, title, startAt, endAt, location, description, createdAt, updatedAt]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT e.id, e.title, e.startAt, e.endAt, e.location, e.description, e.createdAt, e.updatedAt " +
+           "FROM MailEvent e WHERE e.user.id = :userId AND e.startAt >= :from ORDER BY e.startAt, e.id")
+    Stream<Object[]> streamCalendarRows(@Param("userId") Long userId, @Param("from") LocalDateTime from);
 }
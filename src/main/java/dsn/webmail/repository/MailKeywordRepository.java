@@ -3,11 +3,14 @@ package dsn.webmail.repository;
 import dsn.webmail.entity.MailKeyword;
 import dsn.webmail.entity.ProcessedMail;
 import dsn.webmail.entity.TechKeyword;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +27,22 @@ public interface MailKeywordRepository extends JpaRepository<MailKeyword, Long>
     @Query("SELECT mk FROM MailKeyword mk WHERE mk.keyword.id = :keywordId ORDER BY mk.createdAt DESC")
     List<MailKeyword> findByKeywordIdOrderByCreatedAtDesc(@Param("keywordId") Long keywordId);
 
+    /**
+     * 사용자 메일 중 키워드가 포함된 메일 (메일 ID 역순 keyset 페이지, 본문 제외)
+     * [메일 ID, 제목, 발신자, 처리 시각, 신뢰도]
+     */
+    @Query("SELECT m.id, m.subject, m.fromAddress, m.processedAt, mk.confidence " +
+           "FROM MailKeyword mk JOIN mk.mail m " +
+           "WHERE m.user.id = :userId AND mk.keyword.id = :keywordId AND m.id < :cursor " +
+           "ORDER BY m.id DESC")
+    List<Object[]> findUserMailsByKeyword(@Param("userId") Long userId,
+                                          @Param("keywordId") Long keywordId,
+                                          @Param("cursor") Long cursor,
+                                          Pageable pageable);
+
+    @Query("SELECT mk.keyword.id FROM MailKeyword mk WHERE mk.mail.id = :mailId")
+    List<Long> findKeywordIdsByMailId(@Param("mailId") Long mailId);
+
     @Query("SELECT mk.keyword FROM MailKeyword mk WHERE mk.mail.id = :mailId")
     List<TechKeyword> findKeywordsByMailId(@Param("mailId") Long mailId);
 
@@ -37,4 +56,30 @@ public interface MailKeywordRepository extends JpaRepository<MailKeyword, Long>
     List<MailKeyword> findByMailUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
 
     boolean existsByMailAndKeyword(ProcessedMail mail, TechKeyword keyword);
+
+    // 키워드 병합: 중복 키워드 매핑을 대표 키워드로 이동
+    @Modifying
+    @Query(value = "UPDATE mail_keyword SET keyword_id = :canonicalId WHERE keyword_id IN (:duplicateIds)", nativeQuery = true)
+    int reassignKeywords(@Param("duplicateIds") Collection<Long> duplicateIds, @Param("canonicalId") Long canonicalId);
+
+    // 키워드 병합 후 같은 대상에 중복된 매핑은 가장 먼저 생긴 것만 남김
+    @Modifying
+    @Query(value = """
+            DELETE m FROM mail_keyword m
+            JOIN mail_keyword keep ON keep.processed_mail_id = m.processed_mail_id AND keep.keyword_id = m.keyword_id AND keep.id < m.id
+            WHERE m.keyword_id = :keywordId
+            """, nativeQuery = true)
+    int deleteDuplicateMappings(@Param("keywordId") Long keywordId);
+
+    /**
+     * 메일 ID 구간의 키워드 매핑 (동시 출현 그래프 로드용, 메일 ID 순)
+     * [메일 ID, 키워드 ID, 매핑 시각]
+     */
+    @Query("SELECT mk.mail.id, mk.keyword.id, mk.createdAt FROM MailKeyword mk " +
+           "WHERE mk.mail.id > :afterMailId AND mk.mail.id <= :toMailId ORDER BY mk.mail.id")
+    List<Object[]> findMappingsInMailRange(@Param("afterMailId") Long afterMailId,
+                                           @Param("toMailId") Long toMailId);
+
+    @Query("SELECT MAX(mk.mail.id) FROM MailKeyword mk")
+    Long findMaxMailId();
 }
@@ -5,9 +5,12 @@ import dsn.webmail.entity.ProcessedMail;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -30,4 +33,12 @@ public interface ProcessedMailRepository extends JpaRepository<ProcessedMail, Lo
 
     // 특정 시간 이후 메일 조회
     java.util.List<ProcessedMail> findByUserIdAndProcessedAtAfterOrderByProcessedAtDesc(Long userId, LocalDateTime after);
+
+    // 로컬 분류기 학습용 (제목, 발신자, 카테고리) - 본문은 로드하지 않음
+    // LLM이 분류한 메일만 사용 (로컬 분류 결과로 다시 학습하지 않도록)
+    @Query("SELECT p.subject, p.fromAddress, p.category FROM ProcessedMail p " +
+           "WHERE p.analyzedAt IS NOT NULL AND p.category IS NOT NULL AND p.category <> dsn.webmail.entity.MailCategory.UNKNOWN " +
+           "AND (p.analysisSource = dsn.webmail.entity.ProcessedMail.AnalysisSource.LLM OR p.analysisSource IS NULL) " +
+           "AND p.categoryConfidence >= :minConfidence ORDER BY p.processedAt DESC")
+    List<Object[]> findTrainingSamples(@Param("minConfidence") Float minConfidence, Pageable pageable);
 }
\ No newline at end of file
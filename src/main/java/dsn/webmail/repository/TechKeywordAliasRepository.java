@@ -0,0 +1,26 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.TechKeywordAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TechKeywordAliasRepository extends JpaRepository<TechKeywordAlias, Long> {
+
+    boolean existsByNormalizedAlias(String normalizedAlias);
+
+    // (정규화된 별칭, 키워드 ID)
+    @Query("SELECT a.normalizedAlias, a.keyword.id FROM TechKeywordAlias a")
+    List<Object[]> findAllMappings();
+
+    // 키워드 병합: 중복 키워드의 별칭을 대표 키워드로 이동
+    @Modifying
+    @Query(value = "UPDATE tech_keyword_alias SET keyword_id = :canonicalId WHERE keyword_id IN (:duplicateIds)", nativeQuery = true)
+    int reassignKeywords(@Param("duplicateIds") Collection<Long> duplicateIds, @Param("canonicalId") Long canonicalId);
+}
@@ -1,9 +1,15 @@
 package dsn.webmail.repository;
 
 import dsn.webmail.entity.TechKeyword;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +23,49 @@ public interface TechKeywordRepository extends JpaRepository<TechKeyword, Long>
     List<TechKeyword> findAllByOrderByKeywordAsc();
 
     boolean existsByKeyword(String keyword);
+
+    Optional<TechKeyword> findByNormalizedKeyword(String normalizedKeyword);
+
+    List<TechKeyword> findByNormalizedKeywordIn(Collection<String> normalizedKeywords);
+
+    List<TechKeyword> findByNormalizedKeywordIsNullOrderByIdAsc();
+
+    // (정규화된 키워드, 키워드 ID)
+    @Query("SELECT k.normalizedKeyword, k.id FROM TechKeyword k WHERE k.normalizedKeyword IS NOT NULL")
+    List<Object[]> findAllNormalizedMappings();
+
+    // 학습 자료 생성 선점 - 선점이 없거나 만료된 경우에만 성공 (1 반환)
+    @Modifying
+    @Query(value = """
+            UPDATE tech_keyword SET resource_generation_until = :until
+            WHERE id = :id AND (resource_generation_until IS NULL OR resource_generation_until < :now)
+            """, nativeQuery = true)
+    int claimResourceGeneration(@Param("id") Long id, @Param("now") LocalDateTime now,
+                                @Param("until") LocalDateTime until);
+
+    // 자기 선점만 해제 (만료 후 다른 노드가 다시 선점했으면 그대로 둠)
+    @Modifying
+    @Query(value = """
+            UPDATE tech_keyword SET resource_generation_until = NULL
+            WHERE id = :id AND resource_generation_until = :until
+            """, nativeQuery = true)
+    int releaseResourceGeneration(@Param("id") Long id, @Param("until") LocalDateTime until);
+
+    @Query("SELECT k.resourceGenerationUntil FROM TechKeyword k WHERE k.id = :id")
+    LocalDateTime findResourceGenerationUntil(@Param("id") Long id);
+
+    // 학습 자료가 하나도 없는 키워드 (afterId 다음부터 오래된 순)
+    @Query("SELECT k.id FROM TechKeyword k WHERE k.id > :afterId AND NOT EXISTS " +
+           "(SELECT 1 FROM LearningResource r WHERE r.keyword = k) ORDER BY k.id")
+    List<Long> findIdsWithoutResources(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 키워드 병합: 중복 키워드 사용 횟수를 대표 키워드에 합산
+    @Modifying
+    @Query(value = """
+            UPDATE tech_keyword SET global_usage_count = global_usage_count +
+                (SELECT COALESCE(SUM(d.global_usage_count), 0) FROM
+                    (SELECT global_usage_count FROM tech_keyword WHERE id IN (:duplicateIds)) d)
+            WHERE id = :canonicalId
+            """, nativeQuery = true)
+    int addUsageFrom(@Param("duplicateIds") Collection<Long> duplicateIds, @Param("canonicalId") Long canonicalId);
 }
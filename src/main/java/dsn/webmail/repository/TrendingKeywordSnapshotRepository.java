@@ -0,0 +1,28 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.TrendingKeywordSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TrendingKeywordSnapshotRepository extends JpaRepository<TrendingKeywordSnapshot, Long> {
+
+    List<TrendingKeywordSnapshot> findByBucketStartGreaterThanEqual(LocalDateTime from);
+
+    @Modifying
+    @Query("DELETE FROM TrendingKeywordSnapshot s " +
+           "WHERE s.nodeId = :nodeId AND s.granularity = :granularity AND s.bucketStart = :bucketStart")
+    int deleteBucket(@Param("nodeId") String nodeId,
+                     @Param("granularity") TrendingKeywordSnapshot.Granularity granularity,
+                     @Param("bucketStart") LocalDateTime bucketStart);
+
+    @Modifying
+    @Query("DELETE FROM TrendingKeywordSnapshot s WHERE s.bucketStart < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.UrlHealth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UrlHealthRepository extends JpaRepository<UrlHealth, Long> {
+
+    List<UrlHealth> findByUrlHashIn(Collection<String> urlHashes);
+}
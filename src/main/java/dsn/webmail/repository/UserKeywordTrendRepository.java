@@ -0,0 +1,96 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.UserKeywordTrend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserKeywordTrendRepository extends JpaRepository<UserKeywordTrend, Long> {
+
+    /**
+     * 기간별 합계 (bucket_start 오름차순)
+     * [bucket_start, 메일 수, 일정 수]
+     */
+    @Query("SELECT t.bucketStart, SUM(t.mailCount), SUM(t.eventCount) FROM UserKeywordTrend t " +
+           "WHERE t.userId = :userId AND t.bucketType = :bucketType AND t.bucketStart >= :from " +
+           "GROUP BY t.bucketStart ORDER BY t.bucketStart")
+    List<Object[]> sumByBucket(@Param("userId") Long userId,
+                               @Param("bucketType") UserKeywordTrend.BucketType bucketType,
+                               @Param("from") LocalDate from);
+
+    /**
+     * 메일 매핑 반영 (일/주/월 버킷을 한 번에 증가)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_keyword_trend (user_id, keyword_id, bucket_type, bucket_start, mail_count, event_count)
+            SELECT :userId, k.id, b.bucket_type, b.bucket_start, 1, 0
+            FROM tech_keyword k
+            CROSS JOIN (SELECT 'DAY' AS bucket_type, :day AS bucket_start
+                        UNION ALL SELECT 'WEEK', :week
+                        UNION ALL SELECT 'MONTH', :month) b
+            WHERE k.id IN (:keywordIds)
+            ON DUPLICATE KEY UPDATE mail_count = mail_count + 1
+            """, nativeQuery = true)
+    int upsertMailKeywords(@Param("userId") Long userId,
+                           @Param("keywordIds") Collection<Long> keywordIds,
+                           @Param("day") LocalDate day,
+                           @Param("week") LocalDate week,
+                           @Param("month") LocalDate month);
+
+    /**
+     * 일정 매핑 반영 (일/주/월 버킷을 한 번에 증가)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_keyword_trend (user_id, keyword_id, bucket_type, bucket_start, mail_count, event_count)
+            SELECT :userId, k.id, b.bucket_type, b.bucket_start, 0, 1
+            FROM tech_keyword k
+            CROSS JOIN (SELECT 'DAY' AS bucket_type, :day AS bucket_start
+                        UNION ALL SELECT 'WEEK', :week
+                        UNION ALL SELECT 'MONTH', :month) b
+            WHERE k.id IN (:keywordIds)
+            ON DUPLICATE KEY UPDATE event_count = event_count + 1
+            """, nativeQuery = true)
+    int upsertEventKeywords(@Param("userId") Long userId,
+                            @Param("keywordIds") Collection<Long> keywordIds,
+                            @Param("day") LocalDate day,
+                            @Param("week") LocalDate week,
+                            @Param("month") LocalDate month);
+
+    /**
+     * 기존 메일/일정 매핑의 생성 시각으로 전체 롤업 재구성
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_keyword_trend (user_id, keyword_id, bucket_type, bucket_start, mail_count, event_count)
+            SELECT s.user_id, s.keyword_id, b.bucket_type,
+                   CASE b.bucket_type
+                       WHEN 'DAY' THEN s.day
+                       WHEN 'WEEK' THEN s.day - INTERVAL WEEKDAY(s.day) DAY
+                       ELSE s.day - INTERVAL (DAYOFMONTH(s.day) - 1) DAY
+                   END AS bucket_start,
+                   SUM(s.mail_count), SUM(s.event_count)
+            FROM (
+                SELECT m.user_id, mk.keyword_id, DATE(mk.created_at) AS day, COUNT(*) AS mail_count, 0 AS event_count
+                FROM mail_keyword mk JOIN processed_mail m ON m.id = mk.processed_mail_id
+                WHERE mk.created_at IS NOT NULL
+                GROUP BY m.user_id, mk.keyword_id, DATE(mk.created_at)
+                UNION ALL
+                SELECT e.user_id, ek.keyword_id, DATE(ek.created_at), 0, COUNT(*)
+                FROM event_keyword ek JOIN mail_event e ON e.id = ek.event_id
+                WHERE ek.created_at IS NOT NULL
+                GROUP BY e.user_id, ek.keyword_id, DATE(ek.created_at)
+            ) s
+            CROSS JOIN (SELECT 'DAY' AS bucket_type UNION ALL SELECT 'WEEK' UNION ALL SELECT 'MONTH') b
+            GROUP BY s.user_id, s.keyword_id, b.bucket_type, bucket_start
+            """, nativeQuery = true)
+    int insertFromMappings();
+}
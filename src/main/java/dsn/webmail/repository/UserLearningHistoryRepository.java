@@ -3,11 +3,15 @@ package dsn.webmail.repository;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.TechKeyword;
 import dsn.webmail.entity.UserLearningHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +37,111 @@ public interface UserLearningHistoryRepository extends JpaRepository<UserLearnin
 
     @Query("SELECT COUNT(h) FROM UserLearningHistory h WHERE h.user.id = :userId")
     Long countByUserId(@Param("userId") Long userId);
+
+    // 키워드를 사용한 사용자 (자료 변경 시 화면 캐시 무효화용)
+    @Query("SELECT h.user.id FROM UserLearningHistory h WHERE h.keyword.id = :keywordId")
+    List<Long> findUserIdsByKeywordId(@Param("keywordId") Long keywordId);
+
+    // 메일에서 추출된 키워드 통계 (키워드 함께 조회)
+    @Query("SELECT h FROM UserLearningHistory h JOIN FETCH h.keyword " +
+           "WHERE h.user.id = :userId AND h.mailCount > 0 ORDER BY h.mailCount DESC")
+    List<UserLearningHistory> findMailStatsWithKeyword(@Param("userId") Long userId);
+
+    // 최근 사용 키워드 (키워드 함께 조회)
+    @Query("SELECT h FROM UserLearningHistory h JOIN FETCH h.keyword " +
+           "WHERE h.user.id = :userId ORDER BY h.lastUsedAt DESC")
+    List<UserLearningHistory> findRecentWithKeyword(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 학습 대시보드 요약 (한 행)
+     * [키워드 수, 키워드가 추출된 메일 수, 키워드가 추출된 일정 수, 북마크 수, 가장 많이 쓴 카테고리]
+     * 메일/일정 수는 매핑을 세지 않고 user_learning_summary의 누적 값을 읽습니다.
+     * 카테고리가 비어 있는 통계 행(재구성 전 기존 행)은 키워드 카테고리로 집계합니다.
+     */
+    @Query(value = """
+            SELECT
+                (SELECT COUNT(*) FROM user_learning_history h WHERE h.user_id = :userId),
+                (SELECT s.mail_count FROM user_learning_summary s WHERE s.user_id = :userId),
+                (SELECT s.event_count FROM user_learning_summary s WHERE s.user_id = :userId),
+                (SELECT COUNT(*) FROM user_resource_bookmark b WHERE b.user_id = :userId),
+                (SELECT COALESCE(h.category, k.category) FROM user_learning_history h
+                    JOIN tech_keyword k ON k.id = h.keyword_id
+                    WHERE h.user_id = :userId AND COALESCE(h.category, k.category) IS NOT NULL
+                    GROUP BY COALESCE(h.category, k.category) ORDER BY SUM(h.usage_count) DESC LIMIT 1)
+            """, nativeQuery = true)
+    List<Object[]> findDashboardSummary(@Param("userId") Long userId);
+
+    /**
+     * 메일 매핑 반영 (없으면 생성, 있으면 증가)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_history
+                (user_id, keyword_id, category, usage_count, mail_count, event_count, first_used_at, last_used_at)
+            SELECT :userId, k.id, k.category, 1, 1, 0, :at, :at FROM tech_keyword k WHERE k.id IN (:keywordIds)
+            ON DUPLICATE KEY UPDATE
+                usage_count = usage_count + 1,
+                mail_count = mail_count + 1,
+                category = VALUES(category),
+                last_used_at = GREATEST(last_used_at, VALUES(last_used_at))
+            """, nativeQuery = true)
+    int upsertMailKeywords(@Param("userId") Long userId,
+                           @Param("keywordIds") Collection<Long> keywordIds,
+                           @Param("at") LocalDateTime at);
+
+    /**
+     * 일정 매핑 반영 (없으면 생성, 있으면 증가)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_history
+                (user_id, keyword_id, category, usage_count, mail_count, event_count, first_used_at, last_used_at)
+            SELECT :userId, k.id, k.category, 1, 0, 1, :at, :at FROM tech_keyword k WHERE k.id IN (:keywordIds)
+            ON DUPLICATE KEY UPDATE
+                usage_count = usage_count + 1,
+                event_count = event_count + 1,
+                category = VALUES(category),
+                last_used_at = GREATEST(last_used_at, VALUES(last_used_at))
+            """, nativeQuery = true)
+    int upsertEventKeywords(@Param("userId") Long userId,
+                            @Param("keywordIds") Collection<Long> keywordIds,
+                            @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE UserLearningHistory h SET h.eventCount = h.eventCount - 1, h.usageCount = h.usageCount - 1 " +
+           "WHERE h.user.id = :userId AND h.keyword.id IN :keywordIds AND h.eventCount > 0")
+    int decrementEventKeywords(@Param("userId") Long userId, @Param("keywordIds") Collection<Long> keywordIds);
+
+    @Modifying
+    @Query("DELETE FROM UserLearningHistory h WHERE h.user.id = :userId AND h.usageCount <= 0")
+    int deleteEmptyByUserId(@Param("userId") Long userId);
+
+    /**
+     * 기존 메일/일정 매핑으로 전체 통계 재구성
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_history
+                (user_id, keyword_id, category, usage_count, mail_count, event_count, first_used_at, last_used_at)
+            SELECT s.user_id, s.keyword_id, k.category,
+                   SUM(s.mail_count) + SUM(s.event_count), SUM(s.mail_count), SUM(s.event_count),
+                   MIN(s.first_at), MAX(s.last_at)
+            FROM (
+                SELECT m.user_id, mk.keyword_id, COUNT(*) AS mail_count, 0 AS event_count,
+                       MIN(mk.created_at) AS first_at, MAX(mk.created_at) AS last_at
+                FROM mail_keyword mk JOIN processed_mail m ON m.id = mk.processed_mail_id
+                GROUP BY m.user_id, mk.keyword_id
+                UNION ALL
+                SELECT e.user_id, ek.keyword_id, 0, COUNT(*), MIN(ek.created_at), MAX(ek.created_at)
+                FROM event_keyword ek JOIN mail_event e ON e.id = ek.event_id
+                GROUP BY e.user_id, ek.keyword_id
+            ) s
+            JOIN tech_keyword k ON k.id = s.keyword_id
+            GROUP BY s.user_id, s.keyword_id, k.category
+            """, nativeQuery = true)
+    int insertFromMappings();
+
+    @Modifying
+    @Query("DELETE FROM UserLearningHistory h WHERE h.keyword.id IN :keywordIds")
+    int deleteByKeywordIds(@Param("keywordIds") Collection<Long> keywordIds);
 }
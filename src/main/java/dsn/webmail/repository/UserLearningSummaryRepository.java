@@ -0,0 +1,54 @@
+package dsn.webmail.repository;
+
+import dsn.webmail.entity.UserLearningSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserLearningSummaryRepository extends JpaRepository<UserLearningSummary, Long> {
+
+    /**
+     * 키워드가 추출된 메일 수 증감 (없으면 생성)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_summary (user_id, mail_count, event_count)
+            VALUES (:userId, GREATEST(:delta, 0), 0)
+            ON DUPLICATE KEY UPDATE mail_count = GREATEST(mail_count + :delta, 0)
+            """, nativeQuery = true)
+    int addMailCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * 키워드가 추출된 일정 수 증감 (없으면 생성)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_summary (user_id, mail_count, event_count)
+            VALUES (:userId, 0, GREATEST(:delta, 0))
+            ON DUPLICATE KEY UPDATE event_count = GREATEST(event_count + :delta, 0)
+            """, nativeQuery = true)
+    int addEventCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * 기존 메일/일정 매핑으로 전체 재구성
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_learning_summary (user_id, mail_count, event_count)
+            SELECT s.user_id, SUM(s.mail_count), SUM(s.event_count)
+            FROM (
+                SELECT m.user_id, COUNT(DISTINCT mk.processed_mail_id) AS mail_count, 0 AS event_count
+                FROM mail_keyword mk JOIN processed_mail m ON m.id = mk.processed_mail_id
+                GROUP BY m.user_id
+                UNION ALL
+                SELECT e.user_id, 0, COUNT(DISTINCT ek.event_id)
+                FROM event_keyword ek JOIN mail_event e ON e.id = ek.event_id
+                GROUP BY e.user_id
+            ) s
+            GROUP BY s.user_id
+            """, nativeQuery = true)
+    int insertFromMappings();
+}
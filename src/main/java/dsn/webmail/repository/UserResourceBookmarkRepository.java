@@ -4,8 +4,12 @@ import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.LearningResource;
 import dsn.webmail.entity.UserResourceBookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +22,11 @@ public interface UserResourceBookmarkRepository extends JpaRepository<UserResour
 
     List<UserResourceBookmark> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // 북마크 목록 (자료와 키워드 함께 조회)
+    @Query("SELECT b FROM UserResourceBookmark b JOIN FETCH b.resource r JOIN FETCH r.keyword " +
+           "WHERE b.user.id = :userId ORDER BY b.createdAt DESC")
+    List<UserResourceBookmark> findWithResourceByUserId(@Param("userId") Long userId);
+
     Optional<UserResourceBookmark> findByUserAndResource(AppUser user, LearningResource resource);
 
     Optional<UserResourceBookmark> findByUserIdAndResourceId(Long userId, Long resourceId);
@@ -27,4 +36,29 @@ public interface UserResourceBookmarkRepository extends JpaRepository<UserResour
     void deleteByUserIdAndResourceId(Long userId, Long resourceId);
 
     Long countByUserId(Long userId);
+
+    // 주어진 자료 중 사용자가 북마크한 자료 ID
+    @Query("SELECT b.resource.id FROM UserResourceBookmark b WHERE b.user.id = :userId AND b.resource.id IN :resourceIds")
+    List<Long> findBookmarkedResourceIds(@Param("userId") Long userId, @Param("resourceIds") Collection<Long> resourceIds);
+
+    // 키워드 병합: 중복 키워드 자료의 북마크를 대표 키워드의 같은 URL 자료로 이동
+    @Modifying
+    @Query(value = """
+            UPDATE user_resource_bookmark b
+            JOIN learning_resource r ON r.id = b.resource_id
+            JOIN learning_resource target ON target.keyword_id = :canonicalId AND target.url = r.url
+            SET b.resource_id = target.id
+            WHERE r.keyword_id = :duplicateId
+            """, nativeQuery = true)
+    int reassignToKeyword(@Param("duplicateId") Long duplicateId, @Param("canonicalId") Long canonicalId);
+
+    // 이동 후 같은 사용자가 같은 자료를 중복 북마크한 경우 하나만 남김
+    @Modifying
+    @Query(value = """
+            DELETE b FROM user_resource_bookmark b
+            JOIN user_resource_bookmark keep ON keep.user_id = b.user_id AND keep.resource_id = b.resource_id AND keep.id < b.id
+            JOIN learning_resource r ON r.id = b.resource_id
+            WHERE r.keyword_id = :keywordId
+            """, nativeQuery = true)
+    int deleteDuplicatesForKeyword(@Param("keywordId") Long keywordId);
 }
@@ -0,0 +1,86 @@
+package dsn.webmail.scheduler;
+
+import dsn.webmail.service.MailAnalysisJobService;
+import dsn.webmail.service.MailAnalyzerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 메일 분석 작업 워커
+ * <p>
+ * 주기적으로 실행 시각이 된 작업을 선점해서 mailAnalysisExecutor에서 분석합니다.
+ * - 성공: SUCCEEDED
+ * - 실패: 지수 백오프 후 재시도, 최대 횟수 초과 시 DEAD (메일은 UNKNOWN)
+ * - 선점 후 오래 끝나지 않은 작업은 다시 대기열로 복구
+ */
+@Component
+@Slf4j
+public class MailAnalysisJobWorker {
+
+    private final MailAnalysisJobService jobService;
+    private final MailAnalyzerService mailAnalyzerService;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${mail.analysis-job.stale-after-ms:600000}")
+    private long staleAfterMs;
+
+    public MailAnalysisJobWorker(MailAnalysisJobService jobService,
+                                 MailAnalyzerService mailAnalyzerService,
+                                 @Qualifier("mailAnalysisExecutor") ThreadPoolTaskExecutor executor) {
+        this.jobService = jobService;
+        this.mailAnalyzerService = mailAnalyzerService;
+        this.executor = executor;
+    }
+
+    @Scheduled(initialDelay = 10_000, fixedDelayString = "${mail.analysis-job.poll-interval-ms:5000}")
+    public void poll() {
+        // 스레드 풀이 바로 처리할 수 있는 만큼만 선점
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity()
+                + executor.getMaxPoolSize() - executor.getActiveCount();
+
+        List<Long> jobIds;
+        try {
+            jobIds = jobService.claimDueJobs(capacity);
+        } catch (Exception e) {
+            log.error("메일 분석 작업 선점 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (Long jobId : jobIds) {
+            try {
+                executor.execute(() -> run(jobId));
+            } catch (TaskRejectedException e) {
+                jobService.release(jobId);
+            }
+        }
+
+        if (!jobIds.isEmpty()) {
+            log.info("메일 분석 작업 {}건 실행", jobIds.size());
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            Long mailId = jobService.getMailId(jobId);
+            mailAnalyzerService.analyzeMailOrThrow(mailId);
+            jobService.succeed(jobId);
+        } catch (Exception e) {
+            jobService.fail(jobId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.analysis-job.recover-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        int recovered = jobService.recoverStale(staleAfterMs);
+        if (recovered > 0) {
+            log.warn("중단된 메일 분석 작업 {}건 복구", recovered);
+        }
+    }
+}
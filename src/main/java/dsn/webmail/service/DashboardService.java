@@ -21,12 +21,20 @@ public class DashboardService {
 
     private final AppUserRepository appUserRepository;
     private final ProcessedMailRepository processedMailRepository;
+    private final UserResponseCache responseCache;
 
+    /**
+     * 대시보드 통계 (메일 수신 시 무효화, 날짜별 키)
+     */
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats(String email) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+        return responseCache.get(user.getId(), "dashboard.stats", LocalDate.now().toString(),
+                () -> buildDashboardStats(user));
+    }
 
+    private DashboardStatsResponse buildDashboardStats(AppUser user) {
         // 오늘 00:00:00부터의 메일 개수
         LocalDateTime todayStart = LocalDateTime.of(LocalDate.now(), LocalTime.MIN);
         long todayMailCount = processedMailRepository.countByUserIdAndProcessedAtAfter(user.getId(), todayStart);
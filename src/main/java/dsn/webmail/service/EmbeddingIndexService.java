@@ -0,0 +1,355 @@
+package dsn.webmail.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dsn.webmail.entity.KeywordEmbedding;
+import dsn.webmail.entity.MailEmbedding;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.event.MailAnalyzedEvent;
+import dsn.webmail.event.TechKeywordCreatedEvent;
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.llm.LlmCallContext;
+import dsn.webmail.repository.KeywordEmbeddingRepository;
+import dsn.webmail.repository.MailEmbeddingRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.util.FloatVectors;
+import dsn.webmail.util.HnswIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 메일/키워드 임베딩 저장 및 유사도 검색
+ *
+ * - 메일(제목 + 요약)과 키워드(이름 + 카테고리)를 임베딩해 DB에 저장
+ * - 분석 완료/키워드 생성 이벤트는 ID만 모아 두고 주기적으로 embedAll 배치 호출
+ *   (임베딩이 없는 기존 메일/키워드도 같은 주기에 조금씩 채움)
+ * - 검색은 메모리의 HNSW 인덱스 사용: 메일은 사용자별로 첫 조회 시 로드, 키워드는 전역 1개
+ * - 메일 인덱스는 사용자 수와 유휴 시간으로 제한 (만료되면 다음 조회 때 다시 로드)
+ */
+@Service
+@Slf4j
+public class EmbeddingIndexService {
+
+    private final EmbeddingModel embeddingModel;
+    private final MailEmbeddingRepository mailEmbeddingRepository;
+    private final KeywordEmbeddingRepository keywordEmbeddingRepository;
+    private final ProcessedMailRepository processedMailRepository;
+    private final TechKeywordRepository keywordRepository;
+
+    // 임베딩 대기 ID
+    private final Set<Long> pendingMailIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingKeywordIds = ConcurrentHashMap.newKeySet();
+
+    // 사용자 ID → 메일 인덱스 (첫 조회 시 로드, 로드 중이면 완료 전 Future)
+    private final AsyncCache<Long, HnswIndex> mailIndexes;
+
+    private final Object keywordIndexLock = new Object();
+    private volatile HnswIndex keywordIndex;
+
+    @Value("${embedding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${embedding.dimensions:256}")
+    private int dimensions;
+
+    @Value("${embedding.batch-size:64}")
+    private int batchSize;
+
+    public EmbeddingIndexService(EmbeddingModel embeddingModel,
+                                 MailEmbeddingRepository mailEmbeddingRepository,
+                                 KeywordEmbeddingRepository keywordEmbeddingRepository,
+                                 ProcessedMailRepository processedMailRepository,
+                                 TechKeywordRepository keywordRepository,
+                                 @Value("${embedding.mail-index.max-users:200}") long maxMailIndexes,
+                                 @Value("${embedding.mail-index.idle-minutes:30}") long mailIndexIdleMinutes) {
+        this.embeddingModel = embeddingModel;
+        this.mailEmbeddingRepository = mailEmbeddingRepository;
+        this.keywordEmbeddingRepository = keywordEmbeddingRepository;
+        this.processedMailRepository = processedMailRepository;
+        this.keywordRepository = keywordRepository;
+        this.mailIndexes = Caffeine.newBuilder()
+                .maximumSize(maxMailIndexes)
+                .expireAfterAccess(Duration.ofMinutes(mailIndexIdleMinutes))
+                .buildAsync();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMailAnalyzed(MailAnalyzedEvent event) {
+        if (enabled) {
+            pendingMailIds.add(event.mailId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordCreated(TechKeywordCreatedEvent event) {
+        if (enabled) {
+            pendingKeywordIds.add(event.keywordId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsMerged(TechKeywordsMergedEvent event) {
+        synchronized (keywordIndexLock) {
+            HnswIndex index = keywordIndex;
+            if (index != null) {
+                event.canonicalIds().keySet().forEach(index::remove);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 메일/키워드 임베딩 + 누락분 보충
+     */
+    @Scheduled(initialDelay = 30_000, fixedDelayString = "${embedding.flush-interval-ms:5000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Long> mailIds = drain(pendingMailIds);
+            if (mailIds.size() < batchSize) {
+                mailIds.addAll(mailEmbeddingRepository.findMailIdsWithoutEmbedding(
+                        PageRequest.of(0, batchSize - mailIds.size())));
+            }
+            embedMails(mailIds.stream().distinct().toList());
+
+            List<Long> keywordIds = drain(pendingKeywordIds);
+            if (keywordIds.size() < batchSize) {
+                keywordIds.addAll(keywordEmbeddingRepository.findKeywordIdsWithoutEmbedding(
+                        PageRequest.of(0, batchSize - keywordIds.size())));
+            }
+            embedKeywords(keywordIds.stream().distinct().toList());
+        } catch (Exception e) {
+            log.error("임베딩 배치 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 같은 사용자의 비슷한 메일 (자기 자신 제외, 유사도 내림차순)
+     */
+    public List<HnswIndex.Hit> similarMails(Long userId, Long mailId, int limit) {
+        HnswIndex index = mailIndex(userId);
+        float[] vector = index.vector(mailId);
+        if (vector == null) {
+            return List.of();
+        }
+        return index.search(vector, limit + 1).stream()
+                .filter(hit -> hit.id() != mailId)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 자연어 질의로 사용자 메일 검색
+     */
+    public List<HnswIndex.Hit> searchMails(Long userId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        float[] vector;
+        try (var ignored = LlmCallContext.open("mail-search", userId)) {
+            vector = embeddingModel.embed(query.strip()).content().vector();
+        }
+        return mailIndex(userId).search(vector, limit);
+    }
+
+    /**
+     * 비슷한 키워드 (자기 자신 제외, 유사도 내림차순)
+     */
+    public List<HnswIndex.Hit> similarKeywords(Long keywordId, int limit) {
+        HnswIndex index = keywordIndex();
+        float[] vector = index.vector(keywordId);
+        if (vector == null) {
+            return List.of();
+        }
+        return index.search(vector, limit + 1).stream()
+                .filter(hit -> hit.id() != keywordId)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 키워드 임베딩 (정규화됨), 아직 없으면 null
+     */
+    public float[] keywordVector(Long keywordId) {
+        return keywordIndex().vector(keywordId);
+    }
+
+    private void embedMails(List<Long> mailIds) {
+        if (mailIds.isEmpty()) {
+            return;
+        }
+        List<ProcessedMail> mails = processedMailRepository.findAllById(mailIds).stream()
+                .filter(mail -> mail.getSummary() != null)
+                .toList();
+        if (mails.isEmpty()) {
+            return;
+        }
+
+        List<float[]> vectors;
+        try {
+            vectors = embed(mails.stream()
+                    .map(mail -> (mail.getSubject() != null ? mail.getSubject() + "\n" : "") + mail.getSummary())
+                    .toList());
+        } catch (Exception e) {
+            // 다음 주기에 재시도
+            pendingMailIds.addAll(mails.stream().map(ProcessedMail::getId).toList());
+            throw e;
+        }
+
+        Map<Long, MailEmbedding> existing = mailEmbeddingRepository.findByMailIdIn(
+                        mails.stream().map(ProcessedMail::getId).toList()).stream()
+                .collect(Collectors.toMap(MailEmbedding::getMailId, Function.identity()));
+
+        List<MailEmbedding> toSave = new ArrayList<>(mails.size());
+        for (int i = 0; i < mails.size(); i++) {
+            ProcessedMail mail = mails.get(i);
+            MailEmbedding embedding = existing.getOrDefault(mail.getId(), MailEmbedding.builder()
+                    .mailId(mail.getId())
+                    .userId(mail.getUser().getId())
+                    .build());
+            embedding.setVector(FloatVectors.toBytes(vectors.get(i)));
+            embedding.setDimensions(vectors.get(i).length);
+            toSave.add(embedding);
+        }
+        mailEmbeddingRepository.saveAll(toSave);
+
+        // 이미 로드된(로드 중인) 사용자 인덱스에만 반영 (로드 중이면 끝난 뒤 반영됨)
+        for (MailEmbedding embedding : toSave) {
+            CompletableFuture<HnswIndex> index = mailIndexes.getIfPresent(embedding.getUserId());
+            if (index != null) {
+                index.thenAccept(loaded -> addTo(loaded, embedding.getMailId(), embedding.getVector()));
+            }
+        }
+        log.debug("메일 임베딩 저장: {}건", toSave.size());
+    }
+
+    private void embedKeywords(List<Long> keywordIds) {
+        if (keywordIds.isEmpty()) {
+            return;
+        }
+        List<TechKeyword> keywords = keywordRepository.findAllById(keywordIds);
+        if (keywords.isEmpty()) {
+            return;
+        }
+
+        List<float[]> vectors;
+        try {
+            vectors = embed(keywords.stream()
+                    .map(k -> k.getCategory() != null ? k.getKeyword() + " (" + k.getCategory() + ")" : k.getKeyword())
+                    .toList());
+        } catch (Exception e) {
+            pendingKeywordIds.addAll(keywords.stream().map(TechKeyword::getId).toList());
+            throw e;
+        }
+
+        Map<Long, KeywordEmbedding> existing = keywordEmbeddingRepository.findByKeywordIdIn(
+                        keywords.stream().map(TechKeyword::getId).toList()).stream()
+                .collect(Collectors.toMap(KeywordEmbedding::getKeywordId, Function.identity()));
+
+        List<KeywordEmbedding> toSave = new ArrayList<>(keywords.size());
+        for (int i = 0; i < keywords.size(); i++) {
+            KeywordEmbedding embedding = existing.getOrDefault(keywords.get(i).getId(), KeywordEmbedding.builder()
+                    .keywordId(keywords.get(i).getId())
+                    .build());
+            embedding.setVector(FloatVectors.toBytes(vectors.get(i)));
+            embedding.setDimensions(vectors.get(i).length);
+            toSave.add(embedding);
+        }
+        keywordEmbeddingRepository.saveAll(toSave);
+
+        synchronized (keywordIndexLock) {
+            HnswIndex index = keywordIndex;
+            if (index != null) {
+                toSave.forEach(embedding -> addTo(index, embedding.getKeywordId(), embedding.getVector()));
+            }
+        }
+        log.debug("키워드 임베딩 저장: {}건", toSave.size());
+    }
+
+    private List<float[]> embed(List<String> texts) {
+        try (var ignored = LlmCallContext.open("embedding", null)) {
+            List<Embedding> embeddings = embeddingModel.embedAll(texts.stream().map(TextSegment::from).toList()).content();
+            return embeddings.stream().map(Embedding::vector).toList();
+        }
+    }
+
+    // 로드는 사용자 단위로 한 번만 (같은 사용자 동시 요청은 로드 완료까지 대기)
+    // DB 로드는 캐시 맵 밖에서 호출 스레드가 수행해 다른 사용자의 조회/반영을 막지 않음
+    private HnswIndex mailIndex(Long userId) {
+        CompletableFuture<HnswIndex> loading = new CompletableFuture<>();
+        CompletableFuture<HnswIndex> existing = mailIndexes.asMap().putIfAbsent(userId, loading);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            HnswIndex index = new HnswIndex(dimensions);
+            mailEmbeddingRepository.findByUserId(userId)
+                    .forEach(embedding -> addTo(index, embedding.getMailId(), embedding.getVector()));
+            log.debug("메일 인덱스 로드: userId={}, size={}", userId, index.size());
+            loading.complete(index);
+            return index;
+        } catch (RuntimeException e) {
+            // 실패한 Future는 캐시에서 제거되어 다음 조회 때 다시 로드
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private HnswIndex keywordIndex() {
+        HnswIndex index = keywordIndex;
+        if (index == null) {
+            synchronized (keywordIndexLock) {
+                if (keywordIndex == null) {
+                    HnswIndex loaded = new HnswIndex(dimensions);
+                    keywordEmbeddingRepository.findAll()
+                            .forEach(embedding -> addTo(loaded, embedding.getKeywordId(), embedding.getVector()));
+                    log.info("키워드 인덱스 로드: {}개", loaded.size());
+                    keywordIndex = loaded;
+                }
+                index = keywordIndex;
+            }
+        }
+        return index;
+    }
+
+    // 모델/차원이 바뀌기 전에 저장된 벡터는 건너뜀
+    private void addTo(HnswIndex index, Long id, byte[] bytes) {
+        float[] vector = FloatVectors.fromBytes(bytes);
+        if (vector.length != index.dimensions()) {
+            log.debug("임베딩 차원 불일치로 제외: id={}, dimensions={}", id, vector.length);
+            return;
+        }
+        index.add(id, vector);
+    }
+
+    private List<Long> drain(Set<Long> pending) {
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext() && ids.size() < batchSize) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        return ids;
+    }
+}
@@ -3,11 +3,11 @@ package dsn.webmail.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.openai.OpenAiChatModel;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.MailEvent;
+import dsn.webmail.llm.LlmCallContext;
+import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.MailEventRepository;
-import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,31 +18,31 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class EventExtractionService {
 
-    @Value("${openai.api.key}")
-    private String apiKey;
-
     private final MailEventRepository repository;
+    private final ChatLanguageModel chatModel;
+    private final AppUserRepository appUserRepository;
 
-    public EventExtractionService(MailEventRepository repository) {
+    public EventExtractionService(MailEventRepository repository, ChatLanguageModel chatModel,
+                                  AppUserRepository appUserRepository) {
         this.repository = repository;
+        this.chatModel = chatModel;
+        this.appUserRepository = appUserRepository;
     }
 
     public MailEvent extractEventFromMail(AppUser user, String messageId, String mailContent) {
         try {
-            ChatLanguageModel model = OpenAiChatModel.builder()
-                    .apiKey(apiKey)
-                    .modelName("gpt-4o-mini")
-                    .temperature(0.3)
-                    .build();
-
             String prompt = createPrompt(mailContent);
 
-            String aiResponse = model.generate(prompt);
+            String aiResponse;
+            try (var ignored = LlmCallContext.open("event-extraction", user.getId())) {
+                aiResponse = chatModel.generate(prompt);
+            }
 
             MailEvent event = parseAiResponse(aiResponse, user, messageId);
 
             if (event != null && event.getConfidence() != null && event.getConfidence() > 0) {
                 MailEvent saved = repository.save(event);
+                appUserRepository.markEventsChanged(user.getId(), LocalDateTime.now());
                 log.info("Event extracted from mail {}: {} (confidence: {})",
                         messageId, event.getTitle(), event.getConfidence());
                 return saved;
@@ -129,10 +129,12 @@ public class EventExtractionService {
                     .user(user)
                     .sourceMessageId(messageId)
                     .title(json.get("title").asText())
-                    .dateTime(json.get("dateTime").asText())
                     .location(json.get("location").asText())
                     .confidence((float) json.get("confidence").asDouble())
                     .build();
+            if (!event.applyDateTime(json.get("dateTime").asText())) {
+                log.warn("일정 날짜 파싱 실패 (기간 조회에서 제외): {}", json.get("dateTime").asText());
+            }
 
             return event;
         } catch (Exception e) {
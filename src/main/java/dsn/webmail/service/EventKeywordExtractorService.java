@@ -6,49 +6,103 @@ import dev.langchain4j.model.chat.ChatLanguageModel;
 import dsn.webmail.entity.EventKeyword;
 import dsn.webmail.entity.MailEvent;
 import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.event.TechKeywordsExtractedEvent;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.EventKeywordRepository;
 import dsn.webmail.repository.TechKeywordRepository;
-import lombok.RequiredArgsConstructor;
+import dsn.webmail.util.KeywordNormalizer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class EventKeywordExtractorService {
 
     private final ChatLanguageModel chatModel;
     private final TechKeywordRepository keywordRepository;
+    private final TechKeywordDictionary keywordDictionary;
+    private final KeywordExtractorService keywordExtractorService;
+    private final KeywordUsageCounter keywordUsageCounter;
+    private final UserKeywordStatsService userKeywordStatsService;
     private final EventKeywordRepository eventKeywordRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public EventKeywordExtractorService(ChatLanguageModel chatModel,
+                                        TechKeywordRepository keywordRepository,
+                                        TechKeywordDictionary keywordDictionary,
+                                        KeywordExtractorService keywordExtractorService,
+                                        KeywordUsageCounter keywordUsageCounter,
+                                        UserKeywordStatsService userKeywordStatsService,
+                                        EventKeywordRepository eventKeywordRepository,
+                                        ObjectMapper objectMapper,
+                                        ApplicationEventPublisher eventPublisher,
+                                        PlatformTransactionManager transactionManager) {
+        this.chatModel = chatModel;
+        this.keywordRepository = keywordRepository;
+        this.keywordDictionary = keywordDictionary;
+        this.keywordExtractorService = keywordExtractorService;
+        this.keywordUsageCounter = keywordUsageCounter;
+        this.userKeywordStatsService = userKeywordStatsService;
+        this.eventKeywordRepository = eventKeywordRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * 일정에서 기술 키워드 추출 및 저장
+     *
+     * LLM 호출 동안 커넥션을 잡지 않도록 트랜잭션 밖에서 (일정 저장 커밋 후) 호출하고,
+     * 기존 매핑 교체와 통계 반영만 별도 트랜잭션으로 처리합니다.
      */
-    @Transactional
     public List<TechKeyword> extractAndSaveKeywords(MailEvent event) {
         try {
-            // 기존 키워드 삭제 (수정 시)
-            eventKeywordRepository.deleteByEvent(event);
-
-            // AI로 키워드 추출
+            // AI로 키워드 추출 + 사전에 있는 키워드 매칭으로 보완
             String text = buildTextForExtraction(event);
-            List<ExtractedKeyword> extracted = extractKeywordsFromText(text);
+            List<ExtractedKeyword> extracted = new ArrayList<>(extractKeywordsFromText(text, event.getUser().getId()));
+            extracted.addAll(matchKnownKeywords(text));
 
             if (extracted.isEmpty()) {
                 log.debug("No keywords extracted from event: {}", event.getId());
-                return Collections.emptyList();
             }
 
-            // 추출된 키워드 저장
-            List<TechKeyword> savedKeywords = extracted.stream()
-                    .filter(ek -> ek.confidence() >= 0.7f)
-                    .map(ek -> saveExtractedKeyword(event, ek))
-                    .toList();
+            // 키워드 ID 변환 (새 키워드 생성 포함)
+            Map<String, ExtractedKeyword> candidates = filterCandidates(extracted);
+            Map<String, Long> keywordIds = candidates.isEmpty()
+                    ? Map.of()
+                    : keywordDictionary.resolveOrCreate(
+                            candidates.values().stream()
+                                    .map(ek -> new TechKeywordDictionary.Candidate(ek.keyword(), ek.category()))
+                                    .toList(),
+                            keyword -> keyword + " 기술");
+
+            List<TechKeyword> savedKeywords = newTransactionTemplate.execute(status -> {
+                // 기존 키워드 삭제 (수정 시)
+                List<Long> previousIds = eventKeywordRepository.findKeywordIdsByEventId(event.getId());
+                eventKeywordRepository.deleteByEvent(event);
+
+                // 추출된 키워드 저장
+                List<TechKeyword> keywords = saveMappings(event, candidates, keywordIds);
+
+                // 바뀐 키워드만 통계 반영
+                updateKeywordStats(event.getUser().getId(), previousIds, keywords);
+                return keywords;
+            });
 
             log.info("Extracted {} keywords from event {}", savedKeywords.size(), event.getId());
             return savedKeywords;
@@ -70,7 +124,7 @@ public class EventKeywordExtractorService {
         return sb.toString().trim();
     }
 
-    private List<ExtractedKeyword> extractKeywordsFromText(String text) {
+    private List<ExtractedKeyword> extractKeywordsFromText(String text, Long userId) {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
@@ -114,7 +168,7 @@ public class EventKeywordExtractorService {
             - 기술 키워드가 없으면 빈 배열 [] 반환
             """.formatted(text);
 
-        try {
+        try (var ignored = LlmCallContext.open("event-keyword", userId)) {
             String response = chatModel.generate(prompt);
             return parseKeywords(response);
         } catch (Exception e) {
@@ -123,6 +177,16 @@ public class EventKeywordExtractorService {
         }
     }
 
+    /**
+     * 이미 사전에 있는 키워드를 일정 내용에서 찾기 (LLM 추출 결과가 우선)
+     */
+    private List<ExtractedKeyword> matchKnownKeywords(String text) {
+        return keywordExtractorService.extractKeywords(text).stream()
+                .map(keyword -> new ExtractedKeyword(
+                        keyword.getKeyword(), keyword.getCategory(), KeywordExtractorService.MATCH_CONFIDENCE))
+                .toList();
+    }
+
     private List<ExtractedKeyword> parseKeywords(String response) {
         try {
             String json = response.trim();
@@ -136,35 +200,65 @@ public class EventKeywordExtractorService {
         }
     }
 
-    private TechKeyword saveExtractedKeyword(MailEvent event, ExtractedKeyword ek) {
-        // 키워드가 없으면 생성
-        TechKeyword keyword = keywordRepository.findByKeyword(ek.keyword())
-                .orElseGet(() -> createKeyword(ek));
+    private Map<String, ExtractedKeyword> filterCandidates(List<ExtractedKeyword> extracted) {
+        // 신뢰도 70% 이상만, 정규화 기준 중복 제거
+        Map<String, ExtractedKeyword> candidates = new LinkedHashMap<>();
+        for (ExtractedKeyword ek : extracted) {
+            if (ek.keyword() == null || ek.confidence() == null || ek.confidence() < 0.7f) {
+                continue;
+            }
+            String normalized = KeywordNormalizer.normalize(ek.keyword());
+            if (!normalized.isEmpty()) {
+                candidates.putIfAbsent(normalized, ek);
+            }
+        }
+        return candidates;
+    }
+
+    private List<TechKeyword> saveMappings(MailEvent event, Map<String, ExtractedKeyword> candidates,
+                                           Map<String, Long> keywordIds) {
+        // 기존 매핑은 위에서 삭제했으므로 ID 중복만 제거
+        Set<Long> seenIds = new HashSet<>();
+        List<TechKeyword> keywords = new ArrayList<>();
+        List<EventKeyword> newMappings = new ArrayList<>();
 
-        // 이벤트-키워드 매핑 저장
-        if (!eventKeywordRepository.existsByEventAndKeyword(event, keyword)) {
-            EventKeyword eventKeyword = EventKeyword.builder()
+        for (Map.Entry<String, ExtractedKeyword> entry : candidates.entrySet()) {
+            Long keywordId = keywordIds.get(entry.getKey());
+            if (keywordId == null || !seenIds.add(keywordId)) {
+                continue;
+            }
+            TechKeyword keyword = keywordRepository.getReferenceById(keywordId);
+            keywords.add(keyword);
+            newMappings.add(EventKeyword.builder()
                     .event(event)
                     .keyword(keyword)
-                    .build();
-            eventKeywordRepository.save(eventKeyword);
+                    .build());
+        }
 
-            // 글로벌 사용 횟수 증가
-            keyword.incrementUsage();
-            keywordRepository.save(keyword);
+        if (!newMappings.isEmpty()) {
+            eventKeywordRepository.saveAll(newMappings);
         }
 
-        return keyword;
+        return keywords;
     }
 
-    private TechKeyword createKeyword(ExtractedKeyword ek) {
-        TechKeyword keyword = TechKeyword.builder()
-                .keyword(ek.keyword())
-                .category(ek.category())
-                .description(ek.keyword() + " 기술")
-                .globalUsageCount(0)
-                .build();
-        return keywordRepository.save(keyword);
+    private void updateKeywordStats(Long userId, List<Long> previousIds, List<TechKeyword> keywords) {
+        Set<Long> currentIds = new HashSet<>();
+        keywords.forEach(keyword -> currentIds.add(keyword.getId()));
+
+        List<Long> addedIds = currentIds.stream().filter(id -> !previousIds.contains(id)).toList();
+        List<Long> removedIds = previousIds.stream().filter(id -> !currentIds.contains(id)).distinct().toList();
+
+        // 글로벌 사용 횟수 증가 (커밋 후 카운터에 누적, 주기적으로 반영) + 트렌드 반영
+        keywordUsageCounter.increment(addedIds);
+        eventPublisher.publishEvent(new TechKeywordsExtractedEvent(null, addedIds));
+
+        // 사용자 키워드 통계 반영
+        userKeywordStatsService.recordEventKeywords(userId, addedIds);
+        userKeywordStatsService.removeEventKeywords(userId, removedIds);
+        // 키워드가 처음 생기거나 모두 사라진 일정만 소스 수에 반영
+        userKeywordStatsService.changeEventSources(userId,
+                (currentIds.isEmpty() ? 0 : 1) - (previousIds.isEmpty() ? 0 : 1));
     }
 
     public record ExtractedKeyword(
@@ -4,36 +4,104 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dsn.webmail.dto.HolidayDtos.HolidayListResponse;
 import dsn.webmail.dto.HolidayDtos.HolidayResponse;
+import dsn.webmail.entity.Holiday;
+import dsn.webmail.entity.HolidayMonth;
+import dsn.webmail.repository.HolidayMonthRepository;
+import dsn.webmail.repository.HolidayRepository;
+import dsn.webmail.util.HolidayCalendar;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.net.URI;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
+/**
+ * 공휴일 조회
+ *
+ * 공공데이터포털 특일 정보를 holiday 테이블에 저장하고, 메모리의 불변 달력(HolidayCalendar)에서 응답합니다.
+ * - 시작 시 저장된 달을 읽어 오고, 이번 달부터 prefetch-months개월 앞까지 주기적으로 미리 조회
+ *   (refresh-days가 지난 달은 대체공휴일 등 변경 반영을 위해 다시 조회)
+ * - 조회 실패한 달은 failure-ttl-minutes 동안 API를 다시 호출하지 않고 빈 목록으로 응답 (저장하지 않음)
+ *   미리 조회 범위의 실패한 달은 백그라운드에서 재시도
+ * - 범위 밖의 달(지난 연도 등)은 처음 요청될 때 한 번 조회해 저장
+ *   공개 API라 올해 ± year-window 밖의 연도는 조회/저장 없이 거절 (400)
+ * - API 호출/저장은 락 없이 하고(같은 달 동시 조회는 하나로 합침), 달력 교체만 직렬화
+ * - 서비스키가 비어 있으면 API를 호출하지 않고 저장된 달만 응답
+ */
 @Service
 @Slf4j
 public class HolidayService {
 
-    @Value("${public-data.holiday.service-key}")
+    private static final String OPERATION = "getHoliDeInfo";
+
+    @Value("${public-data.holiday.service-key:}")
     private String serviceKey;
 
     @Value("${public-data.holiday.base-url}")
     private String baseUrl;
 
+    @Value("${public-data.holiday.prefetch-months:12}")
+    private int prefetchMonths;
+
+    @Value("${public-data.holiday.refresh-days:7}")
+    private long refreshDays;
+
+    @Value("${public-data.holiday.failure-ttl-minutes:10}")
+    private long failureTtlMinutes;
+
+    @Value("${public-data.holiday.year-window:5}")
+    private int yearWindow;
+
+    private final HolidayRepository holidayRepository;
+    private final HolidayMonthRepository holidayMonthRepository;
+    private final TransactionTemplate transactionTemplate;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
-    // 간단한 메모리 캐시 (key: "yyyy-MM")
-    private final Map<String, HolidayListResponse> cache = new ConcurrentHashMap<>();
+    // 달력 교체는 이 락 안에서만 (copy-on-write 갱신이 서로 덮어쓰지 않도록)
+    private final Object publishLock = new Object();
 
-    public HolidayService() {
-        this.restTemplate = new RestTemplate();
+    // 조회 중인 달 → 결과 (같은 달 동시 조회는 먼저 시작한 호출을 기다림)
+    private final Map<YearMonth, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    // 조회 완료된 달 (변경 시 새 인스턴스로 교체, 읽기는 락 없음)
+    private volatile HolidayCalendar calendar = HolidayCalendar.empty();
+    // 달별 마지막 조회 시각
+    private final Map<YearMonth, LocalDateTime> fetchedAt = new ConcurrentHashMap<>();
+    // 조회 실패한 달 → 다시 호출할 수 있는 시각
+    private final Map<YearMonth, LocalDateTime> failedUntil = new ConcurrentHashMap<>();
+
+    public HolidayService(HolidayRepository holidayRepository,
+                          HolidayMonthRepository holidayMonthRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${public-data.holiday.connect-timeout-ms:3000}") int connectTimeoutMs,
+                          @Value("${public-data.holiday.read-timeout-ms:5000}") int readTimeoutMs) {
+        this.holidayRepository = holidayRepository;
+        this.holidayMonthRepository = holidayMonthRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(requestFactory);
         this.objectMapper = new ObjectMapper();
     }
 
@@ -41,114 +109,273 @@ public class HolidayService {
      * 월별 공휴일 조회
      */
     public HolidayListResponse getHolidaysByMonth(int year, int month) {
-        String cacheKey = String.format("%d-%02d", year, month);
-
-        // 캐시 확인
-        if (cache.containsKey(cacheKey)) {
-            log.debug("공휴일 캐시 히트: {}", cacheKey);
-            return cache.get(cacheKey);
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("월은 1~12 사이여야 합니다: " + month);
+        }
+        int currentYear = LocalDate.now().getYear();
+        if (year < currentYear - yearWindow || year > currentYear + yearWindow) {
+            throw new IllegalArgumentException("연도는 %d~%d 사이여야 합니다: %d"
+                    .formatted(currentYear - yearWindow, currentYear + yearWindow, year));
         }
+        YearMonth target = YearMonth.of(year, month);
 
-        List<HolidayResponse> holidays = new ArrayList<>();
+        if (hasServiceKey() && !calendar.isLoaded(target) && !isFailing(target)) {
+            // 미리 조회 범위 밖의 달 - 처음 한 번만 요청 경로에서 조회
+            fetchMonth(target, () -> !calendar.isLoaded(target) && !isFailing(target));
+        }
 
-        try {
-            // 공휴일 정보 조회
-            List<HolidayResponse> holiDeInfo = fetchHolidays(year, month, "getHoliDeInfo");
-            holidays.addAll(holiDeInfo);
+        List<HolidayResponse> holidays = calendar.entries(target).stream()
+                .map(entry -> new HolidayResponse(entry.date().toString(), entry.name(), entry.holiday()))
+                .toList();
+        return new HolidayListResponse(holidays);
+    }
 
-            log.info("공휴일 조회 완료: {} - {}건", cacheKey, holidays.size());
-        } catch (Exception e) {
-            log.error("공휴일 API 호출 실패: {}", e.getMessage());
+    /**
+     * 저장된 공휴일로 달력 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!hasServiceKey()) {
+            log.warn("공휴일 API 서비스키가 없어 저장된 공휴일만 사용합니다");
         }
+        Map<YearMonth, List<HolidayCalendar.Entry>> entriesByMonth = holidayRepository.findAll().stream()
+                .collect(Collectors.groupingBy(
+                        holiday -> YearMonth.from(holiday.getDate()),
+                        Collectors.mapping(this::toEntry, Collectors.toList())));
+        List<HolidayMonth> months = holidayMonthRepository.findAll();
 
-        HolidayListResponse response = new HolidayListResponse(holidays);
-
-        // 캐시 저장
-        cache.put(cacheKey, response);
+        synchronized (publishLock) {
+            // 로드 중에 먼저 조회된 달은 유지
+            HolidayCalendar loaded = calendar;
+            for (HolidayMonth record : months) {
+                YearMonth month = YearMonth.of(record.getYear(), record.getMonth());
+                if (!loaded.isLoaded(month)) {
+                    loaded = loaded.withMonth(month, entriesByMonth.getOrDefault(month, List.of()));
+                    fetchedAt.putIfAbsent(month, record.getFetchedAt());
+                }
+            }
+            calendar = loaded;
+        }
+        log.info("공휴일 로드: {}개월", months.size());
+    }
 
-        return response;
+    /**
+     * 이번 달부터 prefetch-months개월 앞까지 미리 조회 (없거나 오래된 달만)
+     */
+    @Scheduled(initialDelayString = "${public-data.holiday.prefetch-initial-delay-ms:30000}",
+               fixedDelayString = "${public-data.holiday.prefetch-interval-ms:21600000}")
+    public void prefetch() {
+        if (!hasServiceKey()) {
+            return;
+        }
+        LocalDateTime staleBefore = LocalDateTime.now().minusDays(refreshDays);
+        int fetched = 0;
+        int failed = 0;
+        for (YearMonth month : prefetchWindow()) {
+            BooleanSupplier needed = () -> {
+                LocalDateTime last = fetchedAt.get(month);
+                return (last == null || !last.isAfter(staleBefore)) && !isFailing(month);
+            };
+            if (!needed.getAsBoolean()) {
+                continue;
+            }
+            if (fetchMonth(month, needed)) {
+                fetched++;
+            } else {
+                failed++;
+            }
+        }
+        if (fetched > 0 || failed > 0) {
+            log.info("공휴일 미리 조회: 성공 {}개월, 실패 {}개월", fetched, failed);
+        }
     }
 
     /**
-     * 공공데이터포털 API 호출
+     * 실패한 달 재시도 (미리 조회 범위만, 범위 밖은 만료 후 다음 요청 때 다시 조회)
      */
-    private List<HolidayResponse> fetchHolidays(int year, int month, String operation) {
-        List<HolidayResponse> holidays = new ArrayList<>();
+    @Scheduled(fixedDelayString = "${public-data.holiday.retry-interval-ms:60000}")
+    public void retryFailed() {
+        if (failedUntil.isEmpty() || !hasServiceKey()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<YearMonth> window = prefetchWindow();
+        for (YearMonth month : List.copyOf(failedUntil.keySet())) {
+            LocalDateTime retryAt = failedUntil.get(month);
+            if (retryAt == null || retryAt.isAfter(now)) {
+                continue;
+            }
+            if (!window.contains(month)) {
+                failedUntil.remove(month);
+                continue;
+            }
+            if (fetchMonth(month, () -> !isFailing(month))) {
+                log.info("공휴일 재조회 성공: {}", month);
+            }
+        }
+    }
 
-        try {
-            // 공공데이터포털은 서비스키를 인코딩하지 않고 그대로 전달해야 함
-            String url = String.format("%s/%s?serviceKey=%s&solYear=%d&solMonth=%02d&_type=json&numOfRows=100",
-                    baseUrl, operation, serviceKey, year, month);
+    private List<YearMonth> prefetchWindow() {
+        YearMonth current = YearMonth.now();
+        List<YearMonth> months = new ArrayList<>(prefetchMonths + 1);
+        for (int i = 0; i <= prefetchMonths; i++) {
+            months.add(current.plusMonths(i));
+        }
+        return months;
+    }
 
-            log.debug("공휴일 API 호출: {}", url);
+    private boolean hasServiceKey() {
+        return serviceKey != null && !serviceKey.isBlank();
+    }
 
-            String response = restTemplate.getForObject(url, String.class);
+    private boolean isFailing(YearMonth month) {
+        LocalDateTime until = failedUntil.get(month);
+        return until != null && until.isAfter(LocalDateTime.now());
+    }
 
-            if (response != null) {
-                holidays = parseResponse(response);
+    /**
+     * 같은 달 조회를 하나로 합쳐 실행 (이미 조회 중이면 그 결과를 기다림)
+     *
+     * @param needed 조회 차례가 왔을 때 아직 조회가 필요한지 (직전에 다른 호출이 끝냈을 수 있음)
+     * @return 조회 성공 또는 더 조회할 필요가 없으면 true
+     */
+    private boolean fetchMonth(YearMonth month, BooleanSupplier needed) {
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(month, mine);
+        if (running != null) {
+            return running.join();
+        }
+        boolean result = true;
+        try {
+            if (needed.getAsBoolean()) {
+                result = fetchAndPublish(month);
             }
+            return result;
+        } finally {
+            mine.complete(result);
+            inFlight.remove(month, mine);
+        }
+    }
+
+    /**
+     * 한 달 조회 후 저장, 달력 교체 (API 호출과 저장은 락 밖에서)
+     *
+     * 실패하면 기존 내용은 그대로 두고 실패 시각만 기록합니다.
+     */
+    private boolean fetchAndPublish(YearMonth month) {
+        List<HolidayCalendar.Entry> entries;
+        try {
+            entries = fetchHolidays(month);
+        } catch (Exception e) {
+            LocalDateTime retryAt = LocalDateTime.now().plusMinutes(failureTtlMinutes);
+            failedUntil.put(month, retryAt);
+            log.error("공휴일 API 호출 실패: {} (재시도 {} 이후) - {}", month, retryAt, e.getMessage());
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(month, entries, now));
         } catch (Exception e) {
-            log.error("API 호출 오류 ({}): {}", operation, e.getMessage());
+            // 메모리에는 반영 (재시작 시 다시 조회)
+            log.error("공휴일 저장 실패: {} - {}", month, e.getMessage());
+        }
+
+        synchronized (publishLock) {
+            calendar = calendar.withMonth(month, entries);
+            fetchedAt.put(month, now);
+            failedUntil.remove(month);
         }
+        log.info("공휴일 조회 완료: {} - {}건", month, entries.size());
+        return true;
+    }
+
+    private void save(YearMonth month, List<HolidayCalendar.Entry> entries, LocalDateTime fetchedTime) {
+        holidayRepository.deleteByDateBetween(month.atDay(1), month.atEndOfMonth());
+        holidayRepository.saveAll(entries.stream()
+                .map(entry -> Holiday.builder()
+                        .date(entry.date())
+                        .name(entry.name())
+                        .isHoliday(entry.holiday())
+                        .build())
+                .toList());
 
-        return holidays;
+        HolidayMonth record = holidayMonthRepository.findByYearAndMonth(month.getYear(), month.getMonthValue())
+                .orElseGet(() -> HolidayMonth.builder()
+                        .year(month.getYear())
+                        .month(month.getMonthValue())
+                        .build());
+        record.setFetchedAt(fetchedTime);
+        holidayMonthRepository.save(record);
+    }
+
+    private HolidayCalendar.Entry toEntry(Holiday holiday) {
+        return new HolidayCalendar.Entry(holiday.getDate(), holiday.getName(), Boolean.TRUE.equals(holiday.getIsHoliday()));
     }
 
     /**
-     * API 응답 파싱
+     * 공공데이터포털 API 호출 (실패 시 예외 - 빈 결과와 구분)
      */
-    private List<HolidayResponse> parseResponse(String response) {
-        List<HolidayResponse> holidays = new ArrayList<>();
+    private List<HolidayCalendar.Entry> fetchHolidays(YearMonth month) throws IOException {
+        // 공공데이터포털은 서비스키를 인코딩하지 않고 그대로 전달해야 함
+        String url = String.format("%s/%s?serviceKey=%s&solYear=%d&solMonth=%02d&_type=json&numOfRows=100",
+                baseUrl, OPERATION, serviceKey, month.getYear(), month.getMonthValue());
 
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode items = root.path("response").path("body").path("items").path("item");
+        log.debug("공휴일 API 호출: {}", url);
 
-            if (items.isMissingNode() || items.isEmpty()) {
-                return holidays;
-            }
+        String response = restTemplate.getForObject(url, String.class);
+        if (response == null) {
+            throw new IOException("빈 응답");
+        }
+        return parseResponse(response, month);
+    }
 
-            // 단일 아이템인 경우 배열로 처리
-            if (items.isObject()) {
-                holidays.add(parseItem(items));
-            } else if (items.isArray()) {
-                for (JsonNode item : items) {
-                    holidays.add(parseItem(item));
-                }
-            }
-        } catch (Exception e) {
-            log.error("응답 파싱 오류: {}", e.getMessage());
+    /**
+     * API 응답 파싱 (요청한 달의 항목만)
+     */
+    private List<HolidayCalendar.Entry> parseResponse(String response, YearMonth month) throws IOException {
+        JsonNode root = objectMapper.readTree(response);
+        if (root.path("response").isMissingNode()) {
+            throw new IOException("응답 형식 오류");
         }
+        String resultCode = root.path("response").path("header").path("resultCode").asText();
+        if (!resultCode.isEmpty() && !"00".equals(resultCode)) {
+            throw new IOException("API 오류 " + resultCode + ": "
+                    + root.path("response").path("header").path("resultMsg").asText());
+        }
+
+        List<HolidayCalendar.Entry> holidays = new ArrayList<>();
+        JsonNode items = root.path("response").path("body").path("items").path("item");
 
-        return holidays;
+        if (items.isMissingNode() || items.isEmpty()) {
+            return holidays;
+        }
+
+        // 단일 아이템인 경우 배열로 처리
+        if (items.isObject()) {
+            holidays.add(parseItem(items));
+        } else if (items.isArray()) {
+            for (JsonNode item : items) {
+                holidays.add(parseItem(item));
+            }
+        }
+        return holidays.stream()
+                .filter(entry -> YearMonth.from(entry.date()).equals(month))
+                .toList();
     }
 
     /**
      * 개별 아이템 파싱
      */
-    private HolidayResponse parseItem(JsonNode item) {
+    private HolidayCalendar.Entry parseItem(JsonNode item) {
         String locdate = item.path("locdate").asText(); // "20250101"
         String dateName = item.path("dateName").asText();
         String isHoliday = item.path("isHoliday").asText();
 
-        // 날짜 형식 변환: "20250101" -> "2025-01-01"
-        String formattedDate = String.format("%s-%s-%s",
-                locdate.substring(0, 4),
-                locdate.substring(4, 6),
-                locdate.substring(6, 8));
-
-        return new HolidayResponse(
-                formattedDate,
+        return new HolidayCalendar.Entry(
+                LocalDate.parse(locdate, DateTimeFormatter.BASIC_ISO_DATE),
                 dateName,
                 "Y".equals(isHoliday)
         );
     }
-
-    /**
-     * 캐시 클리어 (필요시 사용)
-     */
-    public void clearCache() {
-        cache.clear();
-        log.info("공휴일 캐시 클리어");
-    }
 }
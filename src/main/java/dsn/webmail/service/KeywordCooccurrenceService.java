@@ -0,0 +1,179 @@
+package dsn.webmail.service;
+
+import dsn.webmail.event.TechKeywordsExtractedEvent;
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.util.CooccurrenceGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 키워드 동시 출현 그래프 (관련 기술 추천)
+ *
+ * 같은 메일에서 함께 추출된 키워드 쌍의 가중치를 메모리 그래프에 누적합니다.
+ * - 시작 시 mail_keyword 전체를 메일 ID 구간 단위로 읽어 구성 (매핑 시각 기준 감쇠)
+ * - 이후에는 메일 키워드 추출 이벤트마다 증분 반영 (새로 매핑된 키워드가 포함된 쌍만)
+ * - 키워드 병합 후에는 다시 구성, 매일 약해진 간선 정리
+ * LLM 호출 없이 관련 기술/자료 추천에 사용합니다.
+ */
+@Service
+@Slf4j
+public class KeywordCooccurrenceService {
+
+    private static final long LOAD_MAIL_RANGE = 5_000;
+
+    private final MailKeywordRepository mailKeywordRepository;
+    private final long halfLifeMillis;
+    private final float pruneThreshold;
+
+    private final Object loadLock = new Object();
+    // 구성 중에 들어온 이벤트 (구성 중이 아니면 null)
+    private List<TechKeywordsExtractedEvent> buffered;
+
+    private volatile CooccurrenceGraph graph;
+
+    @Value("${keyword.cooccurrence.enabled:true}")
+    private boolean enabled;
+
+    public KeywordCooccurrenceService(MailKeywordRepository mailKeywordRepository,
+                                      @Value("${keyword.cooccurrence.half-life-days:30}") long halfLifeDays,
+                                      @Value("${keyword.cooccurrence.prune-threshold:0.01}") float pruneThreshold) {
+        this.mailKeywordRepository = mailKeywordRepository;
+        this.halfLifeMillis = Duration.ofDays(halfLifeDays).toMillis();
+        this.pruneThreshold = pruneThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsExtracted(TechKeywordsExtractedEvent event) {
+        if (!enabled || event.mailId() == null || event.keywordIds().isEmpty()) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (buffered != null) {
+                buffered.add(event);
+                return;
+            }
+        }
+        CooccurrenceGraph current = graph;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsMerged(TechKeywordsMergedEvent event) {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(cron = "${keyword.cooccurrence.compact-cron:0 0 4 * * *}")
+    public void compact() {
+        CooccurrenceGraph current = graph;
+        if (current != null) {
+            current.compact(System.currentTimeMillis());
+            log.debug("키워드 동시 출현 그래프 정리: {}개 키워드", current.nodeCount());
+        }
+    }
+
+    /**
+     * 관련 키워드 (관련도 내림차순, 그래프 구성 전이면 빈 목록)
+     */
+    public List<CooccurrenceGraph.Hit> related(Long keywordId, int limit) {
+        CooccurrenceGraph current = graph;
+        return current != null ? current.related(keywordId, limit) : List.of();
+    }
+
+    /**
+     * mail_keyword 전체로 그래프 재구성
+     *
+     * 구성 중 들어온 이벤트는 모아 두었다가, 구성 시작 시점 이후의 메일만 새 그래프에 반영합니다.
+     */
+    public void reload() {
+        synchronized (loadLock) {
+            if (buffered != null) {
+                return;
+            }
+            buffered = new ArrayList<>();
+        }
+
+        long maxMailId = 0;
+        List<TechKeywordsExtractedEvent> pending;
+        try {
+            long now = System.currentTimeMillis();
+            CooccurrenceGraph loaded = new CooccurrenceGraph(halfLifeMillis, pruneThreshold, now);
+            Long max = mailKeywordRepository.findMaxMailId();
+            maxMailId = max != null ? max : 0;
+            for (long after = 0; after < maxMailId; after += LOAD_MAIL_RANGE) {
+                addMappings(loaded, mailKeywordRepository.findMappingsInMailRange(
+                        after, Math.min(after + LOAD_MAIL_RANGE, maxMailId)));
+            }
+            loaded.compact(now);
+            graph = loaded;
+            log.info("키워드 동시 출현 그래프 구성: {}개 키워드", loaded.nodeCount());
+        } catch (Exception e) {
+            log.error("키워드 동시 출현 그래프 구성 실패: {}", e.getMessage());
+        } finally {
+            synchronized (loadLock) {
+                pending = buffered;
+                buffered = null;
+            }
+        }
+
+        CooccurrenceGraph current = graph;
+        if (current != null) {
+            long loadedUpTo = maxMailId;
+            pending.stream()
+                    .filter(event -> event.mailId() > loadedUpTo)
+                    .forEach(event -> apply(current, event));
+        }
+    }
+
+    private void apply(CooccurrenceGraph target, TechKeywordsExtractedEvent event) {
+        long[] ids = mailKeywordRepository.findKeywordIdsByMailId(event.mailId()).stream()
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+        target.addDocument(ids, Set.copyOf(event.keywordIds()), System.currentTimeMillis());
+    }
+
+    // 메일 ID 순으로 정렬된 [메일 ID, 키워드 ID, 매핑 시각] 행을 메일 단위로 묶어 반영
+    private void addMappings(CooccurrenceGraph target, List<Object[]> rows) {
+        int start = 0;
+        while (start < rows.size()) {
+            Long mailId = (Long) rows.get(start)[0];
+            int end = start;
+            Set<Long> keywordIds = new HashSet<>();
+            LocalDateTime mappedAt = (LocalDateTime) rows.get(start)[2];
+            while (end < rows.size() && mailId.equals(rows.get(end)[0])) {
+                keywordIds.add((Long) rows.get(end)[1]);
+                end++;
+            }
+            long timeMillis = mappedAt != null
+                    ? mappedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : System.currentTimeMillis();
+            target.addDocument(keywordIds.stream().mapToLong(Long::longValue).toArray(), keywordIds, timeMillis);
+            start = end;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.TechKeywordAlias;
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.repository.EventKeywordRepository;
+import dsn.webmail.repository.KeywordEmbeddingRepository;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.TechKeywordAliasRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import dsn.webmail.repository.UserResourceBookmarkRepository;
+import dsn.webmail.util.FloatVectors;
+import dsn.webmail.util.HnswIndex;
+import dsn.webmail.util.KeywordNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 임베딩 기반 중복 키워드 병합 (야간 배치)
+ *
+ * "Spring IoC" / "Spring Boot IOC" / "스프링 IOC"처럼 정규화로는 못 모으는 변형 키워드를
+ * 임베딩 유사도로 묶어 대표 키워드 하나로 합칩니다.
+ * - 유사도 임계값 이상인 이웃끼리 union-find로 묶고, 사용 횟수가 가장 많은 키워드를 대표로 선정
+ * - 체인으로 엮인 먼 키워드는 대표와의 유사도를 다시 확인해 제외
+ * - 메일/일정 매핑, 학습 자료, 북마크, 별칭을 대표 키워드로 일괄 이동 (묶음별 트랜잭션)
+ * - 삭제된 키워드 이름은 별칭으로 남겨 이후 추출도 대표 키워드로 연결
+ */
+@Service
+@Slf4j
+public class KeywordDeduplicationService {
+
+    private final TechKeywordRepository keywordRepository;
+    private final TechKeywordAliasRepository aliasRepository;
+    private final MailKeywordRepository mailKeywordRepository;
+    private final EventKeywordRepository eventKeywordRepository;
+    private final LearningResourceRepository resourceRepository;
+    private final UserResourceBookmarkRepository bookmarkRepository;
+    private final UserLearningHistoryRepository historyRepository;
+    private final KeywordEmbeddingRepository keywordEmbeddingRepository;
+    private final EmbeddingIndexService embeddingIndexService;
+    private final UserKeywordStatsService userKeywordStatsService;
+    private final KeywordUsageCounter keywordUsageCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${keyword.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${keyword.dedup.similarity-threshold:0.92}")
+    private float similarityThreshold;
+
+    @Value("${keyword.dedup.neighbors:10}")
+    private int neighbors;
+
+    public KeywordDeduplicationService(TechKeywordRepository keywordRepository,
+                                       TechKeywordAliasRepository aliasRepository,
+                                       MailKeywordRepository mailKeywordRepository,
+                                       EventKeywordRepository eventKeywordRepository,
+                                       LearningResourceRepository resourceRepository,
+                                       UserResourceBookmarkRepository bookmarkRepository,
+                                       UserLearningHistoryRepository historyRepository,
+                                       KeywordEmbeddingRepository keywordEmbeddingRepository,
+                                       EmbeddingIndexService embeddingIndexService,
+                                       UserKeywordStatsService userKeywordStatsService,
+                                       KeywordUsageCounter keywordUsageCounter,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        this.keywordRepository = keywordRepository;
+        this.aliasRepository = aliasRepository;
+        this.mailKeywordRepository = mailKeywordRepository;
+        this.eventKeywordRepository = eventKeywordRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.historyRepository = historyRepository;
+        this.keywordEmbeddingRepository = keywordEmbeddingRepository;
+        this.embeddingIndexService = embeddingIndexService;
+        this.userKeywordStatsService = userKeywordStatsService;
+        this.keywordUsageCounter = keywordUsageCounter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${keyword.dedup.cron:0 30 3 * * *}")
+    public void scheduledDeduplicate() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            deduplicate();
+        } catch (Exception e) {
+            log.error("키워드 중복 병합 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 중복 키워드 병합
+     *
+     * @return 삭제(병합)된 키워드 수
+     */
+    public int deduplicate() {
+        List<TechKeyword> keywords = keywordRepository.findAll();
+        List<List<TechKeyword>> clusters = cluster(keywords);
+        if (clusters.isEmpty()) {
+            return 0;
+        }
+        return mergeClusters(clusters);
+    }
+
+    /**
+     * 정규화 값이 같은 변형 키워드 병합 (정규화 값 백필 시 "spring boot" → "Spring Boot")
+     *
+     * @param variants 대표 키워드 → 변형 키워드
+     * @return 삭제(병합)된 키워드 수
+     */
+    public int mergeVariants(Map<TechKeyword, List<TechKeyword>> variants) {
+        List<List<TechKeyword>> clusters = new ArrayList<>();
+        variants.forEach((canonical, duplicates) -> {
+            List<TechKeyword> cluster = new ArrayList<>();
+            cluster.add(canonical);
+            cluster.addAll(duplicates);
+            clusters.add(cluster);
+        });
+        if (clusters.isEmpty()) {
+            return 0;
+        }
+        return mergeClusters(clusters);
+    }
+
+    /**
+     * 묶음별 병합 (각 묶음의 첫 번째가 대표 키워드)
+     */
+    private int mergeClusters(List<List<TechKeyword>> clusters) {
+        // 메모리에 쌓인 사용 횟수를 먼저 반영해야 대표 키워드로 합산됨
+        keywordUsageCounter.flush();
+
+        Map<Long, Long> canonicalIds = new LinkedHashMap<>();
+        for (List<TechKeyword> cluster : clusters) {
+            TechKeyword canonical = cluster.get(0);
+            List<TechKeyword> duplicates = cluster.subList(1, cluster.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> merge(canonical, duplicates));
+                duplicates.forEach(duplicate -> canonicalIds.put(duplicate.getId(), canonical.getId()));
+                log.info("키워드 병합: {} ← {}", canonical.getKeyword(),
+                        duplicates.stream().map(TechKeyword::getKeyword).toList());
+            } catch (Exception e) {
+                // 병합 중 새 매핑이 생기는 등 실패하면 다음 배치에서 다시 시도
+                log.warn("키워드 병합 실패: {} ({})", canonical.getKeyword(), e.getMessage());
+            }
+        }
+
+        if (canonicalIds.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> userKeywordStatsService.rebuild());
+        eventPublisher.publishEvent(new TechKeywordsMergedEvent(Map.copyOf(canonicalIds)));
+
+        log.info("키워드 중복 병합 완료: {}개 묶음, {}개 키워드 병합", clusters.size(), canonicalIds.size());
+        return canonicalIds.size();
+    }
+
+    /**
+     * 유사 키워드 묶음 (각 묶음의 첫 번째가 대표 키워드)
+     */
+    private List<List<TechKeyword>> cluster(List<TechKeyword> keywords) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            positions.put(keywords.get(i).getId(), i);
+        }
+
+        int[] parent = new int[keywords.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < keywords.size(); i++) {
+            for (HnswIndex.Hit hit : embeddingIndexService.similarKeywords(keywords.get(i).getId(), neighbors)) {
+                Integer j = positions.get(hit.id());
+                if (j != null && hit.score() >= similarityThreshold) {
+                    union(parent, i, j);
+                }
+            }
+        }
+
+        Map<Integer, List<TechKeyword>> components = new HashMap<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            components.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(keywords.get(i));
+        }
+
+        Comparator<TechKeyword> byUsage = Comparator
+                .comparing((TechKeyword k) -> k.getGlobalUsageCount() != null ? k.getGlobalUsageCount() : 0)
+                .reversed()
+                .thenComparing(TechKeyword::getId);
+
+        List<List<TechKeyword>> clusters = new ArrayList<>();
+        for (List<TechKeyword> component : components.values()) {
+            if (component.size() < 2) {
+                continue;
+            }
+            component.sort(byUsage);
+            TechKeyword canonical = component.get(0);
+            float[] canonicalVector = embeddingIndexService.keywordVector(canonical.getId());
+            if (canonicalVector == null) {
+                continue;
+            }
+
+            List<TechKeyword> cluster = new ArrayList<>();
+            cluster.add(canonical);
+            for (TechKeyword member : component.subList(1, component.size())) {
+                float[] vector = embeddingIndexService.keywordVector(member.getId());
+                if (vector != null && FloatVectors.dot(canonicalVector, vector) >= similarityThreshold) {
+                    cluster.add(member);
+                }
+            }
+            if (cluster.size() > 1) {
+                clusters.add(cluster);
+            }
+        }
+        return clusters;
+    }
+
+    private void merge(TechKeyword canonical, List<TechKeyword> duplicates) {
+        Long canonicalId = canonical.getId();
+        List<Long> duplicateIds = duplicates.stream().map(TechKeyword::getId).toList();
+
+        // 학습 자료: 같은 URL은 북마크만 대표 쪽 자료로 옮기고 삭제, 나머지는 자료째 이동
+        for (Long duplicateId : duplicateIds) {
+            bookmarkRepository.reassignToKeyword(duplicateId, canonicalId);
+            resourceRepository.reassignKeyword(duplicateId, canonicalId);
+            resourceRepository.deleteAllByKeywordId(duplicateId);
+        }
+        bookmarkRepository.deleteDuplicatesForKeyword(canonicalId);
+
+        mailKeywordRepository.reassignKeywords(duplicateIds, canonicalId);
+        mailKeywordRepository.deleteDuplicateMappings(canonicalId);
+        eventKeywordRepository.reassignKeywords(duplicateIds, canonicalId);
+        eventKeywordRepository.deleteDuplicateMappings(canonicalId);
+
+        aliasRepository.reassignKeywords(duplicateIds, canonicalId);
+        // 사용자 통계는 병합이 끝난 뒤 전체 재구성
+        historyRepository.deleteByKeywordIds(duplicateIds);
+        keywordEmbeddingRepository.deleteByKeywordIds(duplicateIds);
+
+        keywordRepository.addUsageFrom(duplicateIds, canonicalId);
+        keywordRepository.deleteAllByIdInBatch(duplicateIds);
+
+        // 삭제된 키워드 이름은 별칭으로 보존
+        TechKeyword canonicalRef = keywordRepository.getReferenceById(canonicalId);
+        Map<String, TechKeyword> aliases = duplicates.stream()
+                .collect(Collectors.toMap(
+                        duplicate -> duplicate.getNormalizedKeyword() != null
+                                ? duplicate.getNormalizedKeyword()
+                                : KeywordNormalizer.normalize(duplicate.getKeyword()),
+                        Function.identity(),
+                        (first, second) -> first,
+                        LinkedHashMap::new));
+        aliases.forEach((normalizedAlias, duplicate) -> {
+            if (normalizedAlias.isEmpty() || normalizedAlias.equals(canonical.getNormalizedKeyword())
+                    || aliasRepository.existsByNormalizedAlias(normalizedAlias)) {
+                return;
+            }
+            aliasRepository.save(TechKeywordAlias.builder()
+                    .alias(duplicate.getKeyword())
+                    .normalizedAlias(normalizedAlias)
+                    .keyword(canonicalRef)
+                    .build());
+        });
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootB] = rootA;
+        }
+    }
+}
@@ -1,22 +1,43 @@
 package dsn.webmail.service;
 
 import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.event.TechKeywordCreatedEvent;
+import dsn.webmail.event.TechKeywordsMergedEvent;
 import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.util.AhoCorasickMatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
 
+/**
+ * 사전 기반 기술 키워드 추출
+ *
+ * 키워드 테이블로 Aho-Corasick 오토마톤을 만들어 메모리에 두고
+ * 텍스트를 한 번만 훑어서 모든 키워드를 찾습니다.
+ * 새 키워드가 생기면(TechKeywordCreatedEvent) 현재 목록에 추가해서 다시 만듭니다.
+ *
+ * 메일/일정 키워드 추출에서 LLM이 놓친 기존 키워드를 보완하는 데 사용합니다.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class KeywordExtractorService {
 
+    // 사전 매칭 키워드의 신뢰도 (LLM 추출 키워드 저장 기준 0.7 이상)
+    public static final float MATCH_CONFIDENCE = 0.8f;
+
     private final TechKeywordRepository keywordRepository;
 
+    private final Object rebuildLock = new Object();
+
+    // 읽기 측은 락 없이 사용, 갱신 시 통째로 교체
+    private volatile Snapshot snapshot;
+
     /**
      * 텍스트에서 기술 키워드를 추출합니다.
      */
@@ -25,30 +46,76 @@ public class KeywordExtractorService {
             return Collections.emptyList();
         }
 
-        String lowerText = text.toLowerCase();
-        List<TechKeyword> allKeywords = keywordRepository.findAll();
-
-        List<TechKeyword> extracted = allKeywords.stream()
-                .filter(k -> containsKeyword(lowerText, k.getKeyword()))
-                .toList();
+        List<TechKeyword> extracted = snapshot().matcher().findAll(text);
 
         log.debug("Extracted {} keywords from text", extracted.size());
         return extracted;
     }
 
     /**
-     * 단어 경계를 고려한 키워드 매칭
+     * 새 키워드 반영 (커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordCreated(TechKeywordCreatedEvent event) {
+        synchronized (rebuildLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // 아직 로드 전이면 첫 사용 시 전체 로드
+                return;
+            }
+            if (current.keywords().stream().anyMatch(k -> k.getId().equals(event.keywordId()))) {
+                return;
+            }
+
+            keywordRepository.findById(event.keywordId()).ifPresent(keyword -> {
+                List<TechKeyword> keywords = new ArrayList<>(current.keywords());
+                keywords.add(keyword);
+                snapshot = build(keywords);
+                log.debug("키워드 매처 갱신: +{} (total={})", keyword.getKeyword(), keywords.size());
+            });
+        }
+    }
+
+    /**
+     * 키워드 병합 반영 (삭제된 키워드 제거)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsMerged(TechKeywordsMergedEvent event) {
+        if (snapshot != null) {
+            reload();
+        }
+    }
+
+    /**
+     * 키워드 테이블 전체 재로드
      */
-    private boolean containsKeyword(String text, String keyword) {
-        // 특수문자가 포함된 키워드 처리 (예: "C++", "Node.js")
-        String escapedKeyword = Pattern.quote(keyword.toLowerCase());
-        String pattern = "(?i)\\b" + escapedKeyword + "\\b";
-
-        try {
-            return Pattern.compile(pattern).matcher(text).find();
-        } catch (Exception e) {
-            // 정규식 실패 시 단순 포함 검사
-            return text.contains(keyword.toLowerCase());
+    public void reload() {
+        synchronized (rebuildLock) {
+            snapshot = build(keywordRepository.findAll());
+            log.info("키워드 매처 로드: {}개", snapshot.keywords().size());
         }
     }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Snapshot build(List<TechKeyword> keywords) {
+        AhoCorasickMatcher<TechKeyword> matcher = new AhoCorasickMatcher.Builder<TechKeyword>()
+                .addAll(keywords, TechKeyword::getKeyword)
+                .build();
+        return new Snapshot(List.copyOf(keywords), matcher);
+    }
+
+    private record Snapshot(List<TechKeyword> keywords, AhoCorasickMatcher<TechKeyword> matcher) {
+    }
 }
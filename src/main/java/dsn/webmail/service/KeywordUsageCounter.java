@@ -0,0 +1,94 @@
+package dsn.webmail.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 키워드 전역 사용 횟수 카운터
+ *
+ * 매핑 저장 시마다 tech_keyword 행을 갱신하면 인기 키워드 행에 락 경합이 생기므로
+ * 메모리의 LongAdder에 누적했다가 주기적으로 한 번의 배치 UPDATE로 반영합니다.
+ * - 증가는 트랜잭션 커밋 후에만 반영 (롤백된 매핑은 세지 않음)
+ * - 반영 실패 시 누적값을 되돌려 다음 주기에 재시도
+ * - 비정상 종료 시 최대 한 주기 분량만 유실
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class KeywordUsageCounter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE tech_keyword SET global_usage_count = global_usage_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    /**
+     * 사용 횟수 1 증가 (트랜잭션 안이면 커밋 후)
+     */
+    public void increment(Collection<Long> keywordIds) {
+        if (keywordIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(keywordIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> add(id, 1));
+                }
+            });
+        } else {
+            ids.forEach(id -> add(id, 1));
+        }
+    }
+
+    @Scheduled(initialDelay = 10_000, fixedDelayString = "${keyword.usage.flush-interval-ms:10000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Object[]> deltas = new ArrayList<>();
+            pending.forEach((keywordId, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta != 0) {
+                    deltas.add(new Object[]{delta, keywordId});
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, deltas);
+                log.debug("키워드 사용 횟수 반영: {}개", deltas.size());
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                deltas.forEach(row -> add((Long) row[1], (Long) row[0]));
+                log.error("키워드 사용 횟수 반영 실패 ({}개): {}", deltas.size(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(Long keywordId, long delta) {
+        pending.computeIfAbsent(keywordId, id -> new LongAdder()).add(delta);
+    }
+}
@@ -0,0 +1,181 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.event.TechKeywordCreatedEvent;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 학습 자료 백그라운드 사전 생성
+ *
+ * 새 키워드가 생기면(TechKeywordCreatedEvent) 학습 자료 생성을 예약하고
+ * resourceGenerationExecutor에서 제한된 동시성으로 처리합니다.
+ * 화면은 저장된 자료만 바로 보여주고, 생성 중이면 pending으로 표시합니다.
+ * 누락된 키워드(큐 거부, 서버 재시작 등)는 주기적인 점검으로 다시 예약합니다.
+ *
+ * 생성에 실패한 키워드(LLM 장애 등으로 자료가 비어 있음)는 실패 횟수에 따라 지수 백오프 후에만
+ * 다시 예약하고, 점검은 키워드 ID 커서로 진행해 백오프 중인 키워드가 다른 키워드를 막지 않도록 합니다.
+ */
+@Component
+@Slf4j
+public class LearningResourcePregenerator {
+
+    private final TechKeywordRepository keywordRepository;
+    private final LearningResourceRepository resourceRepository;
+    private final LearningResourceRecommendationService resourceRecommendationService;
+    private final ThreadPoolTaskExecutor executor;
+
+    // 예약/생성 중인 키워드 ID (중복 예약 방지)
+    private final Set<Long> pendingKeywordIds = ConcurrentHashMap.newKeySet();
+
+    // 생성 실패 키워드 ID → 실패 기록 (성공하면 제거)
+    private final Map<Long, Failure> failures = new ConcurrentHashMap<>();
+
+    // 점검 커서 (마지막으로 확인한 키워드 ID, 끝까지 가면 처음부터)
+    private volatile long sweepCursor;
+
+    @Value("${learning.pregenerate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${learning.pregenerate.sweep-batch-size:20}")
+    private int sweepBatchSize;
+
+    @Value("${learning.pregenerate.retry-base-ms:600000}")
+    private long retryBaseMs;
+
+    @Value("${learning.pregenerate.retry-max-ms:86400000}")
+    private long retryMaxMs;
+
+    public LearningResourcePregenerator(TechKeywordRepository keywordRepository,
+                                        LearningResourceRepository resourceRepository,
+                                        LearningResourceRecommendationService resourceRecommendationService,
+                                        @Qualifier("resourceGenerationExecutor") ThreadPoolTaskExecutor executor) {
+        this.keywordRepository = keywordRepository;
+        this.resourceRepository = resourceRepository;
+        this.resourceRecommendationService = resourceRecommendationService;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordCreated(TechKeywordCreatedEvent event) {
+        submit(event.keywordId());
+    }
+
+    /**
+     * 자료 생성 예약 (이미 예약된 키워드, 실패 후 백오프 중인 키워드는 무시)
+     *
+     * @return 생성 예약/진행 중이면 true
+     */
+    public boolean submit(Long keywordId) {
+        if (!enabled) {
+            return false;
+        }
+        if (isBackingOff(keywordId)) {
+            return false;
+        }
+        if (!pendingKeywordIds.add(keywordId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> generate(keywordId));
+            return true;
+        } catch (TaskRejectedException e) {
+            // 큐가 가득 차면 다음 점검 때 다시 예약
+            pendingKeywordIds.remove(keywordId);
+            log.debug("학습 자료 생성 예약 거부: keywordId={}", keywordId);
+            return false;
+        }
+    }
+
+    public boolean isPending(Long keywordId) {
+        return pendingKeywordIds.contains(keywordId);
+    }
+
+    /**
+     * 자료가 없는 키워드 점검
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelayString = "${learning.pregenerate.sweep-interval-ms:300000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Long> keywordIds = keywordRepository.findIdsWithoutResources(
+                    sweepCursor, PageRequest.of(0, sweepBatchSize));
+            // 마지막 배치까지 확인하면 다음 점검은 처음부터
+            sweepCursor = keywordIds.size() < sweepBatchSize ? 0 : keywordIds.get(keywordIds.size() - 1);
+
+            long submitted = keywordIds.stream().filter(this::submit).count();
+            if (submitted > 0) {
+                log.info("학습 자료 없는 키워드 {}개 생성 예약 (백오프 중 {}개 제외)",
+                        submitted, keywordIds.size() - submitted);
+            }
+        } catch (Exception e) {
+            log.error("학습 자료 점검 실패: {}", e.getMessage());
+        }
+    }
+
+    private void generate(Long keywordId) {
+        try {
+            if (!resourceRepository.findByKeywordId(keywordId).isEmpty()) {
+                failures.remove(keywordId);
+                return;
+            }
+            Optional<TechKeyword> keyword = keywordRepository.findById(keywordId);
+            if (keyword.isEmpty()) {
+                failures.remove(keywordId);
+                return;
+            }
+            if (resourceRecommendationService.getOrGenerateResources(keyword.get()).isEmpty()) {
+                // 생성 결과가 비는 경우는 LLM 호출 실패뿐 (그 외에는 검색 fallback 자료가 생성됨)
+                recordFailure(keywordId, "자료 없음");
+            } else {
+                failures.remove(keywordId);
+            }
+        } catch (Exception e) {
+            recordFailure(keywordId, e.getMessage());
+        } finally {
+            pendingKeywordIds.remove(keywordId);
+        }
+    }
+
+    private boolean isBackingOff(Long keywordId) {
+        Failure failure = failures.get(keywordId);
+        return failure != null && System.currentTimeMillis() < failure.nextAttemptAtMs();
+    }
+
+    private void recordFailure(Long keywordId, String error) {
+        Failure failure = failures.compute(keywordId, (id, previous) -> {
+            int attempts = previous != null ? previous.attempts() + 1 : 1;
+            return new Failure(attempts, System.currentTimeMillis() + retryDelayMs(attempts));
+        });
+        log.warn("학습 자료 생성 실패, {}초 후 재시도: keywordId={}, attempts={}, error={}",
+                retryDelayMs(failure.attempts()) / 1000, keywordId, failure.attempts(), error);
+    }
+
+    /**
+     * 재시도 대기 시간 (base * 2^(attempts-1), 상한 적용)
+     */
+    long retryDelayMs(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(retryMaxMs, retryBaseMs << exponent);
+    }
+
+    private record Failure(int attempts, long nextAttemptAtMs) {
+    }
+}
@@ -5,31 +5,93 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dsn.webmail.entity.LearningResource;
 import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.event.UserDataChangedEvent;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.LearningResourceRepository;
-import lombok.RequiredArgsConstructor;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * 키워드별 학습 자료 추천
+ *
+ * 같은 키워드에 대한 동시 생성 요청은 하나로 합칩니다 (single-flight).
+ * - 노드 안: 키워드 ID별 진행 중 작업을 공유, 나머지 호출은 결과를 기다림
+ * - 노드 간: LLM 호출 전에 tech_keyword 행을 조건부 UPDATE로 선점(만료 시각), 선점에 실패한 노드는 저장된 자료를 기다림
+ *   선점이 만료된 뒤 겹친 경우에도 (keyword_id, url) 유니크 제약으로 중복 저장을 막고, 충돌 시 먼저 저장된 자료 사용
+ * 새 자료를 저장하면 그 키워드를 쓰는 사용자의 화면 캐시(자료 수)를 무효화합니다.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LearningResourceRecommendationService {
 
     private final ChatLanguageModel chatModel;
     private final LearningResourceRepository resourceRepository;
+    private final TechKeywordRepository keywordRepository;
     private final ObjectMapper objectMapper;
+    private final UrlHealthService urlHealthService;
+    private final UserLearningHistoryRepository historyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransactionTemplate;
+
+    // 키워드 ID → 진행 중인 생성 작업
+    private final Map<Long, CompletableFuture<List<LearningResource>>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${learning.resource.generation-wait-ms:60000}")
+    private long generationWaitMs;
+
+    // 노드 간 선점 유지 시간 - 생성 노드가 죽으면 만료 후 다른 노드가 다시 선점
+    @Value("${learning.resource.generation-lease-ms:120000}")
+    private long generationLeaseMs;
+
+    @Value("${learning.resource.generation-poll-ms:500}")
+    private long generationPollMs;
+
+    public LearningResourceRecommendationService(ChatLanguageModel chatModel,
+                                                 LearningResourceRepository resourceRepository,
+                                                 TechKeywordRepository keywordRepository,
+                                                 ObjectMapper objectMapper,
+                                                 UrlHealthService urlHealthService,
+                                                 UserLearningHistoryRepository historyRepository,
+                                                 ApplicationEventPublisher eventPublisher,
+                                                 PlatformTransactionManager transactionManager) {
+        this.chatModel = chatModel;
+        this.resourceRepository = resourceRepository;
+        this.keywordRepository = keywordRepository;
+        this.objectMapper = objectMapper;
+        this.urlHealthService = urlHealthService;
+        this.historyRepository = historyRepository;
+        this.eventPublisher = eventPublisher;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * 키워드에 대한 학습 자료 조회 (없으면 AI 생성)
+     *
+     * LLM 호출 동안 트랜잭션을 잡지 않도록 저장만 별도 트랜잭션으로 처리합니다.
      */
-    @Transactional
     public List<LearningResource> getOrGenerateResources(TechKeyword keyword) {
         List<LearningResource> existing = resourceRepository.findByKeywordId(keyword.getId());
 
@@ -37,16 +99,120 @@ public class LearningResourceRecommendationService {
             return existing;
         }
 
-        // AI로 학습 자료 생성
-        log.info("Generating learning resources for keyword: {}", keyword.getKeyword());
-        List<LearningResource> generated = generateResources(keyword);
+        CompletableFuture<List<LearningResource>> mine = new CompletableFuture<>();
+        CompletableFuture<List<LearningResource>> running = inFlight.putIfAbsent(keyword.getId(), mine);
+        if (running != null) {
+            // 다른 요청이 생성 중이면 그 결과를 기다림
+            return await(keyword, running);
+        }
 
-        if (!generated.isEmpty()) {
-            resourceRepository.saveAll(generated);
-            log.info("Generated {} resources for keyword: {}", generated.size(), keyword.getKeyword());
+        try {
+            List<LearningResource> resources = generateAndSave(keyword);
+            mine.complete(resources);
+            return resources;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 저장 커밋 후 제거 (이후 호출은 DB에서 조회)
+            inFlight.remove(keyword.getId(), mine);
         }
+    }
 
-        return generated;
+    private List<LearningResource> generateAndSave(TechKeyword keyword) {
+        // 선점 직전에 다른 요청이 끝냈을 수 있으므로 다시 확인
+        List<LearningResource> existing = resourceRepository.findByKeywordId(keyword.getId());
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        // 다른 노드가 생성 중이면 LLM을 호출하지 않고 그 결과를 기다림
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(generationLeaseMs, ChronoUnit.MILLIS)
+                .truncatedTo(ChronoUnit.MILLIS);
+        if (!claimGeneration(keyword, leaseUntil)) {
+            log.info("Resources for keyword {} are being generated by another node", keyword.getKeyword());
+            return awaitOtherNode(keyword);
+        }
+
+        try {
+            // AI로 학습 자료 생성
+            log.info("Generating learning resources for keyword: {}", keyword.getKeyword());
+            List<LearningResource> generated = generateResources(keyword);
+
+            if (generated.isEmpty()) {
+                return generated;
+            }
+
+            try {
+                newTransactionTemplate.executeWithoutResult(status -> {
+                    resourceRepository.saveAll(generated);
+                    // 커밋 후 무효화 (사전 생성 작업 경로 포함)
+                    historyRepository.findUserIdsByKeywordId(keyword.getId())
+                            .forEach(userId -> eventPublisher.publishEvent(new UserDataChangedEvent(userId)));
+                });
+                log.info("Generated {} resources for keyword: {}", generated.size(), keyword.getKeyword());
+                return generated;
+            } catch (DataIntegrityViolationException e) {
+                // 선점이 만료된 뒤 다른 노드가 먼저 저장한 경우
+                log.info("Resources for keyword {} already saved by another node", keyword.getKeyword());
+                return resourceRepository.findByKeywordId(keyword.getId());
+            }
+        } finally {
+            releaseGeneration(keyword, leaseUntil);
+        }
+    }
+
+    private boolean claimGeneration(TechKeyword keyword, LocalDateTime leaseUntil) {
+        Integer claimed = newTransactionTemplate.execute(status ->
+                keywordRepository.claimResourceGeneration(keyword.getId(), LocalDateTime.now(), leaseUntil));
+        return claimed != null && claimed > 0;
+    }
+
+    private void releaseGeneration(TechKeyword keyword, LocalDateTime leaseUntil) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status ->
+                    keywordRepository.releaseResourceGeneration(keyword.getId(), leaseUntil));
+        } catch (RuntimeException e) {
+            // 해제에 실패해도 만료 후 다시 선점 가능
+            log.warn("Failed to release resource generation claim: keyword={}, error={}",
+                    keyword.getKeyword(), e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드의 생성 결과 대기
+     *
+     * 자료가 저장되거나, 선점이 해제/만료되거나(생성 실패), 대기 시간이 지나면 그때 저장된 자료를 반환합니다.
+     */
+    private List<LearningResource> awaitOtherNode(TechKeyword keyword) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(generationWaitMs);
+        while (true) {
+            List<LearningResource> saved = resourceRepository.findByKeywordId(keyword.getId());
+            if (!saved.isEmpty()) {
+                return saved;
+            }
+            LocalDateTime leaseUntil = keywordRepository.findResourceGenerationUntil(keyword.getId());
+            if (leaseUntil == null || leaseUntil.isBefore(LocalDateTime.now()) || System.nanoTime() >= deadline) {
+                return resourceRepository.findByKeywordId(keyword.getId());
+            }
+            try {
+                Thread.sleep(generationPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return saved;
+            }
+        }
+    }
+
+    private List<LearningResource> await(TechKeyword keyword, CompletableFuture<List<LearningResource>> running) {
+        try {
+            return running.get(generationWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Waiting for resource generation failed: keyword={}, error={}", keyword.getKeyword(), e.getMessage());
+        }
+        return resourceRepository.findByKeywordId(keyword.getId());
     }
 
     /**
@@ -82,14 +248,21 @@ public class LearningResourceRecommendationService {
             - 총 2-3개의 자료만 추천 (품질 > 양)
             """.formatted(keyword.getKeyword());
 
-        try {
+        try (var ignored = LlmCallContext.open("learning-resource", null)) {
             String response = chatModel.generate(prompt);
             List<GeneratedResource> generated = parseResources(response);
 
-            // URL 검증 후 유효한 것만 저장
+            // URL 검증 후 유효한 것만 저장 (병렬 확인 + 캐시)
+            Set<String> accessibleUrls = urlHealthService.filterAccessible(
+                    generated.stream().map(GeneratedResource::url).toList());
+
             List<LearningResource> validResources = new ArrayList<>();
+            Set<String> addedUrls = new HashSet<>();
             for (GeneratedResource gr : generated) {
-                if (isUrlAccessible(gr.url())) {
+                if (gr.url() != null && accessibleUrls.contains(gr.url())) {
+                    if (!addedUrls.add(gr.url())) {
+                        continue; // 같은 URL 중복 추천
+                    }
                     validResources.add(toEntity(gr, keyword));
                 } else {
                     log.warn("Invalid URL skipped: {}", gr.url());
@@ -112,29 +285,6 @@ public class LearningResourceRecommendationService {
         }
     }
 
-    /**
-     * URL 접속 가능 여부 확인
-     */
-    private boolean isUrlAccessible(String urlString) {
-        try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0");
-
-            int responseCode = connection.getResponseCode();
-            connection.disconnect();
-
-            // 2xx 또는 3xx 응답은 성공으로 간주
-            return responseCode >= 200 && responseCode < 400;
-        } catch (Exception e) {
-            log.debug("URL not accessible: {} - {}", urlString, e.getMessage());
-            return false;
-        }
-    }
-
     /**
      * 기본 검색 URL 생성 (fallback)
      */
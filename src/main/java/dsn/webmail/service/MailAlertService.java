@@ -3,14 +3,14 @@ package dsn.webmail.service;
 import dsn.webmail.dto.MailSummary;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.event.UserDataChangedEvent;
 import dsn.webmail.repository.ProcessedMailRepository;
 import dsn.webmail.util.PasswordCipher;
 import jakarta.mail.MessagingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,20 +25,23 @@ public class MailAlertService {
     private final ProcessedMailRepository processedMailRepo;
     private final PasswordCipher passwordCipher;
     private final EventExtractionService eventExtractionService;
-    private final MailAnalyzerService mailAnalyzerService;
+    private final MailAnalysisJobService mailAnalysisJobService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MailAlertService(MailReceiver mailReceiver,
             SlackBotClient slackBotClient,
             ProcessedMailRepository processedMailRepo,
             PasswordCipher passwordCipher,
             EventExtractionService eventExtractionService,
-            MailAnalyzerService mailAnalyzerService) {
+            MailAnalysisJobService mailAnalysisJobService,
+            ApplicationEventPublisher eventPublisher) {
         this.mailReceiver = mailReceiver;
         this.slackBotClient = slackBotClient;
         this.processedMailRepo = processedMailRepo;
         this.passwordCipher = passwordCipher;
         this.eventExtractionService = eventExtractionService;
-        this.mailAnalyzerService = mailAnalyzerService;
+        this.mailAnalysisJobService = mailAnalysisJobService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -143,20 +146,12 @@ public class MailAlertService {
         processedMailRepo.save(processed);
         log.debug("Saved processed mail record: {}", mail.messageId());
 
-        // 메일 분류 및 요약 (트랜잭션 커밋 후 비동기 실행)
-        Long mailId = processed.getId();
-        log.info("메일 분석 스케줄링: mailId={}, subject={}", mailId, mail.subject());
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    mailAnalyzerService.analyzeMailAsync(mailId);
-                }
-            });
-        } else {
-            // 트랜잭션이 없는 경우 바로 실행
-            mailAnalyzerService.analyzeMailAsync(mailId);
-        }
+        // 메일 분류 및 요약 작업 등록 (같은 트랜잭션으로 커밋 → 워커가 처리)
+        mailAnalysisJobService.enqueue(processed.getId());
+        log.info("메일 분석 작업 등록: mailId={}, subject={}", processed.getId(), mail.subject());
+
+        // 대시보드 메일 수 캐시 무효화 (커밋 후)
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
     }
 
     private void extractEvent(AppUser user, MailSummary mail) {
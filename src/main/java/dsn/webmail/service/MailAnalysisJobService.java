@@ -0,0 +1,195 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.MailAnalysisJob;
+import dsn.webmail.entity.MailCategory;
+import dsn.webmail.repository.MailAnalysisJobRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 메일 분석 작업 큐 관리
+ *
+ * - enqueue: 메일 저장과 같은 트랜잭션에서 작업 등록 (커밋되면 유실되지 않음)
+ * - enqueueRetry: 분석 실패 후 재시도 등록 (호출자 트랜잭션과 분리)
+ * - claim: 실행할 작업을 조건부 UPDATE로 선점
+ * - succeed / fail: 결과 기록, 실패 시 지수 백오프 후 재시도
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MailAnalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailAnalysisJobRepository jobRepository;
+    private final ProcessedMailRepository processedMailRepository;
+
+    @Value("${mail.analysis-job.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${mail.analysis-job.backoff-base-ms:30000}")
+    private long backoffBaseMs;
+
+    @Value("${mail.analysis-job.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    /**
+     * 분석 작업 등록 (이미 있으면 대기 상태로 초기화)
+     */
+    @Transactional
+    public void enqueue(Long mailId) {
+        register(mailId);
+    }
+
+    /**
+     * 분석 실패 후 재시도 등록 (독립 트랜잭션)
+     *
+     * 분석 중 예외로 호출자 트랜잭션이 rollback-only가 되어도 작업 등록은 커밋됩니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueRetry(Long mailId) {
+        register(mailId);
+    }
+
+    private void register(Long mailId) {
+        LocalDateTime now = LocalDateTime.now();
+        MailAnalysisJob job = jobRepository.findByMailId(mailId)
+                .orElseGet(() -> MailAnalysisJob.builder().mailId(mailId).build());
+
+        if (job.getStatus() == MailAnalysisJob.Status.RUNNING) {
+            // 실행 중인 작업은 결과에 맡김
+            return;
+        }
+
+        job.setStatus(MailAnalysisJob.Status.PENDING);
+        job.setAttempts(0);
+        job.setNextAttemptAt(now);
+        job.setLockedAt(null);
+        job.setUpdatedAt(now);
+        jobRepository.save(job);
+
+        log.debug("메일 분석 작업 등록: mailId={}", mailId);
+    }
+
+    /**
+     * 실행 시각이 된 작업을 최대 limit개 선점
+     *
+     * @return 선점한 작업 ID 목록
+     */
+    @Transactional
+    public List<Long> claimDueJobs(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = new ArrayList<>();
+        for (Long jobId : jobRepository.findDueJobIds(now, PageRequest.of(0, limit))) {
+            if (jobRepository.claim(jobId, now) == 1) {
+                claimed.add(jobId);
+            }
+        }
+        return claimed;
+    }
+
+    @Transactional(readOnly = true)
+    public Long getMailId(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(MailAnalysisJob::getMailId)
+                .orElseThrow(() -> new RuntimeException("분석 작업을 찾을 수 없습니다: " + jobId));
+    }
+
+    @Transactional
+    public void succeed(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(MailAnalysisJob.Status.SUCCEEDED);
+            job.setLockedAt(null);
+            job.setLastError(null);
+            job.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * 실패 기록: 최대 시도 횟수 전이면 백오프 후 재시도, 넘으면 DEAD 처리
+     */
+    @Transactional
+    public void fail(Long jobId, Exception error) {
+        MailAnalysisJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        job.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        job.setLockedAt(null);
+        job.setUpdatedAt(now);
+
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(MailAnalysisJob.Status.DEAD);
+            markMailUnknown(job.getMailId());
+            log.error("메일 분석 최종 실패: mailId={}, attempts={}, error={}",
+                    job.getMailId(), job.getAttempts(), job.getLastError());
+            return;
+        }
+
+        long delayMs = backoffDelayMs(job.getAttempts());
+        job.setStatus(MailAnalysisJob.Status.PENDING);
+        job.setNextAttemptAt(now.plusNanos(delayMs * 1_000_000));
+        log.warn("메일 분석 실패, {}초 후 재시도: mailId={}, attempts={}, error={}",
+                delayMs / 1000, job.getMailId(), job.getAttempts(), job.getLastError());
+    }
+
+    /**
+     * 실행하지 못한 작업을 시도 횟수 차감 없이 대기열로 되돌림 (스레드 풀 포화 등)
+     */
+    @Transactional
+    public void release(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(MailAnalysisJob.Status.PENDING);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+            job.setLockedAt(null);
+            job.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * lockedAt이 오래된 RUNNING 작업 복구
+     */
+    @Transactional
+    public int recoverStale(long staleAfterMs) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.releaseStale(now.minusNanos(staleAfterMs * 1_000_000), now);
+    }
+
+    /**
+     * 지수 백오프 (base * 2^(attempts-1), 상한 적용, ±20% 지터)
+     */
+    long backoffDelayMs(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        long delay = Math.min(backoffMaxMs, backoffBaseMs << exponent);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    private void markMailUnknown(Long mailId) {
+        processedMailRepository.findById(mailId).ifPresent(mail -> {
+            mail.setCategory(MailCategory.UNKNOWN);
+            mail.setAnalyzedAt(LocalDateTime.now());
+        });
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
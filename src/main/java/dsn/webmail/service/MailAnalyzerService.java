@@ -3,14 +3,20 @@ package dsn.webmail.service;
 import dsn.webmail.dto.MailAnalysisResult;
 import dsn.webmail.entity.MailCategory;
 import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.ProcessedMail.AnalysisSource;
+import dsn.webmail.event.MailAnalyzedEvent;
+import dsn.webmail.event.UserDataChangedEvent;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.ProcessedMailRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -20,91 +26,125 @@ public class MailAnalyzerService {
     private final MailAnalysisAiService mailAnalysisAiService;
     private final ProcessedMailRepository processedMailRepository;
     private final MailKeywordExtractorService mailKeywordExtractorService;
+    private final MailPreClassifier mailPreClassifier;
+    private final MailContentReducer mailContentReducer;
+    private final MailAnalysisJobService mailAnalysisJobService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${llm.token-budget.analysis:800}")
+    private int analysisTokenBudget;
+
+    @Value("${mail.analysis.min-confidence:0.3}")
+    private float minConfidence;
 
     /**
-     * 메일 분석 (비동기)
+     * 재시도 워커용 분석 - 실패 시 예외를 그대로 던짐
+     *
+     * LLM 호출 동안 커넥션을 잡지 않도록 트랜잭션 없이 실행하고, 저장/키워드 추출은 각자의 트랜잭션에서 처리합니다.
      */
-    @Async
-    @Transactional
-    public void analyzeMailAsync(Long mailId) {
-        try {
-            ProcessedMail mail = processedMailRepository.findById(mailId)
-                    .orElseThrow(() -> new RuntimeException("메일을 찾을 수 없습니다: " + mailId));
+    public void analyzeMailOrThrow(Long mailId) {
+        ProcessedMail mail = processedMailRepository.findById(mailId)
+                .orElseThrow(() -> new RuntimeException("메일을 찾을 수 없습니다: " + mailId));
 
-            analyzeMail(mail);
-        } catch (Exception e) {
-            log.error("메일 분석 실패: mailId={}, error={}", mailId, e.getMessage());
-        }
+        runAnalysis(mail, true);
     }
 
     /**
-     * 메일 분석 (동기)
+     * @param usePreClassifier false면 로컬 분류기를 건너뛰고 항상 LLM으로 분석 (사용자 재분석)
      */
-    @Transactional
-    public void analyzeMail(ProcessedMail mail) {
-        try {
-            log.debug("메일 분석 시작: id={}, subject={}", mail.getId(), mail.getSubject());
-
-            // 내용이 너무 길면 자르기 (토큰 제한)
-            String content = truncateContent(mail.getContent(), 2000);
-
-            // LLM 분석 호출
-            MailAnalysisResult result = mailAnalysisAiService.analyze(
-                    mail.getSubject(),
-                    mail.getFromAddress(),
-                    content
-            );
-
-            // 결과 저장
-            mail.setCategory(result.category());
-            mail.setCategoryConfidence(result.confidence());
-            mail.setSummary(result.summary());
-            mail.setAnalyzedAt(LocalDateTime.now());
-
-            processedMailRepository.save(mail);
-
-            log.info("메일 분석 완료: id={}, category={}, confidence={}",
-                    mail.getId(), result.category(), result.confidence());
-
-            // 기술 키워드 추출 (학습 자료 추천용)
-            try {
-                mailKeywordExtractorService.extractAndSaveKeywords(mail);
-            } catch (Exception keywordEx) {
-                log.warn("키워드 추출 실패 (분석은 성공): id={}, error={}", mail.getId(), keywordEx.getMessage());
+    private void runAnalysis(ProcessedMail mail, boolean usePreClassifier) {
+        log.debug("메일 분석 시작: id={}, subject={}", mail.getId(), mail.getSubject());
+
+        // 규칙/로컬 모델로 확실히 분류되는 메일은 LLM 호출 생략
+        Optional<MailPreClassifier.LocalClassification> local = usePreClassifier
+                ? mailPreClassifier.classify(mail.getSubject(), mail.getFromAddress())
+                : Optional.empty();
+
+        MailAnalysisResult result;
+        AnalysisSource source;
+        if (local.isPresent()) {
+            result = new MailAnalysisResult(
+                    local.get().category(),
+                    local.get().confidence(),
+                    summarizeLocally(mail.getContent()));
+            source = local.get().source();
+        } else {
+            try (var ignored = LlmCallContext.open("mail-analysis", mail.getUser().getId())) {
+                result = mailAnalysisAiService.analyze(
+                        mail.getSubject(),
+                        mail.getFromAddress(),
+                        // 인용/서명 등을 걷어내고 토큰 예산에 맞게 축약
+                        mailContentReducer.reduce(mail.getContent(), analysisTokenBudget)
+                );
             }
+            source = AnalysisSource.LLM;
+        }
 
-        } catch (Exception e) {
-            log.error("메일 분석 오류: id={}, error={}", mail.getId(), e.getMessage());
+        if (result == null || result.category() == null) {
+            throw new IllegalStateException("분석 결과가 비어 있습니다");
+        }
+
+        // 신뢰도가 낮은 결과만 UNKNOWN으로 확정
+        MailCategory category = result.confidence() < minConfidence ? MailCategory.UNKNOWN : result.category();
 
-            // 분석 실패 시 UNKNOWN으로 설정
-            mail.setCategory(MailCategory.UNKNOWN);
-            mail.setAnalyzedAt(LocalDateTime.now());
-            processedMailRepository.save(mail);
+        // 결과 저장
+        mail.setCategory(category);
+        mail.setCategoryConfidence(result.confidence());
+        mail.setSummary(result.summary());
+        mail.setAnalysisSource(source);
+        mail.setAnalyzedAt(LocalDateTime.now());
+
+        processedMailRepository.save(mail);
+        eventPublisher.publishEvent(new MailAnalyzedEvent(mail.getId(), mail.getUser().getId()));
+        eventPublisher.publishEvent(new UserDataChangedEvent(mail.getUser().getId()));
+
+        log.info("메일 분석 완료: id={}, category={}, confidence={}",
+                mail.getId(), category, result.confidence());
+
+        // 기술 키워드 추출 (학습 자료 추천용)
+        try {
+            mailKeywordExtractorService.extractAndSaveKeywords(mail);
+        } catch (Exception keywordEx) {
+            log.warn("키워드 추출 실패 (분석은 성공): id={}, error={}", mail.getId(), keywordEx.getMessage());
         }
     }
 
     /**
-     * 메일 재분석
+     * 메일 재분석 (사용자 요청 - 로컬 분류기를 거치지 않고 LLM으로 분석)
+     *
+     * 일시적 실패(타임아웃, 응답 파싱 오류, 속도 제한 등)는 UNKNOWN으로 확정하지 않고
+     * 재시도 큐에 등록합니다.
      */
-    @Transactional
-    public ProcessedMail reanalyzeMail(Long mailId) {
-        ProcessedMail mail = processedMailRepository.findById(mailId)
-                .orElseThrow(() -> new RuntimeException("메일을 찾을 수 없습니다: " + mailId));
-
-        analyzeMail(mail);
-        return mail;
+    public void reanalyzeMail(ProcessedMail mail) {
+        try {
+            runAnalysis(mail, false);
+        } catch (Exception e) {
+            log.error("메일 재분석 오류, 재시도 예약: id={}, error={}", mail.getId(), e.getMessage());
+            mailAnalysisJobService.enqueueRetry(mail.getId());
+        }
     }
 
     /**
-     * 내용 길이 제한
+     * 로컬 분류 시 요약: 본문 앞부분의 내용 있는 줄 최대 5개
      */
-    private String truncateContent(String content, int maxLength) {
-        if (content == null) {
+    private String summarizeLocally(String content) {
+        if (content == null || content.isBlank()) {
             return "";
         }
-        if (content.length() <= maxLength) {
-            return content;
+        List<String> lines = content.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .limit(5)
+                .toList();
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.length() > 100) {
+                line = line.substring(0, 100) + "...";
+            }
+            sb.append(i + 1).append(". ").append(line).append("\n");
         }
-        return content.substring(0, maxLength) + "...";
+        return sb.toString().trim();
     }
 }
@@ -0,0 +1,216 @@
+package dsn.webmail.service;
+
+import dev.langchain4j.model.Tokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LLM 프롬프트용 메일 본문 축약기
+ *
+ * 1. 인용된 이전 메일, 서명, 법적 고지문, URL 등 토큰만 차지하는 부분 제거
+ *    (모바일 서명과 고지문은 본문 끝에 붙은 경우만 - 본문 중간 문장은 유지)
+ * 2. 남은 본문을 로컬 토크나이저 기준 토큰 예산에 맞춰 자르기
+ *
+ * 글자 수로 자르던 기존 방식보다 토큰이 적게 들면서 핵심 내용은 더 많이 남습니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MailContentReducer {
+
+    private static final String TRUNCATION_MARKER = "...";
+
+    // 이 줄부터는 이전 메일 인용 (답장/전달)
+    private static final List<Pattern> QUOTE_HEADERS = List.of(
+            Pattern.compile("^-{2,}\\s*(original message|forwarded message|원본 메시지|전달된 메시지)\\s*-{2,}.*$",
+                    Pattern.CASE_INSENSITIVE),
+            Pattern.compile("^on .{1,200} wrote:\\s*$", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("^.{1,200}님이 작성:?\\s*$"),
+            Pattern.compile("^_{10,}\\s*$")
+    );
+
+    // Outlook 스타일 인용 헤더 블록 ("From: ... / Sent: ... / Subject: ...")
+    private static final Pattern HEADER_FROM = Pattern.compile("^(from|보낸 사람)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HEADER_FOLLOW = Pattern.compile(
+            "^(sent|date|to|subject|보낸 날짜|날짜|받는 사람|제목)\\s*:.*$", Pattern.CASE_INSENSITIVE);
+
+    // 서명 구분선 및 모바일 자동 서명 ("나의 iPhone에서 보냄", "Samsung Galaxy 스마트폰에서 보냄" 등)
+    private static final Pattern SIGNATURE_DELIMITER = Pattern.compile("^--\\s?$");
+    private static final Pattern MOBILE_SIGNATURE = Pattern.compile(
+            "^(sent from my .{1,40}|sent from mail for windows.*|get outlook for .{1,30}"
+            + "|(나의\\s*)?(iphone|ipad|android|galaxy|samsung|모바일|휴대폰|스마트폰|outlook|naver|네이버|gmail|kakao|카카오)"
+            + "[^.!?]{0,30}에서 보냄)$",
+            Pattern.CASE_INSENSITIVE);
+
+    // 법적 고지 / 수신거부 문단 표식 (끝부분 문단에만 적용)
+    private static final List<String> DISCLAIMER_MARKERS = List.of(
+            "confidential", "intended recipient", "unsubscribe", "disclaimer",
+            "기밀 정보", "기밀정보", "비밀 정보", "수신거부", "수신 거부", "무단 전재", "무단 복제", "무단 배포",
+            "무단으로 사용", "발신전용", "발신 전용", "법적 책임");
+
+    private static final Pattern URL = Pattern.compile("https?://[^\\s<>\"')\\]]+", Pattern.CASE_INSENSITIVE);
+
+    private final Tokenizer tokenizer;
+
+    /**
+     * 본문 정리 후 토큰 예산에 맞게 축약
+     */
+    public String reduce(String content, int tokenBudget) {
+        String cleaned = clean(content);
+        if (cleaned.isEmpty()) {
+            return cleaned;
+        }
+
+        int tokens = tokenizer.estimateTokenCountInText(cleaned);
+        if (tokens <= tokenBudget) {
+            return cleaned;
+        }
+
+        String fitted = fitToBudget(cleaned, tokenBudget);
+        log.debug("본문 축약: {} -> {} chars (budget={} tokens, original={} tokens)",
+                content.length(), fitted.length(), tokenBudget, tokens);
+        return fitted;
+    }
+
+    /**
+     * 인용/서명/고지문/URL 제거
+     */
+    String clean(String content) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+
+        List<String> lines = content.replace("\r\n", "\n").replace('\r', '\n').lines().toList();
+        lines = cutQuotedHistory(lines);
+
+        List<String> kept = new ArrayList<>();
+        for (String line : lines) {
+            if (SIGNATURE_DELIMITER.matcher(line).matches()) {
+                break;
+            }
+            if (line.strip().startsWith(">")) {
+                continue;
+            }
+            kept.add(line);
+        }
+
+        String text = String.join("\n", dropTrailingBoilerplate(kept));
+        text = replaceUrls(text);
+
+        return text
+                .replaceAll("[ \\t\\u00A0]+", " ")
+                .replaceAll(" ?\\n ?", "\n")
+                .replaceAll("\\n{3,}", "\n\n")
+                .trim();
+    }
+
+    private List<String> cutQuotedHistory(List<String> lines) {
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (QUOTE_HEADERS.stream().anyMatch(p -> p.matcher(line).matches()) || isHeaderBlock(lines, i)) {
+                return lines.subList(0, i);
+            }
+        }
+        return lines;
+    }
+
+    private boolean isHeaderBlock(List<String> lines, int index) {
+        if (!HEADER_FROM.matcher(lines.get(index).strip()).matches()) {
+            return false;
+        }
+        int end = Math.min(lines.size(), index + 5);
+        for (int j = index + 1; j < end; j++) {
+            if (HEADER_FOLLOW.matcher(lines.get(j).strip()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 끝에서부터 모바일 서명 줄과 고지문 문단 제거 (본문 문단을 만나면 중단)
+     */
+    private List<String> dropTrailingBoilerplate(List<String> lines) {
+        int end = lines.size();
+        while (end > 0) {
+            String last = lines.get(end - 1).strip();
+            if (last.isEmpty() || MOBILE_SIGNATURE.matcher(last).matches()) {
+                end--;
+                continue;
+            }
+
+            int start = end;
+            while (start > 0 && !lines.get(start - 1).isBlank()) {
+                start--;
+            }
+            // 첫 문단은 본문일 가능성이 높으므로 유지
+            boolean hasBodyBefore = lines.subList(0, start).stream().anyMatch(line -> !line.isBlank());
+            if (hasBodyBefore && isDisclaimer(lines.subList(start, end))) {
+                end = start;
+                continue;
+            }
+            break;
+        }
+        return lines.subList(0, end);
+    }
+
+    private boolean isDisclaimer(List<String> paragraph) {
+        String lower = String.join(" ", paragraph).toLowerCase(Locale.ROOT);
+        return DISCLAIMER_MARKERS.stream().anyMatch(lower::contains);
+    }
+
+    /**
+     * URL은 도메인만 남김 (추적 파라미터 등 제거)
+     */
+    private String replaceUrls(String text) {
+        Matcher matcher = URL.matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement("[" + hostOf(matcher.group()) + "]"));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : "link";
+        } catch (Exception e) {
+            return "link";
+        }
+    }
+
+    /**
+     * 토큰 예산 안에 들어가는 가장 긴 앞부분을 이분 탐색으로 찾음
+     */
+    private String fitToBudget(String text, int tokenBudget) {
+        int budget = Math.max(1, tokenBudget - tokenizer.estimateTokenCountInText(TRUNCATION_MARKER));
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (tokenizer.estimateTokenCountInText(text.substring(0, mid)) <= budget) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        // 단어 중간에서 잘리지 않도록 마지막 공백 기준으로 정리
+        int cut = low;
+        int lastSpace = Math.max(text.lastIndexOf(' ', cut), text.lastIndexOf('\n', cut));
+        if (lastSpace > cut * 0.8) {
+            cut = lastSpace;
+        }
+        return text.substring(0, cut).trim() + TRUNCATION_MARKER;
+    }
+}
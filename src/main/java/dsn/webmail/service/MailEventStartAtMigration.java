@@ -0,0 +1,79 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.MailEvent;
+import dsn.webmail.repository.MailEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 기존 일정의 dateTime 문자열을 start_at/end_at으로 이관
+ *
+ * 컬럼 추가 전에 저장된 일정은 start_at이 비어 있어 기간 조회에 나오지 않으므로
+ * 기동 시 ID 순으로 배치 단위(배치별 트랜잭션)로 파싱해 채웁니다.
+ * 파싱할 수 없는 값은 그대로 두고 건너뜁니다 (다음 기동 때 다시 시도).
+ */
+@Component
+@Slf4j
+public class MailEventStartAtMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MailEventRepository mailEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MailEventStartAtMigration(MailEventRepository mailEventRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.mailEventRepository = mailEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            long afterId = 0;
+            int migrated = 0;
+            int skipped = 0;
+            while (true) {
+                long cursor = afterId;
+                BatchResult result = transactionTemplate.execute(status -> migrateBatch(cursor));
+                if (result == null || result.fetched() == 0) {
+                    break;
+                }
+                migrated += result.migrated();
+                skipped += result.fetched() - result.migrated();
+                afterId = result.lastId();
+            }
+            if (migrated > 0 || skipped > 0) {
+                log.info("일정 시작 시각 이관: {}건 완료, {}건 파싱 실패", migrated, skipped);
+            }
+        } catch (Exception e) {
+            log.error("일정 시작 시각 이관 실패: {}", e.getMessage());
+        }
+    }
+
+    private BatchResult migrateBatch(long afterId) {
+        List<MailEvent> events = mailEventRepository.findWithoutStartAt(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0, afterId);
+        }
+        int migrated = 0;
+        for (MailEvent event : events) {
+            if (event.applyDateTime(event.getDateTime())) {
+                migrated++;
+            } else {
+                log.debug("일정 날짜 파싱 실패: id={}, dateTime={}", event.getId(), event.getDateTime());
+            }
+        }
+        return new BatchResult(events.size(), migrated, events.get(events.size() - 1).getId());
+    }
+
+    private record BatchResult(int fetched, int migrated, long lastId) {
+    }
+}
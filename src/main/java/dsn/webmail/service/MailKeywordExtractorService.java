@@ -6,38 +6,86 @@ import dev.langchain4j.model.chat.ChatLanguageModel;
 import dsn.webmail.entity.MailKeyword;
 import dsn.webmail.entity.ProcessedMail;
 import dsn.webmail.entity.TechKeyword;
-import dsn.webmail.entity.UserLearningHistory;
+import dsn.webmail.event.TechKeywordsExtractedEvent;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.MailKeywordRepository;
 import dsn.webmail.repository.TechKeywordRepository;
-import dsn.webmail.repository.UserLearningHistoryRepository;
-import lombok.RequiredArgsConstructor;
+import dsn.webmail.util.KeywordNormalizer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class MailKeywordExtractorService {
 
     private final ChatLanguageModel chatModel;
     private final TechKeywordRepository keywordRepository;
+    private final TechKeywordDictionary keywordDictionary;
+    private final KeywordExtractorService keywordExtractorService;
+    private final KeywordUsageCounter keywordUsageCounter;
     private final MailKeywordRepository mailKeywordRepository;
-    private final UserLearningHistoryRepository historyRepository;
+    private final UserKeywordStatsService userKeywordStatsService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MailContentReducer mailContentReducer;
+    private final TransactionTemplate newTransactionTemplate;
+
+    @Value("${llm.token-budget.keyword:600}")
+    private int keywordTokenBudget;
+
+    public MailKeywordExtractorService(ChatLanguageModel chatModel,
+                                       TechKeywordRepository keywordRepository,
+                                       TechKeywordDictionary keywordDictionary,
+                                       KeywordExtractorService keywordExtractorService,
+                                       KeywordUsageCounter keywordUsageCounter,
+                                       MailKeywordRepository mailKeywordRepository,
+                                       UserKeywordStatsService userKeywordStatsService,
+                                       ObjectMapper objectMapper,
+                                       ApplicationEventPublisher eventPublisher,
+                                       MailContentReducer mailContentReducer,
+                                       PlatformTransactionManager transactionManager) {
+        this.chatModel = chatModel;
+        this.keywordRepository = keywordRepository;
+        this.keywordDictionary = keywordDictionary;
+        this.keywordExtractorService = keywordExtractorService;
+        this.keywordUsageCounter = keywordUsageCounter;
+        this.mailKeywordRepository = mailKeywordRepository;
+        this.userKeywordStatsService = userKeywordStatsService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.mailContentReducer = mailContentReducer;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
      * 메일에서 기술 키워드 추출 및 저장
+     *
+     * LLM 호출(키워드 추출, 새 키워드 설명) 동안 커넥션을 잡지 않도록 트랜잭션 밖에서 실행하고,
+     * 매핑 저장만 별도 트랜잭션으로 처리합니다.
      */
-    @Transactional
     public List<TechKeyword> extractAndSaveKeywords(ProcessedMail mail) {
         try {
-            // AI로 키워드 추출
-            List<ExtractedKeyword> extracted = extractKeywordsFromMail(mail);
+            String subject = mail.getSubject() != null ? mail.getSubject() : "";
+            // 인용/서명 등을 걷어내고 토큰 예산에 맞게 축약
+            String body = mailContentReducer.reduce(mail.getContent(), keywordTokenBudget);
+
+            // AI로 키워드 추출 + 사전에 있는 키워드 매칭으로 보완
+            List<ExtractedKeyword> extracted = new ArrayList<>(extractKeywordsFromMail(mail, subject, body));
+            extracted.addAll(matchKnownKeywords(subject + "\n" + body));
 
             if (extracted.isEmpty()) {
                 log.debug("No keywords extracted from mail: {}", mail.getId());
@@ -45,10 +93,7 @@ public class MailKeywordExtractorService {
             }
 
             // 추출된 키워드 저장
-            List<TechKeyword> savedKeywords = extracted.stream()
-                    .filter(ek -> ek.confidence() >= 0.7f) // 신뢰도 70% 이상만
-                    .map(ek -> saveExtractedKeyword(mail, ek))
-                    .toList();
+            List<TechKeyword> savedKeywords = saveExtractedKeywords(mail, extracted);
 
             log.info("Extracted {} keywords from mail {}", savedKeywords.size(), mail.getId());
             return savedKeywords;
@@ -62,15 +107,7 @@ public class MailKeywordExtractorService {
     /**
      * AI를 사용하여 메일에서 기술 키워드 추출
      */
-    private List<ExtractedKeyword> extractKeywordsFromMail(ProcessedMail mail) {
-        String subject = mail.getSubject() != null ? mail.getSubject() : "";
-        String body = mail.getContent() != null ? mail.getContent() : "";
-
-        // 본문이 너무 길면 앞부분만 사용
-        if (body.length() > 2000) {
-            body = body.substring(0, 2000);
-        }
-
+    private List<ExtractedKeyword> extractKeywordsFromMail(ProcessedMail mail, String subject, String body) {
         String prompt = """
                 다음 이메일에서 기술/프로그래밍 관련 키워드를 추출해주세요.
 
@@ -106,7 +143,7 @@ public class MailKeywordExtractorService {
                 - 기술 키워드가 없으면 빈 배열 [] 반환
                 """.formatted(subject, body);
 
-        try {
+        try (var ignored = LlmCallContext.open("mail-keyword", mail.getUser().getId())) {
             String response = chatModel.generate(prompt);
             return parseKeywords(response);
         } catch (Exception e) {
@@ -115,6 +152,16 @@ public class MailKeywordExtractorService {
         }
     }
 
+    /**
+     * 이미 사전에 있는 키워드를 본문에서 찾기 (LLM 추출 결과가 우선)
+     */
+    private List<ExtractedKeyword> matchKnownKeywords(String text) {
+        return keywordExtractorService.extractKeywords(text).stream()
+                .map(keyword -> new ExtractedKeyword(
+                        keyword.getKeyword(), keyword.getCategory(), KeywordExtractorService.MATCH_CONFIDENCE))
+                .toList();
+    }
+
     /**
      * AI 응답을 파싱하여 키워드 목록 추출
      */
@@ -136,51 +183,79 @@ public class MailKeywordExtractorService {
 
     /**
      * 추출된 키워드를 DB에 저장
+     * 키워드 ID는 사전에서 메모리로 변환(새 키워드는 설명 생성 후 생성)하고, 새 매핑만 모아서 저장합니다.
      */
-    private TechKeyword saveExtractedKeyword(ProcessedMail mail, ExtractedKeyword ek) {
-        // 키워드가 없으면 생성
-        TechKeyword keyword = keywordRepository.findByKeyword(ek.keyword())
-                .orElseGet(() -> createKeyword(ek));
-
-        // 이미 매핑되어 있는지 확인
-        if (!mailKeywordRepository.existsByMailAndKeyword(mail, keyword)) {
-            // 메일-키워드 매핑 저장
-            MailKeyword mailKeyword = MailKeyword.builder()
-                    .mail(mail)
-                    .keyword(keyword)
-                    .confidence(ek.confidence())
-                    .build();
-            mailKeywordRepository.save(mailKeyword);
-
-            // 글로벌 사용 횟수 증가
-            keyword.incrementUsage();
-            keywordRepository.save(keyword);
-
-            // 사용자 학습 이력 업데이트
-            updateUserHistory(mail.getUser().getId(), keyword);
+    private List<TechKeyword> saveExtractedKeywords(ProcessedMail mail, List<ExtractedKeyword> extracted) {
+        // 신뢰도 70% 이상만, 정규화 기준 중복 제거
+        Map<String, ExtractedKeyword> candidates = new LinkedHashMap<>();
+        for (ExtractedKeyword ek : extracted) {
+            if (ek.keyword() == null || ek.confidence() == null || ek.confidence() < 0.7f) {
+                continue;
+            }
+            String normalized = KeywordNormalizer.normalize(ek.keyword());
+            if (!normalized.isEmpty()) {
+                candidates.putIfAbsent(normalized, ek);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return keyword;
+        Map<String, Long> keywordIds = keywordDictionary.resolveOrCreate(
+                candidates.values().stream()
+                        .map(ek -> new TechKeywordDictionary.Candidate(ek.keyword(), ek.category()))
+                        .toList(),
+                this::generateDescription);
+
+        return newTransactionTemplate.execute(status -> saveMappings(mail, candidates, keywordIds));
     }
 
-    /**
-     * 새 키워드 생성
-     */
-    private TechKeyword createKeyword(ExtractedKeyword ek) {
-        TechKeyword keyword = TechKeyword.builder()
-                .keyword(ek.keyword())
-                .category(ek.category())
-                .description(generateDescription(ek.keyword()))
-                .globalUsageCount(0)
-                .build();
-        return keywordRepository.save(keyword);
+    private List<TechKeyword> saveMappings(ProcessedMail mail, Map<String, ExtractedKeyword> candidates,
+                                           Map<String, Long> keywordIds) {
+        Set<Long> mappedIds = new HashSet<>(mailKeywordRepository.findKeywordIdsByMailId(mail.getId()));
+        boolean firstForMail = mappedIds.isEmpty();
+        Set<Long> seenIds = new HashSet<>();
+        List<TechKeyword> keywords = new ArrayList<>();
+        List<MailKeyword> newMappings = new ArrayList<>();
+
+        for (Map.Entry<String, ExtractedKeyword> entry : candidates.entrySet()) {
+            Long keywordId = keywordIds.get(entry.getKey());
+            // 별칭과 대표 키워드가 함께 추출된 경우 한 번만
+            if (keywordId == null || !seenIds.add(keywordId)) {
+                continue;
+            }
+            TechKeyword keyword = keywordRepository.getReferenceById(keywordId);
+            keywords.add(keyword);
+
+            if (mappedIds.add(keywordId)) {
+                newMappings.add(MailKeyword.builder()
+                        .mail(mail)
+                        .keyword(keyword)
+                        .confidence(entry.getValue().confidence())
+                        .build());
+            }
+        }
+
+        if (!newMappings.isEmpty()) {
+            mailKeywordRepository.saveAll(newMappings);
+
+            // 글로벌 사용 횟수 증가 (커밋 후 카운터에 누적, 주기적으로 반영) + 트렌드 반영
+            List<Long> newIds = newMappings.stream().map(m -> m.getKeyword().getId()).toList();
+            keywordUsageCounter.increment(newIds);
+            eventPublisher.publishEvent(new TechKeywordsExtractedEvent(mail.getId(), newIds));
+
+            // 사용자 키워드 통계 반영
+            userKeywordStatsService.recordMailKeywords(mail.getUser().getId(), newIds, firstForMail);
+        }
+
+        return keywords;
     }
 
     /**
      * 키워드 설명 생성
      */
     private String generateDescription(String keyword) {
-        try {
+        try (var ignored = LlmCallContext.open("keyword-description", null)) {
             String prompt = "%s 기술을 한 문장으로 간단히 설명해주세요.".formatted(keyword);
             return chatModel.generate(prompt);
         } catch (Exception e) {
@@ -188,21 +263,6 @@ public class MailKeywordExtractorService {
         }
     }
 
-    /**
-     * 사용자 학습 이력 업데이트
-     */
-    private void updateUserHistory(Long userId, TechKeyword keyword) {
-        Optional<UserLearningHistory> existing = historyRepository
-                .findByUserIdAndKeywordId(userId, keyword.getId());
-
-        if (existing.isPresent()) {
-            existing.get().incrementUsage();
-        } else {
-            // AppUser를 조회하지 않고 ID만 사용하기 위해 별도 처리 필요
-            // 여기서는 기존 엔티티가 있을 때만 업데이트
-        }
-    }
-
     /**
      * 추출된 키워드 레코드
      */
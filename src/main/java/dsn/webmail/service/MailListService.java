@@ -3,11 +3,13 @@ package dsn.webmail.service;
 import dsn.webmail.dto.MailDtos.MailDetailResponse;
 import dsn.webmail.dto.MailDtos.MailListItemResponse;
 import dsn.webmail.dto.MailDtos.MailListResponse;
+import dsn.webmail.dto.MailDtos.SimilarMailResponse;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.MailCategory;
 import dsn.webmail.entity.ProcessedMail;
 import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.util.HnswIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,6 +18,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -25,6 +30,7 @@ public class MailListService {
     private final AppUserRepository appUserRepository;
     private final ProcessedMailRepository processedMailRepository;
     private final MailAnalyzerService mailAnalyzerService;
+    private final EmbeddingIndexService embeddingIndexService;
 
     @Transactional(readOnly = true)
     public MailListResponse getMailList(String email, int page, int size, MailCategory category) {
@@ -60,7 +66,9 @@ public class MailListService {
         return toDetailResponse(mail);
     }
 
-    @Transactional
+    /**
+     * 재분석은 LLM 호출을 포함하므로 트랜잭션 없이 실행 (저장은 분석 서비스에서 처리)
+     */
     public MailDetailResponse reanalyzeMail(String email, Long mailId) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
@@ -68,11 +76,53 @@ public class MailListService {
         ProcessedMail mail = processedMailRepository.findByIdAndUserId(mailId, user.getId())
                 .orElseThrow(() -> new RuntimeException("메일을 찾을 수 없습니다: " + mailId));
 
-        mailAnalyzerService.analyzeMail(mail);
+        mailAnalyzerService.reanalyzeMail(mail);
 
         return toDetailResponse(mail);
     }
 
+    /**
+     * 비슷한 메일 조회 (같은 사용자 메일 중 임베딩 유사도 순)
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarMailResponse> getSimilarMails(String email, Long mailId, int size) {
+        AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+
+        processedMailRepository.findByIdAndUserId(mailId, user.getId())
+                .orElseThrow(() -> new RuntimeException("메일을 찾을 수 없습니다: " + mailId));
+
+        return toSimilarMailResponses(embeddingIndexService.similarMails(user.getId(), mailId, size));
+    }
+
+    /**
+     * 메일 의미 검색 (질의문 임베딩과 유사도 순)
+     *
+     * 임베딩 API 호출과 인덱스 로드 동안 커넥션을 잡지 않도록 트랜잭션 없이 실행
+     * (임베딩/검색을 먼저 하고, 메일은 그 뒤에 한 번에 조회)
+     */
+    public List<SimilarMailResponse> searchMails(String email, String query, int size) {
+        AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+
+        return toSimilarMailResponses(embeddingIndexService.searchMails(user.getId(), query, size));
+    }
+
+    private List<SimilarMailResponse> toSimilarMailResponses(List<HnswIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProcessedMail> mails = processedMailRepository.findAllById(
+                        hits.stream().map(HnswIndex.Hit::id).toList()).stream()
+                .collect(Collectors.toMap(ProcessedMail::getId, Function.identity()));
+
+        // 인덱스 반영 후 삭제된 메일은 제외
+        return hits.stream()
+                .filter(hit -> mails.containsKey(hit.id()))
+                .map(hit -> new SimilarMailResponse(toListItemResponse(mails.get(hit.id())), hit.score()))
+                .toList();
+    }
+
     private MailListItemResponse toListItemResponse(ProcessedMail mail) {
         return new MailListItemResponse(
                 mail.getId(),
@@ -0,0 +1,291 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.MailCategory;
+import dsn.webmail.entity.ProcessedMail.AnalysisSource;
+import dsn.webmail.repository.ProcessedMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LLM 호출 전 로컬 메일 분류기
+ *
+ * 1단계: 발신자/제목 규칙 (노션 알림, 공지 발신자 등)
+ * 2단계: LLM이 분류한 processed_mail로 학습한 나이브 베이즈 모델
+ *
+ * 확신도가 임계값 이상이면 로컬에서 카테고리를 확정하고,
+ * 애매한 메일만 OpenAI로 넘깁니다.
+ */
+@Service
+@Slf4j
+public class MailPreClassifier {
+
+    private static final List<String> NOTION_DOMAINS = List.of("notion.so", "mail.notion.so", "makenotion.com");
+    private static final List<String> ANNOUNCEMENT_SUBJECT_TAGS = List.of("[공지]", "[안내]", "[notice]");
+
+    @Value("${mail.pre-classifier.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.pre-classifier.min-confidence:0.9}")
+    private double minConfidence;
+
+    @Value("${mail.pre-classifier.training-size:5000}")
+    private int trainingSize;
+
+    @Value("${mail.pre-classifier.min-training-samples:200}")
+    private int minTrainingSamples;
+
+    // 공지 메일을 보내는 사내 발신자 (예: notice@company.com, @hr.company.com)
+    @Value("${mail.pre-classifier.announcement-senders:}")
+    private List<String> announcementSenders;
+
+    private final ProcessedMailRepository processedMailRepository;
+    private final Counter ruleHits;
+    private final Counter modelHits;
+    private final Counter escalations;
+
+    // 재학습 시 통째로 교체 (읽기 측은 락 없이 사용)
+    private volatile NaiveBayesModel model;
+
+    public MailPreClassifier(ProcessedMailRepository processedMailRepository, MeterRegistry meterRegistry) {
+        this.processedMailRepository = processedMailRepository;
+        this.ruleHits = decisionCounter(meterRegistry, "rule");
+        this.modelHits = decisionCounter(meterRegistry, "model");
+        this.escalations = decisionCounter(meterRegistry, "llm");
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("mail.preclassifier.decisions")
+                .description("로컬 분류기 판정 결과 (rule/model: 로컬 확정, llm: LLM으로 위임)")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 로컬 분류 시도
+     *
+     * @return 확신도가 충분하면 분류 결과, 아니면 empty (LLM 분석 필요)
+     */
+    public Optional<LocalClassification> classify(String subject, String fromAddress) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Optional<LocalClassification> result = classifyByRule(subject, fromAddress);
+        if (result.isPresent()) {
+            ruleHits.increment();
+            return result;
+        }
+
+        NaiveBayesModel current = model;
+        if (current != null) {
+            LocalClassification predicted = current.predict(tokenize(subject, fromAddress));
+            if (predicted != null && predicted.confidence() >= minConfidence) {
+                modelHits.increment();
+                return Optional.of(predicted);
+            }
+        }
+
+        escalations.increment();
+        return Optional.empty();
+    }
+
+    private Optional<LocalClassification> classifyByRule(String subject, String fromAddress) {
+        String from = fromAddress != null ? fromAddress.toLowerCase(Locale.ROOT) : "";
+        String domain = from.contains("@") ? from.substring(from.lastIndexOf('@') + 1) : "";
+
+        if (NOTION_DOMAINS.stream().anyMatch(d -> domain.equals(d) || domain.endsWith("." + d))) {
+            return Optional.of(new LocalClassification(MailCategory.NOTION_ALERT, 0.99f, AnalysisSource.RULE));
+        }
+
+        if (announcementSenders != null) {
+            for (String sender : announcementSenders) {
+                String s = sender.trim().toLowerCase(Locale.ROOT);
+                if (s.isEmpty()) {
+                    continue;
+                }
+                boolean matched = s.startsWith("@") ? from.endsWith(s) : from.equals(s);
+                if (matched) {
+                    return Optional.of(new LocalClassification(MailCategory.ANNOUNCEMENT, 0.95f, AnalysisSource.RULE));
+                }
+            }
+        }
+
+        String lowerSubject = subject != null ? subject.toLowerCase(Locale.ROOT) : "";
+        if (ANNOUNCEMENT_SUBJECT_TAGS.stream().anyMatch(lowerSubject::startsWith)) {
+            return Optional.of(new LocalClassification(MailCategory.ANNOUNCEMENT, 0.95f, AnalysisSource.RULE));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * LLM이 분류한 메일로 모델 재학습 (기동 후 1분, 이후 주기적으로)
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelayString = "${mail.pre-classifier.retrain-interval-ms:21600000}")
+    @Transactional(readOnly = true)
+    public void retrain() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<Object[]> samples = processedMailRepository.findTrainingSamples(
+                    (float) minConfidence, PageRequest.of(0, trainingSize));
+
+            if (samples.size() < minTrainingSamples) {
+                log.info("로컬 분류기 학습 데이터 부족: {}건 (최소 {}건)", samples.size(), minTrainingSamples);
+                return;
+            }
+
+            NaiveBayesModel.Trainer trainer = new NaiveBayesModel.Trainer();
+            for (Object[] row : samples) {
+                trainer.add((MailCategory) row[2], tokenize((String) row[0], (String) row[1]));
+            }
+            model = trainer.build();
+
+            log.info("로컬 분류기 학습 완료: samples={}, vocabulary={}", samples.size(), model.vocabularySize());
+        } catch (Exception e) {
+            log.error("로컬 분류기 학습 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 제목 단어 + 발신자 주소/도메인 토큰
+     */
+    static List<String> tokenize(String subject, String fromAddress) {
+        List<String> tokens = new ArrayList<>();
+        if (subject != null) {
+            for (String token : subject.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (token.length() >= 2) {
+                    tokens.add(token);
+                }
+            }
+        }
+        if (fromAddress != null && !fromAddress.isBlank()) {
+            String from = fromAddress.toLowerCase(Locale.ROOT).trim();
+            tokens.add("from:" + from);
+            if (from.contains("@")) {
+                tokens.add("domain:" + from.substring(from.lastIndexOf('@') + 1));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 로컬 분류 결과
+     *
+     * @param source RULE 또는 MODEL
+     */
+    public record LocalClassification(MailCategory category, float confidence, AnalysisSource source) {
+    }
+
+    /**
+     * 다항 나이브 베이즈 (라플라스 스무딩)
+     */
+    static final class NaiveBayesModel {
+
+        private final Map<MailCategory, Double> logPriors;
+        private final Map<MailCategory, Map<String, Double>> logLikelihoods;
+        private final Map<MailCategory, Double> unseenLogLikelihood;
+        private final int vocabularySize;
+
+        private NaiveBayesModel(Map<MailCategory, Double> logPriors,
+                                Map<MailCategory, Map<String, Double>> logLikelihoods,
+                                Map<MailCategory, Double> unseenLogLikelihood,
+                                int vocabularySize) {
+            this.logPriors = logPriors;
+            this.logLikelihoods = logLikelihoods;
+            this.unseenLogLikelihood = unseenLogLikelihood;
+            this.vocabularySize = vocabularySize;
+        }
+
+        int vocabularySize() {
+            return vocabularySize;
+        }
+
+        LocalClassification predict(List<String> tokens) {
+            if (tokens.isEmpty()) {
+                return null;
+            }
+
+            Map<MailCategory, Double> scores = new EnumMap<>(MailCategory.class);
+            for (Map.Entry<MailCategory, Double> prior : logPriors.entrySet()) {
+                MailCategory category = prior.getKey();
+                Map<String, Double> likelihoods = logLikelihoods.get(category);
+                double unseen = unseenLogLikelihood.get(category);
+                double score = prior.getValue();
+                for (String token : tokens) {
+                    score += likelihoods.getOrDefault(token, unseen);
+                }
+                scores.put(category, score);
+            }
+
+            // log-sum-exp로 사후 확률 정규화
+            double max = scores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+            double sum = 0;
+            MailCategory best = null;
+            for (Map.Entry<MailCategory, Double> entry : scores.entrySet()) {
+                sum += Math.exp(entry.getValue() - max);
+                if (entry.getValue() == max) {
+                    best = entry.getKey();
+                }
+            }
+            return new LocalClassification(best, (float) (1.0 / sum), AnalysisSource.MODEL);
+        }
+
+        static final class Trainer {
+
+            private final Map<MailCategory, Integer> docCounts = new EnumMap<>(MailCategory.class);
+            private final Map<MailCategory, Map<String, Integer>> tokenCounts = new EnumMap<>(MailCategory.class);
+            private final Map<String, Boolean> vocabulary = new HashMap<>();
+            private int totalDocs;
+
+            void add(MailCategory category, List<String> tokens) {
+                docCounts.merge(category, 1, Integer::sum);
+                Map<String, Integer> counts = tokenCounts.computeIfAbsent(category, c -> new HashMap<>());
+                for (String token : tokens) {
+                    counts.merge(token, 1, Integer::sum);
+                    vocabulary.put(token, Boolean.TRUE);
+                }
+                totalDocs++;
+            }
+
+            NaiveBayesModel build() {
+                int v = vocabulary.size();
+                Map<MailCategory, Double> logPriors = new EnumMap<>(MailCategory.class);
+                Map<MailCategory, Map<String, Double>> logLikelihoods = new EnumMap<>(MailCategory.class);
+                Map<MailCategory, Double> unseen = new EnumMap<>(MailCategory.class);
+
+                for (Map.Entry<MailCategory, Integer> entry : docCounts.entrySet()) {
+                    MailCategory category = entry.getKey();
+                    Map<String, Integer> counts = tokenCounts.get(category);
+                    long totalTokens = counts.values().stream().mapToLong(Integer::longValue).sum();
+                    double denominator = Math.log(totalTokens + v);
+
+                    Map<String, Double> likelihoods = new HashMap<>(counts.size() * 2);
+                    counts.forEach((token, count) -> likelihoods.put(token, Math.log(count + 1.0) - denominator));
+
+                    logPriors.put(category, Math.log((double) entry.getValue() / totalDocs));
+                    logLikelihoods.put(category, likelihoods);
+                    unseen.put(category, -denominator);
+                }
+
+                return new NaiveBayesModel(logPriors, logLikelihoods, unseen, v);
+            }
+        }
+    }
+}
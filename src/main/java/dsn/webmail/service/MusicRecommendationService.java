@@ -6,6 +6,7 @@ import dsn.webmail.dto.MusicRecommendationResponse.MoodAnalysis;
 import dsn.webmail.dto.MusicRecommendationResponse.TrackInfo;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.ProcessedMailRepository;
 import lombok.RequiredArgsConstructor;
@@ -36,7 +37,10 @@ public class MusicRecommendationService {
         log.info("음악 추천 요청: {}", prompt);
 
         // AI로 기분 분석
-        MoodProfile moodProfile = musicMoodAnalyzer.analyzeMood(prompt);
+        MoodProfile moodProfile;
+        try (var ignored = LlmCallContext.open("music-mood", null)) {
+            moodProfile = musicMoodAnalyzer.analyzeMood(prompt);
+        }
         log.debug("AI 분석 결과: {}", moodProfile);
 
         // Spotify 추천 요청
@@ -147,7 +151,10 @@ public class MusicRecommendationService {
                 .collect(Collectors.joining("\n"));
 
         // AI로 메일 분석 기반 추천
-        MoodProfile moodProfile = musicMoodAnalyzer.analyzeMailsAndRecommend(mailSummaries);
+        MoodProfile moodProfile;
+        try (var ignored = LlmCallContext.open("music-mood", user.getId())) {
+            moodProfile = musicMoodAnalyzer.analyzeMailsAndRecommend(mailSummaries);
+        }
         log.debug("메일 기반 AI 분석 결과: {}", moodProfile);
 
         // Spotify 추천 요청
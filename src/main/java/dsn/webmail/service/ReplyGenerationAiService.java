@@ -1,11 +1,12 @@
 package dsn.webmail.service;
 
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.V;
 
 public interface ReplyGenerationAiService {
 
-    @UserMessage("""
+    String REPLY_PROMPT = """
             다음 이메일에 대한 답장 초안을 작성해주세요.
 
             [원본 메일]
@@ -26,7 +27,9 @@ public interface ReplyGenerationAiService {
             5. 발신자 이름은 [사용자 이름]으로 표시
 
             답장 초안만 출력하세요.
-            """)
+            """;
+
+    @UserMessage(REPLY_PROMPT)
     String generateReply(
             @V("subject") String subject,
             @V("from") String from,
@@ -35,4 +38,17 @@ public interface ReplyGenerationAiService {
             @V("replyType") String replyType,
             @V("additionalContext") String additionalContext
     );
+
+    /**
+     * 답장 초안 스트리밍 생성 (토큰 단위로 전달)
+     */
+    @UserMessage(REPLY_PROMPT)
+    TokenStream streamReply(
+            @V("subject") String subject,
+            @V("from") String from,
+            @V("content") String content,
+            @V("tone") String tone,
+            @V("replyType") String replyType,
+            @V("additionalContext") String additionalContext
+    );
 }
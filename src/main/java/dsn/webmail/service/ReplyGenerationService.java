@@ -2,26 +2,143 @@ package dsn.webmail.service;
 
 import dsn.webmail.dto.ReplyDtos.ReplyDraftResponse;
 import dsn.webmail.dto.ReplyDtos.ReplyGenerationRequest;
+import dsn.webmail.dto.ReplyDtos.ReplyStreamError;
+import dsn.webmail.dto.ReplyDtos.ReplyTokenChunk;
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.llm.LlmCallContext;
 import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.ProcessedMailRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ReplyGenerationService {
 
+    // 스트리밍 응답 최대 유지 시간
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+
     private final ReplyGenerationAiService aiService;
     private final ProcessedMailRepository processedMailRepository;
     private final AppUserRepository appUserRepository;
+    private final MailContentReducer mailContentReducer;
+
+    @Value("${llm.token-budget.reply:1000}")
+    private int replyTokenBudget;
 
     public ReplyDraftResponse generateReply(String email, Long mailId, ReplyGenerationRequest request) {
+        ReplyPrompt prompt = buildPrompt(email, mailId, request);
+
+        // LLM 호출
+        String draft;
+        try (var ignored = LlmCallContext.open("reply", prompt.userId())) {
+            draft = aiService.generateReply(
+                    prompt.subject(),
+                    prompt.from(),
+                    prompt.content(),
+                    prompt.tone(),
+                    prompt.replyType(),
+                    prompt.context()
+            );
+        }
+
+        log.info("답장 초안 생성 완료: mailId={}, tone={}, replyType={}", mailId, prompt.tone(), prompt.replyType());
+
+        return new ReplyDraftResponse(
+                mailId,
+                draft,
+                request.tone(),
+                request.replyType(),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * 답장 초안 스트리밍 생성 (SSE)
+     *
+     * 모델이 생성하는 토큰을 "token" 이벤트로 즉시 전달하고,
+     * 완료 시 전체 초안을 "done" 이벤트로 보냅니다.
+     * 서블릿 스레드는 emitter 반환 후 바로 반납됩니다.
+     */
+    public SseEmitter streamReply(String email, Long mailId, ReplyGenerationRequest request) {
+        ReplyPrompt prompt = buildPrompt(email, mailId, request);
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        // 연결 종료/타임아웃/오류 시 true - 이후 토큰은 전달되지 않음 (업스트림 생성은 끝까지 진행)
+        AtomicBoolean closed = new AtomicBoolean(false);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> {
+            closed.set(true);
+            log.debug("답장 초안 스트리밍 타임아웃, 전달 중단: mailId={}", mailId);
+        });
+        emitter.onError(e -> {
+            closed.set(true);
+            log.debug("답장 초안 스트리밍 연결 종료, 전달 중단: mailId={}, error={}", mailId, e.getMessage());
+        });
+
+        StringBuilder draft = new StringBuilder();
+
+        // 스트리밍 모델은 호출 스레드에서 컨텍스트를 캡처하므로 start()까지 열어둠
+        try (var ignored = LlmCallContext.open("reply-stream", prompt.userId(), closed::get)) {
+            aiService.streamReply(
+                            prompt.subject(),
+                            prompt.from(),
+                            prompt.content(),
+                            prompt.tone(),
+                            prompt.replyType(),
+                            prompt.context())
+                    .onNext(token -> {
+                        draft.append(token);
+                        send(emitter, closed, "token", new ReplyTokenChunk(token));
+                    })
+                    .onComplete(response -> {
+                        log.info("답장 초안 스트리밍 완료: mailId={}, tone={}, replyType={}",
+                                mailId, prompt.tone(), prompt.replyType());
+                        send(emitter, closed, "done", new ReplyDraftResponse(
+                                mailId,
+                                draft.toString(),
+                                request.tone(),
+                                request.replyType(),
+                                LocalDateTime.now()));
+                        emitter.complete();
+                    })
+                    .onError(error -> {
+                        log.error("답장 초안 스트리밍 실패: mailId={}, error={}", mailId, error.getMessage());
+                        send(emitter, closed, "error", new ReplyStreamError("답장 생성에 실패했습니다."));
+                        emitter.complete();
+                    })
+                    .start();
+        }
+
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean closed, String eventName, Object payload) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊은 경우 - 남은 토큰은 버림
+            closed.set(true);
+            log.debug("SSE 전송 중단: event={}, error={}", eventName, e.getMessage());
+        }
+    }
+
+    private ReplyPrompt buildPrompt(String email, Long mailId, ReplyGenerationRequest request) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
 
@@ -38,34 +155,23 @@ public class ReplyGenerationService {
         String context = request.additionalContext() != null && !request.additionalContext().isBlank() ?
                 request.additionalContext() : "없음";
 
-        // LLM 호출
-        String draft = aiService.generateReply(
+        return new ReplyPrompt(
+                user.getId(),
                 mail.getSubject(),
                 mail.getFromAddress(),
-                truncateContent(mail.getContent(), 2000),
+                mailContentReducer.reduce(mail.getContent(), replyTokenBudget),
                 tone,
                 replyType,
-                context
-        );
-
-        log.info("답장 초안 생성 완료: mailId={}, tone={}, replyType={}", mailId, tone, replyType);
-
-        return new ReplyDraftResponse(
-                mailId,
-                draft,
-                request.tone(),
-                request.replyType(),
-                LocalDateTime.now()
-        );
+                context);
     }
 
-    private String truncateContent(String content, int maxLength) {
-        if (content == null) {
-            return "";
-        }
-        if (content.length() <= maxLength) {
-            return content;
-        }
-        return content.substring(0, maxLength) + "...";
+    private record ReplyPrompt(
+            Long userId,
+            String subject,
+            String from,
+            String content,
+            String tone,
+            String replyType,
+            String context) {
     }
 }
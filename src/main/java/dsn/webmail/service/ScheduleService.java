@@ -1,5 +1,6 @@
 package dsn.webmail.service;
 
+import dsn.webmail.dto.ScheduleDtos.CalendarFeed;
 import dsn.webmail.dto.ScheduleDtos.CreateEventRequest;
 import dsn.webmail.dto.ScheduleDtos.ScheduleEventResponse;
 import dsn.webmail.dto.ScheduleDtos.ScheduleListResponse;
@@ -9,14 +10,28 @@ import dsn.webmail.entity.MailEvent;
 import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.EventKeywordRepository;
 import dsn.webmail.repository.MailEventRepository;
+import dsn.webmail.util.IcsWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -27,6 +42,17 @@ public class ScheduleService {
     private final MailEventRepository mailEventRepository;
     private final EventKeywordRepository eventKeywordRepository;
     private final EventKeywordExtractorService eventKeywordExtractorService;
+    private final UserKeywordStatsService userKeywordStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+
+    @Value("${calendar.zone:Asia/Seoul}")
+    private String calendarZone;
+
+    // ICS 피드에 포함할 과거 일정 범위 (일)
+    @Value("${calendar.feed.past-days:365}")
+    private long feedPastDays;
 
     @Transactional(readOnly = true)
     public ScheduleListResponse getScheduleByMonth(String email, Integer year, Integer month) {
@@ -41,11 +67,27 @@ public class ScheduleService {
             month = LocalDate.now().getMonthValue();
         }
 
-        // "2025-11" 형식으로 조회 (ProcessedMail JOIN)
-        String yearMonth = String.format("%d-%02d", year, month);
-        List<Object[]> results = mailEventRepository.findByUserIdAndYearMonthWithMailInfo(user.getId(), yearMonth);
+        // 해당 월 1일 00:00 ~ 다음 달 1일 00:00 (ProcessedMail JOIN)
+        LocalDateTime from = LocalDate.of(year, month, 1).atStartOfDay();
+        return findInRange(user, from, from.plusMonths(1));
+    }
+
+    /**
+     * 주간 일정 조회 (date가 속한 주, 월요일 시작)
+     */
+    @Transactional(readOnly = true)
+    public ScheduleListResponse getScheduleByWeek(String email, LocalDate date) {
+        AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+
+        LocalDate base = date != null ? date : LocalDate.now();
+        LocalDateTime from = base.with(DayOfWeek.MONDAY).atStartOfDay();
+        return findInRange(user, from, from.plusWeeks(1));
+    }
 
-        List<ScheduleEventResponse> eventResponses = results.stream()
+    private ScheduleListResponse findInRange(AppUser user, LocalDateTime from, LocalDateTime to) {
+        List<ScheduleEventResponse> eventResponses = mailEventRepository
+                .findByUserIdAndStartAtRangeWithMailInfo(user.getId(), from, to).stream()
                 .map(this::toEventResponseWithMailInfo)
                 .toList();
 
@@ -74,25 +116,42 @@ public class ScheduleService {
         MailEvent event = mailEventRepository.findByIdAndUserId(eventId, user.getId())
                 .orElseThrow(() -> new RuntimeException("일정을 찾을 수 없습니다: " + eventId));
 
-        // 연결된 EventKeyword 먼저 삭제
+        // 연결된 EventKeyword 먼저 삭제 (사용자 키워드 통계도 차감)
+        List<Long> keywordIds = eventKeywordRepository.findKeywordIdsByEventId(event.getId());
         eventKeywordRepository.deleteByEvent(event);
+        userKeywordStatsService.removeEventKeywords(user.getId(), keywordIds);
+        userKeywordStatsService.changeEventSources(user.getId(), keywordIds.isEmpty() ? 0 : -1);
 
         mailEventRepository.delete(event);
+        appUserRepository.markEventsChanged(user.getId(), LocalDateTime.now());
         log.info("일정 삭제: userId={}, eventId={}", user.getId(), eventId);
     }
 
     /**
      * 일정 생성 (수동)
+     *
+     * 일정 저장을 먼저 커밋하고, 키워드 추출(LLM 호출)은 트랜잭션 밖에서 처리합니다.
      */
-    @Transactional
     public ScheduleEventResponse createSchedule(String email, CreateEventRequest request) {
+        MailEvent savedEvent = transactionTemplate.execute(status -> saveNewSchedule(email, request));
+
+        // 기술 키워드 추출
+        try {
+            eventKeywordExtractorService.extractAndSaveKeywords(savedEvent);
+        } catch (Exception e) {
+            log.warn("일정 키워드 추출 실패: eventId={}, error={}", savedEvent.getId(), e.getMessage());
+        }
+
+        return toEventResponse(savedEvent);
+    }
+
+    private MailEvent saveNewSchedule(String email, CreateEventRequest request) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
 
         MailEvent event = MailEvent.builder()
                 .user(user)
                 .title(request.title())
-                .dateTime(request.dateTime())
                 .description(request.description())
                 .category(request.category())
                 .priority(request.priority())
@@ -101,25 +160,33 @@ public class ScheduleService {
                 .isManual(true)
                 .createdAt(LocalDateTime.now())
                 .build();
+        applyDateTime(event, request.dateTime());
 
         MailEvent savedEvent = mailEventRepository.save(event);
+        appUserRepository.markEventsChanged(user.getId(), LocalDateTime.now());
         log.info("일정 생성: userId={}, eventId={}, title={}", user.getId(), savedEvent.getId(), savedEvent.getTitle());
+        return savedEvent;
+    }
+
+    /**
+     * 일정 수정
+     *
+     * 일정 저장을 먼저 커밋하고, 키워드 재추출(LLM 호출)은 트랜잭션 밖에서 처리합니다.
+     */
+    public ScheduleEventResponse updateSchedule(String email, Long eventId, UpdateEventRequest request) {
+        MailEvent updatedEvent = transactionTemplate.execute(status -> saveScheduleUpdate(email, eventId, request));
 
-        // 기술 키워드 추출 (비동기적으로 처리)
+        // 기술 키워드 재추출
         try {
-            eventKeywordExtractorService.extractAndSaveKeywords(savedEvent);
+            eventKeywordExtractorService.extractAndSaveKeywords(updatedEvent);
         } catch (Exception e) {
-            log.warn("일정 키워드 추출 실패: eventId={}, error={}", savedEvent.getId(), e.getMessage());
+            log.warn("일정 키워드 추출 실패: eventId={}, error={}", updatedEvent.getId(), e.getMessage());
         }
 
-        return toEventResponse(savedEvent);
+        return toEventResponse(updatedEvent);
     }
 
-    /**
-     * 일정 수정
-     */
-    @Transactional
-    public ScheduleEventResponse updateSchedule(String email, Long eventId, UpdateEventRequest request) {
+    private MailEvent saveScheduleUpdate(String email, Long eventId, UpdateEventRequest request) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
 
@@ -127,7 +194,7 @@ public class ScheduleService {
                 .orElseThrow(() -> new RuntimeException("일정을 찾을 수 없습니다: " + eventId));
 
         event.setTitle(request.title());
-        event.setDateTime(request.dateTime());
+        applyDateTime(event, request.dateTime());
         event.setDescription(request.description());
         event.setCategory(request.category());
         event.setPriority(request.priority());
@@ -136,16 +203,95 @@ public class ScheduleService {
         event.setUpdatedAt(LocalDateTime.now());
 
         MailEvent updatedEvent = mailEventRepository.save(event);
+        appUserRepository.markEventsChanged(user.getId(), LocalDateTime.now());
         log.info("일정 수정: userId={}, eventId={}, title={}", user.getId(), updatedEvent.getId(), updatedEvent.getTitle());
+        return updatedEvent;
+    }
 
-        // 기술 키워드 재추출
-        try {
-            eventKeywordExtractorService.extractAndSaveKeywords(updatedEvent);
-        } catch (Exception e) {
-            log.warn("일정 키워드 추출 실패: eventId={}, error={}", updatedEvent.getId(), e.getMessage());
+    /**
+     * ICS 구독 토큰 조회 (없으면 발급)
+     */
+    @Transactional
+    public String getOrCreateCalendarToken(String email) {
+        AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+
+        if (user.getCalendarToken() != null) {
+            return user.getCalendarToken();
         }
+        appUserRepository.assignCalendarTokenIfAbsent(user.getId(), newCalendarToken());
+        // 동시 요청이 먼저 발급했으면 그 토큰
+        return appUserRepository.findCalendarTokenById(user.getId());
+    }
 
-        return toEventResponse(updatedEvent);
+    /**
+     * ICS 구독 토큰 재발급 (기존 구독 URL 무효화)
+     */
+    @Transactional
+    public String resetCalendarToken(String email) {
+        AppUser user = appUserRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
+
+        String token = newCalendarToken();
+        appUserRepository.updateCalendarToken(user.getId(), token);
+        log.info("ICS 구독 토큰 재발급: userId={}", user.getId());
+        return token;
+    }
+
+    /**
+     * 구독 토큰으로 피드 정보 조회 (app_user만 조회 - 조건부 요청 판단용)
+     */
+    @Transactional(readOnly = true)
+    public Optional<CalendarFeed> findCalendarFeed(String token) {
+        return appUserRepository.findByCalendarToken(token)
+                .map(user -> new CalendarFeed(
+                        user.getId(),
+                        user.getName() != null ? user.getName() : user.getEmail(),
+                        user.getEventsChangedAt() != null ? user.getEventsChangedAt() : user.getCreatedAt()));
+    }
+
+    /**
+     * 사용자 일정을 ICS로 출력
+     *
+     * 일정을 스트리밍 조회하며 바로 쓰므로 일정 수와 관계없이 메모리 사용이 일정합니다.
+     * 출력이 끝나면 out을 닫습니다.
+     */
+    @Transactional(readOnly = true)
+    public void writeCalendar(Long userId, String calendarName, OutputStream out) throws IOException {
+        LocalDateTime from = LocalDate.now().minusDays(feedPastDays).atStartOfDay();
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+             Stream<Object[]> rows = mailEventRepository.streamCalendarRows(userId, from)) {
+            IcsWriter ics = new IcsWriter(writer, ZoneId.of(calendarZone));
+            ics.beginCalendar("-//Webmail Work Platform//Schedule//KO", calendarName + " 일정");
+
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                LocalDateTime start = (LocalDateTime) row[2];
+                LocalDateTime end = (LocalDateTime) row[3];
+                LocalDateTime stamp = row[7] != null ? (LocalDateTime) row[7] : (LocalDateTime) row[6];
+                ics.event(
+                        "event-" + row[0] + "@webmail",
+                        stamp != null ? stamp : start,
+                        start,
+                        end != null ? end : start.plusHours(1),
+                        (String) row[1],
+                        (String) row[4],
+                        (String) row[5]);
+            }
+            ics.endCalendar();
+        }
+    }
+
+    private static String newCalendarToken() {
+        byte[] bytes = new byte[32];
+        TOKEN_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // 요청은 형식 검증을 거치지만 2025-02-30 같은 값은 여기서 거름
+    private void applyDateTime(MailEvent event, String dateTime) {
+        if (!event.applyDateTime(dateTime)) {
+            throw new IllegalArgumentException("날짜/시간을 해석할 수 없습니다: " + dateTime);
+        }
     }
 
     private ScheduleEventResponse toEventResponseWithMailInfo(Object[] result) {
@@ -2,6 +2,7 @@ package dsn.webmail.service;
 
 import dsn.webmail.entity.AppUser;
 import dsn.webmail.entity.EmailVerification;
+import dsn.webmail.event.UserDataChangedEvent;
 import dsn.webmail.repository.AppUserRepository;
 import dsn.webmail.repository.EmailVerificationRepository;
 import dsn.webmail.util.PasswordCipher;
@@ -9,6 +10,7 @@ import dsn.webmail.util.VerificationCodeGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,7 @@ public class SignupService {
     private final PasswordEncoder passwordEncoder;
     private final PasswordCipher passwordCipher;
     private final SlackApiClient slackApiClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SignupService(AppUserRepository userRepo, 
                         EmailVerificationRepository verRepo,
@@ -35,7 +38,8 @@ public class SignupService {
                         MailSenderService mailSender,
                         PasswordEncoder passwordEncoder, 
                         PasswordCipher passwordCipher,
-                        SlackApiClient slackApiClient) {
+                        SlackApiClient slackApiClient,
+                        ApplicationEventPublisher eventPublisher) {
         this.userRepo = userRepo;
         this.verRepo = verRepo;
         this.generator = generator;
@@ -43,6 +47,7 @@ public class SignupService {
         this.passwordEncoder = passwordEncoder;
         this.passwordCipher = passwordCipher;
         this.slackApiClient = slackApiClient;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -143,6 +148,8 @@ public class SignupService {
         }
         
         userRepo.save(user);
+        // 대시보드 통계의 Slack 알림 상태 갱신
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
 
         // 인증 레코드 정리
         verRepo.deleteByEmail(email);
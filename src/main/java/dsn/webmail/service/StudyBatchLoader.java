@@ -0,0 +1,80 @@
+package dsn.webmail.service;
+
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.UserResourceBookmarkRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 학습 화면 요청 단위 배치 로더 (DataLoader 방식)
+ *
+ * 키워드별 자료 수와 자료별 북마크 여부를 항목마다 조회하지 않고
+ * 필요한 ID를 모아 두었다가 처음 값을 꺼낼 때 한 번에 조회합니다.
+ * 요청(서비스 메서드 호출)마다 새로 만들어 쓰고 버립니다.
+ */
+class StudyBatchLoader {
+
+    private final LearningResourceRepository resourceRepository;
+    private final UserResourceBookmarkRepository bookmarkRepository;
+    private final Long userId;
+
+    private final Set<Long> queuedKeywordIds = new LinkedHashSet<>();
+    private final Map<Long, Long> resourceCounts = new HashMap<>();
+
+    private final Set<Long> queuedResourceIds = new LinkedHashSet<>();
+    private final Set<Long> loadedResourceIds = new HashSet<>();
+    private final Set<Long> bookmarkedResourceIds = new HashSet<>();
+
+    StudyBatchLoader(LearningResourceRepository resourceRepository,
+                     UserResourceBookmarkRepository bookmarkRepository,
+                     Long userId) {
+        this.resourceRepository = resourceRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.userId = userId;
+    }
+
+    StudyBatchLoader queueKeywords(Collection<Long> keywordIds) {
+        keywordIds.stream().filter(id -> !resourceCounts.containsKey(id)).forEach(queuedKeywordIds::add);
+        return this;
+    }
+
+    StudyBatchLoader queueResources(Collection<Long> resourceIds) {
+        resourceIds.stream().filter(id -> !loadedResourceIds.contains(id)).forEach(queuedResourceIds::add);
+        return this;
+    }
+
+    /**
+     * 키워드의 학습 자료 수 (대기 중인 키워드를 GROUP BY 한 번으로 조회)
+     */
+    long resourceCount(Long keywordId) {
+        if (!resourceCounts.containsKey(keywordId)) {
+            queuedKeywordIds.add(keywordId);
+            for (Long id : queuedKeywordIds) {
+                resourceCounts.put(id, 0L);
+            }
+            for (Object[] row : resourceRepository.countByKeywordIds(queuedKeywordIds)) {
+                resourceCounts.put((Long) row[0], (Long) row[1]);
+            }
+            queuedKeywordIds.clear();
+        }
+        return resourceCounts.get(keywordId);
+    }
+
+    /**
+     * 사용자 북마크 여부 (대기 중인 자료를 IN 한 번으로 조회)
+     */
+    boolean isBookmarked(Long resourceId) {
+        if (!loadedResourceIds.contains(resourceId)) {
+            queuedResourceIds.add(resourceId);
+            bookmarkedResourceIds.addAll(bookmarkRepository.findBookmarkedResourceIds(userId, queuedResourceIds));
+            loadedResourceIds.addAll(queuedResourceIds);
+            queuedResourceIds.clear();
+        }
+        return bookmarkedResourceIds.contains(resourceId);
+    }
+}
@@ -2,13 +2,20 @@ package dsn.webmail.service;
 
 import dsn.webmail.dto.StudyDtos.*;
 import dsn.webmail.entity.*;
+import dsn.webmail.entity.UserKeywordTrend.BucketType;
+import dsn.webmail.event.UserDataChangedEvent;
 import dsn.webmail.repository.*;
+import dsn.webmail.util.CooccurrenceGraph;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,107 +25,94 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StudyService {
 
+    private static final int TREND_MONTHS = 12;
+    private static final int TREND_WEEKS = 12;
+    private static final int RECOMMENDED_RESOURCES = 5;
+    private static final int RELATED_KEYWORDS_FOR_RESOURCES = 3;
+    static final int MAX_KEYWORD_MAILS_PAGE_SIZE = 100;
+
     private final AppUserRepository appUserRepository;
     private final TechKeywordRepository keywordRepository;
     private final LearningResourceRepository resourceRepository;
     private final UserResourceBookmarkRepository bookmarkRepository;
     private final MailKeywordRepository mailKeywordRepository;
     private final EventKeywordRepository eventKeywordRepository;
-    private final LearningResourceRecommendationService resourceRecommendationService;
+    private final UserLearningHistoryRepository historyRepository;
+    private final UserKeywordTrendRepository trendRepository;
+    private final LearningResourcePregenerator resourcePregenerator;
+    private final KeywordCooccurrenceService cooccurrenceService;
+    private final UserResponseCache responseCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 학습 대시보드 데이터 조회
+     *
+     * 메일/일정 이력 크기와 관계없이 집계 쿼리 몇 개로 구성합니다.
+     * (요약 1회, 최근 키워드 1회, 추천 자료 1회, 북마크 여부 1회)
+     * 자료 생성이 끝나지 않은 응답은 캐시하지 않습니다.
      */
     @Transactional(readOnly = true)
     public DashboardResponse getDashboard(String email) {
         AppUser user = getUser(email);
+        return responseCache.get(user.getId(), "study.dashboard", null,
+                () -> buildDashboard(user), response -> !response.resourcesPending());
+    }
 
-        // 메일 키워드 조회
-        List<MailKeyword> userMailKeywords = mailKeywordRepository.findByMailUserIdOrderByCreatedAtDesc(user.getId());
-
-        // 일정 키워드 조회
-        List<EventKeyword> userEventKeywords = eventKeywordRepository
-                .findByEventUserIdOrderByCreatedAtDesc(user.getId());
-
-        // 모든 키워드 ID 수집
-        Set<Long> uniqueKeywordIds = new HashSet<>();
-        userMailKeywords.forEach(mk -> uniqueKeywordIds.add(mk.getKeyword().getId()));
-        userEventKeywords.forEach(ek -> uniqueKeywordIds.add(ek.getKeyword().getId()));
-
-        Long totalKeywords = (long) uniqueKeywordIds.size();
-
-        // 관련 소스 수 (메일 + 일정)
-        Long totalSources = userMailKeywords.stream()
-                .map(mk -> mk.getMail().getId())
-                .distinct()
-                .count()
-                + userEventKeywords.stream()
-                        .map(ek -> ek.getEvent().getId())
-                        .distinct()
-                        .count();
-
-        Long bookmarkedCount = bookmarkRepository.countByUserId(user.getId());
-        String topCategory = getTopCategoryFromAll(userMailKeywords, userEventKeywords);
+    private DashboardResponse buildDashboard(AppUser user) {
+        Object[] row = historyRepository.findDashboardSummary(user.getId()).get(0);
+        Long totalKeywords = toLong(row[0]);
+        // 관련 소스 수 (키워드가 추출된 메일 + 일정)
+        Long totalSources = toLong(row[1]) + toLong(row[2]);
+        Long bookmarkedCount = toLong(row[3]);
+        String topCategory = row[4] != null ? (String) row[4] : "없음";
 
         SummaryStats summary = new SummaryStats(totalKeywords, totalSources, bookmarkedCount, topCategory);
 
-        // 최근 키워드 (메일 + 일정에서 추출된)
-        Map<Long, Object[]> latestByKeyword = new LinkedHashMap<>(); // [TechKeyword, LocalDateTime]
-
-        // 메일 키워드 추가
-        for (MailKeyword mk : userMailKeywords) {
-            Long kwId = mk.getKeyword().getId();
-            if (!latestByKeyword.containsKey(kwId)) {
-                latestByKeyword.put(kwId, new Object[] { mk.getKeyword(), mk.getCreatedAt() });
-            }
-        }
-
-        // 일정 키워드 추가 (더 최근이면 업데이트)
-        for (EventKeyword ek : userEventKeywords) {
-            Long kwId = ek.getKeyword().getId();
-            if (!latestByKeyword.containsKey(kwId)) {
-                latestByKeyword.put(kwId, new Object[] { ek.getKeyword(), ek.getCreatedAt() });
-            } else {
-                java.time.LocalDateTime existing = (java.time.LocalDateTime) latestByKeyword.get(kwId)[1];
-                if (ek.getCreatedAt().isAfter(existing)) {
-                    latestByKeyword.put(kwId, new Object[] { ek.getKeyword(), ek.getCreatedAt() });
-                }
-            }
-        }
-
-        List<KeywordUsageResponse> recentKeywords = latestByKeyword.values().stream()
-                .limit(5)
-                .map(arr -> {
-                    TechKeyword kw = (TechKeyword) arr[0];
-                    java.time.LocalDateTime lastSeen = (java.time.LocalDateTime) arr[1];
-                    Long usageCount = mailKeywordRepository.countByKeywordId(kw.getId())
-                            + eventKeywordRepository.countByKeywordId(kw.getId());
-                    return new KeywordUsageResponse(
-                            kw.getId(),
-                            kw.getKeyword(),
-                            kw.getCategory(),
-                            usageCount,
-                            lastSeen);
-                })
+        // 최근 키워드 (메일 + 일정에서 마지막으로 추출된 순)
+        List<KeywordUsageResponse> recentKeywords = historyRepository
+                .findRecentWithKeyword(user.getId(), PageRequest.of(0, 5)).stream()
+                .map(h -> new KeywordUsageResponse(
+                        h.getKeyword().getId(),
+                        h.getKeyword().getKeyword(),
+                        categoryOf(h),
+                        h.getUsageCount().longValue(),
+                        h.getLastUsedAt()))
                 .toList();
 
-        // 추천 자료 (최근 키워드 기반으로 동적 생성)
-        List<ResourceResponse> recommendedResources = new ArrayList<>();
+        // 추천 자료 (최근 키워드의 저장된 자료, 없으면 백그라운드 생성 예약)
+        Map<Long, List<LearningResource>> resourcesByKeyword = recentKeywords.isEmpty()
+                ? Map.of()
+                : resourceRepository.findWithKeywordByKeywordIdIn(
+                                recentKeywords.stream().map(KeywordUsageResponse::id).toList()).stream()
+                        .collect(Collectors.groupingBy(r -> r.getKeyword().getId()));
+
+        List<LearningResource> recommended = new ArrayList<>();
+        boolean resourcesPending = false;
+        List<Long> missingKeywordIds = new ArrayList<>();
         for (KeywordUsageResponse kw : recentKeywords) {
-            if (recommendedResources.size() >= 5)
+            if (recommended.size() >= RECOMMENDED_RESOURCES)
                 break;
-            TechKeyword keyword = keywordRepository.findById(kw.id()).orElse(null);
-            if (keyword != null) {
-                List<LearningResource> resources = resourceRecommendationService.getOrGenerateResources(keyword);
-                for (LearningResource r : resources) {
-                    if (recommendedResources.size() >= 5)
-                        break;
-                    recommendedResources.add(toResourceResponse(r, user.getId()));
-                }
+            List<LearningResource> resources = resourcesByKeyword.getOrDefault(kw.id(), List.of());
+            if (resources.isEmpty()) {
+                resourcesPending |= resourcePregenerator.submit(kw.id());
+                missingKeywordIds.add(kw.id());
+                continue;
             }
+            resources.stream().limit(RECOMMENDED_RESOURCES - recommended.size()).forEach(recommended::add);
         }
 
-        return new DashboardResponse(summary, recentKeywords, recommendedResources);
+        // 자료가 없는 키워드는 함께 자주 나온 키워드의 자료로 채움 (LLM 호출 없음)
+        if (recommended.size() < RECOMMENDED_RESOURCES && !missingKeywordIds.isEmpty()) {
+            Set<Long> excluded = new HashSet<>(resourcesByKeyword.keySet());
+            excluded.addAll(missingKeywordIds);
+            relatedResources(missingKeywordIds, excluded).stream()
+                    .limit(RECOMMENDED_RESOURCES - recommended.size())
+                    .forEach(recommended::add);
+        }
+
+        List<ResourceResponse> recommendedResources = toResourceResponses(recommended, batchLoader(user));
+
+        return new DashboardResponse(summary, recentKeywords, recommendedResources, resourcesPending);
     }
 
     /**
@@ -127,26 +121,22 @@ public class StudyService {
     @Transactional(readOnly = true)
     public KeywordListResponse getKeywords(String email, String category) {
         AppUser user = getUser(email);
+        return responseCache.get(user.getId(), "study.keywords", category,
+                () -> buildKeywords(user, category));
+    }
 
-        // 사용자 메일에서 추출된 키워드만 조회
-        List<MailKeyword> userMailKeywords = mailKeywordRepository.findByMailUserIdOrderByCreatedAtDesc(user.getId());
-
-        // 키워드별로 그룹핑
-        Map<Long, List<MailKeyword>> byKeyword = userMailKeywords.stream()
-                .collect(Collectors.groupingBy(mk -> mk.getKeyword().getId()));
-
-        List<KeywordResponse> keywordResponses = byKeyword.entrySet().stream()
-                .map(entry -> {
-                    TechKeyword k = entry.getValue().get(0).getKeyword();
-
-                    // 카테고리 필터
-                    if (category != null && !category.isBlank() && !k.getCategory().equals(category)) {
-                        return null;
-                    }
-
-                    Long resourceCount = resourceRepository.countByKeywordId(k.getId());
-                    Integer usageCount = entry.getValue().size(); // 해당 키워드가 포함된 메일 수
-
+    private KeywordListResponse buildKeywords(AppUser user, String category) {
+        // 사용자 키워드 통계에서 메일로 추출된 키워드만 조회 (키워드 수만큼의 행)
+        List<UserLearningHistory> stats = historyRepository.findMailStatsWithKeyword(user.getId());
+        StudyBatchLoader loader = batchLoader(user)
+                .queueKeywords(stats.stream().map(h -> h.getKeyword().getId()).toList());
+
+        List<KeywordResponse> keywordResponses = stats.stream()
+                // 카테고리 필터
+                .filter(h -> category == null || category.isBlank() || category.equals(categoryOf(h)))
+                .map(h -> {
+                    TechKeyword k = h.getKeyword();
+                    Long resourceCount = loader.resourceCount(k.getId());
                     return new KeywordResponse(
                             k.getId(),
                             k.getKeyword(),
@@ -154,9 +144,8 @@ public class StudyService {
                             k.getDescription(),
                             k.getIconClass(),
                             resourceCount,
-                            usageCount);
+                            h.getMailCount()); // 해당 키워드가 포함된 메일 수
                 })
-                .filter(Objects::nonNull)
                 .sorted(Comparator.comparing(KeywordResponse::keyword))
                 .toList();
 
@@ -164,31 +153,40 @@ public class StudyService {
     }
 
     /**
-     * 키워드 관련 메일 조회
+     * 키워드 관련 메일 조회 (사용자 메일만, 메일 ID 역순 cursor 페이지)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (1 ~ MAX_KEYWORD_MAILS_PAGE_SIZE로 보정)
      */
     @Transactional(readOnly = true)
-    public KeywordMailsResponse getKeywordMails(String email, Long keywordId) {
+    public KeywordMailsResponse getKeywordMails(String email, Long keywordId, Long cursor, int size) {
         AppUser user = getUser(email);
+        int pageSize = Math.max(1, Math.min(size, MAX_KEYWORD_MAILS_PAGE_SIZE));
 
         TechKeyword keyword = keywordRepository.findById(keywordId)
                 .orElseThrow(() -> new RuntimeException("키워드를 찾을 수 없습니다: " + keywordId));
 
-        // 해당 키워드가 포함된 메일 조회
-        List<MailKeyword> mailKeywords = mailKeywordRepository.findByKeywordIdOrderByCreatedAtDesc(keywordId);
-
-        // 사용자 메일만 필터
-        List<MailSummaryResponse> mails = mailKeywords.stream()
-                .filter(mk -> mk.getMail().getUser().getId().equals(user.getId()))
-                .map(mk -> {
-                    ProcessedMail mail = mk.getMail();
-                    return new MailSummaryResponse(
-                            mail.getId(),
-                            mail.getSubject(),
-                            mail.getFromAddress(),
-                            mail.getProcessedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                            mk.getConfidence());
-                })
+        // 한 건 더 조회해서 다음 페이지 여부 판단
+        List<Object[]> rows = mailKeywordRepository.findUserMailsByKeyword(
+                user.getId(), keywordId, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Object[]> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        List<MailSummaryResponse> mails = page.stream()
+                .map(row -> new MailSummaryResponse(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        row[3] != null ? ((LocalDateTime) row[3]).format(formatter) : null,
+                        (Float) row[4]))
                 .toList();
+        Long nextCursor = hasNext ? mails.get(mails.size() - 1).id() : null;
+
+        // 전체 메일 수는 사용자 키워드 통계 사용
+        int mailCount = historyRepository.findByUserIdAndKeywordId(user.getId(), keywordId)
+                .map(UserLearningHistory::getMailCount)
+                .orElse(0);
 
         Long resourceCount = resourceRepository.countByKeywordId(keywordId);
         KeywordResponse keywordResponse = new KeywordResponse(
@@ -198,15 +196,15 @@ public class StudyService {
                 keyword.getDescription(),
                 keyword.getIconClass(),
                 resourceCount,
-                mails.size());
+                mailCount);
 
-        return new KeywordMailsResponse(keywordResponse, mails);
+        return new KeywordMailsResponse(keywordResponse, mails, nextCursor);
     }
 
     /**
-     * 키워드별 학습 자료 조회 (동적 생성)
+     * 키워드별 학습 자료 조회 (저장된 자료만, 없으면 백그라운드 생성 예약)
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public KeywordResourcesResponse getKeywordResources(String email, Long keywordId,
             LearningResource.ResourceType type, Integer difficulty) {
         AppUser user = getUser(email);
@@ -214,8 +212,10 @@ public class StudyService {
         TechKeyword keyword = keywordRepository.findById(keywordId)
                 .orElseThrow(() -> new RuntimeException("키워드를 찾을 수 없습니다: " + keywordId));
 
-        // 동적으로 학습 자료 생성/조회
-        List<LearningResource> resources = resourceRecommendationService.getOrGenerateResources(keyword);
+        List<LearningResource> resources = resourceRepository.findByKeywordId(keywordId);
+        boolean pending = resources.isEmpty()
+                ? resourcePregenerator.submit(keywordId)
+                : resourcePregenerator.isPending(keywordId);
 
         // 필터 적용
         if (type != null) {
@@ -241,11 +241,44 @@ public class StudyService {
                 resourceCount,
                 usageCount);
 
-        List<ResourceResponse> resourceResponses = resources.stream()
-                .map(r -> toResourceResponse(r, user.getId()))
-                .toList();
+        StudyBatchLoader loader = batchLoader(user);
+        List<ResourceResponse> resourceResponses = toResourceResponses(resources, loader);
+
+        // 자료 생성 전에는 관련 키워드의 자료를 대신 보여줌
+        List<ResourceResponse> relatedResources = resourceResponses.isEmpty() && type == null && difficulty == null
+                ? toResourceResponses(relatedResources(List.of(keywordId), Set.of(keywordId)).stream()
+                        .limit(RECOMMENDED_RESOURCES).toList(), loader)
+                : List.of();
+
+        return new KeywordResourcesResponse(keywordResponse, resourceResponses, pending, relatedResources);
+    }
 
-        return new KeywordResourcesResponse(keywordResponse, resourceResponses);
+    /**
+     * 관련 키워드 조회 (같은 메일에 함께 나온 키워드, 관련도 순)
+     */
+    @Transactional(readOnly = true)
+    public RelatedKeywordsResponse getRelatedKeywords(String email, Long keywordId, int size) {
+        AppUser user = getUser(email);
+
+        List<CooccurrenceGraph.Hit> hits = cooccurrenceService.related(keywordId, size);
+        if (hits.isEmpty()) {
+            return new RelatedKeywordsResponse(keywordId, List.of());
+        }
+
+        List<Long> ids = hits.stream().map(CooccurrenceGraph.Hit::id).toList();
+        Map<Long, TechKeyword> keywords = keywordRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TechKeyword::getId, k -> k));
+        StudyBatchLoader loader = batchLoader(user).queueKeywords(ids);
+
+        List<RelatedKeywordResponse> related = hits.stream()
+                .filter(hit -> keywords.containsKey(hit.id()))
+                .map(hit -> {
+                    TechKeyword k = keywords.get(hit.id());
+                    return new RelatedKeywordResponse(k.getId(), k.getKeyword(), k.getCategory(),
+                            hit.score(), loader.resourceCount(k.getId()));
+                })
+                .toList();
+        return new RelatedKeywordsResponse(keywordId, related);
     }
 
     /**
@@ -254,43 +287,46 @@ public class StudyService {
     @Transactional(readOnly = true)
     public HistoryResponse getHistory(String email) {
         AppUser user = getUser(email);
+        // 주/월 경계가 바뀌면 다른 키
+        return responseCache.get(user.getId(), "study.history", LocalDate.now().toString(),
+                () -> buildHistory(user));
+    }
 
-        // 사용자 메일에서 추출된 키워드 기반 이력
-        List<MailKeyword> userMailKeywords = mailKeywordRepository.findByMailUserIdOrderByCreatedAtDesc(user.getId());
-
-        // 키워드별로 그룹핑
-        Map<Long, List<MailKeyword>> byKeyword = userMailKeywords.stream()
-                .collect(Collectors.groupingBy(mk -> mk.getKeyword().getId()));
-
-        List<KeywordUsageResponse> history = byKeyword.entrySet().stream()
-                .map(entry -> {
-                    TechKeyword k = entry.getValue().get(0).getKeyword();
-                    Long mailCount = (long) entry.getValue().size();
-                    // 가장 최근 메일의 날짜
-                    var lastSeen = entry.getValue().stream()
-                            .max(Comparator.comparing(MailKeyword::getCreatedAt))
-                            .map(MailKeyword::getCreatedAt)
-                            .orElse(null);
-                    return new KeywordUsageResponse(
-                            k.getId(),
-                            k.getKeyword(),
-                            k.getCategory(),
-                            mailCount,
-                            lastSeen);
-                })
-                .sorted((a, b) -> Long.compare(b.mailCount(), a.mailCount())) // 메일 수 기준 정렬
+    private HistoryResponse buildHistory(AppUser user) {
+        // 사용자 키워드 통계 기반 이력 (메일 수 기준 정렬)
+        List<UserLearningHistory> stats = historyRepository.findMailStatsWithKeyword(user.getId());
+
+        List<KeywordUsageResponse> history = stats.stream()
+                .map(h -> new KeywordUsageResponse(
+                        h.getKeyword().getId(),
+                        h.getKeyword().getKeyword(),
+                        categoryOf(h),
+                        h.getMailCount().longValue(),
+                        h.getLastUsedAt()))
                 .toList();
 
         // 카테고리별 통계
-        Map<String, Long> byCategory = userMailKeywords.stream()
+        Map<String, Long> byCategory = stats.stream()
                 .collect(Collectors.groupingBy(
-                        mk -> mk.getKeyword().getCategory(),
-                        Collectors.counting()));
+                        h -> Objects.requireNonNullElse(categoryOf(h), "Other"),
+                        Collectors.summingLong(UserLearningHistory::getMailCount)));
+
+        // 기간별 추이 (롤업 테이블 범위 조회, 빈 기간은 0)
+        LocalDate today = LocalDate.now();
+        LocalDate fromMonth = BucketType.MONTH.bucketStart(today).minusMonths(TREND_MONTHS - 1);
+        Map<LocalDate, Long> monthly = mailCountsByBucket(user.getId(), BucketType.MONTH, fromMonth);
+        List<MonthlyCount> monthlyTrend = fromMonth.datesUntil(today.plusDays(1), Period.ofMonths(1))
+                .map(month -> new MonthlyCount(month.format(DateTimeFormatter.ofPattern("yyyy-MM")),
+                        monthly.getOrDefault(month, 0L)))
+                .toList();
 
-        // 월별 추이 (간단 구현)
-        List<MonthlyCount> monthlyTrend = Collections.emptyList();
+        LocalDate fromWeek = BucketType.WEEK.bucketStart(today).minusWeeks(TREND_WEEKS - 1);
+        Map<LocalDate, Long> weekly = mailCountsByBucket(user.getId(), BucketType.WEEK, fromWeek);
+        List<WeeklyCount> weeklyTrend = fromWeek.datesUntil(today.plusDays(1), Period.ofWeeks(1))
+                .map(week -> new WeeklyCount(week.toString(), weekly.getOrDefault(week, 0L)))
+                .toList();
 
-        HistoryStatistics statistics = new HistoryStatistics(byCategory, monthlyTrend);
+        HistoryStatistics statistics = new HistoryStatistics(byCategory, monthlyTrend, weeklyTrend);
 
         return new HistoryResponse(history, statistics);
     }
@@ -313,6 +349,7 @@ public class StudyService {
                 .resource(resource)
                 .build();
         bookmarkRepository.save(bookmark);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         log.info("북마크 추가: userId={}, resourceId={}", user.getId(), resourceId);
     }
 
@@ -323,6 +360,7 @@ public class StudyService {
     public void removeBookmark(String email, Long resourceId) {
         AppUser user = getUser(email);
         bookmarkRepository.deleteByUserIdAndResourceId(user.getId(), resourceId);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         log.info("북마크 삭제: userId={}, resourceId={}", user.getId(), resourceId);
     }
 
@@ -333,46 +371,73 @@ public class StudyService {
     public BookmarkListResponse getBookmarks(String email) {
         AppUser user = getUser(email);
 
-        List<UserResourceBookmark> bookmarks = bookmarkRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        List<UserResourceBookmark> bookmarks = bookmarkRepository.findWithResourceByUserId(user.getId());
 
         List<BookmarkResponse> bookmarkResponses = bookmarks.stream()
                 .map(b -> new BookmarkResponse(
                         b.getId(),
-                        toResourceResponse(b.getResource(), user.getId()),
+                        toResourceResponse(b.getResource(), true),
                         b.getCreatedAt()))
                 .toList();
 
         return new BookmarkListResponse(bookmarkResponses);
     }
 
+    // 기간 시작일 → 키워드가 추출된 메일 수 (키워드별 합계)
+    private Map<LocalDate, Long> mailCountsByBucket(Long userId, BucketType bucketType, LocalDate from) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : trendRepository.sumByBucket(userId, bucketType, from)) {
+            counts.put((LocalDate) row[0], toLong(row[1]));
+        }
+        return counts;
+    }
+
+    /**
+     * 통계 행의 카테고리 (재구성 전 기존 행은 비어 있으므로 키워드 카테고리 사용)
+     */
+    private static String categoryOf(UserLearningHistory history) {
+        return history.getCategory() != null ? history.getCategory() : history.getKeyword().getCategory();
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
     private AppUser getUser(String email) {
         return appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + email));
     }
 
-    private String getTopCategoryFromAll(List<MailKeyword> mailKeywords, List<EventKeyword> eventKeywords) {
-        Map<String, Long> categoryCount = new HashMap<>();
-
-        // 메일 키워드 카운트
-        mailKeywords.forEach(mk -> {
-            String cat = mk.getKeyword().getCategory();
-            categoryCount.put(cat, categoryCount.getOrDefault(cat, 0L) + 1);
-        });
-
-        // 일정 키워드 카운트
-        eventKeywords.forEach(ek -> {
-            String cat = ek.getKeyword().getCategory();
-            categoryCount.put(cat, categoryCount.getOrDefault(cat, 0L) + 1);
-        });
-
-        return categoryCount.entrySet().stream()
-                .max(Comparator.comparing(Map.Entry::getValue))
-                .map(Map.Entry::getKey)
-                .orElse("없음");
+    // 관련 키워드(키워드별 상위 몇 개)의 저장된 자료, 관련도 순
+    private List<LearningResource> relatedResources(List<Long> keywordIds, Set<Long> excluded) {
+        List<Long> relatedIds = keywordIds.stream()
+                .flatMap(id -> cooccurrenceService.related(id, RELATED_KEYWORDS_FOR_RESOURCES).stream())
+                .map(CooccurrenceGraph.Hit::id)
+                .filter(id -> !excluded.contains(id))
+                .distinct()
+                .toList();
+        if (relatedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<LearningResource>> byKeyword = resourceRepository.findWithKeywordByKeywordIdIn(relatedIds).stream()
+                .collect(Collectors.groupingBy(r -> r.getKeyword().getId()));
+        return relatedIds.stream()
+                .flatMap(id -> byKeyword.getOrDefault(id, List.of()).stream())
+                .toList();
+    }
+
+    private StudyBatchLoader batchLoader(AppUser user) {
+        return new StudyBatchLoader(resourceRepository, bookmarkRepository, user.getId());
+    }
+
+    private List<ResourceResponse> toResourceResponses(List<LearningResource> resources, StudyBatchLoader loader) {
+        loader.queueResources(resources.stream().map(LearningResource::getId).toList());
+        return resources.stream()
+                .map(r -> toResourceResponse(r, loader.isBookmarked(r.getId())))
+                .toList();
     }
 
-    private ResourceResponse toResourceResponse(LearningResource resource, Long userId) {
-        boolean isBookmarked = bookmarkRepository.existsByUserIdAndResourceId(userId, resource.getId());
+    private ResourceResponse toResourceResponse(LearningResource resource, boolean isBookmarked) {
         return new ResourceResponse(
                 resource.getId(),
                 resource.getTitle(),
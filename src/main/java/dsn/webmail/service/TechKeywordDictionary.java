@@ -0,0 +1,294 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.TechKeywordAlias;
+import dsn.webmail.event.TechKeywordCreatedEvent;
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.repository.TechKeywordAliasRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.util.KeywordNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 정규화 키워드 사전 (정규화 키워드/별칭 → 키워드 ID)
+ *
+ * - 추출된 키워드를 메모리에서 ID로 변환하고, 캐시에 없는 것만 한 번에 DB 조회
+ * - DB에도 없는 키워드만 새로 생성 (키워드별 독립 트랜잭션)
+ * - 새 키워드 설명에 LLM을 쓰므로 호출자는 트랜잭션 밖에서 호출 (커넥션을 잡은 채 대기하지 않도록)
+ * - "spring boot" / "Spring-Boot" / "스프링부트"가 같은 키워드로 모이도록
+ *   KeywordNormalizer 정규화 + 별칭 테이블 사용
+ */
+@Service
+@Slf4j
+public class TechKeywordDictionary {
+
+    // 기본 별칭 (대표 키워드가 존재할 때만 등록)
+    private static final Map<String, String> DEFAULT_ALIASES = Map.ofEntries(
+            Map.entry("k8s", "Kubernetes"),
+            Map.entry("쿠버네티스", "Kubernetes"),
+            Map.entry("스프링부트", "Spring Boot"),
+            Map.entry("스프링", "Spring"),
+            Map.entry("자바", "Java"),
+            Map.entry("자바스크립트", "JavaScript"),
+            Map.entry("js", "JavaScript"),
+            Map.entry("타입스크립트", "TypeScript"),
+            Map.entry("ts", "TypeScript"),
+            Map.entry("리액트", "React"),
+            Map.entry("파이썬", "Python"),
+            Map.entry("도커", "Docker"),
+            Map.entry("레디스", "Redis"),
+            Map.entry("postgres", "PostgreSQL"),
+            Map.entry("golang", "Go")
+    );
+
+    private final TechKeywordRepository keywordRepository;
+    private final TechKeywordAliasRepository aliasRepository;
+    private final KeywordDeduplicationService deduplicationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    // 정규화 키워드/별칭 → 키워드 ID
+    private final Map<String, Long> keywordIds = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+
+    public TechKeywordDictionary(TechKeywordRepository keywordRepository,
+                                 TechKeywordAliasRepository aliasRepository,
+                                 KeywordDeduplicationService deduplicationService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.keywordRepository = keywordRepository;
+        this.aliasRepository = aliasRepository;
+        this.deduplicationService = deduplicationService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 기동 시 정규화 값 백필(변형 키워드 병합) + 기본 별칭 등록 + 캐시 로드
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            Map<TechKeyword, List<TechKeyword>> variants = transactionTemplate.execute(
+                    status -> backfillNormalizedKeywords());
+            if (variants != null && !variants.isEmpty()) {
+                deduplicationService.mergeVariants(variants);
+            }
+            transactionTemplate.executeWithoutResult(status -> seedDefaultAliases());
+        } catch (Exception e) {
+            log.error("키워드 사전 초기화 실패: {}", e.getMessage());
+        }
+        reload();
+    }
+
+    /**
+     * 캐시 전체 재로드
+     */
+    public void reload() {
+        synchronized (loadLock) {
+            Map<String, Long> mappings = new HashMap<>();
+            for (Object[] row : keywordRepository.findAllNormalizedMappings()) {
+                mappings.put((String) row[0], (Long) row[1]);
+            }
+            // 별칭은 대표 키워드와 겹치지 않는 경우에만 사용
+            for (Object[] row : aliasRepository.findAllMappings()) {
+                mappings.putIfAbsent((String) row[0], (Long) row[1]);
+            }
+            keywordIds.clear();
+            keywordIds.putAll(mappings);
+            loaded = true;
+            log.info("키워드 사전 로드: {}개", mappings.size());
+        }
+    }
+
+    /**
+     * 키워드 병합 후 (삭제된 키워드는 별칭으로 대표 키워드에 연결됨)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsMerged(TechKeywordsMergedEvent event) {
+        reload();
+    }
+
+    /**
+     * 후보 키워드를 ID로 변환 (없으면 생성)
+     *
+     * 트랜잭션 밖에서 호출해야 합니다. describer는 키워드 생성 트랜잭션 전에 호출됩니다.
+     *
+     * @param describer 새 키워드 설명 생성 (LLM 호출 가능)
+     * @return 정규화 키워드 → 키워드 ID
+     */
+    public Map<String, Long> resolveOrCreate(Collection<Candidate> candidates, Function<String, String> describer) {
+        ensureLoaded();
+
+        Map<String, Long> resolved = new LinkedHashMap<>();
+        Map<String, Candidate> missing = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            String normalized = KeywordNormalizer.normalize(candidate.keyword());
+            if (normalized.isEmpty() || resolved.containsKey(normalized)) {
+                continue;
+            }
+            Long id = keywordIds.get(normalized);
+            if (id != null) {
+                resolved.put(normalized, id);
+            } else {
+                missing.putIfAbsent(normalized, candidate);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        // 캐시에 없는 것만 한 번에 조회 (다른 인스턴스가 만든 키워드)
+        for (TechKeyword keyword : keywordRepository.findByNormalizedKeywordIn(missing.keySet())) {
+            keywordIds.put(keyword.getNormalizedKeyword(), keyword.getId());
+            resolved.put(keyword.getNormalizedKeyword(), keyword.getId());
+            missing.remove(keyword.getNormalizedKeyword());
+        }
+
+        // 정말 새로운 키워드만 생성
+        for (Map.Entry<String, Candidate> entry : missing.entrySet()) {
+            Long id = create(entry.getKey(), entry.getValue(), describer);
+            if (id != null) {
+                keywordIds.put(entry.getKey(), id);
+                resolved.put(entry.getKey(), id);
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * 키워드 생성 (독립 트랜잭션)
+     * 동시에 같은 키워드가 생성되면 유니크 제약 위반 후 기존 키워드를 다시 조회합니다.
+     */
+    private Long create(String normalized, Candidate candidate, Function<String, String> describer) {
+        String description = describer.apply(candidate.keyword().strip());
+        try {
+            return newTransactionTemplate.execute(status -> {
+                TechKeyword saved = keywordRepository.save(TechKeyword.builder()
+                        .keyword(candidate.keyword().strip())
+                        .normalizedKeyword(normalized)
+                        .category(candidate.category())
+                        .description(description)
+                        .globalUsageCount(0)
+                        .build());
+                // 이 트랜잭션 커밋 후 매처 갱신
+                eventPublisher.publishEvent(new TechKeywordCreatedEvent(saved.getId(), saved.getKeyword()));
+                return saved.getId();
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("키워드 동시 생성 감지, 기존 키워드 사용: {}", candidate.keyword());
+            return newTransactionTemplate.execute(status -> keywordRepository.findByNormalizedKeyword(normalized)
+                    .or(() -> keywordRepository.findByKeyword(candidate.keyword().strip()))
+                    .map(TechKeyword::getId)
+                    .orElse(null));
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    /**
+     * 정규화 값이 없는 기존 키워드 백필
+     * 정규화 값이 겹치는 변형 키워드("spring boot" 등)는 먼저 생성된 키워드로 병합 대상에 모읍니다.
+     * 정규화 결과가 비는 키워드(구두점만 있는 경우)는 소문자 원문을 정규화 값으로 사용합니다.
+     *
+     * @return 대표 키워드 → 병합할 변형 키워드
+     */
+    private Map<TechKeyword, List<TechKeyword>> backfillNormalizedKeywords() {
+        List<TechKeyword> targets = keywordRepository.findByNormalizedKeywordIsNullOrderByIdAsc();
+        if (targets.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, String> normalizedValues = new HashMap<>();
+        for (TechKeyword keyword : targets) {
+            String normalized = KeywordNormalizer.normalize(keyword.getKeyword());
+            normalizedValues.put(keyword.getId(), normalized.isEmpty()
+                    ? keyword.getKeyword().strip().toLowerCase(Locale.ROOT)
+                    : normalized);
+        }
+
+        // 정규화 값 → 대표 키워드 (이미 정규화 값이 있는 키워드 우선)
+        Map<String, TechKeyword> owners = new HashMap<>();
+        for (TechKeyword keyword : keywordRepository.findByNormalizedKeywordIn(Set.copyOf(normalizedValues.values()))) {
+            owners.put(keyword.getNormalizedKeyword(), keyword);
+        }
+
+        Map<TechKeyword, List<TechKeyword>> variants = new LinkedHashMap<>();
+        int filled = 0;
+        for (TechKeyword keyword : targets) {
+            String normalized = normalizedValues.get(keyword.getId());
+            TechKeyword owner = owners.putIfAbsent(normalized, keyword);
+            if (owner == null) {
+                keyword.setNormalizedKeyword(normalized);
+                filled++;
+            } else {
+                variants.computeIfAbsent(owner, key -> new ArrayList<>()).add(keyword);
+            }
+        }
+        log.info("키워드 정규화 값 백필: {}개 (병합할 변형 {}개)", filled,
+                variants.values().stream().mapToInt(List::size).sum());
+        return variants;
+    }
+
+    private void seedDefaultAliases() {
+        Map<String, TechKeyword> canonical = new HashMap<>();
+        List<String> targets = DEFAULT_ALIASES.values().stream()
+                .map(KeywordNormalizer::normalize)
+                .distinct()
+                .toList();
+        for (TechKeyword keyword : keywordRepository.findByNormalizedKeywordIn(targets)) {
+            canonical.put(keyword.getNormalizedKeyword(), keyword);
+        }
+
+        DEFAULT_ALIASES.forEach((alias, keywordName) -> {
+            TechKeyword keyword = canonical.get(KeywordNormalizer.normalize(keywordName));
+            String normalizedAlias = KeywordNormalizer.normalize(alias);
+            if (keyword == null || canonical.containsKey(normalizedAlias)
+                    || aliasRepository.existsByNormalizedAlias(normalizedAlias)) {
+                return;
+            }
+            aliasRepository.save(TechKeywordAlias.builder()
+                    .alias(alias)
+                    .normalizedAlias(normalizedAlias)
+                    .keyword(keyword)
+                    .build());
+        });
+    }
+
+    public record Candidate(String keyword, String category) {
+    }
+}
@@ -0,0 +1,308 @@
+package dsn.webmail.service;
+
+import dsn.webmail.dto.StudyDtos.TrendingKeywordResponse;
+import dsn.webmail.dto.StudyDtos.TrendingKeywordsResponse;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.TrendingKeywordSnapshot;
+import dsn.webmail.entity.TrendingKeywordSnapshot.Granularity;
+import dsn.webmail.event.TechKeywordsExtractedEvent;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.TrendingKeywordSnapshotRepository;
+import dsn.webmail.util.SpaceSaving;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 전사 트렌드 키워드 (최근 1시간/24시간/7일)
+ *
+ * 키워드 추출 이벤트를 시간 버킷별 Space-Saving 요약에 누적합니다.
+ * - 1시간 구간은 5분 버킷, 24시간/7일 구간은 1시간 버킷 (버킷당 capacity개 카운터)
+ * - 구간별 상위 K개는 주기적으로 버킷을 합쳐 미리 계산, 조회는 O(K)
+ * - 버킷은 주기적으로 trending_keyword_snapshot에 노드별로 저장 (다른 노드의 버킷은 덮어쓰지 않음)
+ * - 시작 시 자기 노드 버킷은 이어서 집계하고, 다른 노드 버킷은 읽기 전용으로 합쳐 구간 계산에 포함
+ */
+@Service
+@Slf4j
+public class TrendingKeywordService {
+
+    private static final Duration RETENTION = Duration.ofDays(7).plusHours(1);
+
+    private final TrendingKeywordSnapshotRepository snapshotRepository;
+    private final TechKeywordRepository keywordRepository;
+    private final TransactionTemplate transactionTemplate;
+    // 스냅샷 소유 노드 (재시작해도 같은 값이어야 자기 버킷을 이어서 교체)
+    private final String nodeId;
+
+    private final Object lock = new Object();
+    // 단위 → (버킷 시작 → 요약)
+    private final Map<Granularity, NavigableMap<LocalDateTime, SpaceSaving>> buckets = new EnumMap<>(Granularity.class);
+    // 다른 노드 스냅샷 (시작 시 복원, 노드별 요약을 버킷마다 합침)
+    private final Map<Granularity, NavigableMap<LocalDateTime, SpaceSaving>> peerBuckets = new EnumMap<>(Granularity.class);
+    // 마지막 스냅샷 이후 변경된 버킷
+    private final Set<BucketKey> dirty = new HashSet<>();
+
+    // 구간별 상위 키워드 (refresh 시 통째로 교체)
+    private volatile Map<Window, List<SpaceSaving.Entry>> tops = Map.of();
+
+    @Value("${trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trending.capacity:256}")
+    private int capacity;
+
+    @Value("${trending.top-k:50}")
+    private int topK;
+
+    public TrendingKeywordService(TrendingKeywordSnapshotRepository snapshotRepository,
+                                  TechKeywordRepository keywordRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${trending.node-id:}") String nodeId) {
+        this.snapshotRepository = snapshotRepository;
+        this.keywordRepository = keywordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        for (Granularity granularity : Granularity.values()) {
+            buckets.put(granularity, new TreeMap<>());
+            peerBuckets.put(granularity, new TreeMap<>());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            String generated = UUID.randomUUID().toString();
+            log.warn("호스트 이름을 알 수 없어 임시 노드 ID 사용: {}", generated);
+            return generated;
+        }
+    }
+
+    public enum Window {
+        HOUR("1h", Granularity.FIVE_MINUTES, Duration.ofHours(1)),
+        DAY("24h", Granularity.HOUR, Duration.ofHours(24)),
+        WEEK("7d", Granularity.HOUR, Duration.ofDays(7));
+
+        private final String label;
+        private final Granularity granularity;
+        private final Duration length;
+
+        Window(String label, Granularity granularity, Duration length) {
+            this.label = label;
+            this.granularity = granularity;
+            this.length = length;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public static Window of(String label) {
+            return Arrays.stream(values())
+                    .filter(window -> window.label.equalsIgnoreCase(label))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 기간입니다: " + label));
+        }
+
+        // 현재 버킷을 포함해 구간 길이만큼의 버킷 시작
+        LocalDateTime from(LocalDateTime now) {
+            return granularity.bucketStart(now).minus(length).plus(granularity.length());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsExtracted(TechKeywordsExtractedEvent event) {
+        if (!enabled || event.keywordIds().isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (lock) {
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime start = granularity.bucketStart(now);
+                SpaceSaving bucket = buckets.get(granularity).computeIfAbsent(start, s -> new SpaceSaving(capacity));
+                event.keywordIds().forEach(bucket::add);
+                dirty.add(new BucketKey(granularity, start));
+            }
+        }
+    }
+
+    /**
+     * 트렌드 키워드 조회
+     *
+     * @param window 1h, 24h, 7d
+     */
+    public TrendingKeywordsResponse getTrending(String window, int size) {
+        Window target = Window.of(window);
+        List<SpaceSaving.Entry> entries = tops.getOrDefault(target, List.of());
+        if (entries.isEmpty()) {
+            return new TrendingKeywordsResponse(target.label(), List.of());
+        }
+
+        // 병합으로 삭제된 키워드는 제외
+        Map<Long, TechKeyword> keywords = keywordRepository.findAllById(
+                        entries.stream().map(SpaceSaving.Entry::key).toList()).stream()
+                .collect(Collectors.toMap(TechKeyword::getId, Function.identity()));
+
+        List<TrendingKeywordResponse> responses = entries.stream()
+                .filter(entry -> keywords.containsKey(entry.key()))
+                .limit(size)
+                .map(entry -> {
+                    TechKeyword keyword = keywords.get(entry.key());
+                    return new TrendingKeywordResponse(keyword.getId(), keyword.getKeyword(),
+                            keyword.getCategory(), entry.count());
+                })
+                .toList();
+        return new TrendingKeywordsResponse(target.label(), responses);
+    }
+
+    /**
+     * 오래된 버킷 정리 후 구간별 상위 K개 재계산
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelayString = "${trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Window, List<SpaceSaving.Entry>> computed = new EnumMap<>(Window.class);
+        synchronized (lock) {
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime oldest = Arrays.stream(Window.values())
+                        .filter(window -> window.granularity == granularity)
+                        .map(window -> window.from(now))
+                        .min(Comparator.naturalOrder())
+                        .orElse(now);
+                buckets.get(granularity).headMap(oldest).clear();
+                peerBuckets.get(granularity).headMap(oldest).clear();
+            }
+            for (Window window : Window.values()) {
+                List<SpaceSaving> summaries = new ArrayList<>(
+                        buckets.get(window.granularity).tailMap(window.from(now), true).values());
+                summaries.addAll(peerBuckets.get(window.granularity).tailMap(window.from(now), true).values());
+                computed.put(window, merge(summaries));
+            }
+        }
+        tops = computed;
+    }
+
+    /**
+     * 변경된 버킷 저장 (이 노드의 버킷 단위 교체) + 보관 기간이 지난 스냅샷 삭제
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelayString = "${trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        Map<BucketKey, List<SpaceSaving.Entry>> changed = new HashMap<>();
+        synchronized (lock) {
+            for (BucketKey key : dirty) {
+                SpaceSaving bucket = buckets.get(key.granularity()).get(key.bucketStart());
+                changed.put(key, bucket != null ? bucket.entries() : List.of());
+            }
+            dirty.clear();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                changed.forEach((key, entries) -> {
+                    snapshotRepository.deleteBucket(nodeId, key.granularity(), key.bucketStart());
+                    snapshotRepository.saveAll(entries.stream()
+                            .map(entry -> TrendingKeywordSnapshot.builder()
+                                    .nodeId(nodeId)
+                                    .granularity(key.granularity())
+                                    .bucketStart(key.bucketStart())
+                                    .keywordId(entry.key())
+                                    .count(entry.count())
+                                    .error(entry.error())
+                                    .build())
+                            .toList());
+                });
+                snapshotRepository.deleteOlderThan(LocalDateTime.now().minus(RETENTION));
+            });
+            if (!changed.isEmpty()) {
+                log.debug("트렌드 키워드 스냅샷 저장: {}개 버킷", changed.size());
+            }
+        } catch (Exception e) {
+            // 다음 주기에 다시 저장
+            synchronized (lock) {
+                dirty.addAll(changed.keySet());
+            }
+            log.error("트렌드 키워드 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * 시작 시 보관 기간 내 스냅샷 복원
+     *
+     * 이 노드의 스냅샷은 집계 버킷으로 복원해 이어서 저장하고,
+     * 다른 노드의 스냅샷은 별도 버킷에 합쳐 둡니다 (다시 저장하면 노드 간 중복 집계가 되므로).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<TrendingKeywordSnapshot> snapshots = snapshotRepository.findByBucketStartGreaterThanEqual(
+                    LocalDateTime.now().minus(RETENTION));
+            synchronized (lock) {
+                for (TrendingKeywordSnapshot snapshot : snapshots) {
+                    (nodeId.equals(snapshot.getNodeId()) ? buckets : peerBuckets).get(snapshot.getGranularity())
+                            .computeIfAbsent(snapshot.getBucketStart(), s -> new SpaceSaving(capacity))
+                            .restore(snapshot.getKeywordId(), snapshot.getCount(), snapshot.getError());
+                }
+            }
+            refresh();
+            log.info("트렌드 키워드 스냅샷 복원: {}건 (nodeId={})", snapshots.size(), nodeId);
+        } catch (Exception e) {
+            log.error("트렌드 키워드 스냅샷 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    // 버킷별 추정치를 합산해 상위 K개 (각 버킷의 과대 추정 한도도 합산)
+    private List<SpaceSaving.Entry> merge(Iterable<SpaceSaving> summaries) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (SpaceSaving summary : summaries) {
+            for (SpaceSaving.Entry entry : summary.entries()) {
+                long[] total = totals.computeIfAbsent(entry.key(), k -> new long[2]);
+                total[0] += entry.count();
+                total[1] += entry.error();
+            }
+        }
+        List<SpaceSaving.Entry> merged = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> merged.add(new SpaceSaving.Entry(key, total[0], total[1])));
+        return merged.stream()
+                .sorted(Comparator.comparingLong(SpaceSaving.Entry::count).reversed()
+                        .thenComparingLong(SpaceSaving.Entry::key))
+                .limit(topK)
+                .toList();
+    }
+
+    private record BucketKey(Granularity granularity, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,184 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.UrlHealth;
+import dsn.webmail.repository.UrlHealthRepository;
+import dsn.webmail.util.UrlHealthChecker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 학습 자료 URL 접속 확인 (캐시 + 병렬 확인)
+ *
+ * 1. 신뢰 도메인(spring.io, baeldung.com 등)은 확인 없이 통과
+ *    (검색 엔진은 임의 경로도 통과시키므로 포함하지 않음 - 검색 fallback URL은 이 서비스를 거치지 않음)
+ * 2. url_health 캐시가 유효하면 그대로 사용 (정상 7일, 실패 1일)
+ * 3. 나머지는 시간 예산 안에서 병렬로 확인 후 캐시에 저장
+ */
+@Service
+@Slf4j
+public class UrlHealthService {
+
+    private final UrlHealthRepository urlHealthRepository;
+    private final UrlHealthChecker checker;
+    private final TransactionTemplate newTransactionTemplate;
+    private final Set<String> trustedHosts;
+
+    @Value("${learning.url-check.budget-ms:3000}")
+    private long budgetMs;
+
+    @Value("${learning.url-check.healthy-ttl-hours:168}")
+    private long healthyTtlHours;
+
+    @Value("${learning.url-check.unhealthy-ttl-hours:24}")
+    private long unhealthyTtlHours;
+
+    public UrlHealthService(UrlHealthRepository urlHealthRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("urlCheckExecutor") ThreadPoolTaskExecutor executor,
+                            @Value("${learning.url-check.per-host-concurrency:2}") int perHostConcurrency,
+                            @Value("${learning.url-check.timeout-ms:2500}") long timeoutMs,
+                            @Value("${learning.url-check.trusted-hosts:spring.io,baeldung.com,digitalocean.com,docs.docker.com,developer.mozilla.org,docs.oracle.com,kubernetes.io,react.dev}")
+                            List<String> trustedHosts) {
+        this.urlHealthRepository = urlHealthRepository;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.checker = new UrlHealthChecker(httpClient, executor, perHostConcurrency, Duration.ofMillis(timeoutMs));
+        this.trustedHosts = trustedHosts.stream()
+                .map(host -> host.strip().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 접속 가능한 URL만 반환 (입력 순서 유지)
+     * 시간 예산 안에 확인하지 못한 URL은 제외하고 캐시하지 않습니다.
+     */
+    public Set<String> filterAccessible(Collection<String> urls) {
+        Set<String> accessible = new LinkedHashSet<>();
+        Map<String, String> toLookup = new LinkedHashMap<>(); // hash → url
+
+        for (String url : urls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            if (isTrusted(url)) {
+                accessible.add(url);
+            } else {
+                toLookup.put(hash(url), url);
+            }
+        }
+        if (toLookup.isEmpty()) {
+            return accessible;
+        }
+
+        // 캐시 조회
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, UrlHealth> cached = new HashMap<>();
+        List<String> toProbe = new ArrayList<>();
+        for (UrlHealth health : urlHealthRepository.findByUrlHashIn(toLookup.keySet())) {
+            cached.put(health.getUrlHash(), health);
+        }
+        toLookup.forEach((hash, url) -> {
+            UrlHealth health = cached.get(hash);
+            if (health != null && health.getExpiresAt() != null && health.getExpiresAt().isAfter(now)) {
+                if (Boolean.TRUE.equals(health.getHealthy())) {
+                    accessible.add(url);
+                }
+            } else {
+                toProbe.add(url);
+            }
+        });
+
+        if (!toProbe.isEmpty()) {
+            Map<String, UrlHealthChecker.Result> results = checker.checkAll(toProbe, Duration.ofMillis(budgetMs));
+            log.debug("URL 확인: 요청 {}개, 판정 {}개", toProbe.size(), results.size());
+
+            List<UrlHealth> updated = new ArrayList<>();
+            results.forEach((url, result) -> {
+                if (result.healthy()) {
+                    accessible.add(url);
+                }
+                String hash = hash(url);
+                UrlHealth existing = cached.get(hash);
+                updated.add(UrlHealth.builder()
+                        .id(existing != null ? existing.getId() : null)
+                        .urlHash(hash)
+                        .url(url)
+                        .healthy(result.healthy())
+                        .statusCode(result.statusCode())
+                        .checkedAt(now)
+                        .expiresAt(now.plusHours(result.healthy() ? healthyTtlHours : unhealthyTtlHours))
+                        .build());
+            });
+
+            // 호출한 쪽 트랜잭션과 분리해서 저장
+            try {
+                newTransactionTemplate.executeWithoutResult(status -> urlHealthRepository.saveAll(updated));
+            } catch (Exception e) {
+                // 다른 요청이 같은 URL을 먼저 저장한 경우 등 - 캐시 저장 실패는 무시
+                log.debug("URL 확인 결과 저장 실패: {}", e.getMessage());
+            }
+        }
+
+        // 입력 순서대로 정렬
+        return urls.stream()
+                .filter(accessible::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private boolean isTrusted(String url) {
+        try {
+            String host = URI.create(url.strip()).getHost();
+            if (host == null) {
+                return false;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            for (String trusted : trustedHosts) {
+                if (host.equals(trusted) || host.endsWith("." + trusted)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String hash(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
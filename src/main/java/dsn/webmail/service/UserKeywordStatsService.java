@@ -0,0 +1,173 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.DataMigration;
+import dsn.webmail.entity.UserKeywordTrend.BucketType;
+import dsn.webmail.event.UserDataChangedEvent;
+import dsn.webmail.repository.DataMigrationRepository;
+import dsn.webmail.repository.UserKeywordTrendRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import dsn.webmail.repository.UserLearningSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 사용자별 키워드 통계 (user_learning_history) 관리
+ *
+ * 학습 화면이 전체 매핑을 매번 다시 집계하지 않도록
+ * 메일/일정 매핑이 저장·삭제될 때 같은 트랜잭션에서 증분 반영합니다.
+ *
+ * 키워드가 추출된 메일/일정 수(user_learning_summary)도 같은 트랜잭션에서 증감합니다.
+ * 기간별 추이(user_keyword_trend)는 추출 시점의 일/주/월 버킷에 누적합니다.
+ * 일정 키워드 삭제는 추이에서 빼지 않습니다 (추출된 시점의 기록).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserKeywordStatsService {
+
+    // 메일/일정 매핑 기준 통계(카테고리, 일정 키워드, 사용 횟수)로 전환한 이관
+    static final String STATS_MIGRATION = "user-keyword-stats-v2";
+    // 사용자별 메일/일정 소스 수 도입
+    static final String SUMMARY_MIGRATION = "user-learning-summary-v1";
+
+    private final UserLearningHistoryRepository historyRepository;
+    private final UserKeywordTrendRepository trendRepository;
+    private final UserLearningSummaryRepository summaryRepository;
+    private final DataMigrationRepository migrationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param firstForMail 키워드가 없던 메일에 처음 매핑된 경우 (메일 소스 수 증가)
+     */
+    @Transactional
+    public void recordMailKeywords(Long userId, Collection<Long> keywordIds, boolean firstForMail) {
+        if (!keywordIds.isEmpty()) {
+            historyRepository.upsertMailKeywords(userId, keywordIds, LocalDateTime.now());
+            if (firstForMail) {
+                summaryRepository.addMailCount(userId, 1);
+            }
+            LocalDate today = LocalDate.now();
+            trendRepository.upsertMailKeywords(userId, keywordIds, today,
+                    BucketType.WEEK.bucketStart(today), BucketType.MONTH.bucketStart(today));
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+    }
+
+    @Transactional
+    public void recordEventKeywords(Long userId, Collection<Long> keywordIds) {
+        if (!keywordIds.isEmpty()) {
+            historyRepository.upsertEventKeywords(userId, keywordIds, LocalDateTime.now());
+            LocalDate today = LocalDate.now();
+            trendRepository.upsertEventKeywords(userId, keywordIds, today,
+                    BucketType.WEEK.bucketStart(today), BucketType.MONTH.bucketStart(today));
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+    }
+
+    /**
+     * 일정의 키워드 매핑 유무가 바뀐 경우 일정 소스 수 증감
+     *
+     * @param delta 키워드가 처음 생긴 일정이면 1, 모두 사라진 일정이면 -1
+     */
+    @Transactional
+    public void changeEventSources(Long userId, int delta) {
+        if (delta != 0) {
+            summaryRepository.addEventCount(userId, delta);
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+    }
+
+    @Transactional
+    public void removeEventKeywords(Long userId, Collection<Long> keywordIds) {
+        if (keywordIds.isEmpty()) {
+            return;
+        }
+        historyRepository.decrementEventKeywords(userId, keywordIds);
+        historyRepository.deleteEmptyByUserId(userId);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+    }
+
+    /**
+     * 전체 재구성 (키워드 병합 등 매핑을 일괄 변경한 경우)
+     */
+    @Transactional
+    public int rebuild() {
+        historyRepository.deleteAllInBatch();
+        int rows = historyRepository.insertFromMappings();
+        log.info("사용자 키워드 통계 재구성: {}건", rows);
+        rebuildSummaries();
+        rebuildTrends();
+        return rows;
+    }
+
+    /**
+     * 사용자별 메일/일정 소스 수 전체 재구성
+     */
+    @Transactional
+    public int rebuildSummaries() {
+        summaryRepository.deleteAllInBatch();
+        int rows = summaryRepository.insertFromMappings();
+        log.info("사용자 학습 소스 수 재구성: {}명", rows);
+        return rows;
+    }
+
+    /**
+     * 기간별 추이 전체 재구성 (매핑 생성 시각 기준)
+     */
+    @Transactional
+    public int rebuildTrends() {
+        trendRepository.deleteAllInBatch();
+        int rows = trendRepository.insertFromMappings();
+        log.info("사용자 키워드 추이 재구성: {}건", rows);
+        return rows;
+    }
+
+    /**
+     * 기동 시 통계 1회 재구성 + 추이가 비어 있으면 기존 매핑으로 채움
+     *
+     * 기존 설치에는 카테고리/일정 키워드/사용 횟수가 빠진 통계 행이 이미 있으므로,
+     * 테이블이 비었는지가 아니라 이관 기록(data_migration)으로 재구성 여부를 판단합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (!migrationRepository.existsById(STATS_MIGRATION)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    rebuild();
+                    markApplied(STATS_MIGRATION);
+                    markApplied(SUMMARY_MIGRATION);
+                });
+                return;
+            }
+            if (!migrationRepository.existsById(SUMMARY_MIGRATION)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    rebuildSummaries();
+                    markApplied(SUMMARY_MIGRATION);
+                });
+            }
+            if (trendRepository.count() == 0) {
+                transactionTemplate.executeWithoutResult(status -> rebuildTrends());
+            }
+        } catch (Exception e) {
+            log.error("사용자 키워드 통계 백필 실패: {}", e.getMessage());
+        }
+    }
+
+    private void markApplied(String name) {
+        migrationRepository.save(DataMigration.builder()
+                .name(name)
+                .appliedAt(LocalDateTime.now())
+                .build());
+    }
+}
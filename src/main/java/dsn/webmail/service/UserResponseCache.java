@@ -0,0 +1,146 @@
+package dsn.webmail.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.event.UserDataChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 화면 응답 캐시 (학습 대시보드/키워드/이력, 메인 대시보드 통계)
+ *
+ * - 크기와 TTL로 제한된 Caffeine 캐시, 적중률은 Micrometer(cache.*{cache=user.response})로 노출
+ * - 데이터가 바뀌면(UserDataChangedEvent) 커밋 후 해당 사용자 항목만 무효화
+ *   (사용자별 키 목록을 따로 두어 전체 캐시를 훑지 않음, 만료/축출된 키는 목록에서 제거)
+ * - 조회 중에 무효화가 일어나면 계산한 값은 캐시하지 않음 (사용자별 세대 번호 비교)
+ *   (그 밖의 경합으로 남은 오래된 값은 TTL 안에 만료)
+ */
+@Component
+@Slf4j
+public class UserResponseCache {
+
+    private final Cache<Key, Object> cache;
+
+    // 사용자 ID → 캐시된 키
+    private final Map<Long, Set<Key>> keysByUser = new ConcurrentHashMap<>();
+
+    // 사용자 ID → 무효화 세대
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UserResponseCache(MeterRegistry meterRegistry,
+                             @Value("${user.response-cache.max-size:10000}") long maxSize,
+                             @Value("${user.response-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(meterRegistry, maxSize, ttlSeconds, Ticker.systemTicker());
+    }
+
+    UserResponseCache(MeterRegistry meterRegistry, long maxSize, long ttlSeconds, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .removalListener((Key key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        unindex(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.response");
+    }
+
+    public <T> T get(Long userId, String view, String param, Supplier<T> loader) {
+        return get(userId, view, param, loader, value -> true);
+    }
+
+    /**
+     * @param cacheable 계산 결과를 캐시할지 여부 (예: 생성 중인 자료가 있으면 캐시하지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String view, String param, Supplier<T> loader, Predicate<T> cacheable) {
+        Key key = new Key(userId, view, param);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long generation = generation(userId).get();
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            index(key);
+            cache.asMap().putIfAbsent(key, value);
+            // 계산 중에 무효화됐으면 방금 넣은 값 제거
+            if (generation(userId).get() != generation) {
+                cache.asMap().remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(Long userId) {
+        generation(userId).incrementAndGet();
+        Set<Key> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        keysByUser.clear();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKeywordsMerged(TechKeywordsMergedEvent event) {
+        invalidateAll();
+        log.debug("키워드 병합으로 사용자 응답 캐시 전체 무효화");
+    }
+
+    private void index(Key key) {
+        keysByUser.compute(key.userId(), (userId, keys) -> {
+            Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    // 만료/크기 초과로 빠진 키 정리 (같은 키가 다시 들어왔으면 유지)
+    private void unindex(Key key) {
+        keysByUser.computeIfPresent(key.userId(), (userId, keys) -> {
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private record Key(Long userId, String view, String param) {
+    }
+}
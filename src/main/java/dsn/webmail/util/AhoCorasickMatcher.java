@@ -0,0 +1,253 @@
+package dsn.webmail.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Aho-Corasick 다중 키워드 매처 (대소문자 무시, 불변)
+ *
+ * 키워드 수와 관계없이 텍스트를 한 번만 훑어서 등장한 키워드를 모두 찾습니다.
+ *
+ * 단어 경계 규칙:
+ * - 키워드의 첫/끝 글자가 영문자/숫자인 경우에만 경계 검사
+ *   ("Java"는 "JavaScript"에 매칭되지 않음, "C++"/"Node.js"의 기호 끝은 검사 생략)
+ * - 경계 판정은 ASCII 영문자/숫자/'_' 기준
+ *   (한글 조사가 붙은 "Spring을", "Docker로" 등도 매칭)
+ *
+ * @param <T> 키워드에 연결된 값
+ */
+public final class AhoCorasickMatcher<T> {
+
+    private static final int ROOT = 0;
+
+    // 상태별 전이 (정렬된 문자 배열 + 다음 상태, 이분 탐색)
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // 상태별 출력 (이 상태에서 끝나는 패턴 인덱스, 실패 링크 출력 포함)
+    private final int[][] outputs;
+
+    private final int[] patternLengths;
+    private final boolean[] checkStartBoundary;
+    private final boolean[] checkEndBoundary;
+    private final List<T> values;
+
+    private AhoCorasickMatcher(char[][] transitionChars, int[][] transitionTargets, int[] failure,
+                               int[][] outputs, int[] patternLengths, boolean[] checkStartBoundary,
+                               boolean[] checkEndBoundary, List<T> values) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+        this.checkStartBoundary = checkStartBoundary;
+        this.checkEndBoundary = checkEndBoundary;
+        this.values = values;
+    }
+
+    public static <T> AhoCorasickMatcher<T> empty() {
+        return new Builder<T>().build();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * 텍스트에 등장한 키워드 값 (중복 제거, 처음 등장한 순서)
+     */
+    public List<T> findAll(String text) {
+        if (text == null || text.isEmpty() || values.isEmpty()) {
+            return List.of();
+        }
+
+        BitSet found = new BitSet(values.size());
+        List<T> result = new ArrayList<>();
+        int state = ROOT;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            state = next(state, c);
+
+            for (int pattern : outputs[state]) {
+                if (found.get(pattern)) {
+                    continue;
+                }
+                int end = i + 1;
+                int start = end - patternLengths[pattern];
+                if (checkStartBoundary[pattern] && start > 0 && isWordChar(text.charAt(start - 1))) {
+                    continue;
+                }
+                if (checkEndBoundary[pattern] && end < text.length() && isWordChar(text.charAt(end))) {
+                    continue;
+                }
+                found.set(pattern);
+                result.add(values.get(pattern));
+            }
+        }
+        return result;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int target = transition(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * 빌더 - 키워드를 모은 뒤 build()로 불변 매처 생성
+     */
+    public static final class Builder<T> {
+
+        private final List<Map<Character, Integer>> trie = new ArrayList<>();
+        private final List<List<Integer>> terminals = new ArrayList<>();
+        private final List<String> patterns = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+
+        public Builder() {
+            newState();
+        }
+
+        public Builder<T> add(String keyword, T value) {
+            if (keyword == null || keyword.isBlank()) {
+                return this;
+            }
+            String pattern = lowerCase(keyword.strip());
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer target = trie.get(state).get(pattern.charAt(i));
+                if (target == null) {
+                    target = newState();
+                    trie.get(state).put(pattern.charAt(i), target);
+                }
+                state = target;
+            }
+            terminals.get(state).add(patterns.size());
+            patterns.add(pattern);
+            values.add(value);
+            return this;
+        }
+
+        public Builder<T> addAll(Collection<T> items, Function<T, String> keywordOf) {
+            items.forEach(item -> add(keywordOf.apply(item), item));
+            return this;
+        }
+
+        public AhoCorasickMatcher<T> build() {
+            int stateCount = trie.size();
+            char[][] chars = new char[stateCount][];
+            int[][] targets = new int[stateCount][];
+            for (int s = 0; s < stateCount; s++) {
+                Map<Character, Integer> children = trie.get(s);
+                chars[s] = new char[children.size()];
+                targets[s] = new int[children.size()];
+                int j = 0;
+                for (Map.Entry<Character, Integer> child : children.entrySet()) {
+                    chars[s][j] = child.getKey();
+                    targets[s][j] = child.getValue();
+                    j++;
+                }
+            }
+
+            // BFS로 실패 링크 계산 후 출력 병합
+            int[] failure = new int[stateCount];
+            int[][] outputs = new int[stateCount][];
+            outputs[ROOT] = toArray(terminals.get(ROOT));
+
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int target : targets[ROOT]) {
+                failure[target] = ROOT;
+                outputs[target] = toArray(terminals.get(target));
+                queue.add(target);
+            }
+
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int j = 0; j < chars[state].length; j++) {
+                    char c = chars[state][j];
+                    int child = targets[state][j];
+
+                    int fallback = failure[state];
+                    int link;
+                    while (true) {
+                        int index = Arrays.binarySearch(chars[fallback], c);
+                        if (index >= 0) {
+                            link = targets[fallback][index];
+                            break;
+                        }
+                        if (fallback == ROOT) {
+                            link = ROOT;
+                            break;
+                        }
+                        fallback = failure[fallback];
+                    }
+                    failure[child] = link;
+
+                    int[] own = toArray(terminals.get(child));
+                    int[] inherited = outputs[link];
+                    int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                    System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                    outputs[child] = merged;
+
+                    queue.add(child);
+                }
+            }
+
+            int[] lengths = new int[patterns.size()];
+            boolean[] startBoundary = new boolean[patterns.size()];
+            boolean[] endBoundary = new boolean[patterns.size()];
+            for (int p = 0; p < patterns.size(); p++) {
+                String pattern = patterns.get(p);
+                lengths[p] = pattern.length();
+                startBoundary[p] = isWordChar(pattern.charAt(0));
+                endBoundary[p] = isWordChar(pattern.charAt(pattern.length() - 1));
+            }
+
+            return new AhoCorasickMatcher<>(chars, targets, failure, outputs,
+                    lengths, startBoundary, endBoundary, List.copyOf(values));
+        }
+
+        private int newState() {
+            trie.add(new TreeMap<>());
+            terminals.add(new ArrayList<>(1));
+            return trie.size() - 1;
+        }
+
+        // 문자 단위 소문자 변환 (String.toLowerCase와 달리 길이가 바뀌지 않아 인덱스가 유지됨)
+        private static String lowerCase(String s) {
+            char[] chars = s.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(chars[i]);
+            }
+            return new String(chars);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
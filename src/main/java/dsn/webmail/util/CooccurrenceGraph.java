@@ -0,0 +1,190 @@
+package dsn.webmail.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시간 감쇠 동시 출현 그래프 (무방향, 가중치)
+ *
+ * 같은 문서에 함께 나온 ID 쌍의 가중치를 누적하고, 오래된 출현은 반감기에 따라 약해집니다.
+ * - 노드별 이웃은 LongFloatMap (박싱 없는 희소 인접 맵), 쌍 가중치는 양쪽 노드에 대칭 저장
+ * - 감쇠는 forward decay: 기준 시각 이후의 출현일수록 큰 배수로 더하고,
+ *   배수가 커지면 전체를 한 번 축소하면서 작아진 간선을 정리
+ * - 점수는 w(a,b) / sqrt(s(a) * s(b)) (s: 노드의 가중치 합), 인기 키워드에 쏠리지 않도록 정규화
+ *
+ * 읽기/쓰기 락으로 보호 (조회는 이웃 수에 비례)
+ */
+public final class CooccurrenceGraph {
+
+    // 배수가 2^EXPONENT_LIMIT를 넘으면 재기준
+    private static final double EXPONENT_LIMIT = 20;
+
+    private final double halfLifeMillis;
+    private final float pruneThreshold;
+
+    private final Map<Long, LongFloatMap> adjacency = new HashMap<>();
+    private final LongFloatMap strengths = new LongFloatMap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long originMillis;
+
+    /**
+     * @param halfLifeMillis 가중치가 절반이 되는 시간
+     * @param pruneThreshold 재기준 시 이 값 미만(현재 시각 기준)인 간선 제거
+     */
+    public CooccurrenceGraph(long halfLifeMillis, float pruneThreshold, long originMillis) {
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("halfLifeMillis must be positive: " + halfLifeMillis);
+        }
+        this.halfLifeMillis = halfLifeMillis;
+        this.pruneThreshold = pruneThreshold;
+        this.originMillis = originMillis;
+    }
+
+    /**
+     * 한 문서의 ID들 반영
+     *
+     * @param ids        문서의 전체 ID (중복 없음)
+     * @param newIds     이번에 새로 추가된 ID - 이 중 하나 이상을 포함한 쌍만 누적 (재분석 시 중복 방지)
+     * @param timeMillis 출현 시각
+     */
+    public void addDocument(long[] ids, Set<Long> newIds, long timeMillis) {
+        if (ids.length < 2) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebaseIfNeeded(timeMillis);
+            float weight = (float) Math.pow(2, (timeMillis - originMillis) / halfLifeMillis);
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = i + 1; j < ids.length; j++) {
+                    if (ids[i] == ids[j] || (!newIds.contains(ids[i]) && !newIds.contains(ids[j]))) {
+                        continue;
+                    }
+                    addEdge(ids[i], ids[j], weight);
+                    addEdge(ids[j], ids[i], weight);
+                    strengths.addTo(ids[i], weight);
+                    strengths.addTo(ids[j], weight);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 관련도 상위 limit개 (점수 내림차순)
+     */
+    public List<Hit> related(long id, int limit) {
+        lock.readLock().lock();
+        try {
+            LongFloatMap neighbors = adjacency.get(id);
+            if (neighbors == null || limit <= 0) {
+                return List.of();
+            }
+            double strength = strengths.get(id);
+            PriorityQueue<Hit> heap = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            neighbors.forEach((neighbor, weight) -> {
+                double norm = Math.sqrt(strength * strengths.get(neighbor));
+                float score = norm > 0 ? (float) (weight / norm) : 0f;
+                if (heap.size() < limit) {
+                    heap.add(new Hit(neighbor, score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new Hit(neighbor, score));
+                }
+            });
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            LongFloatMap neighbors = adjacency.remove(id);
+            if (neighbors != null) {
+                neighbors.forEach((neighbor, weight) -> {
+                    LongFloatMap reverse = adjacency.get(neighbor);
+                    if (reverse != null) {
+                        reverse.remove(id);
+                        if (reverse.isEmpty()) {
+                            adjacency.remove(neighbor);
+                        }
+                    }
+                    strengths.addTo(neighbor, -weight);
+                });
+            }
+            strengths.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear(long originMillis) {
+        lock.writeLock().lock();
+        try {
+            adjacency.clear();
+            strengths.clear();
+            this.originMillis = originMillis;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return adjacency.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 시각 기준으로 가중치를 다시 맞추고 약해진 간선 정리
+     */
+    public void compact(long nowMillis) {
+        lock.writeLock().lock();
+        try {
+            rebase(nowMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addEdge(long from, long to, float weight) {
+        adjacency.computeIfAbsent(from, id -> new LongFloatMap()).addTo(to, weight);
+    }
+
+    private void rebaseIfNeeded(long timeMillis) {
+        if ((timeMillis - originMillis) / halfLifeMillis >= EXPONENT_LIMIT) {
+            rebase(timeMillis);
+        }
+    }
+
+    private void rebase(long timeMillis) {
+        float factor = (float) Math.pow(2, -(timeMillis - originMillis) / halfLifeMillis);
+        adjacency.values().removeIf(neighbors -> {
+            neighbors.scaleAndPrune(factor, pruneThreshold);
+            return neighbors.isEmpty();
+        });
+        // 정리된 간선을 빼고 노드 가중치 합 재계산
+        strengths.clear();
+        adjacency.forEach((id, neighbors) -> neighbors.forEach((neighbor, weight) -> strengths.addTo(id, weight)));
+        originMillis = timeMillis;
+    }
+
+    public record Hit(long id, float score) {
+    }
+}
@@ -0,0 +1,113 @@
+package dsn.webmail.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 일정 날짜/시간 문자열 파서 (LLM 출력용, 관대한 형식)
+ *
+ * 표준 형식은 "yyyy-MM-dd HH:mm"이지만 다음 변형도 받습니다.
+ * - 구분자: "2025-11-26", "2025/11/26", "2025.11.26", "2025년 11월 26일", ISO의 'T'
+ * - 한 자리 월/일/시, 초 포함, 요일 괄호 "2025-11-26 (수) 14:00"
+ * - 12시간제: "오후 2:00", "2:00 PM", "14시", "오후 2시 30분"
+ * - 종료 시각: "14:00~15:30", "14:00 - 2025-11-27 10:00"
+ * 날짜만 있으면 09:00 (추출 프롬프트의 기본 시각)
+ */
+public final class EventDateTimeParser {
+
+    public static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final LocalTime DEFAULT_TIME = LocalTime.of(9, 0);
+
+    private static final String DATE =
+            "(?<%1$sy>\\d{4})\\s*[-./년]\\s*(?<%1$sm>\\d{1,2})\\s*[-./월]\\s*(?<%1$sd>\\d{1,2})\\s*일?";
+    private static final String TIME =
+            "(?<%1$sap>오전|오후|AM|PM)?\\s*(?<%1$sh>\\d{1,2})"
+            + "(?::(?<%1$smi>\\d{2})(?::\\d{2}(?:\\.\\d+)?)?|\\s*시(?:\\s*(?<%1$smk>\\d{1,2})\\s*분)?)"
+            + "\\s*(?<%1$sap2>AM|PM)?";
+    private static final String WEEKDAY = "(?:\\s*\\([^)]*\\))?";
+
+    private static final Pattern PATTERN = Pattern.compile(
+            "^\\s*" + DATE.formatted("s") + WEEKDAY
+            + "(?:[T\\s,]*" + TIME.formatted("st") + ")?"
+            + "(?:\\s*(?:~|-|–|to)\\s*(?:" + DATE.formatted("e") + WEEKDAY + "[T\\s,]*)?" + TIME.formatted("et") + ")?",
+            Pattern.CASE_INSENSITIVE);
+
+    private EventDateTimeParser() {
+    }
+
+    /**
+     * @param end 종료 시각 (없으면 null)
+     */
+    public record Range(LocalDateTime start, LocalDateTime end) {
+    }
+
+    public static Optional<Range> parse(String text) {
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        Matcher matcher = PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        try {
+            LocalDate startDate = date(matcher, "s");
+            LocalTime startTime = matcher.group("sth") != null ? time(matcher, "st") : DEFAULT_TIME;
+            LocalDateTime start = LocalDateTime.of(startDate, startTime);
+
+            LocalDateTime end = null;
+            if (matcher.group("eth") != null) {
+                LocalDate endDate = matcher.group("ey") != null ? date(matcher, "e") : startDate;
+                end = LocalDateTime.of(endDate, time(matcher, "et"));
+                if (!end.isAfter(start)) {
+                    end = null;
+                }
+            }
+            return Optional.of(new Range(start, end));
+        } catch (DateTimeException e) {
+            // 2025-13-40 같은 범위 밖 값
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 표준 형식 문자열 ("yyyy-MM-dd HH:mm")
+     */
+    public static String format(LocalDateTime dateTime) {
+        return dateTime.format(FORMAT);
+    }
+
+    private static LocalDate date(Matcher matcher, String prefix) {
+        return LocalDate.of(
+                Integer.parseInt(matcher.group(prefix + "y")),
+                Integer.parseInt(matcher.group(prefix + "m")),
+                Integer.parseInt(matcher.group(prefix + "d")));
+    }
+
+    private static LocalTime time(Matcher matcher, String prefix) {
+        int hour = Integer.parseInt(matcher.group(prefix + "h"));
+        String minuteText = matcher.group(prefix + "mi") != null
+                ? matcher.group(prefix + "mi")
+                : matcher.group(prefix + "mk");
+        int minute = minuteText != null ? Integer.parseInt(minuteText) : 0;
+
+        String meridiem = matcher.group(prefix + "ap") != null
+                ? matcher.group(prefix + "ap")
+                : matcher.group(prefix + "ap2");
+        if (meridiem != null && hour <= 12) {
+            boolean pm = meridiem.equals("오후") || meridiem.equalsIgnoreCase("PM");
+            hour = pm ? (hour % 12) + 12 : hour % 12;
+        }
+        if (hour == 24 && minute == 0) {
+            hour = 23;
+            minute = 59;
+        }
+        return LocalTime.of(hour, minute);
+    }
+}
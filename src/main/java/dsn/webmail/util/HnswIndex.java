@@ -0,0 +1,390 @@
+package dsn.webmail.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW 근사 최근접 이웃 인덱스 (코사인 유사도)
+ *
+ * - 벡터는 정규화해서 하나의 연속된 float 배열에 저장 (노드 i = [i*dim, (i+1)*dim))
+ * - 같은 ID를 다시 추가하면 기존 노드는 삭제 표시 후 새 노드로 대체
+ * - 삭제된 노드는 탐색 경로로는 쓰되 결과에서 제외
+ * - 삭제된 노드가 전체의 MAX_DELETED_RATIO를 넘으면 남은 항목만으로 그래프를 다시 구성
+ * - 검색은 읽기 락, 추가/삭제는 쓰기 락
+ *
+ * 참고: Malkov & Yashunin, "Efficient and robust approximate nearest neighbor search
+ * using Hierarchical Navigable Small World graphs"
+ */
+public final class HnswIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double MAX_DELETED_RATIO = 0.25;
+
+    private final int dimensions;
+    private final int maxNeighbors;        // M (레벨 1 이상)
+    private final int maxNeighborsLevel0;  // 2M
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private float[] vectors = new float[0];
+    private long[] ids = new long[0];
+    private int[][][] links = new int[0][][];   // [노드][레벨] → 이웃 노드
+    private boolean[] deleted = new boolean[0];
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions) {
+        this(dimensions, 16, 100, 64, 42L);
+    }
+
+    public HnswIndex(int dimensions, int maxNeighbors, int efConstruction, int efSearch, long seed) {
+        this.dimensions = dimensions;
+        this.maxNeighbors = maxNeighbors;
+        this.maxNeighborsLevel0 = maxNeighbors * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(maxNeighbors);
+        this.random = new SplittableRandom(seed);
+        ensureCapacity(INITIAL_CAPACITY);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 삭제되지 않은 항목 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제 표시만 된 노드 수 (재구성 전까지 메모리/탐색 비용에 포함)
+     */
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return nodeById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장된 벡터 사본 (정규화됨), 없으면 null
+     */
+    public float[] vector(long id) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeById.get(id);
+            return node == null ? null : Arrays.copyOfRange(vectors, node * dimensions, (node + 1) * dimensions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("차원이 맞지 않습니다: " + vector.length + " != " + dimensions);
+        }
+        float[] normalized = FloatVectors.normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+            insert(id, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 코사인 유사도 상위 k개 (유사도 내림차순)
+     */
+    public List<Hit> search(float[] query, int k) {
+        if (query.length != dimensions || k <= 0) {
+            return List.of();
+        }
+        float[] normalized = FloatVectors.normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || nodeById.isEmpty()) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(normalized, current, l);
+            }
+            // 삭제된 노드가 섞인 비율만큼 여유 있게 탐색 (재구성으로 비율은 MAX_DELETED_RATIO 이하)
+            int ef = (int) Math.ceil(Math.max(efSearch, k) * (double) size / nodeById.size());
+            List<Candidate> candidates = searchLayer(normalized, current, ef, 0);
+
+            List<Hit> hits = new ArrayList<>(k);
+            for (Candidate candidate : candidates) {
+                if (deleted[candidate.node()]) {
+                    continue;
+                }
+                hits.add(new Hit(ids[candidate.node()], 1f - candidate.distance()));
+                if (hits.size() == k) {
+                    break;
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markDeleted(long id) {
+        Integer node = nodeById.remove(id);
+        if (node != null) {
+            deleted[node] = true;
+            deletedCount++;
+        }
+    }
+
+    // 정규화된 벡터를 새 노드로 추가 (쓰기 락 보유 상태)
+    private void insert(long id, float[] normalized) {
+        int node = size;
+        ensureCapacity(node + 1);
+        System.arraycopy(normalized, 0, vectors, node * dimensions, dimensions);
+        ids[node] = id;
+        int level = randomLevel();
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[0];
+        }
+        size++;
+        nodeById.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(normalized, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(normalized, current, efConstruction, l);
+            int limit = l == 0 ? maxNeighborsLevel0 : maxNeighbors;
+            int[] selected = closest(candidates, limit);
+            links[node][l] = selected;
+            for (int neighbor : selected) {
+                connect(neighbor, node, l);
+            }
+            current = candidates.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * 삭제 비율이 기준을 넘으면 남은 항목만으로 다시 구성 (쓰기 락 보유 상태)
+     */
+    private void compactIfNeeded() {
+        if (deletedCount == 0 || deletedCount <= size * MAX_DELETED_RATIO) {
+            return;
+        }
+        int live = nodeById.size();
+        long[] liveIds = new long[live];
+        float[] liveVectors = new float[live * dimensions];
+        int count = 0;
+        for (int node = 0; node < size; node++) {
+            if (!deleted[node]) {
+                liveIds[count] = ids[node];
+                System.arraycopy(vectors, node * dimensions, liveVectors, count * dimensions, dimensions);
+                count++;
+            }
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, live);
+        vectors = new float[capacity * dimensions];
+        ids = new long[capacity];
+        links = new int[capacity][][];
+        deleted = new boolean[capacity];
+        nodeById.clear();
+        size = 0;
+        deletedCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+
+        for (int i = 0; i < live; i++) {
+            insert(liveIds[i], Arrays.copyOfRange(liveVectors, i * dimensions, (i + 1) * dimensions));
+        }
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : neighbors(current, level)) {
+                float d = distance(query, neighbor);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 레벨에서 ef개 후보 탐색 (거리 오름차순 반환)
+     */
+    private List<Candidate> searchLayer(float[] query, int entry, int ef, int level) {
+        boolean[] visited = new boolean[size];
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance).reversed());
+
+        Candidate first = new Candidate(entry, distance(query, entry));
+        visited[entry] = true;
+        frontier.add(first);
+        results.add(first);
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (results.size() >= ef && closest.distance() > results.peek().distance()) {
+                break;
+            }
+            for (int neighbor : neighbors(closest.node(), level)) {
+                if (visited[neighbor]) {
+                    continue;
+                }
+                visited[neighbor] = true;
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    frontier.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Candidate::distance));
+        return sorted;
+    }
+
+    private void connect(int node, int neighbor, int level) {
+        int[] current = links[node][level];
+        int limit = level == 0 ? maxNeighborsLevel0 : maxNeighbors;
+        int[] expanded = Arrays.copyOf(current, current.length + 1);
+        expanded[current.length] = neighbor;
+        if (expanded.length <= limit) {
+            links[node][level] = expanded;
+            return;
+        }
+        // 이웃이 넘치면 가까운 순으로 잘라냄
+        float[] base = Arrays.copyOfRange(vectors, node * dimensions, (node + 1) * dimensions);
+        List<Candidate> candidates = new ArrayList<>(expanded.length);
+        for (int n : expanded) {
+            candidates.add(new Candidate(n, distance(base, n)));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distance));
+        links[node][level] = closest(candidates, limit);
+    }
+
+    private int[] neighbors(int node, int level) {
+        int[][] nodeLinks = links[node];
+        return level < nodeLinks.length ? nodeLinks[level] : new int[0];
+    }
+
+    private static int[] closest(List<Candidate> sortedCandidates, int limit) {
+        int count = Math.min(limit, sortedCandidates.size());
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = sortedCandidates.get(i).node();
+        }
+        return result;
+    }
+
+    // 1 - 코사인 유사도 (정규화된 벡터의 내적)
+    private float distance(float[] query, int node) {
+        int offset = node * dimensions;
+        float dot = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[i] * vectors[offset + i];
+        }
+        return 1f - dot;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int required) {
+        if (ids.length >= required) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        ids = Arrays.copyOf(ids, capacity);
+        links = Arrays.copyOf(links, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+    }
+
+    private record Candidate(int node, float distance) {
+    }
+
+    /**
+     * @param score 코사인 유사도 (-1 ~ 1)
+     */
+    public record Hit(long id, float score) {
+    }
+}
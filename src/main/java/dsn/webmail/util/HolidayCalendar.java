@@ -0,0 +1,106 @@
+package dsn.webmail.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 불변 공휴일 달력 (연도별 비트셋)
+ *
+ * 연도마다 공휴일 여부를 연중 일자(day-of-year) 비트로, 조회를 마친 월을 12비트 마스크로 보관합니다.
+ * - 공휴일이 없는 달도 "조회 완료"로 구분 (4월, 7월 등)
+ * - 변경은 해당 연도만 복사한 새 인스턴스를 반환하므로, 읽는 쪽은 락 없이 사용
+ */
+public final class HolidayCalendar {
+
+    private static final HolidayCalendar EMPTY = new HolidayCalendar(Map.of());
+
+    private final Map<Integer, YearData> years;
+
+    private HolidayCalendar(Map<Integer, YearData> years) {
+        this.years = years;
+    }
+
+    public static HolidayCalendar empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param holiday 휴일 여부 (기념일 등은 false)
+     */
+    public record Entry(LocalDate date, String name, boolean holiday) {
+    }
+
+    // entries: 날짜 순
+    private record YearData(int loadedMonths, BitSet holidays, List<Entry> entries) {
+    }
+
+    /**
+     * 한 달치 항목을 통째로 교체한 새 달력
+     */
+    public HolidayCalendar withMonth(YearMonth month, List<Entry> entries) {
+        for (Entry entry : entries) {
+            if (!YearMonth.from(entry.date()).equals(month)) {
+                throw new IllegalArgumentException("entry " + entry.date() + " is not in " + month);
+            }
+        }
+        YearData current = years.get(month.getYear());
+
+        BitSet holidays = current != null ? (BitSet) current.holidays().clone() : new BitSet(366);
+        holidays.clear(month.atDay(1).getDayOfYear() - 1, month.atEndOfMonth().getDayOfYear());
+
+        List<Entry> merged = new ArrayList<>();
+        if (current != null) {
+            current.entries().stream()
+                    .filter(entry -> !YearMonth.from(entry.date()).equals(month))
+                    .forEach(merged::add);
+        }
+        merged.addAll(entries);
+        merged.sort(Comparator.comparing(Entry::date));
+        for (Entry entry : entries) {
+            if (entry.holiday()) {
+                holidays.set(entry.date().getDayOfYear() - 1);
+            }
+        }
+
+        int loadedMonths = (current != null ? current.loadedMonths() : 0) | monthBit(month);
+        Map<Integer, YearData> copy = new HashMap<>(years);
+        copy.put(month.getYear(), new YearData(loadedMonths, holidays, List.copyOf(merged)));
+        return new HolidayCalendar(Map.copyOf(copy));
+    }
+
+    public boolean isLoaded(YearMonth month) {
+        YearData data = years.get(month.getYear());
+        return data != null && (data.loadedMonths() & monthBit(month)) != 0;
+    }
+
+    /**
+     * 휴일 여부 (조회하지 않은 달은 false)
+     */
+    public boolean isHoliday(LocalDate date) {
+        YearData data = years.get(date.getYear());
+        return data != null && data.holidays().get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * 해당 월 항목 (날짜 순)
+     */
+    public List<Entry> entries(YearMonth month) {
+        YearData data = years.get(month.getYear());
+        if (data == null) {
+            return List.of();
+        }
+        return data.entries().stream()
+                .filter(entry -> entry.date().getMonthValue() == month.getMonthValue())
+                .toList();
+    }
+
+    private static int monthBit(YearMonth month) {
+        return 1 << (month.getMonthValue() - 1);
+    }
+}
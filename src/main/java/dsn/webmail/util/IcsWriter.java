@@ -0,0 +1,118 @@
+package dsn.webmail.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * iCalendar(RFC 5545) 스트리밍 작성기
+ *
+ * 일정을 하나씩 바로 출력하므로 전체 목록을 메모리에 올리지 않습니다.
+ * - 시각은 지정한 시간대의 로컬 시각을 UTC("...Z")로 변환해 기록
+ * - 텍스트는 \ ; , 줄바꿈을 이스케이프하고, 75바이트를 넘는 줄은 접음 (UTF-8 문자 단위)
+ */
+public final class IcsWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final ZoneId zone;
+
+    public IcsWriter(Writer out, ZoneId zone) {
+        this.out = out;
+        this.zone = zone;
+    }
+
+    public void beginCalendar(String productId, String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:" + productId);
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        if (calendarName != null) {
+            line("X-WR-CALNAME:" + escape(calendarName));
+        }
+    }
+
+    /**
+     * @param end 종료 시각 (null이면 DTEND 생략)
+     */
+    public void event(String uid, LocalDateTime stamp, LocalDateTime start, LocalDateTime end,
+                      String summary, String location, String description) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + utc(stamp));
+        line("DTSTART:" + utc(start));
+        if (end != null) {
+            line("DTEND:" + utc(end));
+        }
+        line("SUMMARY:" + escape(summary != null ? summary : ""));
+        if (location != null && !location.isBlank()) {
+            line("LOCATION:" + escape(location));
+        }
+        if (description != null && !description.isBlank()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        line("END:VEVENT");
+    }
+
+    public void endCalendar() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // \r\n은 \n 하나로 처리
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private String utc(LocalDateTime time) {
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    // 75바이트 단위로 접기 (이어지는 줄은 공백 1칸으로 시작)
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > limit) {
+                out.write("\r\n ");
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
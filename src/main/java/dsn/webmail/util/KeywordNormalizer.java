@@ -0,0 +1,30 @@
+package dsn.webmail.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 기술 키워드 정규화
+ *
+ * "Spring Boot" / "spring-boot" / "SpringBoot" / "ｓｐｒｉｎｇ ｂｏｏｔ" → "springboot"
+ * - NFKC 정규화 (전각/호환 문자 통일)
+ * - 소문자 변환
+ * - 공백, '-', '_', '.', '/', '·' 제거 ("Node.js" → "nodejs")
+ * - '+', '#'은 의미가 있으므로 유지 ("C++", "C#")
+ */
+public final class KeywordNormalizer {
+
+    private static final Pattern IGNORED = Pattern.compile("[\\s\\-_./·]+");
+
+    private KeywordNormalizer() {
+    }
+
+    public static String normalize(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(keyword, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return IGNORED.matcher(normalized).replaceAll("");
+    }
+}
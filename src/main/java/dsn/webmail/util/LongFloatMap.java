@@ -0,0 +1,178 @@
+package dsn.webmail.util;
+
+import java.util.Arrays;
+
+/**
+ * long → float 해시맵 (open addressing, 선형 탐사, 박싱 없음)
+ *
+ * 키 0은 빈 칸 표시로 쓰므로 사용할 수 없습니다 (엔티티 ID 용도).
+ * 동기화되지 않음
+ */
+public final class LongFloatMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private float[] values;
+    private int size;
+    private int mask;
+
+    public LongFloatMap() {
+        this(8);
+    }
+
+    public LongFloatMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new float[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public float get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0f;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * 값 누적 (없으면 delta로 추가), 누적 후 값 반환
+     */
+    public float addTo(long key, float delta) {
+        checkKey(key);
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > (keys.length * LOAD_FACTOR)) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public void remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        // 뒤쪽 탐사열을 앞으로 당겨 빈 칸을 메움 (삭제 표시 없이 유지)
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != 0) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0f;
+        size--;
+    }
+
+    /**
+     * 모든 값에 factor를 곱하고 threshold 미만이 된 항목 제거
+     */
+    public void scaleAndPrune(float factor, float threshold) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        int capacity = keys.length;
+        keys = new long[capacity];
+        values = new float[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                float value = oldValues[i] * factor;
+                if (value >= threshold) {
+                    insertFresh(oldKeys[i], value);
+                }
+            }
+        }
+    }
+
+    public void forEach(Consumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0f);
+        size = 0;
+    }
+
+    private int find(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new long[capacity];
+        values = new float[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insertFresh(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insertFresh(long key, float value) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key 0 is reserved");
+        }
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long key, float value);
+    }
+}
@@ -0,0 +1,181 @@
+package dsn.webmail.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 빈도 상위 항목 요약 (Metwally et al.)
+ *
+ * 고정된 capacity개의 카운터만으로 스트림의 빈발 항목을 추적합니다.
+ * - 추적 중인 항목은 카운트 증가, 새 항목은 빈 칸이 없으면 최소 카운터를 넘겨받음
+ * - 넘겨받은 항목의 count는 최대 error만큼 과대 추정 (count - error가 하한)
+ * - 실제 빈도가 전체/capacity보다 큰 항목은 반드시 포함
+ *
+ * 카운터는 count 기준 최소 힙 (갱신 O(log capacity)), 동기화되지 않음
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    // 키 → 힙 위치
+    private final Map<Long, Integer> positions;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public void add(long key) {
+        add(key, 1);
+    }
+
+    public void add(long key, long count) {
+        if (count <= 0) {
+            return;
+        }
+        total += count;
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += count;
+            siftDown(position);
+            return;
+        }
+        if (size < capacity) {
+            put(size, key, count, 0);
+            size++;
+            siftUp(size - 1);
+            return;
+        }
+        // 최소 카운터 교체
+        long min = counts[0];
+        positions.remove(keys[0]);
+        put(0, key, min + count, min);
+        siftDown(0);
+    }
+
+    /**
+     * 저장된 요약 복원용 (count/error를 그대로 반영)
+     */
+    public void restore(long key, long count, long error) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += count;
+            errors[position] += error;
+            siftDown(position);
+        } else if (size < capacity) {
+            put(size, key, count, error);
+            size++;
+            siftUp(size - 1);
+        } else if (count > counts[0]) {
+            positions.remove(keys[0]);
+            put(0, key, count, error);
+            siftDown(0);
+        }
+        total += count;
+    }
+
+    /**
+     * 추정 빈도 (추적하지 않는 항목은 0)
+     */
+    public long estimate(long key) {
+        Integer position = positions.get(key);
+        return position != null ? counts[position] : 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 추적 중인 전체 항목 (순서 없음)
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(keys[i], counts[i], errors[i]));
+        }
+        return entries;
+    }
+
+    /**
+     * 추정 빈도 상위 k개 (내림차순)
+     */
+    public List<Entry> top(int k) {
+        return entries().stream()
+                .sorted(Comparator.comparingLong(Entry::count).reversed().thenComparingLong(Entry::key))
+                .limit(k)
+                .toList();
+    }
+
+    private void put(int position, long key, long count, long error) {
+        keys[position] = key;
+        counts[position] = count;
+        errors[position] = error;
+        positions.put(key, position);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && counts[right] < counts[left] ? right : left;
+            if (counts[position] <= counts[smallest]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        long count = counts[a];
+        long error = errors[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        keys[b] = key;
+        counts[b] = count;
+        errors[b] = error;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+
+    /**
+     * @param count 추정 빈도 (상한)
+     * @param error 과대 추정 가능량 (count - error가 하한)
+     */
+    public record Entry(long key, long count, long error) {
+    }
+}
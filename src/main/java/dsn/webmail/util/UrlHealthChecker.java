@@ -0,0 +1,161 @@
+package dsn.webmail.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * URL 접속 가능 여부 병렬 확인
+ *
+ * - 전체 시간 예산(budget) 안에서 URL들을 동시에 확인
+ * - 호스트별 동시 요청 수 제한 (같은 사이트에 몰아서 요청하지 않음, 최근 호스트만 크기 제한 캐시로 보관)
+ * - HEAD 요청, HEAD를 허용하지 않는 서버(405/501)는 GET으로 재시도
+ * - 2xx/3xx는 정상, 예산 안에 끝나지 않은 URL은 결과에서 제외 (판정 보류)
+ */
+public class UrlHealthChecker {
+
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    // 호스트별 세마포어 보관 수 (LLM이 만든 URL마다 호스트가 달라 무한히 늘지 않도록)
+    private static final int MAX_TRACKED_HOSTS = 1000;
+    private static final Duration HOST_IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final int perHostConcurrency;
+    private final Duration requestTimeout;
+
+    private final Cache<String, Semaphore> hostPermits = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_HOSTS)
+            .expireAfterAccess(HOST_IDLE_EXPIRY)
+            .build();
+
+    public UrlHealthChecker(HttpClient httpClient, Executor executor, int perHostConcurrency, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.perHostConcurrency = perHostConcurrency;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return URL → 확인 결과 (예산 초과로 판정하지 못한 URL은 포함하지 않음)
+     */
+    public Map<String, Result> checkAll(Collection<String> urls, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+
+        Map<String, CompletableFuture<Result>> pending = new LinkedHashMap<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            try {
+                pending.put(url, CompletableFuture.supplyAsync(() -> probe(url, deadline), executor));
+            } catch (RejectedExecutionException e) {
+                // 스레드 풀이 가득 찬 경우 판정 보류
+            }
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<Result>> entry : pending.entrySet()) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                Result result = entry.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    results.put(entry.getKey(), result);
+                }
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+            } catch (ExecutionException e) {
+                results.put(entry.getKey(), Result.unreachable());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return results;
+    }
+
+    private Result probe(String url, long deadline) {
+        URI uri;
+        try {
+            uri = URI.create(url.strip());
+        } catch (IllegalArgumentException e) {
+            return Result.unreachable();
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (uri.getHost() == null || !(scheme.equals("http") || scheme.equals("https"))) {
+            return Result.unreachable();
+        }
+
+        Semaphore permits = hostPermits.get(uri.getHost().toLowerCase(Locale.ROOT),
+                host -> new Semaphore(perHostConcurrency));
+        try {
+            if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        try {
+            int status = send(uri, "HEAD", deadline);
+            if (status == 405 || status == 501) {
+                status = send(uri, "GET", deadline);
+            }
+            return new Result(status >= 200 && status < 400, status);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException | HttpTimeoutException e) {
+            // 예산 때문에 끊긴 경우는 판정 보류, 요청 자체의 타임아웃은 실패
+            return System.nanoTime() >= deadline ? null : Result.unreachable();
+        } catch (Exception e) {
+            return Result.unreachable();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private int send(URI uri, String method, long deadline) throws Exception {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutException("budget exceeded");
+        }
+        Duration timeout = requestTimeout.compareTo(Duration.ofNanos(remaining)) < 0
+                ? requestTimeout
+                : Duration.ofNanos(remaining);
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .header("User-Agent", USER_AGENT)
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * @param statusCode HTTP 상태 코드 (연결 실패 시 0)
+     */
+    public record Result(boolean healthy, int statusCode) {
+
+        static Result unreachable() {
+            return new Result(false, 0);
+        }
+    }
+}
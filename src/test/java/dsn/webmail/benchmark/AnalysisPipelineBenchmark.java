@@ -0,0 +1,217 @@
+package dsn.webmail.benchmark;
+
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.MailAnalysisJobRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.service.MailAnalyzerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메일 분석 파이프라인 처리량 벤치마크 (fake-llm 프로파일)
+ *
+ * 합성 메일 N건을 만들어 고정 크기 워커 풀로 분석하고
+ * 처리량, 큐 대기 시간, 건당 처리 시간, DB 쓰기 건수를 출력합니다.
+ *
+ * 실행: ./gradlew benchmark -Dbenchmark.mails=5000 -Dbenchmark.workers=8 -Dfake-llm.latency-ms=300
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mail.pre-classifier.enabled=false",
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Tag("benchmark")
+class AnalysisPipelineBenchmark {
+
+    private static final String[] SUBJECTS = {
+            "[공지] 사내 시스템 점검 안내",
+            "Spring Boot 3.5 마이그레이션 검토 요청",
+            "내일 오후 2시 주간 회의",
+            "Kafka 컨슈머 지연 관련 문의",
+            "Docker 이미지 빌드 가이드 공유",
+            "React 컴포넌트 리뷰 부탁드립니다"
+    };
+
+    private static final String[] BODIES = {
+            "안녕하세요. 이번 주말 서버 점검이 예정되어 있습니다. 점검 시간 동안 서비스 이용이 제한됩니다.",
+            "Spring Boot와 JPA 버전을 올리려고 합니다. 영향도 검토 부탁드립니다. MariaDB 드라이버도 함께 변경됩니다.",
+            "내일 오후 2시 3층 회의실에서 주간 회의가 있습니다. 참석 부탁드립니다.",
+            "Kafka 컨슈머 랙이 계속 증가하고 있는데 원인을 아시는 분 있을까요? Redis 캐시와도 관련이 있는지 궁금합니다.",
+            "Docker와 Kubernetes 배포 가이드를 정리했습니다. Jenkins 파이프라인 설정도 포함되어 있습니다.",
+            "React와 TypeScript로 만든 컴포넌트 리뷰 부탁드립니다. Node.js 버전은 20입니다."
+    };
+
+    @Autowired
+    private MailAnalyzerService mailAnalyzerService;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Autowired
+    private MailAnalysisJobRepository mailAnalysisJobRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${benchmark.mails:2000}")
+    private int mailCount;
+
+    @Value("${benchmark.workers:8}")
+    private int workers;
+
+    private AppUser user;
+    private List<Long> mailIds = List.of();
+
+    @Test
+    void analyzeSyntheticMails() throws Exception {
+        user = createUser();
+        mailIds = createMails(user, mailCount);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long[] queueDelays = new long[mailIds.size()];
+        long[] serviceTimes = new long[mailIds.size()];
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(mailIds.size());
+        for (int i = 0; i < mailIds.size(); i++) {
+            int index = i;
+            Long mailId = mailIds.get(i);
+            long submittedAt = System.nanoTime();
+            futures.add(pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueDelays[index] = startedAt - submittedAt;
+                try {
+                    mailAnalyzerService.analyzeMailOrThrow(mailId);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                serviceTimes[index] = System.nanoTime() - startedAt;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        double elapsedSec = elapsedNanos / 1_000_000_000.0;
+        long writes = statistics.getEntityInsertCount() + statistics.getEntityUpdateCount()
+                + statistics.getEntityDeleteCount();
+
+        System.out.printf("""
+
+                ===== 메일 분석 파이프라인 벤치마크 =====
+                mails=%d, workers=%d, failures=%d
+                elapsed        : %.2f s
+                throughput     : %.1f mails/s
+                queue delay    : p50=%d ms, p95=%d ms, max=%d ms
+                service time   : p50=%d ms, p95=%d ms, max=%d ms
+                db writes      : %d (insert=%d, update=%d, delete=%d) = %.1f writes/s
+                db statements  : %d prepared
+                ==========================================
+                %n""",
+                mailIds.size(), workers, failures.get(),
+                elapsedSec,
+                mailIds.size() / elapsedSec,
+                percentileMs(queueDelays, 50), percentileMs(queueDelays, 95), percentileMs(queueDelays, 100),
+                percentileMs(serviceTimes, 50), percentileMs(serviceTimes, 95), percentileMs(serviceTimes, 100),
+                writes, statistics.getEntityInsertCount(), statistics.getEntityUpdateCount(),
+                statistics.getEntityDeleteCount(), writes / elapsedSec,
+                statistics.getPrepareStatementCount());
+
+        // 워커 경로(analyzeMailOrThrow)는 재시도 등록 없이 예외를 던지므로
+        // 분석되지 않은 메일 수는 주입된 실패 수와 같아야 함 (-Dfake-llm.error-rate)
+        long analyzed = mailIds.stream()
+                .map(id -> processedMailRepository.findById(id).orElseThrow())
+                .filter(mail -> mail.getAnalyzedAt() != null)
+                .count();
+        System.out.printf("analyzed=%d, failed=%d%n", analyzed, failures.get());
+        assertThat(analyzed + failures.get()).isEqualTo(mailIds.size());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long mailId : mailIds) {
+            mailAnalysisJobRepository.findByMailId(mailId).ifPresent(mailAnalysisJobRepository::delete);
+            List<MailKeyword> mappings = mailKeywordRepository.findByMailId(mailId);
+            mailKeywordRepository.deleteAll(mappings);
+        }
+        processedMailRepository.deleteAllById(mailIds);
+        if (user != null) {
+            appUserRepository.delete(user);
+        }
+    }
+
+    private AppUser createUser() {
+        AppUser benchmarkUser = new AppUser();
+        benchmarkUser.setEmail("benchmark-" + UUID.randomUUID() + "@example.com");
+        benchmarkUser.setPasswordHash("benchmark");
+        benchmarkUser.setStatus(AppUser.Status.ACTIVE);
+        benchmarkUser.setRole(AppUser.Role.USER);
+        benchmarkUser.setWebLoginEnabled(false);
+        benchmarkUser.setMailPollingEnabled(false);
+        benchmarkUser.setLoginFailureCount(0);
+        benchmarkUser.setCreatedAt(LocalDateTime.now());
+        return appUserRepository.save(benchmarkUser);
+    }
+
+    private List<Long> createMails(AppUser owner, int count) {
+        Random random = new Random(42);
+        List<ProcessedMail> mails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int template = random.nextInt(SUBJECTS.length);
+            mails.add(ProcessedMail.builder()
+                    .user(owner)
+                    .messageId("benchmark-" + i + "-" + UUID.randomUUID())
+                    .subject(SUBJECTS[template] + " #" + i)
+                    .fromAddress("sender" + random.nextInt(50) + "@company.com")
+                    .content(BODIES[template])
+                    .build());
+        }
+        return processedMailRepository.saveAll(mails).stream().map(ProcessedMail::getId).toList();
+    }
+
+    private static long percentileMs(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000;
+    }
+}
@@ -0,0 +1,56 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredEmbeddingModelTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LlmUsageMetrics metrics = new LlmUsageMetrics(registry);
+
+    @Test
+    void recordsEmbeddingCallsWithEmbeddingPrice() {
+        ReflectionTestUtils.setField(metrics, "inputPricePerMillion", 0.15);
+        ReflectionTestUtils.setField(metrics, "embeddingPricePerMillion", 0.02);
+        EmbeddingModel model = new MeteredEmbeddingModel(segments -> Response.from(
+                segments.stream().map(segment -> Embedding.from(new float[]{1f, 0f})).toList(),
+                new TokenUsage(1_000_000, 0)), metrics);
+
+        try (var ignored = LlmCallContext.open("mail-search", 1L)) {
+            // 기본 embed(String)도 embedAll을 거쳐 기록됨
+            model.embed("스프링 배치 관련 메일");
+        }
+
+        assertThat(registry.find("llm.calls").tag("feature", "mail-search").tag("outcome", "success").timer())
+                .isNotNull();
+        assertThat(registry.find("llm.tokens").tag("type", "prompt").counter().count()).isEqualTo(1_000_000);
+        assertThat(metrics.summarize(10).topUsers()).singleElement()
+                .satisfies(summary -> assertThat(summary.estimatedCostUsd()).isEqualTo(0.02));
+    }
+
+    @Test
+    void recordsFailedEmbeddingCalls() {
+        EmbeddingModel model = new MeteredEmbeddingModel(segments -> {
+            throw new IllegalStateException("임베딩 실패");
+        }, metrics);
+
+        try (var ignored = LlmCallContext.open("embedding", null)) {
+            assertThatThrownBy(() -> model.embedAll(List.of(TextSegment.from("키워드"))))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(registry.find("llm.calls").tag("feature", "embedding").tag("outcome", "error").timer())
+                .isNotNull();
+    }
+}
@@ -0,0 +1,76 @@
+package dsn.webmail.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredStreamingChatLanguageModelTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void stopsForwardingButRecordsUsageWhenCancelled() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        AtomicInteger tokens = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        CountDownLatch firstToken = new CountDownLatch(1);
+        LlmUsageMetrics metrics = new LlmUsageMetrics(registry);
+        MeteredStreamingChatLanguageModel model = new MeteredStreamingChatLanguageModel(
+                new FakeStreamingChatLanguageModel(new FakeChatLanguageModel(0, 0, 0, 1), 20), metrics);
+
+        try (var ignored = LlmCallContext.open("reply-stream", 1L, cancelled::get)) {
+            model.generate(List.of(UserMessage.from("답장 초안을 작성해주세요")), new StreamingResponseHandler<>() {
+                @Override
+                public void onNext(String token) {
+                    tokens.incrementAndGet();
+                    firstToken.countDown();
+                }
+
+                @Override
+                public void onComplete(Response<AiMessage> response) {
+                    completed.set(true);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    completed.set(true);
+                }
+            });
+        }
+
+        assertThat(firstToken.await(5, TimeUnit.SECONDS)).isTrue();
+        cancelled.set(true);
+        int delivered = tokens.get();
+
+        // 업스트림은 끝까지 생성하므로 완료 시 사용량이 cancelled로 기록됨
+        await(() -> registry.find("llm.calls").tag("outcome", "cancelled").timer() != null);
+
+        // 취소 직후 이미 전달 중이던 한 조각 외에는 더 받지 않고, 완료/오류도 전달되지 않음
+        assertThat(tokens.get()).isLessThanOrEqualTo(delivered + 1);
+        assertThat(completed).isFalse();
+        assertThat(registry.find("llm.tokens").tag("type", "completion").counter()).isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isPositive());
+        assertThat(metrics.summarize(10).features()).singleElement()
+                .satisfies(summary -> assertThat(summary.errors()).isZero());
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package dsn.webmail.service;
+
+import dsn.webmail.repository.HolidayMonthRepository;
+import dsn.webmail.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class HolidayServiceTest {
+
+    private static final int LAST_YEAR = LocalDate.now().getYear() - 1;
+
+    private final HolidayRepository holidayRepository = mock(HolidayRepository.class);
+    private final HolidayMonthRepository holidayMonthRepository = mock(HolidayMonthRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private HolidayService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HolidayService(holidayRepository, holidayMonthRepository, transactionManager, 100, 100);
+        // 호출되면 연결 실패로 실패 기록이 남는 주소
+        ReflectionTestUtils.setField(service, "baseUrl", "http://127.0.0.1:1");
+        ReflectionTestUtils.setField(service, "serviceKey", " ");
+        ReflectionTestUtils.setField(service, "prefetchMonths", 2);
+        ReflectionTestUtils.setField(service, "refreshDays", 7L);
+        ReflectionTestUtils.setField(service, "failureTtlMinutes", 10L);
+        ReflectionTestUtils.setField(service, "yearWindow", 5);
+    }
+
+    @Test
+    void skipsApiWithoutServiceKey() {
+        Map<YearMonth, LocalDateTime> failedUntil = failedUntil();
+        failedUntil.put(YearMonth.now(), LocalDateTime.now().minusMinutes(1));
+
+        service.prefetch();
+        service.retryFailed();
+
+        assertThat(service.getHolidaysByMonth(LAST_YEAR, 1).holidays()).isEmpty();
+        // API를 호출했다면 새 실패 기록(재시도 시각 갱신)이 남음
+        assertThat(failedUntil).containsOnlyKeys(YearMonth.now());
+        assertThat(failedUntil.get(YearMonth.now())).isBefore(LocalDateTime.now());
+        verifyNoInteractions(holidayRepository, holidayMonthRepository, transactionManager);
+    }
+
+    @Test
+    void recordsFailureWhenApiIsUnreachable() {
+        ReflectionTestUtils.setField(service, "serviceKey", "test-key");
+
+        assertThat(service.getHolidaysByMonth(LAST_YEAR, 1).holidays()).isEmpty();
+
+        assertThat(failedUntil()).containsKey(YearMonth.of(LAST_YEAR, 1));
+    }
+
+    @Test
+    void rejectsYearOutsideWindowWithoutCallingApi() {
+        ReflectionTestUtils.setField(service, "serviceKey", "test-key");
+        int currentYear = LocalDate.now().getYear();
+
+        for (int year : new int[]{currentYear - 6, currentYear + 6, 0, 999_999_999}) {
+            assertThatThrownBy(() -> service.getHolidaysByMonth(year, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(failedUntil()).isEmpty();
+        verifyNoInteractions(holidayRepository, holidayMonthRepository, transactionManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<YearMonth, LocalDateTime> failedUntil() {
+        return (Map<YearMonth, LocalDateTime>) ReflectionTestUtils.getField(service, "failedUntil");
+    }
+}
@@ -0,0 +1,230 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.EventKeyword;
+import dsn.webmail.entity.LearningResource;
+import dsn.webmail.entity.MailEvent;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.UserResourceBookmark;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.EventKeywordRepository;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.MailEventRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordAliasRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import dsn.webmail.repository.UserResourceBookmarkRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 중복 키워드 병합 시 매핑/자료/북마크 이동
+ *
+ * 두 키워드가 같은 메일·일정에 매핑되어 있고 같은 URL의 자료를 각각 북마크한 경우에도
+ * 병합 후 행이 사라지거나 중복되지 않고, (키워드, URL) 유일 제약이 유지되어야 합니다.
+ */
+@SpringBootTest(properties = {
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Transactional
+class KeywordDeduplicationServiceTest {
+
+    @Autowired
+    private KeywordDeduplicationService deduplicationService;
+
+    @Autowired
+    private TechKeywordRepository keywordRepository;
+
+    @Autowired
+    private TechKeywordAliasRepository aliasRepository;
+
+    @Autowired
+    private LearningResourceRepository resourceRepository;
+
+    @Autowired
+    private UserResourceBookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private UserLearningHistoryRepository historyRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private MailEventRepository mailEventRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Autowired
+    private EventKeywordRepository eventKeywordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void mergeMovesSharedMappingsAndBookmarksWithoutLossOrDuplicates() {
+        AppUser first = createUser();
+        AppUser second = createUser();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        TechKeyword canonical = createKeyword("Spring Boot " + suffix, "spring boot " + suffix);
+        TechKeyword duplicate = createKeyword("스프링 부트 " + suffix, "스프링 부트 " + suffix);
+
+        // 같은 URL 자료가 양쪽에 있고, 중복 키워드에만 있는 자료가 하나 더 있음
+        LearningResource canonicalShared = createResource(canonical, "https://docs.spring.io/" + suffix);
+        LearningResource duplicateShared = createResource(duplicate, "https://docs.spring.io/" + suffix);
+        LearningResource duplicateOnly = createResource(duplicate, "https://www.baeldung.com/" + suffix);
+
+        // first: 같은 URL을 양쪽에서 북마크 → 하나만 남아야 함
+        createBookmark(first, canonicalShared);
+        createBookmark(first, duplicateShared);
+        // second: 중복 키워드 쪽에서만 북마크 → 둘 다 대표 키워드 자료로 이동
+        createBookmark(second, duplicateShared);
+        createBookmark(second, duplicateOnly);
+
+        // 같은 메일/일정에 두 키워드가 함께 매핑된 경우와 중복 키워드에만 매핑된 경우
+        ProcessedMail sharedMail = createMail(first);
+        ProcessedMail duplicateMail = createMail(first);
+        createMailMapping(sharedMail, canonical);
+        createMailMapping(sharedMail, duplicate);
+        createMailMapping(duplicateMail, duplicate);
+        MailEvent sharedEvent = createEvent(first);
+        createEventMapping(sharedEvent, canonical);
+        createEventMapping(sharedEvent, duplicate);
+        flushAndClear();
+
+        int merged = deduplicationService.mergeVariants(Map.of(canonical, List.of(duplicate)));
+        flushAndClear();
+
+        assertThat(merged).isEqualTo(1);
+        assertThat(keywordRepository.existsById(duplicate.getId())).isFalse();
+        assertThat(aliasRepository.existsByNormalizedAlias(duplicate.getNormalizedKeyword())).isTrue();
+
+        // 자료: (키워드, URL)마다 한 행
+        List<LearningResource> resources = resourceRepository.findByKeywordId(canonical.getId());
+        assertThat(resources).extracting(LearningResource::getUrl)
+                .containsExactlyInAnyOrder(canonicalShared.getUrl(), duplicateOnly.getUrl());
+        assertThat(resources).extracting(LearningResource::getId)
+                .contains(canonicalShared.getId(), duplicateOnly.getId());
+
+        // 북마크: 사용자별로 자료당 하나, 잃어버린 북마크 없음
+        assertThat(bookmarkRepository.findByUserId(first.getId()))
+                .extracting(bookmark -> bookmark.getResource().getId())
+                .containsExactly(canonicalShared.getId());
+        assertThat(bookmarkRepository.findByUserId(second.getId()))
+                .extracting(bookmark -> bookmark.getResource().getId())
+                .containsExactlyInAnyOrder(canonicalShared.getId(), duplicateOnly.getId());
+
+        // 매핑: 대상마다 대표 키워드 하나
+        assertThat(mailKeywordRepository.findKeywordIdsByMailId(sharedMail.getId()))
+                .containsExactly(canonical.getId());
+        assertThat(mailKeywordRepository.findKeywordIdsByMailId(duplicateMail.getId()))
+                .containsExactly(canonical.getId());
+        assertThat(eventKeywordRepository.findKeywordIdsByEventId(sharedEvent.getId()))
+                .containsExactly(canonical.getId());
+
+        // 통계는 병합된 매핑 기준으로 재구성
+        assertThat(historyRepository.findByUserIdAndKeywordId(first.getId(), canonical.getId()))
+                .get()
+                .satisfies(history -> {
+                    assertThat(history.getMailCount()).isEqualTo(2);
+                    assertThat(history.getEventCount()).isEqualTo(1);
+                });
+        assertThat(historyRepository.findByUserIdAndKeywordId(first.getId(), duplicate.getId())).isEmpty();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private AppUser createUser() {
+        AppUser user = new AppUser();
+        user.setEmail("dedup-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("test");
+        user.setStatus(AppUser.Status.ACTIVE);
+        user.setRole(AppUser.Role.USER);
+        user.setWebLoginEnabled(false);
+        user.setMailPollingEnabled(false);
+        user.setLoginFailureCount(0);
+        user.setCreatedAt(LocalDateTime.now());
+        return appUserRepository.save(user);
+    }
+
+    private TechKeyword createKeyword(String keyword, String normalizedKeyword) {
+        return keywordRepository.save(TechKeyword.builder()
+                .keyword(keyword)
+                .normalizedKeyword(normalizedKeyword)
+                .category("Backend")
+                .build());
+    }
+
+    private LearningResource createResource(TechKeyword keyword, String url) {
+        return resourceRepository.save(LearningResource.builder()
+                .keyword(keyword)
+                .title("자료")
+                .url(url)
+                .type(LearningResource.ResourceType.OFFICIAL_DOC)
+                .build());
+    }
+
+    private void createBookmark(AppUser user, LearningResource resource) {
+        bookmarkRepository.save(UserResourceBookmark.builder()
+                .user(user)
+                .resource(resource)
+                .build());
+    }
+
+    private ProcessedMail createMail(AppUser user) {
+        return processedMailRepository.save(ProcessedMail.builder()
+                .user(user)
+                .messageId("dedup-" + UUID.randomUUID())
+                .subject("메일")
+                .fromAddress("sender@example.com")
+                .content("본문")
+                .build());
+    }
+
+    private void createMailMapping(ProcessedMail mail, TechKeyword keyword) {
+        mailKeywordRepository.save(MailKeyword.builder()
+                .mail(mail)
+                .keyword(keyword)
+                .confidence(0.9f)
+                .build());
+    }
+
+    private MailEvent createEvent(AppUser user) {
+        return mailEventRepository.save(MailEvent.builder()
+                .user(user)
+                .title("스터디")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void createEventMapping(MailEvent event, TechKeyword keyword) {
+        eventKeywordRepository.save(EventKeyword.builder()
+                .event(event)
+                .keyword(keyword)
+                .build());
+    }
+}
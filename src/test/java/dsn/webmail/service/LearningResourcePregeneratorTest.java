@@ -0,0 +1,105 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.LearningResource;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LearningResourcePregeneratorTest {
+
+    private final TechKeywordRepository keywordRepository = mock(TechKeywordRepository.class);
+    private final LearningResourceRepository resourceRepository = mock(LearningResourceRepository.class);
+    private final LearningResourceRecommendationService recommendationService = mock(LearningResourceRecommendationService.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final TechKeyword keyword = TechKeyword.builder().id(1L).keyword("Kafka").category("Backend").build();
+    private LearningResourcePregenerator pregenerator;
+
+    @BeforeEach
+    void setUp() {
+        pregenerator = new LearningResourcePregenerator(keywordRepository, resourceRepository,
+                recommendationService, executor);
+        ReflectionTestUtils.setField(pregenerator, "enabled", true);
+        ReflectionTestUtils.setField(pregenerator, "sweepBatchSize", 20);
+        ReflectionTestUtils.setField(pregenerator, "retryBaseMs", 600_000L);
+        ReflectionTestUtils.setField(pregenerator, "retryMaxMs", 86_400_000L);
+        // 예약 작업은 바로 실행
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(resourceRepository.findByKeywordId(1L)).thenReturn(List.of());
+        when(keywordRepository.findById(1L)).thenReturn(Optional.of(keyword));
+    }
+
+    @Test
+    void retryDelayDoublesUpToCap() {
+        assertThat(pregenerator.retryDelayMs(1)).isEqualTo(600_000L);
+        assertThat(pregenerator.retryDelayMs(2)).isEqualTo(1_200_000L);
+        assertThat(pregenerator.retryDelayMs(4)).isEqualTo(4_800_000L);
+        assertThat(pregenerator.retryDelayMs(10)).isEqualTo(86_400_000L);
+        assertThat(pregenerator.retryDelayMs(1000)).isEqualTo(86_400_000L);
+    }
+
+    @Test
+    void failedKeywordIsNotRetriedBySweepUntilBackoffExpires() {
+        when(recommendationService.getOrGenerateResources(keyword)).thenReturn(List.of());
+        when(keywordRepository.findIdsWithoutResources(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+
+        pregenerator.sweep();
+        pregenerator.sweep();
+
+        assertThat(pregenerator.submit(1L)).isFalse();
+        verify(recommendationService, times(1)).getOrGenerateResources(keyword);
+    }
+
+    @Test
+    void retriesAfterBackoffAndClearsFailureOnSuccess() {
+        ReflectionTestUtils.setField(pregenerator, "retryBaseMs", 0L);
+        when(recommendationService.getOrGenerateResources(keyword))
+                .thenReturn(List.of())
+                .thenReturn(List.of(LearningResource.builder().keyword(keyword).build()));
+
+        pregenerator.submit(1L);
+        ReflectionTestUtils.setField(pregenerator, "retryBaseMs", 600_000L);
+        pregenerator.submit(1L);
+
+        // 성공 후에는 백오프 없이 다시 예약 가능
+        assertThat(pregenerator.submit(1L)).isTrue();
+        verify(recommendationService, times(3)).getOrGenerateResources(keyword);
+    }
+
+    @Test
+    void sweepAdvancesCursorAndWrapsAround() {
+        ReflectionTestUtils.setField(pregenerator, "sweepBatchSize", 2);
+        when(keywordRepository.findIdsWithoutResources(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(3L, 5L));
+        when(keywordRepository.findIdsWithoutResources(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(8L));
+
+        pregenerator.sweep();
+        pregenerator.sweep();
+        pregenerator.sweep();
+
+        verify(keywordRepository, times(2)).findIdsWithoutResources(eq(0L), any(Pageable.class));
+        verify(keywordRepository).findIdsWithoutResources(eq(5L), any(Pageable.class));
+    }
+}
@@ -0,0 +1,83 @@
+package dsn.webmail.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dsn.webmail.entity.LearningResource;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LearningResourceRecommendationServiceTest {
+
+    private final ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    private final LearningResourceRepository resourceRepository = mock(LearningResourceRepository.class);
+    private final TechKeywordRepository keywordRepository = mock(TechKeywordRepository.class);
+    private final TechKeyword keyword = TechKeyword.builder().id(1L).keyword("Kafka").category("Backend").build();
+    private LearningResourceRecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LearningResourceRecommendationService(chatModel, resourceRepository, keywordRepository,
+                new ObjectMapper(), mock(UrlHealthService.class), mock(UserLearningHistoryRepository.class),
+                mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "generationWaitMs", 5_000L);
+        ReflectionTestUtils.setField(service, "generationLeaseMs", 120_000L);
+        ReflectionTestUtils.setField(service, "generationPollMs", 10L);
+    }
+
+    @Test
+    void waitsForOtherNodeInsteadOfCallingLlmWhenClaimIsTaken() {
+        LearningResource saved = LearningResource.builder().keyword(keyword).url("https://kafka.apache.org").build();
+        when(keywordRepository.claimResourceGeneration(eq(1L), any(), any())).thenReturn(0);
+        when(keywordRepository.findResourceGenerationUntil(1L)).thenReturn(LocalDateTime.now().plusMinutes(1));
+        // 두 번의 사전 확인 + 대기 중 한 번은 비어 있다가 다른 노드가 저장
+        when(resourceRepository.findByKeywordId(1L))
+                .thenReturn(List.of(), List.of(), List.of(), List.of(saved));
+
+        assertThat(service.getOrGenerateResources(keyword)).containsExactly(saved);
+
+        verify(chatModel, never()).generate(anyString());
+        verify(keywordRepository, never()).releaseResourceGeneration(any(), any());
+    }
+
+    @Test
+    void stopsWaitingWhenOtherNodeReleasesWithoutResources() {
+        when(keywordRepository.claimResourceGeneration(eq(1L), any(), any())).thenReturn(0);
+        when(keywordRepository.findResourceGenerationUntil(1L)).thenReturn(null);
+        when(resourceRepository.findByKeywordId(1L)).thenReturn(List.of());
+
+        assertThat(service.getOrGenerateResources(keyword)).isEmpty();
+
+        verify(chatModel, never()).generate(anyString());
+    }
+
+    @Test
+    void releasesClaimAfterGenerating() {
+        when(keywordRepository.claimResourceGeneration(eq(1L), any(), any())).thenReturn(1);
+        when(resourceRepository.findByKeywordId(1L)).thenReturn(List.of());
+        when(chatModel.generate(anyString())).thenReturn("[]");
+
+        service.getOrGenerateResources(keyword);
+
+        verify(chatModel).generate(anyString());
+        verify(keywordRepository).releaseResourceGeneration(eq(1L), any());
+    }
+}
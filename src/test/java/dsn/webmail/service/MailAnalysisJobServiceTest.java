@@ -0,0 +1,110 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.MailAnalysisJob;
+import dsn.webmail.entity.MailCategory;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.repository.MailAnalysisJobRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailAnalysisJobServiceTest {
+
+    private final MailAnalysisJobRepository jobRepository = mock(MailAnalysisJobRepository.class);
+    private final ProcessedMailRepository processedMailRepository = mock(ProcessedMailRepository.class);
+    private MailAnalysisJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MailAnalysisJobService(jobRepository, processedMailRepository);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "backoffBaseMs", 30_000L);
+        ReflectionTestUtils.setField(service, "backoffMaxMs", 3_600_000L);
+    }
+
+    @Test
+    void backoffDoublesPerAttemptWithinJitterAndCap() {
+        for (int i = 0; i < 50; i++) {
+            assertThat(service.backoffDelayMs(0)).isBetween(24_000L, 36_000L);
+            assertThat(service.backoffDelayMs(1)).isBetween(24_000L, 36_000L);
+            assertThat(service.backoffDelayMs(2)).isBetween(48_000L, 72_000L);
+            assertThat(service.backoffDelayMs(3)).isBetween(96_000L, 144_000L);
+            // 상한(1시간) 이후에는 더 늘어나지 않음
+            assertThat(service.backoffDelayMs(10)).isBetween(2_880_000L, 4_320_000L);
+            assertThat(service.backoffDelayMs(100)).isBetween(2_880_000L, 4_320_000L);
+        }
+    }
+
+    @Test
+    void failSchedulesRetryAfterBackoff() {
+        MailAnalysisJob job = runningJob(2);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.fail(1L, new IllegalStateException("timeout"));
+
+        assertThat(job.getStatus()).isEqualTo(MailAnalysisJob.Status.PENDING);
+        assertThat(job.getLockedAt()).isNull();
+        assertThat(job.getLastError()).isEqualTo("IllegalStateException: timeout");
+        assertThat(job.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plusSeconds(48))
+                .isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(72));
+    }
+
+    @Test
+    void failMarksJobDeadAndMailUnknownAfterMaxAttempts() {
+        MailAnalysisJob job = runningJob(3);
+        ProcessedMail mail = ProcessedMail.builder().id(10L).build();
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(processedMailRepository.findById(10L)).thenReturn(Optional.of(mail));
+
+        service.fail(1L, new IllegalStateException("timeout"));
+
+        assertThat(job.getStatus()).isEqualTo(MailAnalysisJob.Status.DEAD);
+        assertThat(mail.getCategory()).isEqualTo(MailCategory.UNKNOWN);
+        assertThat(mail.getAnalyzedAt()).isNotNull();
+    }
+
+    @Test
+    void enqueueRetryResetsFinishedJobInNewTransaction() throws Exception {
+        MailAnalysisJob job = MailAnalysisJob.builder()
+                .id(1L)
+                .mailId(10L)
+                .status(MailAnalysisJob.Status.DEAD)
+                .attempts(3)
+                .build();
+        when(jobRepository.findByMailId(10L)).thenReturn(Optional.of(job));
+
+        service.enqueueRetry(10L);
+
+        verify(jobRepository).save(any(MailAnalysisJob.class));
+        assertThat(job.getStatus()).isEqualTo(MailAnalysisJob.Status.PENDING);
+        assertThat(job.getAttempts()).isZero();
+        // 분석 실패로 rollback-only가 된 호출자 트랜잭션과 분리되어야 함
+        assertThat(MailAnalysisJobService.class.getMethod("enqueueRetry", Long.class)
+                .getAnnotation(Transactional.class).propagation())
+                .isEqualTo(Propagation.REQUIRES_NEW);
+    }
+
+    private MailAnalysisJob runningJob(int attempts) {
+        return MailAnalysisJob.builder()
+                .id(1L)
+                .mailId(10L)
+                .status(MailAnalysisJob.Status.RUNNING)
+                .attempts(attempts)
+                .lockedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package dsn.webmail.service;
+
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dsn.webmail.dto.MailAnalysisResult;
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.MailCategory;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.ProcessedMail.AnalysisSource;
+import dsn.webmail.event.UserDataChangedEvent;
+import dsn.webmail.repository.ProcessedMailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MailAnalyzerServiceTest {
+
+    private final MailAnalysisAiService aiService = mock(MailAnalysisAiService.class);
+    private final ProcessedMailRepository processedMailRepository = mock(ProcessedMailRepository.class);
+    private final MailKeywordExtractorService keywordExtractorService = mock(MailKeywordExtractorService.class);
+    private final MailPreClassifier preClassifier = mock(MailPreClassifier.class);
+    private final MailAnalysisJobService jobService = mock(MailAnalysisJobService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private MailAnalyzerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MailAnalyzerService(aiService, processedMailRepository, keywordExtractorService,
+                preClassifier, new MailContentReducer(new OpenAiTokenizer("gpt-3.5-turbo")), jobService, eventPublisher);
+        ReflectionTestUtils.setField(service, "analysisTokenBudget", 800);
+        ReflectionTestUtils.setField(service, "minConfidence", 0.3f);
+        when(preClassifier.classify(any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void enqueuesRetryInsteadOfThrowingWhenAnalysisFails() {
+        ProcessedMail mail = mail();
+        when(aiService.analyze(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("rate limited"));
+
+        service.reanalyzeMail(mail);
+
+        verify(jobService).enqueueRetry(10L);
+        verify(jobService, never()).enqueue(anyLong());
+        verify(processedMailRepository, never()).save(any());
+        assertThat(mail.getCategory()).isNull();
+    }
+
+    @Test
+    void enqueuesRetryWhenResultIsEmpty() {
+        ProcessedMail mail = mail();
+        when(aiService.analyze(anyString(), anyString(), anyString())).thenReturn(null);
+
+        service.reanalyzeMail(mail);
+
+        verify(jobService).enqueueRetry(10L);
+    }
+
+    @Test
+    void reanalysisAlwaysUsesLlm() {
+        ProcessedMail mail = mail();
+        when(aiService.analyze(anyString(), anyString(), anyString()))
+                .thenReturn(new MailAnalysisResult(MailCategory.INQUIRY, 0.8f, "요약"));
+
+        service.reanalyzeMail(mail);
+
+        verify(preClassifier, never()).classify(any(), any());
+        assertThat(mail.getAnalysisSource()).isEqualTo(AnalysisSource.LLM);
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void workerPathRethrowsWithoutEnqueue() {
+        when(processedMailRepository.findById(10L)).thenReturn(Optional.of(mail()));
+        when(aiService.analyze(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("timeout"));
+
+        assertThatThrownBy(() -> service.analyzeMailOrThrow(10L))
+                .hasMessage("timeout");
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void keywordExtractionFailureDoesNotFailAnalysis() {
+        ProcessedMail mail = mail();
+        when(processedMailRepository.findById(10L)).thenReturn(Optional.of(mail));
+        when(aiService.analyze(anyString(), anyString(), anyString()))
+                .thenReturn(new MailAnalysisResult(MailCategory.WORK_REQUEST, 0.9f, "요약"));
+        when(keywordExtractorService.extractAndSaveKeywords(mail))
+                .thenThrow(new RuntimeException("deadlock"));
+
+        service.analyzeMailOrThrow(10L);
+
+        assertThat(mail.getCategory()).isEqualTo(MailCategory.WORK_REQUEST);
+        assertThat(mail.getAnalysisSource()).isEqualTo(AnalysisSource.LLM);
+        verify(processedMailRepository).save(mail);
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(1L));
+        verifyNoInteractions(jobService);
+    }
+
+    private ProcessedMail mail() {
+        return ProcessedMail.builder()
+                .id(10L)
+                .user(AppUser.builder().id(1L).build())
+                .subject("배포 요청")
+                .fromAddress("pm@company.com")
+                .content("오늘 배포 부탁드립니다.")
+                .build();
+    }
+}
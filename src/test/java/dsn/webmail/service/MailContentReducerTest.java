@@ -0,0 +1,91 @@
+package dsn.webmail.service;
+
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailContentReducerTest {
+
+    private final Tokenizer tokenizer = new OpenAiTokenizer("gpt-3.5-turbo");
+    private final MailContentReducer reducer = new MailContentReducer(tokenizer);
+
+    @Test
+    void stripsQuotedHistorySignatureAndUrls() {
+        String content = """
+                안녕하세요, 내일 배포 일정 공유드립니다.
+                자세한 내용은 https://jira.company.com/browse/OPS-123?utm_source=mail 참고해주세요.
+
+                --
+                홍길동 드림
+
+                -----Original Message-----
+                From: 김철수
+                Subject: 배포 문의
+                """;
+
+        String cleaned = reducer.clean(content);
+
+        assertThat(cleaned).contains("내일 배포 일정", "[jira.company.com]");
+        assertThat(cleaned).doesNotContain("utm_source", "홍길동", "Original Message");
+    }
+
+    @Test
+    void stripsTrailingMobileSignatureAndDisclaimer() {
+        String content = """
+                다음 주 화요일 리뷰 회의 참석 부탁드립니다.
+
+                감사합니다.
+                나의 iPhone에서 보냄
+
+                본 메일은 발신 전용이며, 기밀 정보가 포함되어 있을 수 있습니다.
+                Sent from my iPhone
+                """;
+
+        String cleaned = reducer.clean(content);
+
+        assertThat(cleaned).isEqualTo("다음 주 화요일 리뷰 회의 참석 부탁드립니다.\n\n감사합니다.");
+    }
+
+    @Test
+    void keepsBodySentencesThatResembleSignatureOrDisclaimer() {
+        String content = """
+                인사팀 공지 전달드립니다.
+
+                무단 결근 시 연차에서 차감되며, 기밀 프로젝트 인원도 동일하게 적용됩니다.
+                계약서는 본사에서 보냄 처리했고 내일 도착 예정입니다.
+
+                이번 분기 보안 감사 준비 부탁드립니다.
+                """;
+
+        String cleaned = reducer.clean(content);
+
+        assertThat(cleaned).contains(
+                "무단 결근 시 연차에서 차감",
+                "기밀 프로젝트 인원",
+                "본사에서 보냄 처리했고",
+                "보안 감사 준비");
+    }
+
+    @Test
+    void keepsSignatureLikeLineInMiddleOfBody() {
+        String content = """
+                배포 결과 공유드립니다.
+                iPhone에서 보냄
+                위 문구가 앱 하단에 계속 보이는 버그가 있습니다.
+                """;
+
+        assertThat(reducer.clean(content)).contains("iPhone에서 보냄", "버그가 있습니다");
+    }
+
+    @Test
+    void fitsLongContentIntoTokenBudget() {
+        String content = "Spring Boot 애플리케이션 배포 관련 안내입니다. ".repeat(500);
+
+        String reduced = reducer.reduce(content, 200);
+
+        assertThat(tokenizer.estimateTokenCountInText(reduced)).isLessThanOrEqualTo(200);
+        assertThat(reduced).endsWith("...");
+    }
+}
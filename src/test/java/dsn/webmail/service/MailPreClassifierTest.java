@@ -0,0 +1,108 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.MailCategory;
+import dsn.webmail.entity.ProcessedMail.AnalysisSource;
+import dsn.webmail.repository.ProcessedMailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MailPreClassifierTest {
+
+    private final ProcessedMailRepository repository = mock(ProcessedMailRepository.class);
+    private MailPreClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        classifier = new MailPreClassifier(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(classifier, "enabled", true);
+        ReflectionTestUtils.setField(classifier, "minConfidence", 0.9);
+        ReflectionTestUtils.setField(classifier, "trainingSize", 5000);
+        ReflectionTestUtils.setField(classifier, "minTrainingSamples", 20);
+        ReflectionTestUtils.setField(classifier, "announcementSenders", List.of("@hr.company.com"));
+    }
+
+    @Test
+    void classifiesByRuleWithoutModel() {
+        assertThat(classifier.classify("페이지가 업데이트되었습니다", "notify@mail.notion.so"))
+                .get()
+                .satisfies(result -> {
+                    assertThat(result.category()).isEqualTo(MailCategory.NOTION_ALERT);
+                    assertThat(result.source()).isEqualTo(AnalysisSource.RULE);
+                });
+        assertThat(classifier.classify("복지 포인트 안내", "benefit@hr.company.com"))
+                .get()
+                .extracting(MailPreClassifier.LocalClassification::category)
+                .isEqualTo(MailCategory.ANNOUNCEMENT);
+    }
+
+    @Test
+    void fallsBackToLlmWithoutEnoughTrainingSamples() {
+        when(repository.findTrainingSamples(anyFloat(), any(Pageable.class)))
+                .thenReturn(samples(5));
+
+        classifier.retrain();
+
+        assertThat(classifier.classify("[배포] api-server v1.2.3 배포 완료", "deploy@company.com")).isEmpty();
+    }
+
+    @Test
+    void classifiesConfidentlyAfterTraining() {
+        when(repository.findTrainingSamples(anyFloat(), any(Pageable.class)))
+                .thenReturn(samples(30));
+
+        classifier.retrain();
+
+        assertThat(classifier.classify("[배포] api-server v1.2.3 배포 완료", "deploy@company.com"))
+                .get()
+                .satisfies(result -> {
+                    assertThat(result.category()).isEqualTo(MailCategory.WORK_REQUEST);
+                    assertThat(result.source()).isEqualTo(AnalysisSource.MODEL);
+                    assertThat(result.confidence()).isGreaterThanOrEqualTo(0.9f);
+                });
+    }
+
+    @Test
+    void escalatesWhenModelConfidenceIsBelowThreshold() {
+        when(repository.findTrainingSamples(anyFloat(), any(Pageable.class)))
+                .thenReturn(samples(30));
+        classifier.retrain();
+
+        // 학습 데이터에 없는 단어만 있는 메일은 사전 확률 수준의 확신도
+        assertThat(classifier.classify("점심 메뉴 추천 부탁드립니다", "colleague@other.com")).isEmpty();
+
+        ReflectionTestUtils.setField(classifier, "minConfidence", 1.01);
+        assertThat(classifier.classify("[배포] api-server v1.2.3 배포 완료", "deploy@company.com")).isEmpty();
+    }
+
+    @Test
+    void returnsEmptyWhenDisabled() {
+        ReflectionTestUtils.setField(classifier, "enabled", false);
+
+        assertThat(classifier.classify("페이지가 업데이트되었습니다", "notify@mail.notion.so")).isEmpty();
+    }
+
+    // 배포 요청(WORK_REQUEST)과 회의 문의(INQUIRY)를 번갈아 생성
+    private List<Object[]> samples(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                rows.add(new Object[]{"[배포] api-server v1." + i + " 배포 완료", "deploy@company.com", MailCategory.WORK_REQUEST});
+            } else {
+                rows.add(new Object[]{"주간 회의 일정 요청 " + i, "pm" + i + "@company.com", MailCategory.INQUIRY});
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,197 @@
+package dsn.webmail.service;
+
+import dsn.webmail.dto.StudyDtos.DashboardResponse;
+import dsn.webmail.dto.StudyDtos.KeywordUsageResponse;
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.EventKeyword;
+import dsn.webmail.entity.MailEvent;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.UserLearningHistory;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.DataMigrationRepository;
+import dsn.webmail.repository.EventKeywordRepository;
+import dsn.webmail.repository.MailEventRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 업그레이드한 DB의 학습 대시보드 요약
+ *
+ * 이전 버전이 남긴 통계 행은 카테고리가 비어 있고 일정 키워드/사용 횟수가 빠져 있습니다.
+ * 재구성 전에도 가장 많이 쓴 카테고리가 "없음"이 되지 않아야 하고,
+ * 재구성 후에는 최근 키워드와 사용 횟수가 매핑과 일치해야 합니다.
+ */
+@SpringBootTest(properties = {
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Transactional
+class StudyServiceDashboardTest {
+
+    @Autowired
+    private StudyService studyService;
+
+    @Autowired
+    private UserKeywordStatsService userKeywordStatsService;
+
+    @Autowired
+    private DataMigrationRepository migrationRepository;
+
+    @Autowired
+    private UserLearningHistoryRepository historyRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private MailEventRepository mailEventRepository;
+
+    @Autowired
+    private TechKeywordRepository keywordRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Autowired
+    private EventKeywordRepository eventKeywordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void summaryUsesKeywordCategoryForBaselineRows() {
+        AppUser user = createUser();
+        TechKeyword devops = createKeyword("DevOps");
+        TechKeyword backend = createKeyword("Backend");
+        createBaselineHistory(user, devops, 5);
+        createBaselineHistory(user, backend, 1);
+        flushAndClear();
+
+        DashboardResponse response = studyService.getDashboard(user.getEmail());
+
+        assertThat(response.summary().topCategory()).isEqualTo("DevOps");
+        assertThat(response.recentKeywords())
+                .extracting(KeywordUsageResponse::category)
+                .containsExactlyInAnyOrder("DevOps", "Backend");
+    }
+
+    @Test
+    void summaryMatchesMappingsAfterUpgradeRebuild() {
+        AppUser user = createUser();
+        TechKeyword devops = createKeyword("DevOps");
+        TechKeyword backend = createKeyword("Backend");
+        // 실제 매핑: DevOps 메일 1건, Backend 메일 2건 + 일정 1건
+        createMailMapping(user, devops);
+        createMailMapping(user, backend);
+        createMailMapping(user, backend);
+        createEventMapping(user, backend);
+        // 이전 버전이 남긴 행 (메일 추출 중복 집계, 일정 없음)
+        createBaselineHistory(user, devops, 4);
+        createBaselineHistory(user, backend, 1);
+        migrationRepository.deleteById(UserKeywordStatsService.STATS_MIGRATION);
+        flushAndClear();
+
+        userKeywordStatsService.backfill();
+        flushAndClear();
+
+        DashboardResponse response = studyService.getDashboard(user.getEmail());
+
+        assertThat(response.summary().topCategory()).isEqualTo("Backend");
+        assertThat(response.summary().totalKeywords()).isEqualTo(2L);
+        // 키워드가 추출된 메일 3건 + 일정 1건
+        assertThat(response.summary().totalMails()).isEqualTo(4L);
+        assertThat(response.recentKeywords())
+                .filteredOn(k -> k.id().equals(backend.getId()))
+                .singleElement()
+                .satisfies(k -> {
+                    assertThat(k.category()).isEqualTo("Backend");
+                    assertThat(k.mailCount()).isEqualTo(3L);
+                });
+        assertThat(response.recentKeywords())
+                .filteredOn(k -> k.id().equals(devops.getId()))
+                .singleElement()
+                .satisfies(k -> assertThat(k.mailCount()).isEqualTo(1L));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private AppUser createUser() {
+        AppUser user = new AppUser();
+        user.setEmail("dashboard-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("test");
+        user.setStatus(AppUser.Status.ACTIVE);
+        user.setRole(AppUser.Role.USER);
+        user.setWebLoginEnabled(false);
+        user.setMailPollingEnabled(false);
+        user.setLoginFailureCount(0);
+        user.setCreatedAt(LocalDateTime.now());
+        return appUserRepository.save(user);
+    }
+
+    private TechKeyword createKeyword(String category) {
+        return keywordRepository.save(TechKeyword.builder()
+                .keyword("Dashboard-" + category + "-" + UUID.randomUUID().toString().substring(0, 8))
+                .category(category)
+                .build());
+    }
+
+    // 카테고리 없이 메일 사용 횟수만 있는 이전 버전 통계 행
+    private void createBaselineHistory(AppUser user, TechKeyword keyword, int usageCount) {
+        historyRepository.save(UserLearningHistory.builder()
+                .user(user)
+                .keyword(keyword)
+                .usageCount(usageCount)
+                .mailCount(usageCount)
+                .eventCount(0)
+                .build());
+    }
+
+    private void createMailMapping(AppUser user, TechKeyword keyword) {
+        ProcessedMail mail = processedMailRepository.save(ProcessedMail.builder()
+                .user(user)
+                .messageId("dashboard-" + UUID.randomUUID())
+                .subject("메일")
+                .fromAddress("sender@example.com")
+                .content("본문")
+                .build());
+        mailKeywordRepository.save(MailKeyword.builder()
+                .mail(mail)
+                .keyword(keyword)
+                .confidence(0.9f)
+                .build());
+    }
+
+    private void createEventMapping(AppUser user, TechKeyword keyword) {
+        MailEvent event = mailEventRepository.save(MailEvent.builder()
+                .user(user)
+                .title("스터디")
+                .createdAt(LocalDateTime.now())
+                .build());
+        eventKeywordRepository.save(EventKeyword.builder()
+                .event(event)
+                .keyword(keyword)
+                .build());
+    }
+}
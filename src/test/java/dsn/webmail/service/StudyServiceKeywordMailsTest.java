@@ -0,0 +1,114 @@
+package dsn.webmail.service;
+
+import dsn.webmail.dto.StudyDtos.KeywordMailsResponse;
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키워드 관련 메일 페이지 크기 보정
+ *
+ * 0이나 음수, 상한을 넘는 size가 들어와도 500 없이 1 ~ 100건 페이지로 응답해야 합니다.
+ */
+@SpringBootTest(properties = {
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Transactional
+class StudyServiceKeywordMailsTest {
+
+    @Autowired
+    private StudyService studyService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private TechKeywordRepository keywordRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Test
+    void clampsPageSizeToAtLeastOne() {
+        AppUser user = createUser();
+        TechKeyword keyword = createKeyword();
+        createMailMapping(user, keyword);
+        createMailMapping(user, keyword);
+
+        for (int size : new int[]{0, -5}) {
+            KeywordMailsResponse response = studyService.getKeywordMails(user.getEmail(), keyword.getId(), null, size);
+
+            assertThat(response.mails()).hasSize(1);
+            assertThat(response.nextCursor()).isEqualTo(response.mails().get(0).id());
+        }
+    }
+
+    @Test
+    void clampsPageSizeToMaximum() {
+        AppUser user = createUser();
+        TechKeyword keyword = createKeyword();
+        for (int i = 0; i < StudyService.MAX_KEYWORD_MAILS_PAGE_SIZE + 1; i++) {
+            createMailMapping(user, keyword);
+        }
+
+        KeywordMailsResponse response = studyService.getKeywordMails(user.getEmail(), keyword.getId(), null, 1000);
+
+        assertThat(response.mails()).hasSize(StudyService.MAX_KEYWORD_MAILS_PAGE_SIZE);
+        assertThat(response.nextCursor()).isNotNull();
+    }
+
+    private AppUser createUser() {
+        AppUser user = new AppUser();
+        user.setEmail("keyword-mails-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("test");
+        user.setStatus(AppUser.Status.ACTIVE);
+        user.setRole(AppUser.Role.USER);
+        user.setWebLoginEnabled(false);
+        user.setMailPollingEnabled(false);
+        user.setLoginFailureCount(0);
+        user.setCreatedAt(LocalDateTime.now());
+        return appUserRepository.save(user);
+    }
+
+    private TechKeyword createKeyword() {
+        return keywordRepository.save(TechKeyword.builder()
+                .keyword("KeywordMails-" + UUID.randomUUID().toString().substring(0, 8))
+                .category("Backend")
+                .build());
+    }
+
+    private void createMailMapping(AppUser user, TechKeyword keyword) {
+        ProcessedMail mail = processedMailRepository.save(ProcessedMail.builder()
+                .user(user)
+                .messageId("keyword-mails-" + UUID.randomUUID())
+                .subject("메일")
+                .fromAddress("sender@example.com")
+                .content("본문")
+                .build());
+        mailKeywordRepository.save(MailKeyword.builder()
+                .mail(mail)
+                .keyword(keyword)
+                .confidence(0.9f)
+                .build());
+    }
+}
@@ -0,0 +1,188 @@
+package dsn.webmail.service;
+
+import dsn.webmail.dto.StudyDtos.DashboardResponse;
+import dsn.webmail.dto.StudyDtos.KeywordListResponse;
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.LearningResource;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.UserResourceBookmark;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.LearningResourceRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserResourceBookmarkRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 학습 대시보드 쿼리 수 회귀 테스트
+ *
+ * 메일 이력이 늘어나도 getDashboard의 SQL 실행 횟수가 일정해야 하고,
+ * 키워드 목록은 키워드 수와 관계없이 자료 수를 한 번에 조회해야 합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Transactional
+class StudyServiceQueryCountTest {
+
+    private static final int MAX_DASHBOARD_QUERIES = 6;
+
+    @Autowired
+    private StudyService studyService;
+
+    @Autowired
+    private UserKeywordStatsService userKeywordStatsService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private TechKeywordRepository keywordRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Autowired
+    private LearningResourceRepository resourceRepository;
+
+    @Autowired
+    private UserResourceBookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dashboardQueryCountDoesNotGrowWithHistory() {
+        List<TechKeyword> keywords = createKeywords(8);
+
+        AppUser smallUser = createUserWithHistory(keywords, 3);
+        AppUser largeUser = createUserWithHistory(keywords, 120);
+
+        long smallQueries = countQueries(smallUser);
+        long largeQueries = countQueries(largeUser);
+
+        assertThat(largeQueries).isEqualTo(smallQueries);
+        assertThat(largeQueries).isLessThanOrEqualTo(MAX_DASHBOARD_QUERIES);
+        // 소스 수는 매핑을 세지 않고 증분 반영된 값
+        assertThat(studyService.getDashboard(largeUser.getEmail()).summary().totalMails()).isEqualTo(120L);
+    }
+
+    @Test
+    void keywordListUsesGroupedResourceCounts() {
+        List<TechKeyword> keywords = createKeywords(50);
+        AppUser user = createUserWithHistory(keywords, 50);
+
+        Statistics statistics = clearAndResetStatistics();
+        KeywordListResponse response = studyService.getKeywords(user.getEmail(), null);
+
+        assertThat(response.keywords()).hasSize(50);
+        assertThat(response.keywords()).allSatisfy(k -> assertThat(k.resourceCount()).isEqualTo(3L));
+        // 사용자 + 키워드 통계 + 자료 수 GROUP BY
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private long countQueries(AppUser user) {
+        Statistics statistics = clearAndResetStatistics();
+
+        DashboardResponse response = studyService.getDashboard(user.getEmail());
+
+        assertThat(response.recentKeywords()).isNotEmpty();
+        assertThat(response.recommendedResources()).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics clearAndResetStatistics() {
+        // 1차 캐시에 남은 엔티티로 지연 로딩이 가려지지 않도록 비움
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private List<TechKeyword> createKeywords(int count) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<TechKeyword> keywords = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TechKeyword keyword = keywordRepository.save(TechKeyword.builder()
+                    .keyword("QueryCount-" + i + "-" + suffix)
+                    .category(i % 2 == 0 ? "Backend" : "DevOps")
+                    .build());
+            for (int r = 0; r < 3; r++) {
+                resourceRepository.save(LearningResource.builder()
+                        .keyword(keyword)
+                        .title(keyword.getKeyword() + " 자료 " + r)
+                        .url("https://example.com/" + suffix + "/" + i + "/" + r)
+                        .type(LearningResource.ResourceType.BLOG)
+                        .build());
+            }
+            keywords.add(keyword);
+        }
+        return keywords;
+    }
+
+    private AppUser createUserWithHistory(List<TechKeyword> keywords, int mailCount) {
+        AppUser user = new AppUser();
+        user.setEmail("query-count-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("test");
+        user.setStatus(AppUser.Status.ACTIVE);
+        user.setRole(AppUser.Role.USER);
+        user.setWebLoginEnabled(false);
+        user.setMailPollingEnabled(false);
+        user.setLoginFailureCount(0);
+        user.setCreatedAt(LocalDateTime.now());
+        appUserRepository.save(user);
+
+        for (int i = 0; i < mailCount; i++) {
+            ProcessedMail mail = processedMailRepository.save(ProcessedMail.builder()
+                    .user(user)
+                    .messageId("query-count-" + i + "-" + UUID.randomUUID())
+                    .subject("메일 " + i)
+                    .fromAddress("sender@example.com")
+                    .content("본문")
+                    .build());
+            List<Long> keywordIds = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                TechKeyword keyword = keywords.get((i + k) % keywords.size());
+                mailKeywordRepository.save(MailKeyword.builder()
+                        .mail(mail)
+                        .keyword(keyword)
+                        .confidence(0.9f)
+                        .build());
+                keywordIds.add(keyword.getId());
+            }
+            userKeywordStatsService.recordMailKeywords(user.getId(), keywordIds, true);
+        }
+
+        List<LearningResource> resources = resourceRepository.findByKeywordId(keywords.get(0).getId());
+        bookmarkRepository.save(UserResourceBookmark.builder()
+                .user(user)
+                .resource(resources.get(0))
+                .build());
+        return user;
+    }
+}
@@ -0,0 +1,98 @@
+package dsn.webmail.service;
+
+import dsn.webmail.dto.StudyDtos.TrendingKeywordResponse;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.TrendingKeywordSnapshot;
+import dsn.webmail.entity.TrendingKeywordSnapshot.Granularity;
+import dsn.webmail.event.TechKeywordsExtractedEvent;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.TrendingKeywordSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingKeywordServiceTest {
+
+    private final TrendingKeywordSnapshotRepository snapshotRepository = mock(TrendingKeywordSnapshotRepository.class);
+    private final TechKeywordRepository keywordRepository = mock(TechKeywordRepository.class);
+    private final LocalDateTime hour = Granularity.HOUR.bucketStart(LocalDateTime.now());
+    private TrendingKeywordService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TrendingKeywordService(snapshotRepository, keywordRepository,
+                mock(PlatformTransactionManager.class), "node-a");
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "capacity", 16);
+        ReflectionTestUtils.setField(service, "topK", 10);
+        when(keywordRepository.findAllById(anyList())).thenReturn(List.of(
+                TechKeyword.builder().id(1L).keyword("Kafka").category("Backend").build(),
+                TechKeyword.builder().id(2L).keyword("Redis").category("Database").build()));
+        when(snapshotRepository.findByBucketStartGreaterThanEqual(any())).thenReturn(List.of(
+                snapshot("node-a", 1L, 3),
+                snapshot("node-b", 1L, 2),
+                snapshot("node-b", 2L, 4)));
+    }
+
+    @Test
+    void restoreMergesSnapshotsFromAllNodes() {
+        service.restore();
+
+        assertThat(service.getTrending("24h", 10).keywords())
+                .extracting(TrendingKeywordResponse::id, TrendingKeywordResponse::count)
+                .containsExactly(tuple(1L, 5L),
+                        tuple(2L, 4L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotRewritesOnlyThisNodesBuckets() {
+        service.restore();
+        service.onKeywordsExtracted(new TechKeywordsExtractedEvent(10L, List.of(1L)));
+
+        service.snapshot();
+
+        verify(snapshotRepository).deleteBucket("node-a", Granularity.HOUR, hour);
+        verify(snapshotRepository, never()).deleteBucket(eq("node-b"), any(), any());
+        ArgumentCaptor<Iterable<TrendingKeywordSnapshot>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(snapshotRepository, times(2)).saveAll(saved.capture());
+        List<TrendingKeywordSnapshot> hourRows = saved.getAllValues().stream()
+                .flatMap(rows -> StreamSupport.stream(rows.spliterator(), false))
+                .filter(row -> row.getGranularity() == Granularity.HOUR)
+                .toList();
+        // 이 노드 몫(복원 3 + 새 이벤트 1)만 저장, 다른 노드 집계는 다시 쓰지 않음
+        assertThat(hourRows).singleElement().satisfies(row -> {
+            assertThat(row.getNodeId()).isEqualTo("node-a");
+            assertThat(row.getKeywordId()).isEqualTo(1L);
+            assertThat(row.getCount()).isEqualTo(4L);
+        });
+    }
+
+    private TrendingKeywordSnapshot snapshot(String nodeId, Long keywordId, long count) {
+        return TrendingKeywordSnapshot.builder()
+                .nodeId(nodeId)
+                .granularity(Granularity.HOUR)
+                .bucketStart(hour)
+                .keywordId(keywordId)
+                .count(count)
+                .error(0L)
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package dsn.webmail.service;
+
+import dsn.webmail.entity.AppUser;
+import dsn.webmail.entity.EventKeyword;
+import dsn.webmail.entity.MailEvent;
+import dsn.webmail.entity.MailKeyword;
+import dsn.webmail.entity.ProcessedMail;
+import dsn.webmail.entity.TechKeyword;
+import dsn.webmail.entity.UserLearningHistory;
+import dsn.webmail.repository.AppUserRepository;
+import dsn.webmail.repository.DataMigrationRepository;
+import dsn.webmail.repository.EventKeywordRepository;
+import dsn.webmail.repository.MailEventRepository;
+import dsn.webmail.repository.MailKeywordRepository;
+import dsn.webmail.repository.ProcessedMailRepository;
+import dsn.webmail.repository.TechKeywordRepository;
+import dsn.webmail.repository.UserLearningHistoryRepository;
+import dsn.webmail.repository.UserLearningSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기존 설치 업그레이드 시 사용자 키워드 통계 재구성
+ *
+ * 메일 키워드 추출만 반영하던 이전 버전의 통계 행(카테고리 없음, 일정 키워드 없음)이
+ * 남아 있어도 기동 시 한 번 매핑 기준으로 다시 채워야 합니다.
+ */
+@SpringBootTest(properties = {
+        "learning.pregenerate.enabled=false",
+        "embedding.enabled=false"
+})
+@ActiveProfiles("fake-llm")
+@Transactional
+class UserKeywordStatsServiceTest {
+
+    @Autowired
+    private UserKeywordStatsService userKeywordStatsService;
+
+    @Autowired
+    private DataMigrationRepository migrationRepository;
+
+    @Autowired
+    private UserLearningHistoryRepository historyRepository;
+
+    @Autowired
+    private UserLearningSummaryRepository summaryRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ProcessedMailRepository processedMailRepository;
+
+    @Autowired
+    private MailEventRepository mailEventRepository;
+
+    @Autowired
+    private TechKeywordRepository keywordRepository;
+
+    @Autowired
+    private MailKeywordRepository mailKeywordRepository;
+
+    @Autowired
+    private EventKeywordRepository eventKeywordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void rebuildsBaselineHistoryOnceEvenWhenTableIsNotEmpty() {
+        AppUser user = createUser();
+        TechKeyword keyword = keywordRepository.save(TechKeyword.builder()
+                .keyword("StatsBackfill-" + UUID.randomUUID().toString().substring(0, 8))
+                .category("Backend")
+                .build());
+        createMailMapping(user, keyword);
+        createMailMapping(user, keyword);
+        createEventMapping(user, keyword);
+
+        // 이전 버전이 남긴 행: 카테고리 없음, 메일 1건만 반영, 일정 키워드 없음
+        historyRepository.save(UserLearningHistory.builder()
+                .user(user)
+                .keyword(keyword)
+                .usageCount(1)
+                .mailCount(0)
+                .eventCount(0)
+                .build());
+        migrationRepository.deleteById(UserKeywordStatsService.STATS_MIGRATION);
+        entityManager.flush();
+        entityManager.clear();
+
+        userKeywordStatsService.backfill();
+        entityManager.clear();
+
+        assertThat(migrationRepository.existsById(UserKeywordStatsService.STATS_MIGRATION)).isTrue();
+        List<UserLearningHistory> history = historyRepository.findByUserId(user.getId());
+        assertThat(history).singleElement().satisfies(row -> {
+            assertThat(row.getCategory()).isEqualTo("Backend");
+            assertThat(row.getMailCount()).isEqualTo(2);
+            assertThat(row.getEventCount()).isEqualTo(1);
+            assertThat(row.getUsageCount()).isEqualTo(3);
+        });
+        assertThat(summaryRepository.findById(user.getId())).get().satisfies(summary -> {
+            assertThat(summary.getMailCount()).isEqualTo(2L);
+            assertThat(summary.getEventCount()).isEqualTo(1L);
+        });
+        assertThat(migrationRepository.existsById(UserKeywordStatsService.SUMMARY_MIGRATION)).isTrue();
+
+        // 이관 기록이 있으면 다시 재구성하지 않음
+        historyRepository.deleteAllInBatch();
+        userKeywordStatsService.backfill();
+        assertThat(historyRepository.findByUserId(user.getId())).isEmpty();
+    }
+
+    private AppUser createUser() {
+        AppUser user = new AppUser();
+        user.setEmail("stats-backfill-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("test");
+        user.setStatus(AppUser.Status.ACTIVE);
+        user.setRole(AppUser.Role.USER);
+        user.setWebLoginEnabled(false);
+        user.setMailPollingEnabled(false);
+        user.setLoginFailureCount(0);
+        user.setCreatedAt(LocalDateTime.now());
+        return appUserRepository.save(user);
+    }
+
+    private void createMailMapping(AppUser user, TechKeyword keyword) {
+        ProcessedMail mail = processedMailRepository.save(ProcessedMail.builder()
+                .user(user)
+                .messageId("stats-backfill-" + UUID.randomUUID())
+                .subject("메일")
+                .fromAddress("sender@example.com")
+                .content("본문")
+                .build());
+        mailKeywordRepository.save(MailKeyword.builder()
+                .mail(mail)
+                .keyword(keyword)
+                .confidence(0.9f)
+                .build());
+    }
+
+    private void createEventMapping(AppUser user, TechKeyword keyword) {
+        MailEvent event = mailEventRepository.save(MailEvent.builder()
+                .user(user)
+                .title("스터디")
+                .createdAt(LocalDateTime.now())
+                .build());
+        eventKeywordRepository.save(EventKeyword.builder()
+                .event(event)
+                .keyword(keyword)
+                .build());
+    }
+}
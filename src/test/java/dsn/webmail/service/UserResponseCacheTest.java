@@ -0,0 +1,92 @@
+package dsn.webmail.service;
+
+import dsn.webmail.event.TechKeywordsMergedEvent;
+import dsn.webmail.event.UserDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserResponseCacheTest {
+
+    private static final long TTL_SECONDS = 300;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserResponseCache(new SimpleMeterRegistry(), 100, TTL_SECONDS, nanos::get);
+    }
+
+    @Test
+    void servesCachedValueUntilUserIsInvalidated() {
+        assertThat(load(1L, "study.keywords")).isEqualTo(1);
+        assertThat(load(1L, "study.keywords")).isEqualTo(1);
+
+        cache.onUserDataChanged(new UserDataChangedEvent(1L));
+
+        assertThat(load(1L, "study.keywords")).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationOnlyAffectsThatUser() {
+        load(1L, "study.keywords");
+        load(1L, "dashboard.stats");
+        load(2L, "study.keywords");
+
+        cache.invalidate(1L);
+
+        assertThat(load(1L, "study.keywords")).isEqualTo(4);
+        assertThat(load(1L, "dashboard.stats")).isEqualTo(5);
+        assertThat(load(2L, "study.keywords")).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotCacheValueComputedDuringInvalidation() {
+        Integer value = cache.get(1L, "study.keywords", null, () -> {
+            cache.invalidate(1L);
+            return loads.incrementAndGet();
+        });
+
+        assertThat(value).isEqualTo(1);
+        assertThat(load(1L, "study.keywords")).isEqualTo(2);
+    }
+
+    @Test
+    void expiresAfterTtl() {
+        load(1L, "study.keywords");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS - 1));
+        assertThat(load(1L, "study.keywords")).isEqualTo(1);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(load(1L, "study.keywords")).isEqualTo(2);
+
+        // 만료된 뒤 다시 캐시된 값도 무효화 대상
+        cache.invalidate(1L);
+        assertThat(load(1L, "study.keywords")).isEqualTo(3);
+    }
+
+    @Test
+    void keywordMergeInvalidatesEveryUser() {
+        load(1L, "study.keywords");
+        load(2L, "study.keywords");
+
+        cache.onKeywordsMerged(new TechKeywordsMergedEvent(Map.of(10L, 20L)));
+
+        assertThat(load(1L, "study.keywords")).isEqualTo(3);
+        assertThat(load(2L, "study.keywords")).isEqualTo(4);
+    }
+
+    private Integer load(Long userId, String view) {
+        return cache.get(userId, view, null, loads::incrementAndGet);
+    }
+}
@@ -0,0 +1,30 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    private final AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher.Builder<String>()
+            .add("Java", "Java")
+            .add("JavaScript", "JavaScript")
+            .add("C++", "C++")
+            .add("Node.js", "Node.js")
+            .add("Spring Boot", "Spring Boot")
+            .add("Boot", "Boot")
+            .build();
+
+    @Test
+    void findsOverlappingKeywordsInSinglePassIgnoringCase() {
+        assertThat(matcher.findAll("spring boot 3와 NODE.JS, c++ 스터디"))
+                .containsExactly("Spring Boot", "Boot", "Node.js", "C++");
+    }
+
+    @Test
+    void respectsWordBoundariesOnlyAtAlphanumericEdges() {
+        assertThat(matcher.findAll("JavaScript 공부")).containsExactly("JavaScript");
+        assertThat(matcher.findAll("java8, c++17")).containsExactly("C++");
+        assertThat(matcher.findAll("Java로 개발합니다")).containsExactly("Java");
+    }
+}
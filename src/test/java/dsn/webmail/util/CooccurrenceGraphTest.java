@@ -0,0 +1,79 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CooccurrenceGraphTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @Test
+    void ranksFrequentPairsFirst() {
+        CooccurrenceGraph graph = new CooccurrenceGraph(30 * DAY, 0.01f, 0);
+        for (int i = 0; i < 5; i++) {
+            graph.addDocument(new long[]{1, 2}, Set.of(1L, 2L), 0);
+        }
+        graph.addDocument(new long[]{1, 3}, Set.of(1L, 3L), 0);
+
+        assertThat(graph.related(1, 10)).extracting(CooccurrenceGraph.Hit::id).containsExactly(2L, 3L);
+        assertThat(graph.related(2, 10)).extracting(CooccurrenceGraph.Hit::id).containsExactly(1L);
+    }
+
+    @Test
+    void recentCooccurrenceOutweighsOldOne() {
+        CooccurrenceGraph graph = new CooccurrenceGraph(DAY, 0.001f, 0);
+        // 3일 전 3번 vs 오늘 1번 (반감기 1일이면 3번 × 1/8 < 1번)
+        for (int i = 0; i < 3; i++) {
+            graph.addDocument(new long[]{1, 2}, Set.of(1L, 2L), 0);
+        }
+        graph.addDocument(new long[]{1, 3}, Set.of(1L, 3L), 3 * DAY);
+
+        assertThat(graph.related(1, 1)).extracting(CooccurrenceGraph.Hit::id).containsExactly(3L);
+    }
+
+    @Test
+    void countsOnlyPairsWithNewIds() {
+        CooccurrenceGraph graph = new CooccurrenceGraph(30 * DAY, 0.01f, 0);
+        graph.addDocument(new long[]{1, 2}, Set.of(1L, 2L), 0);
+        // 재분석으로 3만 새로 추가된 경우 1-2 쌍은 다시 세지 않음
+        graph.addDocument(new long[]{1, 2, 3}, Set.of(3L), 0);
+
+        assertThat(graph.related(1, 10)).hasSize(2);
+        assertThat(graph.related(1, 10).get(0).score()).isEqualTo(graph.related(1, 10).get(1).score());
+    }
+
+    @Test
+    void compactPrunesFadedEdgesAndRemoveDropsNode() {
+        CooccurrenceGraph graph = new CooccurrenceGraph(DAY, 0.01f, 0);
+        graph.addDocument(new long[]{1, 2}, Set.of(1L, 2L), 0);
+        graph.addDocument(new long[]{3, 4}, Set.of(3L, 4L), 10 * DAY);
+
+        graph.compact(10 * DAY);
+        assertThat(graph.related(1, 10)).isEmpty();
+        assertThat(graph.related(3, 10)).extracting(CooccurrenceGraph.Hit::id).containsExactly(4L);
+
+        graph.remove(4);
+        assertThat(graph.related(3, 10)).isEmpty();
+        assertThat(graph.nodeCount()).isZero();
+    }
+
+    @Test
+    void longFloatMapSurvivesGrowthAndRemoval() {
+        LongFloatMap map = new LongFloatMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.addTo(key, key);
+        }
+        for (long key = 1; key <= 1000; key += 2) {
+            map.remove(key);
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        for (long key = 1; key <= 1000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key : 0f);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventDateTimeParserTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 11, 26, 14, 0);
+
+    @Test
+    void acceptsCommonLlmVariants() {
+        assertThat(start("2025-11-26 14:00")).isEqualTo(START);
+        assertThat(start("2025/11/26 14:00")).isEqualTo(START);
+        assertThat(start("2025.11.26 14:00")).isEqualTo(START);
+        assertThat(start("2025-11-26T14:00:00")).isEqualTo(START);
+        assertThat(start("2025-11-26 (수) 14:00")).isEqualTo(START);
+        assertThat(start("2025년 11월 26일 오후 2시")).isEqualTo(START);
+        assertThat(start("2025-11-26 2:00 PM")).isEqualTo(START);
+        assertThat(start("2025-11-26 오후 2시 30분")).isEqualTo(START.plusMinutes(30));
+        assertThat(start("2025-1-5 9:00")).isEqualTo(LocalDateTime.of(2025, 1, 5, 9, 0));
+    }
+
+    @Test
+    void defaultsToNineWhenTimeMissing() {
+        assertThat(start("2025-11-26")).isEqualTo(LocalDateTime.of(2025, 11, 26, 9, 0));
+    }
+
+    @Test
+    void parsesEndTime() {
+        assertThat(EventDateTimeParser.parse("2025-11-26 14:00~15:30").orElseThrow().end())
+                .isEqualTo(LocalDateTime.of(2025, 11, 26, 15, 30));
+        assertThat(EventDateTimeParser.parse("2025-11-26 14:00 - 2025-11-27 10:00").orElseThrow().end())
+                .isEqualTo(LocalDateTime.of(2025, 11, 27, 10, 0));
+        // 시작보다 이른 종료는 무시
+        assertThat(EventDateTimeParser.parse("2025-11-26 14:00-13:00").orElseThrow().end()).isNull();
+    }
+
+    @Test
+    void rejectsUnparseableText() {
+        assertThat(EventDateTimeParser.parse("미정")).isEmpty();
+        assertThat(EventDateTimeParser.parse("2025-13-40 14:00")).isEmpty();
+        assertThat(EventDateTimeParser.parse(null)).isEmpty();
+    }
+
+    private static LocalDateTime start(String text) {
+        return EventDateTimeParser.parse(text).orElseThrow().start();
+    }
+}
@@ -0,0 +1,94 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void approximatesBruteForceNearestNeighbours() {
+        Random random = new Random(7);
+        float[][] vectors = new float[2000][];
+        HnswIndex index = new HnswIndex(DIMENSIONS);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random);
+            index.add(i, vectors[i]);
+        }
+
+        int k = 10;
+        int found = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            float[] normalizedQuery = FloatVectors.normalize(query);
+            Set<Long> exact = IntStream.range(0, vectors.length).boxed()
+                    .sorted(Comparator.comparingDouble(
+                            (Integer i) -> -FloatVectors.dot(normalizedQuery, FloatVectors.normalize(vectors[i]))))
+                    .limit(k)
+                    .map(Integer::longValue)
+                    .collect(Collectors.toSet());
+
+            List<HnswIndex.Hit> hits = index.search(query, k);
+            found += (int) hits.stream().filter(hit -> exact.contains(hit.id())).count();
+        }
+
+        assertThat((double) found / (queries * k)).isGreaterThan(0.9);
+    }
+
+    @Test
+    void replacesAndRemovesEntriesById() {
+        HnswIndex index = new HnswIndex(3);
+        index.add(1, new float[]{1, 0, 0});
+        index.add(2, new float[]{0, 1, 0});
+        index.add(1, new float[]{0, 0, 1});
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search(new float[]{0, 0, 1}, 1).get(0).id()).isEqualTo(1L);
+
+        index.remove(1);
+        assertThat(index.search(new float[]{0, 0, 1}, 2)).extracting(HnswIndex.Hit::id).containsExactly(2L);
+    }
+
+    @Test
+    void compactsTombstonesPastDeletedRatio() {
+        Random random = new Random(11);
+        HnswIndex index = new HnswIndex(DIMENSIONS);
+        for (int i = 0; i < 400; i++) {
+            index.add(i, randomVector(random));
+        }
+        // 같은 ID 재추가도 삭제 표시를 남김
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 400; i++) {
+                index.add(i, randomVector(random));
+            }
+        }
+        for (int i = 0; i < 300; i++) {
+            index.remove(i);
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.deletedCount()).isLessThanOrEqualTo(index.size() / 3 + 1);
+        float[] query = index.vector(350);
+        assertThat(index.search(query, 1).get(0).id()).isEqualTo(350L);
+        assertThat(index.search(query, 200)).hasSize(100)
+                .allSatisfy(hit -> assertThat(hit.id()).isGreaterThanOrEqualTo(300L));
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,72 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HolidayCalendarTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2025, 10);
+
+    @Test
+    void tracksLoadedMonthsIncludingMonthsWithoutHolidays() {
+        HolidayCalendar calendar = HolidayCalendar.empty()
+                .withMonth(YearMonth.of(2025, 4), List.of())
+                .withMonth(OCTOBER, List.of(
+                        new HolidayCalendar.Entry(LocalDate.of(2025, 10, 9), "한글날", true),
+                        new HolidayCalendar.Entry(LocalDate.of(2025, 10, 3), "개천절", true)));
+
+        assertThat(calendar.isLoaded(YearMonth.of(2025, 4))).isTrue();
+        assertThat(calendar.isLoaded(OCTOBER)).isTrue();
+        assertThat(calendar.isLoaded(YearMonth.of(2025, 11))).isFalse();
+        assertThat(calendar.entries(YearMonth.of(2025, 4))).isEmpty();
+        assertThat(calendar.entries(OCTOBER))
+                .extracting(HolidayCalendar.Entry::name)
+                .containsExactly("개천절", "한글날");
+        assertThat(calendar.isHoliday(LocalDate.of(2025, 10, 3))).isTrue();
+        assertThat(calendar.isHoliday(LocalDate.of(2025, 10, 4))).isFalse();
+    }
+
+    @Test
+    void replacingMonthLeavesOriginalAndOtherMonthsUntouched() {
+        HolidayCalendar before = HolidayCalendar.empty()
+                .withMonth(YearMonth.of(2025, 1), List.of(
+                        new HolidayCalendar.Entry(LocalDate.of(2025, 1, 1), "1월1일", true)))
+                .withMonth(OCTOBER, List.of(
+                        new HolidayCalendar.Entry(LocalDate.of(2025, 10, 3), "개천절", true)));
+
+        HolidayCalendar after = before.withMonth(OCTOBER, List.of(
+                new HolidayCalendar.Entry(LocalDate.of(2025, 10, 6), "추석", true),
+                new HolidayCalendar.Entry(LocalDate.of(2025, 10, 25), "기념일", false)));
+
+        assertThat(before.isHoliday(LocalDate.of(2025, 10, 3))).isTrue();
+        assertThat(after.isHoliday(LocalDate.of(2025, 10, 3))).isFalse();
+        assertThat(after.isHoliday(LocalDate.of(2025, 10, 6))).isTrue();
+        assertThat(after.isHoliday(LocalDate.of(2025, 10, 25))).isFalse();
+        assertThat(after.entries(OCTOBER)).hasSize(2);
+        assertThat(after.isHoliday(LocalDate.of(2025, 1, 1))).isTrue();
+        assertThat(after.entries(YearMonth.of(2025, 1))).hasSize(1);
+    }
+
+    @Test
+    void handlesLeapYearEndOfYear() {
+        HolidayCalendar calendar = HolidayCalendar.empty()
+                .withMonth(YearMonth.of(2024, 12), List.of(
+                        new HolidayCalendar.Entry(LocalDate.of(2024, 12, 25), "기독탄신일", true)));
+
+        assertThat(calendar.isHoliday(LocalDate.of(2024, 12, 25))).isTrue();
+        assertThat(calendar.isHoliday(LocalDate.of(2025, 12, 25))).isFalse();
+    }
+
+    @Test
+    void rejectsEntriesOutsideMonth() {
+        assertThatThrownBy(() -> HolidayCalendar.empty().withMonth(OCTOBER, List.of(
+                new HolidayCalendar.Entry(LocalDate.of(2025, 11, 1), "다른 달", true))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IcsWriterTest {
+
+    @Test
+    void writesEventInUtcWithEscaping() throws IOException {
+        StringWriter out = new StringWriter();
+        IcsWriter writer = new IcsWriter(out, ZoneId.of("Asia/Seoul"));
+        writer.beginCalendar("-//Webmail//Schedule//KO", "일정");
+        writer.event("event-1@webmail",
+                LocalDateTime.of(2025, 11, 20, 9, 0),
+                LocalDateTime.of(2025, 11, 26, 14, 0),
+                LocalDateTime.of(2025, 11, 26, 15, 0),
+                "회의; 설계, 리뷰", "3층 회의실A", "안건\n1. API");
+        writer.endCalendar();
+
+        String ics = out.toString();
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains("DTSTART:20251126T050000Z\r\n");
+        assertThat(ics).contains("DTEND:20251126T060000Z\r\n");
+        assertThat(ics).contains("SUMMARY:회의\\; 설계\\, 리뷰\r\n");
+        assertThat(ics).contains("DESCRIPTION:안건\\n1. API\r\n");
+    }
+
+    @Test
+    void foldsLongLinesWithoutSplittingCharacters() throws IOException {
+        StringWriter out = new StringWriter();
+        IcsWriter writer = new IcsWriter(out, ZoneId.of("UTC"));
+        LocalDateTime time = LocalDateTime.of(2025, 1, 1, 0, 0);
+        writer.event("long", time, time, null, "가".repeat(60), null, null);
+
+        for (String line : out.toString().split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        String unfolded = out.toString().replace("\r\n ", "");
+        assertThat(unfolded).contains("SUMMARY:" + "가".repeat(60) + "\r\n");
+    }
+}
@@ -0,0 +1,23 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordNormalizerTest {
+
+    @Test
+    void foldsCaseWhitespaceAndPunctuationVariants() {
+        assertThat(KeywordNormalizer.normalize("Spring Boot")).isEqualTo("springboot");
+        assertThat(KeywordNormalizer.normalize(" spring-boot ")).isEqualTo("springboot");
+        assertThat(KeywordNormalizer.normalize("ＳｐｒｉｎｇＢｏｏｔ")).isEqualTo("springboot");
+        assertThat(KeywordNormalizer.normalize("Node.js")).isEqualTo("nodejs");
+    }
+
+    @Test
+    void keepsSignificantSymbols() {
+        assertThat(KeywordNormalizer.normalize("C++")).isEqualTo("c++");
+        assertThat(KeywordNormalizer.normalize("C#")).isEqualTo("c#");
+        assertThat(KeywordNormalizer.normalize("C")).isEqualTo("c");
+    }
+}
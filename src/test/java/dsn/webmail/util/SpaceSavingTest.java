@@ -0,0 +1,60 @@
+package dsn.webmail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSaving summary = new SpaceSaving(10);
+        summary.add(1, 5);
+        summary.add(2);
+        summary.add(1);
+
+        assertThat(summary.estimate(1)).isEqualTo(6);
+        assertThat(summary.estimate(2)).isEqualTo(1);
+        assertThat(summary.estimate(3)).isZero();
+        assertThat(summary.top(1)).containsExactly(new SpaceSaving.Entry(1, 6, 0));
+    }
+
+    @Test
+    void keepsHeavyHittersInSkewedStream() {
+        Random random = new Random(11);
+        SpaceSaving summary = new SpaceSaving(32);
+        long[] exact = new long[1000];
+        for (int i = 0; i < 50_000; i++) {
+            // 0~4번은 전체의 절반, 나머지는 고르게 분포
+            int key = random.nextBoolean() ? random.nextInt(5) : 5 + random.nextInt(995);
+            exact[key]++;
+            summary.add(key);
+        }
+
+        List<SpaceSaving.Entry> top = summary.top(5);
+        assertThat(top).extracting(SpaceSaving.Entry::key).containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L);
+        for (SpaceSaving.Entry entry : top) {
+            long actual = exact[(int) entry.key()];
+            assertThat(entry.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(actual);
+        }
+        assertThat(summary.size()).isEqualTo(32);
+        assertThat(summary.total()).isEqualTo(50_000);
+    }
+
+    @Test
+    void restoresSavedEntries() {
+        SpaceSaving original = new SpaceSaving(4);
+        for (int i = 0; i < 20; i++) {
+            original.add(i % 6, i + 1);
+        }
+
+        SpaceSaving restored = new SpaceSaving(4);
+        original.entries().forEach(e -> restored.restore(e.key(), e.count(), e.error()));
+
+        assertThat(restored.top(4)).isEqualTo(original.top(4));
+    }
+}
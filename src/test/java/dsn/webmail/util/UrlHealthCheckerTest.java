@@ -0,0 +1,84 @@
+package dsn.webmail.util;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlHealthCheckerTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private UrlHealthChecker checker;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/no-head", exchange -> {
+            exchange.sendResponseHeaders("HEAD".equals(exchange.getRequestMethod()) ? 405 : 200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        executor = Executors.newFixedThreadPool(4);
+        checker = new UrlHealthChecker(HttpClient.newHttpClient(), executor, 2, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void classifiesResponsesAndFallsBackToGetWhenHeadIsRejected() {
+        Map<String, UrlHealthChecker.Result> results = checker.checkAll(
+                List.of(baseUrl + "/ok", baseUrl + "/missing", baseUrl + "/no-head", "not a url"),
+                Duration.ofSeconds(2));
+
+        assertThat(results.get(baseUrl + "/ok").healthy()).isTrue();
+        assertThat(results.get(baseUrl + "/missing").statusCode()).isEqualTo(404);
+        assertThat(results.get(baseUrl + "/no-head").healthy()).isTrue();
+        assertThat(results.get("not a url").healthy()).isFalse();
+    }
+
+    @Test
+    void leavesUrlsUndecidedWhenBudgetRunsOut() {
+        long start = System.nanoTime();
+        Map<String, UrlHealthChecker.Result> results = checker.checkAll(
+                List.of(baseUrl + "/slow", baseUrl + "/ok"), Duration.ofMillis(500));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(results).containsKey(baseUrl + "/ok").doesNotContainKey(baseUrl + "/slow");
+    }
+}